@@ -12,8 +12,6 @@
 
 package org.talend.dataprep.api.service;
 
-import static org.apache.commons.lang3.StringUtils.containsIgnoreCase;
-import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.http.MediaType.TEXT_PLAIN_VALUE;
@@ -28,7 +26,9 @@ import static org.talend.dataprep.dataset.adapter.Dataset.CertificationState.CER
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -61,7 +61,6 @@ import org.talend.dataprep.api.service.command.dataset.GetDataSetColumnTypes;
 import org.talend.dataprep.api.service.command.dataset.SetFavorite;
 import org.talend.dataprep.api.service.command.dataset.UpdateColumn;
 import org.talend.dataprep.api.service.command.dataset.UpdateDataSet;
-import org.talend.dataprep.api.service.command.preparation.PreparationList;
 import org.talend.dataprep.api.service.command.preparation.PreparationSearchByDataSetId;
 import org.talend.dataprep.api.service.command.transformation.SuggestLookupActions;
 import org.talend.dataprep.command.CommandHelper;
@@ -76,6 +75,7 @@ import org.talend.dataprep.util.SortAndOrderHelper.Order;
 import org.talend.dataprep.util.SortAndOrderHelper.Sort;
 import org.talend.dataprep.util.StringsHelper;
 
+import com.google.common.collect.Lists;
 import com.netflix.hystrix.HystrixCommand;
 
 import io.swagger.annotations.ApiOperation;
@@ -84,6 +84,9 @@ import io.swagger.annotations.ApiParam;
 @RestController
 public class DataSetAPI extends APIService {
 
+    /** Maximum number of data set ids in a single preparation search. */
+    private static final int SEARCH_BATCH_SIZE = 100;
+
     @Autowired
     private DatasetClient datasetClient;
 
@@ -288,22 +291,15 @@ public class DataSetAPI extends APIService {
         try {
             CertificationState certification = certified ? CERTIFIED : null;
             Boolean filterOnFavorite = favorite ? Boolean.TRUE : null;
-            Stream<DatasetDTO> datasetStream = datasetClient.listDataSetMetadata(certification, filterOnFavorite);
-
-            if (isNotBlank(name)) {
-                datasetStream = datasetStream.filter(ds -> containsIgnoreCase(ds.getName(), name));
+            if (sort == Sort.AUTHOR) {
+                // author sort is on owner display name, only known once datasets are converted to DTOs
+                final Stream<DatasetDTO> sorted = datasetClient
+                        .listDataSetMetadata(certification, filterOnFavorite, sort, order, name, false)
+                        .sorted(SortAndOrderHelper.getDatasetDTOComparator(sort, order));
+                return limit ? sorted.limit(datasetListLimit) : sorted;
             }
-
-            if (certified) {
-                datasetStream = datasetStream.filter(dataset -> dataset.getCertification() == CERTIFIED);
-            }
-
-            if (limit) {
-                datasetStream = datasetStream.limit(datasetListLimit);
-            }
-
-            return datasetStream //
-                    .sorted(SortAndOrderHelper.getDatasetDTOComparator(sort, order));
+            // name, certification, sort and limit are applied by dataset service
+            return datasetClient.listDataSetMetadata(certification, filterOnFavorite, sort, order, name, limit);
         } finally {
             LOG.info("listing datasets done [favorite: {}, certified: {}, name: {}, limit: {}]", favorite, certified,
                     name, limit);
@@ -426,15 +422,19 @@ public class DataSetAPI extends APIService {
         GenericCommand<InputStream> compatibleDataSetList =
                 getCommand(CompatibleDataSetList.class, dataSetId, sort, order);
 
-        final List<String> compatibleList = toStream(DataSetMetadata.class, mapper, compatibleDataSetList)
+        final Set<String> compatibleList = toStream(DataSetMetadata.class, mapper, compatibleDataSetList)
                 .map(DataSetMetadata::getId)
-                .collect(Collectors.toList());
-
-        // get list of preparations
-        GenericCommand<InputStream> preparationList = getCommand(PreparationList.class, sort, order);
-
-        return toStream(PreparationDTO.class, mapper, preparationList)
-                .filter(p -> compatibleList.contains(p.getDataSetId()) || dataSetId.equals(p.getDataSetId()));
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        compatibleList.add(dataSetId);
+
+        // get preparations of these data sets only (data set ids are URL parameters, hence searched by batches)
+        final List<List<String>> batches = Lists.partition(new ArrayList<>(compatibleList), SEARCH_BATCH_SIZE);
+        final Stream<PreparationDTO> preparations = batches.stream() //
+                .flatMap(batch -> toStream(PreparationDTO.class, mapper,
+                        getCommand(PreparationSearchByDataSetId.class, batch, sort, order)));
+        // each batch is sorted, but not the batches together
+        return batches.size() > 1 ? preparations.sorted(SortAndOrderHelper.getPreparationComparator(sort, order))
+                : preparations;
     }
 
     @RequestMapping(value = "/api/datasets/{id}", method = DELETE)
@@ -17,6 +17,7 @@ import static org.talend.dataprep.command.Defaults.pipeStream;
 
 import java.io.InputStream;
 import java.net.URISyntaxException;
+import java.util.Collection;
 
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.utils.URIBuilder;
@@ -26,6 +27,8 @@ import org.springframework.stereotype.Component;
 import org.talend.dataprep.command.GenericCommand;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.util.SortAndOrderHelper.Order;
+import org.talend.dataprep.util.SortAndOrderHelper.Sort;
 
 /**
  * Command used to retrieve the preparations based on a dataset.
@@ -53,4 +56,28 @@ public class PreparationSearchByDataSetId extends GenericCommand<InputStream> {
         on(HttpStatus.OK).then(pipeStream());
     }
 
+    /**
+     * Private constructor used to construct the generic command used to list of preparations based on any of the given
+     * dataset ids. Ids are sent as URL parameters, so callers should search by batches of a few hundred ids at most.
+     *
+     * @param datasetIds the dataset ids.
+     * @param sort how to sort the preparations.
+     * @param order the order to apply to the sort.
+     */
+    private PreparationSearchByDataSetId(Collection<String> datasetIds, Sort sort, Order order) {
+        super(GenericCommand.PREPARATION_GROUP);
+        execute(() -> {
+            try {
+                URIBuilder uriBuilder = new URIBuilder(preparationServiceUrl + "/preparations/search");
+                datasetIds.forEach(datasetId -> uriBuilder.addParameter("dataSetId", datasetId));
+                uriBuilder.addParameter("sort", sort.camelName());
+                uriBuilder.addParameter("order", order.camelName());
+                return new HttpGet(uriBuilder.build());
+            } catch (URISyntaxException e) {
+                throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+            }
+        });
+        on(HttpStatus.OK).then(pipeStream());
+    }
+
 }
@@ -18,6 +18,7 @@ import static com.jayway.restassured.path.json.JsonPath.from;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.Instant.now;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
@@ -746,6 +747,52 @@ public class DataSetAPITest extends ApiServiceTestBase {
         // @formatter:on
     }
 
+    @Test
+    public void should_push_list_name_filter_sort_and_limit_down() throws Exception {
+        // given
+        final String dataSetId1 = testClient.createDataset("dataset/dataset.csv", "dataset1");
+        testClient.createDataset("dataset/dataset.csv", "dataset2");
+        testClient.createDataset("dataset/dataset.csv", "dataset3");
+        testClient.createDataset("dataset/dataset.csv", "dataset4");
+
+        // names with a quote are no longer accepted, but may still exist
+        final DataSetMetadata dataSetMetadata1 = dataSetMetadataRepository.get(dataSetId1);
+        dataSetMetadata1.setName("O'Brien");
+        dataSetMetadataRepository.save(dataSetMetadata1);
+
+        // @formatter:off
+        // name with a quote
+        given()
+            .queryParam("name", "o'bri")
+        .when()
+            .get("/api/datasets")
+        .then()
+            .statusCode(200)
+            .body("name", contains("O'Brien"));
+
+        // sorted before limit
+        given()
+            .queryParam("sort", "name")
+            .queryParam("order", "asc")
+            .queryParam("limit", "true")
+        .when()
+            .get("/api/datasets")
+        .then()
+            .statusCode(200)
+            .body("name", contains("dataset2", "dataset3", "dataset4"));
+
+        // sorted by author (owner display name) then limited
+        given()
+            .queryParam("sort", "author")
+            .queryParam("limit", "true")
+        .when()
+            .get("/api/datasets")
+        .then()
+            .statusCode(200)
+            .body("name", hasSize(3));
+        // @formatter:on
+    }
+
     @Test
     public void testGetImportJsonSchemaParameters() throws JsonProcessingException {
         String importType = "tcomp-toto";
@@ -12,6 +12,8 @@
 
 package org.talend.dataprep.cache;
 
+import java.util.Collections;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import org.apache.commons.lang3.StringUtils;
@@ -54,4 +56,47 @@ public interface ContentCacheKey {
     default String getPrefix() {
         return StringUtils.EMPTY;
     }
+
+    /**
+     * <p>
+     * Returns the tags of the entities (data set, preparation, step) the cached content depends on. Caches may index
+     * entries by tag, so that {@link ContentCache#evictMatch(ContentCacheKey) partial evictions} only look at entries
+     * that share all the tags of the partial key.
+     * </p>
+     * <p>
+     * For a partial key, only the tags of its known parts must be returned.
+     * </p>
+     *
+     * @return The dependency tags of this key (empty if none).
+     * @see #datasetTag(String)
+     * @see #preparationTag(String)
+     * @see #stepTag(String)
+     */
+    default Set<String> getTags() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * @param dataSetId A data set id.
+     * @return The tag of content that depends on this data set.
+     */
+    static String datasetTag(String dataSetId) {
+        return "dataset-" + dataSetId;
+    }
+
+    /**
+     * @param preparationId A preparation id.
+     * @return The tag of content that depends on this preparation.
+     */
+    static String preparationTag(String preparationId) {
+        return "preparation-" + preparationId;
+    }
+
+    /**
+     * @param stepId A step id.
+     * @return The tag of content that depends on this step.
+     */
+    static String stepTag(String stepId) {
+        return "step-" + stepId;
+    }
 }
@@ -12,6 +12,9 @@
 
 package org.talend.dataprep.cache;
 
+import java.util.Collections;
+import java.util.Set;
+
 /**
  *
  */
@@ -37,6 +40,11 @@ public class DataSetSampleCacheKey implements ContentCacheKey {
         return PREFIX;
     }
 
+    @Override
+    public Set<String> getTags() {
+        return Collections.singleton(ContentCacheKey.datasetTag(dataSetId));
+    }
+
     /**
      * @see ContentCacheKey#getKey()
      */
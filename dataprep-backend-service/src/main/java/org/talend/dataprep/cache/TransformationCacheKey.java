@@ -12,7 +12,9 @@
 
 package org.talend.dataprep.cache;
 
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
@@ -114,6 +116,21 @@ public class TransformationCacheKey implements ContentCacheKey {
         return prefix.toString();
     }
 
+    @Override
+    public Set<String> getTags() {
+        final Set<String> tags = new HashSet<>();
+        if (datasetId != null) {
+            tags.add(ContentCacheKey.datasetTag(datasetId));
+        }
+        if (preparationId != null) {
+            tags.add(ContentCacheKey.preparationTag(preparationId));
+        }
+        if (stepId != null) {
+            tags.add(ContentCacheKey.stepTag(stepId));
+        }
+        return tags;
+    }
+
     @Override
     public Predicate<String> getMatcher() {
         // Build a regular expression using transformation and dataset ids.
@@ -12,6 +12,8 @@
 
 package org.talend.dataprep.cache;
 
+import java.util.HashSet;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
@@ -59,6 +61,18 @@ public class TransformationMetadataCacheKey implements ContentCacheKey {
         return str -> pattern.matcher(str).matches();
     }
 
+    @Override
+    public Set<String> getTags() {
+        final Set<String> tags = new HashSet<>();
+        if (preparationId != null) {
+            tags.add(ContentCacheKey.preparationTag(preparationId));
+        }
+        if (stepId != null) {
+            tags.add(ContentCacheKey.stepTag(stepId));
+        }
+        return tags;
+    }
+
     @Override
     public String getPrefix() {
         StringBuilder prefix = new StringBuilder(PREFIX);
@@ -15,6 +15,7 @@ package org.talend.dataprep.cache.loader;
 import static java.util.Arrays.stream;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
@@ -56,9 +57,15 @@ public class DeletableResourceLoaderCacheJanitor implements CacheJanitor {
     }
 
     private void performCleanUp(AtomicLong deletedCount, AtomicLong totalCount) {
+        performCleanUp("/cache/*", true, deletedCount, totalCount);
+        // Tag index entries are named after the cache entry (and expire with it).
+        performCleanUp(ResourceLoaderContentCache.TAGS_PREFIX + "*/*", false, deletedCount, totalCount);
+    }
+
+    private void performCleanUp(String pattern, boolean untag, AtomicLong deletedCount, AtomicLong totalCount) {
         try {
             final long start = System.currentTimeMillis();
-            final DeletableResource[] resources = deletablePathResolver.getResources("/cache/*");
+            final DeletableResource[] resources = deletablePathResolver.getResources(pattern);
             final Predicate<DeletableResource> deleteOld = resource -> cleanUpResources(totalCount, start, resource);
 
             // Perform deletes for old resources
@@ -66,6 +73,10 @@ public class DeletableResourceLoaderCacheJanitor implements CacheJanitor {
                 try {
                     deletedCount.incrementAndGet();
                     r.delete();
+                    if (untag) {
+                        ResourceLoaderContentCache.untag(deletablePathResolver, ResourceLoaderContentCache.getEntry(r),
+                                Collections.emptySet());
+                    }
                 } catch (IOException e) {
                     LOGGER.error("Unable to delete resource {}", r, e);
                 }
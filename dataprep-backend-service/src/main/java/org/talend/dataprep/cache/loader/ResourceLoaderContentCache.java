@@ -13,17 +13,25 @@
 package org.talend.dataprep.cache.loader;
 
 import static java.lang.Long.parseLong;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.stream;
 import static java.util.Optional.ofNullable;
 import static java.util.function.BinaryOperator.maxBy;
 import static org.apache.commons.lang3.StringUtils.substringAfterLast;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -49,6 +57,18 @@ public class ResourceLoaderContentCache implements ContentCache {
 
     private static final String CACHE_PREFIX = "/cache/";
 
+    /**
+     * Where the tag index is stored: for each tag, an empty resource per entry that carries the tag (named after the
+     * entry).
+     */
+    static final String TAGS_PREFIX = CACHE_PREFIX + ".tags/";
+
+    /** Where the tags of each entry are stored (a resource per entry, named after the entry, one tag per line). */
+    private static final String ENTRY_TAGS_PREFIX = TAGS_PREFIX + ".entries/";
+
+    /** Marks a cache whose entries are all indexed by tag. */
+    private static final String TAGS_MARKER = TAGS_PREFIX + ".indexed";
+
     @Autowired
     private ResourceResolver resolver;
 
@@ -56,8 +76,22 @@ public class ResourceLoaderContentCache implements ContentCache {
         LOGGER.info("Using content cache: {}", this.getClass().getName());
     }
 
-    private DeletableResource getOrCreateResource(ContentCacheKey key, TimeToLive ttl) {
-        return resolver.getResource(getLocation(key, ttl));
+    @PostConstruct
+    public void initTagIndex() {
+        if (!resolver.getResource(TAGS_MARKER).exists()) {
+            // entries created before tag index would never be evicted by tag
+            LOGGER.info("Clear content cache entries created before tag index.");
+            clear();
+        }
+    }
+
+    /**
+     * Marks the cache as indexed by tag (to be done when the cache holds no entry created before the tag index).
+     */
+    private void markIndexed() throws IOException {
+        try (OutputStream marker = resolver.getResource(TAGS_MARKER).getOutputStream()) {
+            marker.flush();
+        }
     }
 
     private String getLocation(ContentCacheKey key, TimeToLive ttl) {
@@ -136,7 +170,27 @@ public class ResourceLoaderContentCache implements ContentCache {
     public OutputStream put(ContentCacheKey key, TimeToLive timeToLive) {
         LOGGER.debug("Put '{}' (TTL: {})", key.getKey(), timeToLive);
         try {
-            return getOrCreateResource(key, timeToLive).getOutputStream();
+            final String location = getLocation(key, timeToLive);
+            return new FilterOutputStream(resolver.getResource(location).getOutputStream()) {
+
+                private boolean closed;
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    if (closed) {
+                        return;
+                    }
+                    closed = true;
+                    super.close();
+                    // only index the entry once its content is written
+                    tag(key, location);
+                }
+            };
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
         }
@@ -149,16 +203,95 @@ public class ResourceLoaderContentCache implements ContentCache {
         ofNullable(getResource(key)).ifPresent(r -> {
             try {
                 r.delete();
+                untag(resolver, getEntry(r), key.getTags());
             } catch (IOException e) {
                 throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
             }
         });
     }
 
+    /**
+     * Adds the entry at given location to the index of each tag of the key.
+     */
+    private void tag(ContentCacheKey key, String location) throws IOException {
+        final String entry = location.substring(CACHE_PREFIX.length());
+        final Set<String> tags = key.getTags();
+        if (tags.isEmpty()) {
+            return;
+        }
+        for (String tag : tags) {
+            try (OutputStream tagEntry = resolver.getResource(TAGS_PREFIX + tag + '/' + entry).getOutputStream()) {
+                tagEntry.flush();
+            }
+        }
+        try (OutputStream entryTags = resolver.getResource(ENTRY_TAGS_PREFIX + entry).getOutputStream()) {
+            IOUtils.writeLines(tags, "\n", entryTags, UTF_8);
+        }
+    }
+
+    /**
+     * Removes a (removed) entry from the index of each of its tags.
+     *
+     * @param resolver The resolver of the cache resources.
+     * @param entry The name of the removed entry.
+     * @param knownTags Tags of the entry already known by the caller (may be empty).
+     */
+    static void untag(ResourceResolver resolver, String entry, Set<String> knownTags) throws IOException {
+        final Set<String> tags = new HashSet<>(knownTags);
+        final DeletableResource entryTags = resolver.getResource(ENTRY_TAGS_PREFIX + entry);
+        if (entryTags.exists()) {
+            try (InputStream input = entryTags.getInputStream()) {
+                IOUtils.readLines(input, UTF_8).stream().filter(StringUtils::isNotEmpty).forEach(tags::add);
+            }
+        }
+        for (String tag : tags) {
+            final DeletableResource tagEntry = resolver.getResource(TAGS_PREFIX + tag + '/' + entry);
+            if (tagEntry.exists()) {
+                tagEntry.delete();
+            }
+        }
+        if (entryTags.exists()) {
+            entryTags.delete();
+        }
+    }
+
+    /**
+     * @return the name of the entry stored in the given resource.
+     */
+    static String getEntry(DeletableResource resource) {
+        return StringUtils.substringAfterLast('/' + resource.getFilename(), "/");
+    }
+
+    /**
+     * @return the names of the entries that carry the given tag.
+     */
+    private Set<String> getTaggedEntries(String tag) throws IOException {
+        final DeletableResource[] resources = resolver.getResources(TAGS_PREFIX + tag + "/*");
+        return stream(resources) //
+                .map(ResourceLoaderContentCache::getEntry) //
+                .collect(Collectors.toSet());
+    }
+
+    private static void delete(DeletableResource resource) {
+        try {
+            if (resource.exists()) {
+                LOGGER.debug("Delete file '{}'.", resource.getFilename());
+                resource.delete();
+            }
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
     @Timed
     @Override
     public void evictMatch(ContentCacheKey key) {
         LOGGER.debug("Evict match '{}'", key.getKey());
+        final Set<String> tags = key.getTags();
+        if (!tags.isEmpty()) {
+            evictTagged(key, tags);
+            return;
+        }
         try {
             final DeletableResource[] resources = resolver.getResources(CACHE_PREFIX + key.getPrefix() + "**");
             final Predicate<String> matcher = key.getMatcher();
@@ -172,6 +305,35 @@ public class ResourceLoaderContentCache implements ContentCache {
                 try {
                     LOGGER.debug("Delete file '{}'.", r.getFilename());
                     r.delete();
+                    untag(resolver, getEntry(r), key.getTags());
+                } catch (IOException e) {
+                    throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+                }
+            });
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * Evicts the entries that match the key among the entries that carry all its tags (no cache directory scan).
+     */
+    private void evictTagged(ContentCacheKey key, Set<String> tags) {
+        try {
+            Set<String> entries = null;
+            for (String tag : tags) {
+                final Set<String> taggedEntries = getTaggedEntries(tag);
+                if (entries == null) {
+                    entries = taggedEntries;
+                } else {
+                    entries.retainAll(taggedEntries);
+                }
+            }
+            final Predicate<String> matcher = key.getMatcher();
+            entries.stream().filter(matcher).forEach(entry -> {
+                delete(resolver.getResource(CACHE_PREFIX + entry));
+                try {
+                    untag(resolver, entry, tags);
                 } catch (IOException e) {
                     throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
                 }
@@ -200,7 +362,12 @@ public class ResourceLoaderContentCache implements ContentCache {
                 }
             }
             try {
+                final String source = getEntry(resource);
+                tag(to, destination);
                 resource.move(destination);
+                if (!destination.equals(CACHE_PREFIX + source)) {
+                    untag(resolver, source, from.getTags());
+                }
             } catch (IOException e) {
                 throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
             }
@@ -213,6 +380,7 @@ public class ResourceLoaderContentCache implements ContentCache {
         LOGGER.debug("Clear all");
         try {
             resolver.clear(CACHE_PREFIX + "**");
+            markIndexed();
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
         }
@@ -0,0 +1,93 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.command;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * A Hystrix bypass: runs {@link GenericCommand commands} directly on the caller thread instead of through Hystrix
+ * (when enabled), with no command wrapping, no Hystrix metrics nor execution thread. Transport is unchanged (the
+ * blocking HTTP client). The number of concurrent commands is limited per command key, as Hystrix
+ * <code>maxConcurrentRequests</code> is: commands wait a bounded time for a permit and are rejected if none is
+ * available.
+ * <p>
+ * As with Hystrix semaphore isolation, a permit is held while the command runs and is released as soon as it returns:
+ * a streamed response body consumed after that is not accounted for, so the limit does not bound open connections
+ * (the HTTP client pool does).
+ * </p>
+ */
+@Component
+public class DirectCommandExecutor {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectCommandExecutor.class);
+
+    /** <code>true</code> if commands are run directly, <code>false</code> if they are run through Hystrix. */
+    @Value("${dataprep.command.direct:false}")
+    private boolean enabled;
+
+    /** The maximum number of concurrent commands of a command key (same default as Hystrix). */
+    @Value("${dataprep.command.direct.max.concurrent:100}")
+    private int maxConcurrent;
+
+    /** How long (in milliseconds) a command waits for a permit before being rejected. */
+    @Value("${dataprep.command.direct.permit.timeout:5000}")
+    private long permitTimeout;
+
+    /** The permits of each command key. */
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    /**
+     * @return <code>true</code> if commands are run directly, <code>false</code> if they are run through Hystrix.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs a command once a permit of its command key is available.
+     *
+     * @param commandKey the command key (the command name).
+     * @param command the command to run.
+     * @param <T> the command result type.
+     * @return the command result.
+     * @throws RejectedExecutionException if no permit was available in time.
+     * @throws Exception if command fails (or thread is interrupted while waiting for a permit).
+     */
+    <T> T execute(String commandKey, Callable<T> command) throws Exception {
+        final Semaphore semaphore =
+                permits.computeIfAbsent(commandKey, k -> new Semaphore(Math.max(1, maxConcurrent), true));
+        if (!semaphore.tryAcquire()) {
+            LOGGER.debug("All {} permits of command '{}' in use, waiting for a permit.", maxConcurrent, commandKey);
+            if (!semaphore.tryAcquire(permitTimeout, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("No permit available for command '" + commandKey + "' after "
+                        + permitTimeout + " ms.");
+            }
+        }
+        try {
+            return command.call();
+        } finally {
+            semaphore.release();
+        }
+    }
+}
@@ -60,9 +60,22 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.hystrix.HystrixCommand;
 import com.netflix.hystrix.HystrixCommandGroupKey;
+import com.netflix.hystrix.exception.HystrixBadRequestException;
+
+import rx.Observable;
 
 /**
  * Base Hystrix command request for all DataPrep commands.
+ * <p>
+ * Commands are run through Hystrix, or directly on the caller thread when the {@link DirectCommandExecutor Hystrix
+ * bypass} is enabled.
+ * Both ways run the same {@link #run()}, behaviors and {@link #getFallback() fallback}.
+ * </p>
+ * <p>
+ * When services are colocated (<code>dataprep.services.colocated</code>), commands that declared a
+ * {@link #local(Class, Function) local call} invoke the target service endpoint in-process on the caller thread, as
+ * long as the endpoint is available in this application context (HTTP is used otherwise).
+ * </p>
  *
  * @param <T> Command result type.
  */
@@ -159,8 +172,21 @@ public class GenericCommand<T> extends HystrixCommand<T> {
     @Autowired
     private Tracer tracer;
 
+    @Autowired
+    private DirectCommandExecutor directExecutor;
+
+    /** <code>true</code> if the services may run in the same JVM and local calls are allowed. */
+    @Value("${dataprep.services.colocated:false}")
+    private boolean colocated;
+
     private Supplier<HttpRequestBase> httpCall;
 
+    /** The endpoint type {@link #localCall} needs, <code>null</code> if command has no local call. */
+    private Class<?> localEndpoint;
+
+    /** The in-process equivalent of {@link #httpCall}. */
+    private Function<Object, T> localCall;
+
     /** Headers of the response received by the command. Set in the run command. */
     private Header[] commandResponseHeaders = new Header[0];
 
@@ -188,6 +214,77 @@ public class GenericCommand<T> extends HystrixCommand<T> {
         return context.getBean(Security.class).getAuthenticationToken();
     }
 
+    @Override
+    public T execute() {
+        if (isLocal()) {
+            return runLocal();
+        }
+        if (!isDirect()) {
+            return super.execute();
+        }
+        try {
+            return directExecutor.execute(getCommandKey().name(), this::run);
+        } catch (HystrixBadRequestException e) {
+            throw e;
+        } catch (Exception e) {
+            // as with Hystrix, a failed (or rejected) command returns its fallback if it has one
+            if (hasFallback()) {
+                LOGGER.debug("Unable to run {}, using fallback.", getClass().getSimpleName(), e);
+                return getFallback();
+            }
+            throw decomposeException(e);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if this command overrides {@link #getFallback()}.
+     */
+    private boolean hasFallback() {
+        for (Class<?> current = getClass(); current != HystrixCommand.class; current = current.getSuperclass()) {
+            try {
+                current.getDeclaredMethod("getFallback");
+                return true;
+            } catch (NoSuchMethodException e) {
+                // look in super class
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Observable<T> toObservable() {
+        if (!isLocal() && !isDirect()) {
+            return super.toObservable();
+        }
+        return Observable.defer(() -> Observable.just(execute()));
+    }
+
+    private boolean isDirect() {
+        // commands not created by Spring have no executor and always use Hystrix
+        return directExecutor != null && directExecutor.isEnabled();
+    }
+
+    private boolean isLocal() {
+        return colocated && localCall != null && context.getBeanNamesForType(localEndpoint).length > 0;
+    }
+
+    /**
+     * Runs the {@link #local(Class, Function) local call} on the caller thread: the result is handed as is, with no
+     * HTTP request nor JSON (de)serialization. Errors are handled as for HTTP calls.
+     *
+     * @return A instance of <code>T</code>.
+     */
+    private T runLocal() {
+        LOGGER.trace("Calling {} in-process for {}", localEndpoint.getSimpleName(), getClass().getSimpleName());
+        try {
+            return localCall.apply(context.getBean(localEndpoint));
+        } catch (TDPException e) {
+            throw e;
+        } catch (Exception e) {
+            throw onError.apply(e);
+        }
+    }
+
     @Override
     protected RuntimeException decomposeException(Exception e) {
         Throwable current = e;
@@ -367,6 +464,20 @@ public class GenericCommand<T> extends HystrixCommand<T> {
         httpCall = call;
     }
 
+    /**
+     * Declares the in-process equivalent of the {@link #execute(Supplier) http request}, used instead of it when
+     * services are colocated and <code>endpoint</code> is available in application context.
+     *
+     * @param endpoint The target service endpoint type.
+     * @param call The {@link Function} that invokes the endpoint and returns the command result.
+     * @param <E> The endpoint type.
+     */
+    @SuppressWarnings("unchecked")
+    protected <E> void local(Class<E> endpoint, Function<E, T> call) {
+        localEndpoint = endpoint;
+        localCall = (Function<Object, T>) call;
+    }
+
     /**
      * Starts declaration of behavior(s) to adopt when HTTP response has status code <code>status</code>.
      *
@@ -30,6 +30,7 @@ import org.talend.dataprep.command.Defaults;
 import org.talend.dataprep.command.GenericCommand;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.preparation.service.PreparationEndpoint;
 
 /**
  * Command that retrieves preparation details (NOT the content !)
@@ -56,6 +57,7 @@ public class PreparationDetailsGet extends GenericCommand<PreparationDetailsDTO>
     public PreparationDetailsGet(String preparationId, String stepId) {
         super(PREPARATION_GROUP);
         execute(() -> onExecute(preparationId, stepId));
+        local(PreparationEndpoint.class, endpoint -> endpoint.getDetailsFull(preparationId, stepId));
         on(HttpStatus.NO_CONTENT).then(asNull());
         onError(Defaults.passthrough());
     }
@@ -29,6 +29,7 @@ import org.talend.daikon.exception.ExceptionContext;
 import org.talend.dataprep.api.preparation.Action;
 import org.talend.dataprep.command.GenericCommand;
 import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.preparation.service.PreparationEndpoint;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 
@@ -58,6 +59,7 @@ public class PreparationGetActions extends GenericCommand<List<Action>> {
     private PreparationGetActions(String preparationId, String stepId) {
         super(PREPARATION_GROUP);
         execute(() -> new HttpGet(preparationServiceUrl + "/preparations/" + preparationId + "/actions/" + stepId));
+        local(PreparationEndpoint.class, endpoint -> endpoint.getActions(preparationId, stepId));
         on(HttpStatus.NOT_FOUND).then((req, resp) -> {
             throw new TDPException(PREPARATION_DOES_NOT_EXIST,
                     ExceptionContext.withBuilder().put("id", preparationId).build());
@@ -0,0 +1,43 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.dataprep.configuration;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
+import org.talend.dataprep.format.binary.BinaryDataSetMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serves (and reads) data sets as binary row streams when requested by content type.
+ */
+@Configuration
+@SuppressWarnings("InsufficientBranchCoverage")
+public class BinaryRows {
+
+    @Bean
+    public WebMvcConfigurer binaryRowsConfigurer(ObjectMapper mapper) {
+        return new WebMvcConfigurerAdapter() {
+
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                // added last: JSON remains the default when any content type is accepted
+                converters.add(new BinaryDataSetMessageConverter(mapper));
+            }
+        };
+    }
+}
@@ -12,15 +12,16 @@
 
 package org.talend.dataprep.configuration;
 
-import javax.annotation.Resource;
+import java.io.File;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.ApplicationEventMulticaster;
-import org.springframework.core.task.AsyncListenableTaskExecutor;
 import org.talend.dataprep.event.DataPrepEventsCaster;
+import org.talend.dataprep.event.EventJournal;
 
 /**
  * Setup the events management in data prep.
@@ -32,8 +33,27 @@ public class DataPrepEvents {
     @Autowired
     private BeanFactory beanFactory;
 
-    @Resource(name = "applicationEventMulticaster#executor")
-    private AsyncListenableTaskExecutor executor;
+    /** Whether events dispatched to asynchronous listeners are journaled (and replayed on restart). */
+    @Value("${dataprep.event.journal.enabled:false}")
+    private boolean journalEnabled;
+
+    @Value("${dataprep.event.journal.location:${java.io.tmpdir}/dataprep/events/${spring.zipkin.service.name:default}}")
+    private String journalLocation;
+
+    /**
+     * The number of worker threads of each asynchronous listener (defaults to the maximum pool size of the executor
+     * that used to be shared by all listeners).
+     */
+    @Value("${dataprep.event.async.workers:10}")
+    private int workers;
+
+    /** The number of events that can wait for a worker of each asynchronous listener. */
+    @Value("${dataprep.event.async.queue.capacity:1000}")
+    private int queueCapacity;
+
+    /** How long (in ms) a publisher waits for room in the queue of an asynchronous listener. */
+    @Value("${dataprep.event.async.queue.timeout:5000}")
+    private long queueTimeout;
 
     /**
      * @return The default application context ApplicationEventMulticaster.
@@ -41,7 +61,8 @@ public class DataPrepEvents {
     // do NOT change the name as it is important to replace the default application context event multi caster
     @Bean(name = "applicationEventMulticaster")
     public ApplicationEventMulticaster getDataPrepEventsCaster() {
-        return new DataPrepEventsCaster(executor, beanFactory);
+        final EventJournal journal = journalEnabled ? new EventJournal(new File(journalLocation)) : null;
+        return new DataPrepEventsCaster(beanFactory, journal, workers, queueCapacity, queueTimeout);
     }
 
 }
@@ -15,6 +15,7 @@ package org.talend.dataprep.configuration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -26,20 +27,6 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 @SuppressWarnings("InsufficientBranchCoverage")
 public class TaskExecution {
 
-    /**
-     * @return an Authenticated task executor for event multi casting.
-     * @see DataPrepEvents
-     */
-    @Bean(name = "applicationEventMulticaster#executor")
-    public TaskExecutor dataPrepAsyncTaskExecutor() {
-        final ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
-        taskExecutor.setCorePoolSize(2);
-        taskExecutor.setMaxPoolSize(10);
-        taskExecutor.setWaitForTasksToCompleteOnShutdown(false);
-        taskExecutor.initialize();
-        return taskExecutor;
-    }
-
     /**
      * <p>
      * <b>Important note</b> Naming of the executor is very important, code relies on documentation naming conventions
@@ -64,6 +51,55 @@ public class TaskExecution {
         return getAsyncExecutor();
     }
 
+    /**
+     * @return A {@link AsyncTaskExecutor} for CSV chunks parsed in parallel (one thread per available core).
+     * @see org.talend.dataprep.schema.csv.CSVSerializer
+     */
+    @Bean(name = "serializer#csv#parallel#executor")
+    AsyncTaskExecutor getCsvParallelTaskExecutor() {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processors);
+        executor.setMaxPoolSize(processors);
+        executor.setThreadNamePrefix("csv-chunk-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * @return A {@link AsyncTaskExecutor} for aggregation batches accumulated in parallel (one thread per available
+     * core).
+     * @see org.talend.dataprep.transformation.aggregation.AggregationService
+     */
+    @Bean(name = "aggregation#executor")
+    AsyncTaskExecutor getAggregationTaskExecutor() {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processors);
+        executor.setMaxPoolSize(processors);
+        executor.setThreadNamePrefix("aggregation-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * @return A {@link AsyncTaskExecutor} for batches of rows transformed in parallel (one thread per available core).
+     * @see org.talend.dataprep.transformation.api.transformer.json.PipelineTransformer
+     */
+    @Bean(name = "pipeline#executor")
+    AsyncTaskExecutor getPipelineTaskExecutor() {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processors);
+        executor.setMaxPoolSize(processors);
+        executor.setThreadNamePrefix("pipeline-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
     /**
      * @return A {@link TaskExecutor} for non-blocking HTML serialization.
      * @see org.talend.dataprep.schema.csv.CSVSerializer
@@ -1,5 +1,6 @@
 package org.talend.dataprep.dataset.adapter;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 import org.apache.avro.Schema;
@@ -11,6 +12,8 @@ import org.talend.dataprep.dataset.adapter.commands.DataSetGetContent;
 import org.talend.dataprep.dataset.adapter.commands.DataSetGetMetadata;
 import org.talend.dataprep.dataset.adapter.commands.DataSetGetSchema;
 import org.talend.dataprep.dataset.adapter.commands.DatasetList;
+import org.talend.dataprep.util.SortAndOrderHelper.Order;
+import org.talend.dataprep.util.SortAndOrderHelper.Sort;
 
 /**
  * Client for catalog HTTP API.
@@ -27,6 +30,15 @@ public class DataCatalogClient {
         return context.getBean(DatasetList.class, certification, favorite).execute();
     }
 
+    /**
+     * @param name only list datasets whose name contains this value (ignoring case).
+     * @param limit only list the most recent datasets if <code>true</code>.
+     */
+    public Stream<Dataset> listDataset(Dataset.CertificationState certification, Boolean favorite, Sort sort,
+            Order order, String name, boolean limit) {
+        return context.getBean(DatasetList.class, certification, favorite, sort, order, name, limit).execute();
+    }
+
     public Dataset getMetadata(String id) {
         return context.getBean(DataSetGetMetadata.class, id).execute();
     }
@@ -39,4 +51,14 @@ public class DataCatalogClient {
         return context.getBean(DataSetGetContent.class, id, schema, limit).execute();
     }
 
+    /**
+     * @param columns the ids of the columns to retrieve, <code>schema</code> must only hold these columns.
+     * @param filter the TQL filter records must match (evaluated while the catalog reads content).
+     * @param sample <code>true</code> to get a random sample of <code>limit</code> records instead of the first ones.
+     */
+    public Stream<GenericRecord> getDataSetContent(String id, Long limit, Schema schema, List<String> columns,
+            String filter, boolean sample) {
+        return context.getBean(DataSetGetContent.class, id, schema, limit, columns, filter, sample).execute();
+    }
+
 }
@@ -32,14 +32,17 @@ import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.dataset.row.InvalidMarker;
 import org.talend.dataprep.api.dataset.statistics.Statistics;
-import org.talend.dataprep.api.filter.FilterService;
 import org.talend.dataprep.conversions.BeanConversionService;
 import org.talend.dataprep.conversions.inject.OwnerInjection;
 import org.talend.dataprep.dataset.DatasetConfiguration;
+import org.talend.dataprep.dataset.adapter.commands.DataSetGetContentLegacy;
 import org.talend.dataprep.dataset.adapter.commands.DataSetGetMetadataLegacy;
 import org.talend.dataprep.dataset.event.DatasetUpdatedEvent;
+import org.talend.dataprep.dataset.store.content.ColumnProjection;
 import org.talend.dataprep.dataset.store.content.DataSetContentLimit;
 import org.talend.dataprep.quality.AnalyzerService;
+import org.talend.dataprep.util.SortAndOrderHelper.Order;
+import org.talend.dataprep.util.SortAndOrderHelper.Sort;
 import org.talend.dataprep.util.avro.AvroUtils;
 import org.talend.dataquality.common.inference.Analyzer;
 import org.talend.dataquality.common.inference.Analyzers;
@@ -75,9 +78,6 @@ public class DatasetClient {
     @Value("${dataset.records.limit:10000}")
     private long sampleSize;
 
-    @Autowired
-    private FilterService filterService;
-
     @Autowired
     private OwnerInjection ownerInjection;
 
@@ -108,6 +108,18 @@ public class DatasetClient {
                 dataset -> conversionService.convert(dataset, DatasetDTO.class, ownerInjection.injectIntoDataset()));
     }
 
+    /**
+     * List datasets, filtered, sorted and limited by the dataset service (only the returned datasets are transferred).
+     *
+     * @param name only list datasets whose name contains this value (ignoring case).
+     * @param limit only list the most recent datasets if <code>true</code>.
+     */
+    public Stream<DatasetDTO> listDataSetMetadata(Dataset.CertificationState certification, Boolean favorite,
+            Sort sort, Order order, String name, boolean limit) {
+        return dataCatalogClient.listDataset(certification, favorite, sort, order, name, limit).map(
+                dataset -> conversionService.convert(dataset, DatasetDTO.class, ownerInjection.injectIntoDataset()));
+    }
+
     public DataSetMetadata getDataSetMetadata(String id) {
         final Schema dataSetSchema = dataCatalogClient.getDataSetSchema(id);
         return toDataSetMetadata(dataCatalogClient.getMetadata(id), dataSetSchema);
@@ -163,9 +175,24 @@ public class DatasetClient {
      * @param id the dataset to fetch
      * @param fullContent we need the full dataset or a sample (see sample limit in datset: 10k rows)
      * @param withRowValidityMarker perform a quality analysis on the dataset records
-     * @param filter TQL filter for content
+     * @param filter TQL filter for content (evaluated by the catalog while reading content)
      */
     public DataSet getDataSet(String id, boolean fullContent, boolean withRowValidityMarker, String filter) {
+        return getDataSet(id, fullContent, withRowValidityMarker, filter, null);
+    }
+
+    /**
+     * Get a dataSet by id, with the given columns only: other columns are neither transferred nor returned.
+     * Convert metadata and records from {@link Dataset} to {@link DataSet}
+     *
+     * @param id the dataset to fetch
+     * @param fullContent we need the full dataset or a (random) sample (see sample limit in datset: 10k rows)
+     * @param withRowValidityMarker perform a quality analysis on the dataset records
+     * @param filter TQL filter for content (may use any column, returned or not)
+     * @param columns the ids of the columns to return (<code>null</code> or empty for all columns)
+     */
+    public DataSet getDataSet(String id, boolean fullContent, boolean withRowValidityMarker, String filter,
+            List<String> columns) {
         DataSet dataset = new DataSet();
         // convert metadata
         Dataset metadata = dataCatalogClient.getMetadata(id);
@@ -177,17 +204,30 @@ public class DatasetClient {
         dataset.setMetadata(dataSetMetadata);
 
         // convert records
+        final ColumnProjection projection = ColumnProjection.of(columns);
+        Schema contentSchema = dataSetSchema;
+        if (projection != null) {
+            // content is served with the same schema as the projected metadata (see DataSetController)
+            dataSetMetadata.setRowMetadata(projection.apply(dataSetMetadata.getRowMetadata()));
+            contentSchema = AvroUtils.toSchema(dataSetMetadata.getRowMetadata());
+        }
         final RowMetadata rowMetadata = dataSetMetadata.getRowMetadata();
 
-        Stream<GenericRecord> dataSetContent =
-                dataCatalogClient.getDataSetContent(id, limit(fullContent), dataSetSchema);
-        Stream<DataSetRow> records = toDataSetRows(dataSetContent, rowMetadata);
+        Stream<DataSetRow> records;
+        if (context.getBean(DatasetConfiguration.class).isLegacy()) {
+            // rows are read as binary rows (or JSON) rather than converted from Avro records
+            records = context
+                    .getBean(DataSetGetContentLegacy.class, id, limit(fullContent), columns, filter, !fullContent)
+                    .execute()
+                    .map(row -> withRowMetadata(row, rowMetadata));
+        } else {
+            Stream<GenericRecord> dataSetContent = dataCatalogClient.getDataSetContent(id, limit(fullContent),
+                    contentSchema, columns, filter, !fullContent);
+            records = toDataSetRows(dataSetContent, rowMetadata);
+        }
         if (withRowValidityMarker) {
             records = records.peek(addValidity(rowMetadata.getColumns()));
         }
-        if (filter != null) {
-            records = records.filter(filterService.build(filter, rowMetadata));
-        }
         dataset.setRecords(records);
 
         // DataSet specifics
@@ -232,11 +272,21 @@ public class DatasetClient {
     @Deprecated
     public HystrixCommand<InputStream> getDataSetGetCommand(final String dataSetId, final boolean fullContent,
             final boolean includeInternalContent) {
+        return getDataSetGetCommand(dataSetId, fullContent, includeInternalContent, null);
+    }
+
+    /**
+     * @deprecated : Still present because Chained commands still need this one.
+     * @see #getDataSet(String, boolean, boolean, String, List)
+     */
+    @Deprecated
+    public HystrixCommand<InputStream> getDataSetGetCommand(final String dataSetId, final boolean fullContent,
+            final boolean includeInternalContent, final List<String> columns) {
         return new HystrixCommand<InputStream>(DATASET_GROUP) {
 
             @Override
             protected InputStream run() throws IOException {
-                DataSet dataSet = getDataSet(dataSetId, fullContent, includeInternalContent);
+                DataSet dataSet = getDataSet(dataSetId, fullContent, includeInternalContent, null, columns);
                 ByteArrayOutputStream out = new ByteArrayOutputStream();
                 mapper.writerFor(DataSet.class).writeValue(out, dataSet);
                 return new ByteArrayInputStream(out.toByteArray());
@@ -250,6 +300,14 @@ public class DatasetClient {
         return dataSetContent.map(toDatasetRow(rowMetadata));
     }
 
+    private static DataSetRow withRowMetadata(DataSetRow row, RowMetadata rowMetadata) {
+        final DataSetRow result = new DataSetRow(rowMetadata, row.values());
+        if (row.getTdpId() != null) {
+            result.setTdpId(row.getTdpId());
+        }
+        return result;
+    }
+
     private Consumer<DataSetRow> addValidity(List<ColumnMetadata> columns) {
         final Analyzer<Analyzers.Result> analyzer = analyzerService.build(columns, AnalyzerService.Analysis.QUALITY);
         InvalidMarker invalidMarker = new InvalidMarker(columns, analyzer);
@@ -16,11 +16,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.List;
 import java.util.stream.Stream;
 import javax.annotation.PostConstruct;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpRequestBase;
@@ -55,11 +57,33 @@ public class DataSetGetContent extends GenericCommand<Stream<GenericRecord>> {
 
     private final Long limit;
 
+    /** The ids of the columns to retrieve (<code>null</code> for all columns). */
+    private final List<String> columns;
+
+    /** The TQL filter records must match (<code>null</code> for all records). */
+    private final String filter;
+
+    /** <code>true</code> to get a random sample of <code>limit</code> records instead of the first ones. */
+    private final boolean sample;
+
     public DataSetGetContent(final String dataSetId, Schema contentSchema, Long limit) {
+        this(dataSetId, contentSchema, limit, null, null, false);
+    }
+
+    /**
+     * @param columns the ids of the columns to retrieve, <code>contentSchema</code> must only hold these columns.
+     * @param filter the TQL filter records must match, evaluated by the dataset service while reading content.
+     * @param sample <code>true</code> to get a random sample of <code>limit</code> records instead of the first ones.
+     */
+    public DataSetGetContent(final String dataSetId, Schema contentSchema, Long limit, List<String> columns,
+            String filter, boolean sample) {
         super(DATASET_GROUP);
         this.dataSetId = dataSetId;
         this.contentSchema = contentSchema;
         this.limit = limit;
+        this.columns = columns;
+        this.filter = filter;
+        this.sample = sample;
 
         on(HttpStatus.NO_CONTENT).then((req, resp) -> Stream.empty());
         on(HttpStatus.OK).then(this::readResult);
@@ -77,6 +101,15 @@ public class DataSetGetContent extends GenericCommand<Stream<GenericRecord>> {
                 if (limit != null) {
                     uriBuilder.addParameter("limit", Long.toString(limit));
                 }
+                if (columns != null) {
+                    columns.forEach(column -> uriBuilder.addParameter("columns", column));
+                }
+                if (StringUtils.isNotBlank(filter)) {
+                    uriBuilder.addParameter("filter", filter);
+                }
+                if (sample && limit != null) {
+                    uriBuilder.addParameter("sample", "true");
+                }
                 uri = uriBuilder.build();
             } catch (URISyntaxException e) {
                 throw new TalendRuntimeException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
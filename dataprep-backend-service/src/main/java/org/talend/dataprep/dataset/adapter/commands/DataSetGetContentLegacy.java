@@ -0,0 +1,141 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.adapter.commands;
+
+import static org.apache.http.HttpHeaders.ACCEPT;
+import static org.springframework.beans.factory.config.ConfigurableBeanFactory.SCOPE_PROTOTYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.talend.daikon.exception.ExceptionContext.build;
+import static org.talend.dataprep.exception.error.APIErrorCodes.UNABLE_TO_RETRIEVE_DATASET_CONTENT;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.utils.URIBuilder;
+import org.springframework.context.annotation.Scope;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.talend.daikon.exception.TalendRuntimeException;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.command.GenericCommand;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.format.binary.BinaryRowReader;
+import org.talend.dataprep.format.binary.BinaryRowWriter;
+
+/**
+ * Command to get the rows of a dataset using the legacy dataprep dataset API. Rows are asked as a
+ * {@link BinaryRowWriter#MIME_TYPE binary row stream}, JSON is read if the dataset service does not serve binary rows.
+ */
+@Component(value = "DataSetGetContent#legacy")
+@Scope(SCOPE_PROTOTYPE)
+public class DataSetGetContentLegacy extends GenericCommand<Stream<DataSetRow>> {
+
+    /** Accepted content types, JSON being the fallback. */
+    static final String ACCEPTED_CONTENT = BinaryRowWriter.MIME_TYPE + ", " + APPLICATION_JSON_VALUE + ";q=0.9";
+
+    private final String dataSetId;
+
+    private final Long limit;
+
+    /** The ids of the columns to retrieve (<code>null</code> for all columns). */
+    private final List<String> columns;
+
+    /** The TQL filter records must match (<code>null</code> for all records). */
+    private final String filter;
+
+    /** <code>true</code> to get a random sample of <code>limit</code> records instead of the first ones. */
+    private final boolean sample;
+
+    /**
+     * Private constructor to ensure the use of IoC
+     *
+     * @param dataSetId the dataset id to get.
+     * @param limit the maximum number of rows (<code>null</code> for no limit).
+     * @param columns the ids of the columns to retrieve.
+     * @param filter the TQL filter records must match, evaluated by the dataset service while reading content.
+     * @param sample <code>true</code> to get a random sample of <code>limit</code> records instead of the first ones.
+     */
+    private DataSetGetContentLegacy(final String dataSetId, Long limit, List<String> columns, String filter,
+            boolean sample) {
+        super(DATASET_GROUP);
+        this.dataSetId = dataSetId;
+        this.limit = limit;
+        this.columns = columns;
+        this.filter = filter;
+        this.sample = sample;
+
+        on(HttpStatus.NO_CONTENT).then((req, resp) -> Stream.empty());
+        on(HttpStatus.OK).then(this::readResult);
+        onError(e -> new TDPException(UNABLE_TO_RETRIEVE_DATASET_CONTENT, e, build().put("id", dataSetId)));
+    }
+
+    @PostConstruct
+    private void initConfiguration() {
+        execute(() -> {
+            URI uri;
+            try {
+                URIBuilder uriBuilder = new URIBuilder(datasetServiceUrl);
+                uriBuilder.setPath(uriBuilder.getPath() + "/datasets/" + dataSetId + "/content");
+                uriBuilder.addParameter("metadata", "false");
+                uriBuilder.addParameter("includeInternalContent", "true");
+                if (limit != null) {
+                    uriBuilder.addParameter("limit", Long.toString(limit));
+                }
+                if (columns != null) {
+                    columns.forEach(column -> uriBuilder.addParameter("columns", column));
+                }
+                if (StringUtils.isNotBlank(filter)) {
+                    uriBuilder.addParameter("filter", filter);
+                }
+                if (sample && limit != null) {
+                    uriBuilder.addParameter("sample", "true");
+                }
+                uri = uriBuilder.build();
+            } catch (URISyntaxException e) {
+                throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+            }
+
+            HttpGet httpGet = new HttpGet(uri);
+            httpGet.addHeader(ACCEPT, ACCEPTED_CONTENT);
+            return httpGet;
+        });
+    }
+
+    private Stream<DataSetRow> readResult(HttpRequestBase request, HttpResponse response) {
+        try {
+            final InputStream content = response.getEntity().getContent();
+            final Header contentType = response.getEntity().getContentType();
+            if (contentType != null && StringUtils.startsWith(contentType.getValue(), BinaryRowWriter.MIME_TYPE)) {
+                return new BinaryRowReader(content, objectMapper).rows();
+            }
+            final DataSet dataSet = objectMapper.readerFor(DataSet.class).readValue(content);
+            final Stream<DataSetRow> records = dataSet.getRecords() == null ? Stream.empty() : dataSet.getRecords();
+            return records.onClose(() -> IOUtils.closeQuietly(content));
+        } catch (IOException e) {
+            throw new TalendRuntimeException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+}
@@ -17,6 +17,7 @@ import java.net.URI;
 import java.util.stream.Stream;
 import javax.annotation.PostConstruct;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpRequestBase;
@@ -30,6 +31,8 @@ import org.talend.dataprep.dataset.adapter.Dataset;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.APIErrorCodes;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.util.SortAndOrderHelper.Order;
+import org.talend.dataprep.util.SortAndOrderHelper.Sort;
 
 import static org.springframework.beans.factory.config.BeanDefinition.SCOPE_PROTOTYPE;
 
@@ -46,10 +49,37 @@ public class DatasetList extends GenericCommand<Stream<Dataset>> {
 
     private final Boolean favorite;
 
+    private final Sort sort;
+
+    private final Order order;
+
+    private final String name;
+
+    private final boolean limit;
+
     private DatasetList(Dataset.CertificationState certification, Boolean favorite) {
+        this(certification, favorite, null, null, null, false);
+    }
+
+    /**
+     * List the datasets of the user, filtered, sorted and limited by the dataset service.
+     *
+     * @param certification only list datasets with this certification (all datasets if <code>null</code>).
+     * @param favorite only list favorite datasets if <code>true</code>.
+     * @param sort how to sort the datasets (service default if <code>null</code>).
+     * @param order the order to apply to the sort (service default if <code>null</code>).
+     * @param name only list datasets whose name contains this value (ignoring case).
+     * @param limit only list the most recent datasets (see <code>dataset.list.limit</code>) if <code>true</code>.
+     */
+    private DatasetList(Dataset.CertificationState certification, Boolean favorite, Sort sort, Order order,
+            String name, boolean limit) {
         super(GenericCommand.DATASET_GROUP);
         this.certification = certification;
         this.favorite = favorite;
+        this.sort = sort;
+        this.order = order;
+        this.name = name;
+        this.limit = limit;
     }
 
     @PostConstruct
@@ -62,6 +92,18 @@ public class DatasetList extends GenericCommand<Stream<Dataset>> {
             if (favorite != null) {
                 uriBuilder.addParameter("favorite", Boolean.toString(favorite));
             }
+            if (sort != null) {
+                uriBuilder.addParameter("sort", sort.camelName());
+            }
+            if (order != null) {
+                uriBuilder.addParameter("order", order.camelName());
+            }
+            if (StringUtils.isNotEmpty(name)) {
+                uriBuilder.addParameter("name", name);
+            }
+            if (limit) {
+                uriBuilder.addParameter("limit", Boolean.TRUE.toString());
+            }
             URI dataSetListUri = uriBuilder.build();
             execute(() -> new HttpGet(dataSetListUri));
             on(HttpStatus.OK).then(this::readResponse);
@@ -0,0 +1,92 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * The subset of columns a consumer of a dataset content needs. Columns out of the projection are dropped as soon as a
+ * row is read, so that no further processing (invalid detection, copies, serialization) is spent on them.
+ */
+public class ColumnProjection {
+
+    /** The ids of the projected columns. */
+    private final Set<String> columnIds;
+
+    private ColumnProjection(Set<String> columnIds) {
+        this.columnIds = columnIds;
+    }
+
+    /**
+     * @param columnIds the ids of the needed columns.
+     * @return the projection on the given columns or <code>null</code> if all columns are needed (<code>null</code> or
+     * empty ids).
+     */
+    public static ColumnProjection of(Collection<String> columnIds) {
+        if (columnIds == null || columnIds.isEmpty()) {
+            return null;
+        }
+        return new ColumnProjection(new LinkedHashSet<>(columnIds));
+    }
+
+    /**
+     * @param rowMetadata the row metadata of all columns.
+     * @return a row metadata with the projected columns only (in their original order).
+     */
+    public RowMetadata apply(RowMetadata rowMetadata) {
+        final List<ColumnMetadata> columns = rowMetadata
+                .getColumns() //
+                .stream() //
+                .filter(column -> columnIds.contains(column.getId())) //
+                .collect(toList());
+        return new RowMetadata(columns);
+    }
+
+    /**
+     * @param row a row with the values of all columns.
+     * @param projectedMetadata the row metadata returned by {@link #apply(RowMetadata)}.
+     * @return a row with the values of the projected columns only.
+     */
+    public DataSetRow apply(DataSetRow row, RowMetadata projectedMetadata) {
+        final Map<String, Object> values = row.values();
+        final Map<String, Object> projectedValues = new HashMap<>(columnIds.size() * 2);
+        for (String columnId : columnIds) {
+            final Object value = values.get(columnId);
+            if (value != null) {
+                projectedValues.put(columnId, value);
+            }
+        }
+        final DataSetRow projected = new DataSetRow(projectedMetadata, projectedValues);
+        projected.setTdpId(row.getTdpId());
+        return projected;
+    }
+
+    /**
+     * @return the ids of the projected columns.
+     */
+    public Set<String> getColumnIds() {
+        return columnIds;
+    }
+}
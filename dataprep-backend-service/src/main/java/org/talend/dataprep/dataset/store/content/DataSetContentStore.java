@@ -13,25 +13,37 @@
 
 package org.talend.dataprep.dataset.store.content;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetContent;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.json.DataSetRowIterator;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.dataset.row.InvalidMarker;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.exception.error.DataSetErrorCodes;
 import org.talend.dataprep.quality.AnalyzerService;
 import org.talend.dataprep.schema.FormatFamilyFactory;
 import org.talend.dataprep.schema.Serializer;
+import org.talend.dataprep.schema.csv.CSVSerializer;
 import org.talend.dataquality.common.inference.Analyzer;
 import org.talend.dataquality.common.inference.Analyzers;
 
@@ -42,6 +54,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  */
 public abstract class DataSetContentStore {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSetContentStore.class);
+
     @Value("${dataset.records.limit:10000}")
     private long sampleSize;
 
@@ -129,34 +143,437 @@ public abstract class DataSetContentStore {
      * @return A valid <b>{@link DataSetRow}</b> stream.
      */
     public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit) {
-        final InputStream inputStream = get(dataSetMetadata, limit);
+        return stream(dataSetMetadata, limit, null);
+    }
+
+    /**
+     * Same as {@link #stream(DataSetMetadata, long)} but only returns the values of the given columns: other columns
+     * are dropped as soon as a row is read, and are not analyzed for invalid values.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
+     * @param limit A limit to pass to raw content supplier (use -1 for "no limit).
+     * @param projection The columns to return (<code>null</code> for all columns).
+     * @return A valid <b>{@link DataSetRow}</b> stream.
+     * @see ColumnProjection
+     */
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit, ColumnProjection projection) {
+        return stream(dataSetMetadata, limit, projection, null);
+    }
+
+    /**
+     * Same as {@link #stream(DataSetMetadata, long, ColumnProjection)} but only returns the rows that match the given
+     * filter. The filter is evaluated as soon as a row is marked for invalid values, so rows that do not match are
+     * never projected nor passed to the caller. Without filter, the values of the columns out of the projection are
+     * skipped while content is parsed when the data set serializer supports it.
+     * <p>
+     * Rows keep their position in the data set as TDP id, whether previous rows were filtered out or not.
+     * </p>
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
+     * @param limit A limit to pass to raw content supplier (use -1 for "no limit).
+     * @param projection The columns to return (<code>null</code> for all columns).
+     * @param filter The filter rows must match, built on the row metadata of <b>all</b> columns (<code>null</code>
+     * for no filter).
+     * @return A valid <b>{@link DataSetRow}</b> stream.
+     */
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit, ColumnProjection projection,
+            Predicate<DataSetRow> filter) {
+        final Set<String> serializedColumns = getSerializedColumns(dataSetMetadata, projection, filter);
+        if (serializedColumns == null) {
+            final InputStream inputStream = get(dataSetMetadata, limit);
+            return read(dataSetMetadata, parse(inputStream, 1), projection, filter, false);
+        }
+        final InputStream inputStream =
+                serialize(dataSetMetadata, getAsRaw(dataSetMetadata, limit), limit, serializedColumns);
+        return read(dataSetMetadata, parse(inputStream, 1), projection, null, true);
+    }
+
+    /**
+     * Same as {@link #stream(DataSetMetadata, long, ColumnProjection, Predicate)} but returns rows starting at the
+     * given offset. When a valid {@link RowOffsetIndex} is stored for the data set, content is read from the closest
+     * indexed row instead of the first row.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
+     * @param offset The position of the first row to return (0 based, empty rows excluded).
+     * @param limit The maximum number of rows to read from offset (use -1 for "no limit).
+     * @param projection The columns to return (<code>null</code> for all columns).
+     * @param filter The filter rows must match (<code>null</code> for no filter).
+     * @return A valid <b>{@link DataSetRow}</b> stream.
+     */
+    public Stream<DataSetRow> streamPage(DataSetMetadata dataSetMetadata, long offset, long limit,
+            ColumnProjection projection, Predicate<DataSetRow> filter) {
+        if (offset <= 0) {
+            return stream(dataSetMetadata, limit, projection, filter);
+        }
+        final Set<String> serializedColumns = getSerializedColumns(dataSetMetadata, projection, filter);
+        final RowOffsetIndex index = getValidRowOffsetIndex(dataSetMetadata);
+        if (index == null) {
+            final long readLimit = limit < 0 ? -1 : offset + limit;
+            final InputStream inputStream =
+                    serialize(dataSetMetadata, getAsRaw(dataSetMetadata, readLimit), readLimit, serializedColumns);
+            return read(dataSetMetadata, parse(inputStream, 1).skip(offset), projection, filter,
+                    serializedColumns != null);
+        }
+        if (offset >= index.getRowCount()) {
+            return Stream.empty();
+        }
+        final long indexedPosition = index.getIndexedPosition(offset);
+        LOGGER.debug("Read data set #{} from row {} (indexed at {}).", dataSetMetadata.getId(), indexedPosition,
+                index.getByteOffset(indexedPosition));
+        final long rowsToSkip = offset - indexedPosition;
+        final InputStream rawContent = getAsRaw(dataSetMetadata, indexedPosition, index);
+        final InputStream inputStream =
+                serialize(dataSetMetadata, rawContent, limit < 0 ? -1 : rowsToSkip + limit, serializedColumns);
+        return read(dataSetMetadata, parse(inputStream, indexedPosition + 1).skip(rowsToSkip), projection, filter,
+                serializedColumns != null);
+    }
+
+    /**
+     * @return the ids of the columns the serializer must write for rows to be read already projected, or
+     * <code>null</code> if rows must be projected once read (no projection, projection after filter, or serializer
+     * that can not skip columns).
+     */
+    private Set<String> getSerializedColumns(DataSetMetadata dataSetMetadata, ColumnProjection projection,
+            Predicate<DataSetRow> filter) {
+        if (projection == null || filter != null) {
+            return null;
+        }
+        final Serializer serializer =
+                factory.getFormatFamily(dataSetMetadata.getContent().getFormatFamilyId()).getSerializer();
+        return serializer instanceof CSVSerializer ? projection.getColumnIds() : null;
+    }
+
+    /**
+     * @param dataSetMetadata The {@link DataSetMetadata data set} the raw content belongs to.
+     * @param rawContent The raw content.
+     * @param limit The maximum number of rows to serialize (use -1 for "no limit).
+     * @param columnIds The ids of the columns to serialize, see {@link #getSerializedColumns} (<code>null</code> for
+     * all columns).
+     * @return The JSON content.
+     */
+    private InputStream serialize(DataSetMetadata dataSetMetadata, InputStream rawContent, long limit,
+            Set<String> columnIds) {
+        final Serializer serializer =
+                factory.getFormatFamily(dataSetMetadata.getContent().getFormatFamilyId()).getSerializer();
+        if (columnIds != null) {
+            return ((CSVSerializer) serializer).serialize(rawContent, dataSetMetadata, limit, columnIds);
+        }
+        return serializer.serialize(rawContent, dataSetMetadata, limit);
+    }
+
+    /**
+     * @return the raw content with its header, followed by the content from the indexed row at given position.
+     */
+    private InputStream getAsRaw(DataSetMetadata dataSetMetadata, long indexedPosition, RowOffsetIndex index) {
+        try {
+            final byte[] header = new byte[(int) index.getHeaderLength()];
+            try (InputStream headerContent = getAsRaw(dataSetMetadata, -1)) {
+                IOUtils.readFully(headerContent, header);
+            }
+            final InputStream content = getAsRaw(dataSetMetadata, -1);
+            try {
+                IOUtils.skipFully(content, index.getByteOffset(indexedPosition));
+            } catch (IOException e) {
+                IOUtils.closeQuietly(content);
+                throw e;
+            }
+            return new SequenceInputStream(new ByteArrayInputStream(header), content);
+        } catch (IOException e) {
+            throw new TDPException(DataSetErrorCodes.UNABLE_TO_READ_DATASET_CONTENT, e);
+        }
+    }
+
+    /**
+     * @param inputStream The JSON content.
+     * @param firstTdpId The TDP id of the first row in content.
+     * @return The non empty rows of the content (with their TDP id), input stream is closed with returned stream.
+     */
+    private Stream<DataSetRow> parse(InputStream inputStream, long firstTdpId) {
         final DataSetRowIterator iterator = new DataSetRowIterator(inputStream);
         final Iterable<DataSetRow> rowIterable = () -> iterator;
         Stream<DataSetRow> dataSetRowStream = StreamSupport.stream(rowIterable.spliterator(), false);
 
-        // make sure to close the original input stream when closing this one
-        AtomicLong tdpId = new AtomicLong(1);
-        final List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
-        final Analyzer<Analyzers.Result> analyzer = service.build(columns, AnalyzerService.Analysis.QUALITY);
-
-        dataSetRowStream = dataSetRowStream
+        AtomicLong tdpId = new AtomicLong(firstTdpId);
+        return dataSetRowStream
                 .filter(r -> !r.isEmpty())
-                .peek(r -> analyzer.analyze(r.order(columns).toArray(DataSetRow.SKIP_TDP_ID))) //
-                .map(new InvalidMarker(columns, analyzer)) // Mark invalid columns as detected by provided analyzer.
                 .peek(r -> { //
                     r.setTdpId(tdpId.getAndIncrement());
                 })
-                .onClose(() -> { //
+                .onClose(() -> { // make sure to close the original input stream when closing this one
                     try {
                         inputStream.close();
                     } catch (Exception e) {
                         throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
                     }
                 });
+    }
+
+    /**
+     * Computes the row offset index of the data set raw content (content is read once).
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to index.
+     * @param interval The number of rows between two indexed rows.
+     * @return The index, to be persisted with {@link #storeRowOffsetIndex(DataSetMetadata, RowOffsetIndex)}, or
+     * <code>null</code> if the format of the data set does not support indexes.
+     */
+    public RowOffsetIndex computeRowOffsetIndex(DataSetMetadata dataSetMetadata, int interval) {
+        final String formatFamilyId = dataSetMetadata.getContent().getFormatFamilyId();
+        if (formatFamilyId == null) {
+            return null;
+        }
+        final Serializer serializer = factory.getFormatFamily(formatFamilyId).getSerializer();
+        if (!(serializer instanceof CSVSerializer)) {
+            return null; // only CSV content can be read from an arbitrary record
+        }
+        try (InputStream rawContent = getAsRaw(dataSetMetadata, -1)) {
+            return ((CSVSerializer) serializer).index(rawContent, dataSetMetadata, interval);
+        } catch (IOException e) {
+            throw new TDPException(DataSetErrorCodes.UNABLE_TO_READ_DATASET_CONTENT, e);
+        }
+    }
+
+    /**
+     * Returns a uniform random sample of the data set rows, served from the sample persisted with
+     * {@link #storeSample(DataSetMetadata, RowSample)}. When there's no valid persisted sample (or when it is too
+     * small), falls back to the first rows of the data set (see
+     * {@link #stream(DataSetMetadata, long, ColumnProjection, Predicate)}).
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
+     * @param size The number of rows in the sample.
+     * @param projection The columns to return (<code>null</code> for all columns).
+     * @param filter The filter sampled rows must match (<code>null</code> for no filter).
+     * @return A valid <b>{@link DataSetRow}</b> stream, rows are in data set order.
+     */
+    public Stream<DataSetRow> streamSample(DataSetMetadata dataSetMetadata, long size, ColumnProjection projection,
+            Predicate<DataSetRow> filter) {
+        final RowSample sample = getValidSample(dataSetMetadata);
+        if (sample == null || !sample.covers(size)) {
+            return stream(dataSetMetadata, size, projection, filter);
+        }
+        LOGGER.debug("Serve sample of data set #{} from persisted sample.", dataSetMetadata.getId());
+        return read(dataSetMetadata, sample.rows(size, dataSetMetadata.getRowMetadata()), projection, filter, false);
+    }
+
+    /**
+     * Computes a uniform random sample over <b>all</b> the rows of the data set content (content is read once).
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to sample.
+     * @param size The maximum number of rows in the sample.
+     * @return The sample, to be persisted with {@link #storeSample(DataSetMetadata, RowSample)}.
+     */
+    public RowSample computeSample(DataSetMetadata dataSetMetadata, int size) {
+        return computeSample(dataSetMetadata, size, null);
+    }
+
+    /**
+     * Same as {@link #computeSample(DataSetMetadata, int)}, but also records the invalid cells of <b>all</b> the rows
+     * in the given markers (content is still read once).
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to sample.
+     * @param size The maximum number of rows in the sample.
+     * @param markers Where to record invalid cells (<code>null</code> to only sample), to be persisted with
+     * {@link #storeInvalidMarkers(DataSetMetadata, InvalidCellMarkers)}.
+     * @return The sample, to be persisted with {@link #storeSample(DataSetMetadata, RowSample)}.
+     */
+    public RowSample computeSample(DataSetMetadata dataSetMetadata, int size, InvalidCellMarkers markers) {
+        final List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
+        final RowSample.Sampler sampler = RowSample.sampler(RowSample.version(dataSetMetadata), size, columns);
+        final AnalyzerInvalidMarker invalidMarker = markers == null ? null : new AnalyzerInvalidMarker(columns);
+        try (InputStream inputStream = get(dataSetMetadata, -1)) {
+            final DataSetRowIterator iterator = new DataSetRowIterator(inputStream);
+            long position = 0;
+            while (iterator.hasNext()) {
+                final DataSetRow row = iterator.next();
+                if (!row.isEmpty()) {
+                    sampler.offer(position, row);
+                    if (invalidMarker != null) {
+                        markers.record(position, invalidMarker.apply(row), columns);
+                    }
+                    position++;
+                }
+            }
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+        return sampler.build();
+    }
 
+    /**
+     * Marks invalid cells, filters and projects rows read from the data set (with their TDP id already set).
+     *
+     * @param projected <code>true</code> if rows only hold the values of the projected columns already.
+     */
+    private Stream<DataSetRow> read(DataSetMetadata dataSetMetadata, Stream<DataSetRow> rows,
+            ColumnProjection projection, Predicate<DataSetRow> filter, boolean projected) {
+        final RowMetadata rowMetadata = projection == null ? dataSetMetadata.getRowMetadata()
+                : projection.apply(dataSetMetadata.getRowMetadata());
+        final InvalidCellMarkers markers = getValidInvalidMarkers(dataSetMetadata);
+        // analyzer is only needed for rows not covered by persisted markers (if any), it must see all columns the
+        // filter may use
+        final List<ColumnMetadata> analyzedColumns =
+                filter == null ? rowMetadata.getColumns() : dataSetMetadata.getRowMetadata().getColumns();
+        final AnalyzerInvalidMarker analyzerMarker = new AnalyzerInvalidMarker(analyzedColumns);
+        final boolean projectBeforeMarkers = projection != null && filter == null && !projected;
+
+        Stream<DataSetRow> dataSetRowStream = rows
+                .map(r -> projectBeforeMarkers ? projection.apply(r, rowMetadata) : r)
+                .map(r -> { // Mark invalid columns (as persisted by quality analysis or as detected by analyzer).
+                    final long position = r.getTdpId() - 1;
+                    if (markers != null && markers.covers(position)) {
+                        return markers.apply(position, r);
+                    }
+                    return analyzerMarker.apply(r);
+                });
+        if (filter != null) {
+            dataSetRowStream = dataSetRowStream.filter(filter);
+            if (projection != null) {
+                dataSetRowStream = dataSetRowStream.map(r -> projection.apply(r, rowMetadata));
+            }
+        }
         return dataSetRowStream;
     }
 
+    /**
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read index for.
+     * @return the persisted index if it matches the current content version, <code>null</code> otherwise.
+     */
+    private RowOffsetIndex getValidRowOffsetIndex(DataSetMetadata dataSetMetadata) {
+        try {
+            final RowOffsetIndex index = getRowOffsetIndex(dataSetMetadata);
+            if (index != null && index.getVersion().equals(RowOffsetIndex.version(dataSetMetadata))) {
+                return index;
+            }
+        } catch (Exception e) {
+            LOGGER.debug("Unable to read row offset index of data set #{}, content will be read from first row.",
+                    dataSetMetadata.getId(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Stores the row offset index computed for the current content of the data set. Default implementation does not
+     * store anything (content is then always read from first row).
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} the index was computed for.
+     * @param index The index.
+     * @see #computeRowOffsetIndex(DataSetMetadata, int)
+     */
+    public void storeRowOffsetIndex(DataSetMetadata dataSetMetadata, RowOffsetIndex index) {
+        // Not supported by default
+    }
+
+    /**
+     * Returns the row offset index previously stored with
+     * {@link #storeRowOffsetIndex(DataSetMetadata, RowOffsetIndex)}.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read index for.
+     * @return The index or <code>null</code> if none is stored.
+     */
+    protected RowOffsetIndex getRowOffsetIndex(DataSetMetadata dataSetMetadata) {
+        return null;
+    }
+
+    /**
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to check.
+     * @param size The number of rows the sample must hold (unless data set has fewer rows).
+     * @return <code>true</code> if a sample of the current content, with enough rows, is persisted.
+     */
+    public boolean hasValidSample(DataSetMetadata dataSetMetadata, long size) {
+        final RowSample sample = getValidSample(dataSetMetadata);
+        return sample != null && sample.covers(size);
+    }
+
+    /**
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read sample for.
+     * @return the persisted sample if it matches the current content version, <code>null</code> otherwise.
+     */
+    private RowSample getValidSample(DataSetMetadata dataSetMetadata) {
+        try {
+            final RowSample sample = getSample(dataSetMetadata);
+            if (sample != null && sample.getVersion().equals(RowSample.version(dataSetMetadata))) {
+                return sample;
+            }
+        } catch (Exception e) {
+            LOGGER.debug("Unable to read sample of data set #{}, first rows will be used.", dataSetMetadata.getId(),
+                    e);
+        }
+        return null;
+    }
+
+    /**
+     * Stores the sample computed for the current content of the data set. Default implementation does not store
+     * anything (samples are then the first rows of the data set).
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} the sample was computed for.
+     * @param sample The sample.
+     * @see #computeSample(DataSetMetadata, int)
+     */
+    public void storeSample(DataSetMetadata dataSetMetadata, RowSample sample) {
+        // Not supported by default
+    }
+
+    /**
+     * Returns the sample previously stored with {@link #storeSample(DataSetMetadata, RowSample)}.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read sample for.
+     * @return The sample or <code>null</code> if none is stored.
+     */
+    protected RowSample getSample(DataSetMetadata dataSetMetadata) {
+        return null;
+    }
+
+    /**
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to check.
+     * @return <code>true</code> if persisted invalid markers of the current content cover all the rows counted by the
+     * persisted sample (i.e. they were recorded during the full content pass).
+     * @see #computeSample(DataSetMetadata, int, InvalidCellMarkers)
+     */
+    public boolean hasFullInvalidMarkers(DataSetMetadata dataSetMetadata) {
+        final RowSample sample = getValidSample(dataSetMetadata);
+        final InvalidCellMarkers markers = getValidInvalidMarkers(dataSetMetadata);
+        return sample != null && markers != null && markers.getRowCount() >= sample.getRowCount();
+    }
+
+    /**
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read invalid markers for.
+     * @return the persisted invalid markers if they match the current content version, <code>null</code> otherwise.
+     */
+    private InvalidCellMarkers getValidInvalidMarkers(DataSetMetadata dataSetMetadata) {
+        try {
+            final InvalidCellMarkers markers = getInvalidMarkers(dataSetMetadata);
+            if (markers != null && markers.getVersion().equals(InvalidCellMarkers.version(dataSetMetadata))) {
+                return markers;
+            }
+        } catch (Exception e) {
+            LOGGER.debug("Unable to read invalid markers of data set #{}, analyzer will be used.",
+                    dataSetMetadata.getId(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Stores the invalid cells markers computed for the current content of the data set. Default implementation does
+     * not store anything (invalid cells are then detected by analyzer on each read).
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} the markers were computed for.
+     * @param markers The invalid cells markers.
+     * @see InvalidCellMarkers
+     */
+    public void storeInvalidMarkers(DataSetMetadata dataSetMetadata, InvalidCellMarkers markers) {
+        // Not supported by default
+    }
+
+    /**
+     * Returns the invalid cells markers previously stored with
+     * {@link #storeInvalidMarkers(DataSetMetadata, InvalidCellMarkers)}.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read markers for.
+     * @return The invalid cells markers or <code>null</code> if none are stored.
+     */
+    protected InvalidCellMarkers getInvalidMarkers(DataSetMetadata dataSetMetadata) {
+        return null;
+    }
+
     /**
      * Returns the {@link DataSetMetadata data set} content as "raw" (i.e. the content supplied by user upon data set
      * creation). Same as calling {@link #getAsRaw(DataSetMetadata, long)}} (DataSetMetadata, long)} with limit = -1.
@@ -189,4 +606,30 @@ public abstract class DataSetContentStore {
      * Removes all stored content. No recovery operation is expected.
      */
     public abstract void clear();
+
+    /**
+     * Marks invalid columns as detected by a quality analyzer (created on first use).
+     */
+    private class AnalyzerInvalidMarker implements Function<DataSetRow, DataSetRow> {
+
+        private final List<ColumnMetadata> columns;
+
+        private Analyzer<Analyzers.Result> analyzer;
+
+        private InvalidMarker invalidMarker;
+
+        private AnalyzerInvalidMarker(List<ColumnMetadata> columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public DataSetRow apply(DataSetRow row) {
+            if (analyzer == null) {
+                analyzer = service.build(columns, AnalyzerService.Analysis.QUALITY);
+                invalidMarker = new InvalidMarker(columns, analyzer);
+            }
+            analyzer.analyze(row.order(columns).toArray(DataSetRow.SKIP_TDP_ID));
+            return invalidMarker.apply(row);
+        }
+    }
 }
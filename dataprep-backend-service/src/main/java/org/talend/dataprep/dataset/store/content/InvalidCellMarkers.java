@@ -0,0 +1,192 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * Invalid cells of a data set content, as a bitmap of row positions per column.
+ * <p>
+ * Markers are computed once (during quality analysis) and then applied by position when the content is read, so
+ * reads do not need to run a quality analyzer on every row. Markers are bound to a content version (see
+ * {@link #version(DataSetMetadata)}): they must not be used when the content or the columns types changed.
+ * </p>
+ */
+public class InvalidCellMarkers {
+
+    /** Header of the serialized form (also used as a format version). */
+    private static final int MAGIC = 0x54445049;
+
+    /** The content version these markers were computed for. */
+    private final String version;
+
+    /** Invalid row positions (0 based, empty rows excluded) per column id. */
+    private final Map<String, BitSet> invalidRows;
+
+    /** Number of rows covered by these markers. */
+    private long rowCount;
+
+    /**
+     * Constructor.
+     *
+     * @param version the content version these markers are computed for.
+     */
+    public InvalidCellMarkers(String version) {
+        this(version, new HashMap<>(), 0);
+    }
+
+    private InvalidCellMarkers(String version, Map<String, BitSet> invalidRows, long rowCount) {
+        this.version = version;
+        this.invalidRows = invalidRows;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Computes the content version of a data set, i.e. a key that changes whenever the content or the information used
+     * to validate values (columns types and domains) changes.
+     *
+     * @param metadata the data set metadata.
+     * @return the content version of the data set.
+     */
+    public static String version(DataSetMetadata metadata) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(metadata.getId()).append('|').append(metadata.getLastModificationDate());
+        for (ColumnMetadata column : metadata.getRowMetadata().getColumns()) {
+            builder.append('|').append(column.getId()) //
+                    .append(':').append(column.getType()) //
+                    .append(':').append(column.getDomain());
+        }
+        return DigestUtils.sha1Hex(builder.toString());
+    }
+
+    /**
+     * @return the content version these markers were computed for.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the number of rows covered by these markers.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Records the invalid cells of a row.
+     *
+     * @param position the row position (0 based, empty rows excluded).
+     * @param row the row with its invalid cells already marked.
+     * @param columns the data set columns.
+     */
+    public void record(long position, DataSetRow row, List<ColumnMetadata> columns) {
+        if (position > Integer.MAX_VALUE) {
+            return; // bitmaps are int-indexed, remaining rows are left to analyzer
+        }
+        for (ColumnMetadata column : columns) {
+            if (row.isInvalid(column.getId())) {
+                invalidRows.computeIfAbsent(column.getId(), id -> new BitSet()).set((int) position);
+            }
+        }
+        rowCount = Math.max(rowCount, position + 1);
+    }
+
+    /**
+     * @param position the row position (0 based, empty rows excluded).
+     * @return <code>true</code> if these markers cover the row at given position.
+     */
+    public boolean covers(long position) {
+        return position < rowCount;
+    }
+
+    /**
+     * Marks the invalid cells of a row covered by these markers.
+     *
+     * @param position the row position (0 based, empty rows excluded).
+     * @param row the row to mark.
+     * @return the row.
+     */
+    public DataSetRow apply(long position, DataSetRow row) {
+        for (Map.Entry<String, BitSet> entry : invalidRows.entrySet()) {
+            if (entry.getValue().get((int) position)) {
+                row.setInvalid(entry.getKey());
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Writes these markers.
+     *
+     * @param output where to write the markers (not closed by this method).
+     * @throws IOException if markers can't be written.
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        final DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(MAGIC);
+        data.writeUTF(version);
+        data.writeLong(rowCount);
+        data.writeInt(invalidRows.size());
+        for (Map.Entry<String, BitSet> entry : invalidRows.entrySet()) {
+            data.writeUTF(entry.getKey());
+            final long[] words = entry.getValue().toLongArray();
+            data.writeInt(words.length);
+            for (long word : words) {
+                data.writeLong(word);
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads markers previously written with {@link #writeTo(OutputStream)}.
+     *
+     * @param input where to read the markers from (not closed by this method).
+     * @return the markers.
+     * @throws IOException if markers can't be read or are not valid.
+     */
+    public static InvalidCellMarkers readFrom(InputStream input) throws IOException {
+        final DataInputStream data = new DataInputStream(input);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a valid invalid cell markers content.");
+        }
+        final String version = data.readUTF();
+        final long rowCount = data.readLong();
+        final int columnCount = data.readInt();
+        final Map<String, BitSet> invalidRows = new HashMap<>(columnCount * 2);
+        for (int i = 0; i < columnCount; i++) {
+            final String columnId = data.readUTF();
+            final long[] words = new long[data.readInt()];
+            for (int j = 0; j < words.length; j++) {
+                words[j] = data.readLong();
+            }
+            invalidRows.put(columnId, BitSet.valueOf(words));
+        }
+        return new InvalidCellMarkers(version, invalidRows, rowCount);
+    }
+}
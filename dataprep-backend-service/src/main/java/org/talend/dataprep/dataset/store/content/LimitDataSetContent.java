@@ -6,6 +6,7 @@ import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 
 import java.io.InputStream;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 @Component
@@ -52,6 +53,12 @@ class LimitDataSetContent implements DataSetContentLimit {
             return delegate.stream(dataSetMetadata, LimitDataSetContent.this.limit);
         }
 
+        @Override
+        public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit, ColumnProjection projection,
+                Predicate<DataSetRow> filter) {
+            return delegate.stream(dataSetMetadata, LimitDataSetContent.this.limit, projection, filter);
+        }
+
         @Override
         public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata) {
             Stream<DataSetRow> dataSetRowStream = delegate.stream(dataSetMetadata, limit);
@@ -59,6 +66,35 @@ class LimitDataSetContent implements DataSetContentLimit {
             return dataSetRowStream.limit(limit);
         }
 
+        @Override
+        public Stream<DataSetRow> streamPage(DataSetMetadata dataSetMetadata, long offset, long limit,
+                ColumnProjection projection, Predicate<DataSetRow> filter) {
+            long pageLimit = limit;
+            final long contentLimit = LimitDataSetContent.this.limit;
+            if (contentLimit > 0) {
+                if (offset >= contentLimit) {
+                    return Stream.empty();
+                }
+                pageLimit = limit < 0 ? contentLimit - offset : Math.min(limit, contentLimit - offset);
+            }
+            return delegate.streamPage(dataSetMetadata, offset, pageLimit, projection, filter);
+        }
+
+        @Override
+        public RowOffsetIndex computeRowOffsetIndex(DataSetMetadata dataSetMetadata, int interval) {
+            return delegate.computeRowOffsetIndex(dataSetMetadata, interval);
+        }
+
+        @Override
+        public void storeRowOffsetIndex(DataSetMetadata dataSetMetadata, RowOffsetIndex index) {
+            delegate.storeRowOffsetIndex(dataSetMetadata, index);
+        }
+
+        @Override
+        protected RowOffsetIndex getRowOffsetIndex(DataSetMetadata dataSetMetadata) {
+            return delegate.getRowOffsetIndex(dataSetMetadata);
+        }
+
         @Override
         public InputStream getAsRaw(DataSetMetadata dataSetMetadata) {
             return delegate.getAsRaw(dataSetMetadata, limit);
@@ -74,6 +110,26 @@ class LimitDataSetContent implements DataSetContentLimit {
             return delegate.get(dataSetMetadata);
         }
 
+        @Override
+        public void storeInvalidMarkers(DataSetMetadata dataSetMetadata, InvalidCellMarkers markers) {
+            delegate.storeInvalidMarkers(dataSetMetadata, markers);
+        }
+
+        @Override
+        protected InvalidCellMarkers getInvalidMarkers(DataSetMetadata dataSetMetadata) {
+            return delegate.getInvalidMarkers(dataSetMetadata);
+        }
+
+        @Override
+        public void storeSample(DataSetMetadata dataSetMetadata, RowSample sample) {
+            delegate.storeSample(dataSetMetadata, sample);
+        }
+
+        @Override
+        protected RowSample getSample(DataSetMetadata dataSetMetadata) {
+            return delegate.getSample(dataSetMetadata);
+        }
+
         @Override
         public void delete(DataSetMetadata dataSetMetadata) {
             delegate.delete(dataSetMetadata);
@@ -0,0 +1,204 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+
+/**
+ * Sparse index of the rows of a data set raw content: the byte offset (in raw content) of every
+ * {@link #getInterval() interval}th row, and the number of rows.
+ * <p>
+ * Index gives the row count without reading content, and lets a read start next to any row instead of the first one.
+ * Row positions are 0 based, empty rows excluded (same as TDP ids minus one). An index is bound to a raw content and
+ * the parameters used to parse it (see {@link #version(DataSetMetadata)}).
+ * </p>
+ */
+public class RowOffsetIndex {
+
+    /** Header of the serialized form (also used as a format version). */
+    private static final int MAGIC = 0x5444504f;
+
+    /** The content version this index was computed for. */
+    private final String version;
+
+    /** Number of rows between two indexed rows. */
+    private final int interval;
+
+    /** Byte offset of the row at position (i * interval) in raw content. */
+    private long[] offsets;
+
+    /** Number of indexed rows offsets. */
+    private int size;
+
+    /** Number of bytes before the first row (e.g. header lines). */
+    private long headerLength;
+
+    /** Number of rows in content. */
+    private long rowCount;
+
+    /**
+     * Constructor.
+     *
+     * @param version the content version this index is computed for.
+     * @param interval the number of rows between two indexed rows.
+     */
+    public RowOffsetIndex(String version, int interval) {
+        this(version, Math.max(1, interval), new long[16], 0, 0, 0);
+    }
+
+    private RowOffsetIndex(String version, int interval, long[] offsets, int size, long headerLength,
+            long rowCount) {
+        this.version = version;
+        this.interval = interval;
+        this.offsets = offsets;
+        this.size = size;
+        this.headerLength = headerLength;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Computes the content version of a data set, i.e. a key that changes whenever the raw content or the parameters
+     * used to parse it change.
+     *
+     * @param metadata the data set metadata.
+     * @return the content version of the data set.
+     */
+    public static String version(DataSetMetadata metadata) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(metadata.getId()).append('|').append(metadata.getLastModificationDate());
+        builder.append('|').append(metadata.getEncoding());
+        builder.append('|').append(metadata.getContent().getNbLinesInHeader());
+        for (Map.Entry<String, String> parameter : new TreeMap<>(metadata.getContent().getParameters()).entrySet()) {
+            builder.append('|').append(parameter.getKey()).append('=').append(parameter.getValue());
+        }
+        return DigestUtils.sha1Hex(builder.toString());
+    }
+
+    /**
+     * Records the next row of content (rows must be recorded in content order).
+     *
+     * @param byteOffset the byte offset of the row in raw content.
+     */
+    public void record(long byteOffset) {
+        if (rowCount == 0) {
+            headerLength = byteOffset;
+        }
+        if (rowCount % interval == 0) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            offsets[size++] = byteOffset;
+        }
+        rowCount++;
+    }
+
+    /**
+     * @return the content version this index was computed for.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the number of rows between two indexed rows.
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return the number of rows in content.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return the number of bytes before the first row (e.g. header lines), to be read before any indexed row.
+     */
+    public long getHeaderLength() {
+        return headerLength;
+    }
+
+    /**
+     * @param position a row position.
+     * @return the position of the closest indexed row at or before the given position.
+     */
+    public long getIndexedPosition(long position) {
+        final long index = Math.min(Math.max(0, position) / interval, Math.max(0, size - 1));
+        return index * interval;
+    }
+
+    /**
+     * @param indexedPosition a position returned by {@link #getIndexedPosition(long)}.
+     * @return the byte offset of the row at this position in raw content.
+     */
+    public long getByteOffset(long indexedPosition) {
+        return offsets[(int) (indexedPosition / interval)];
+    }
+
+    /**
+     * Writes this index.
+     *
+     * @param output where to write the index (not closed by this method).
+     * @throws IOException if index can't be written.
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        final DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(MAGIC);
+        data.writeUTF(version);
+        data.writeInt(interval);
+        data.writeLong(rowCount);
+        data.writeLong(headerLength);
+        data.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            data.writeLong(offsets[i]);
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads an index previously written with {@link #writeTo(OutputStream)}.
+     *
+     * @param input where to read the index from (not closed by this method).
+     * @return the index.
+     * @throws IOException if index can't be read or is not valid.
+     */
+    public static RowOffsetIndex readFrom(InputStream input) throws IOException {
+        final DataInputStream data = new DataInputStream(input);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a valid row offset index content.");
+        }
+        final String version = data.readUTF();
+        final int interval = data.readInt();
+        final long rowCount = data.readLong();
+        final long headerLength = data.readLong();
+        final int size = data.readInt();
+        final long[] offsets = new long[Math.max(1, size)];
+        for (int i = 0; i < size; i++) {
+            offsets[i] = data.readLong();
+        }
+        return new RowOffsetIndex(version, interval, offsets, size, headerLength, rowCount);
+    }
+}
@@ -0,0 +1,298 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * A uniform random sample of the rows of a data set content, computed once per content version (see
+ * {@link #version(DataSetMetadata)}) with a reservoir sampler.
+ * <p>
+ * Sampled rows are kept in random order so that any prefix of the sample is itself a uniform random sample: a single
+ * persisted sample serves all sample sizes up to its own size. Rows are returned in their data set order, with their
+ * position in the data set as TDP id.
+ * </p>
+ */
+public class RowSample {
+
+    /** Header of the serialized form (also used as a format version). */
+    private static final int MAGIC = 0x54445053;
+
+    /** The content version this sample was computed for. */
+    private final String version;
+
+    /** The ids of the sampled columns. */
+    private final List<String> columnIds;
+
+    /** Number of rows in the data set content. */
+    private final long rowCount;
+
+    /** The sampled rows, in random order. */
+    private final List<SampledRow> rows;
+
+    private RowSample(String version, List<String> columnIds, long rowCount, List<SampledRow> rows) {
+        this.version = version;
+        this.columnIds = columnIds;
+        this.rowCount = rowCount;
+        this.rows = rows;
+    }
+
+    /**
+     * Computes the content version of a data set, i.e. a key that changes whenever the content changes: it is made of
+     * the data set id, its last modification date and its column ids. Any metadata update that changes the last
+     * modification date (a column type change included) therefore gives a new version, and the sample is computed
+     * again. Unlike {@link InvalidCellMarkers#version(DataSetMetadata)}, column types are not part of the version.
+     *
+     * @param metadata the data set metadata.
+     * @return the content version of the data set.
+     */
+    public static String version(DataSetMetadata metadata) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(metadata.getId()).append('|').append(metadata.getLastModificationDate());
+        for (ColumnMetadata column : metadata.getRowMetadata().getColumns()) {
+            builder.append('|').append(column.getId());
+        }
+        return DigestUtils.sha1Hex(builder.toString());
+    }
+
+    /**
+     * @param version the content version the sample is computed for.
+     * @param size the maximum number of rows in the sample.
+     * @param columns the data set columns.
+     * @return a sampler to offer all rows of the data set content to.
+     */
+    public static Sampler sampler(String version, int size, List<ColumnMetadata> columns) {
+        return new Sampler(version, size, columns);
+    }
+
+    /**
+     * @return the content version this sample was computed for.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the number of rows in the sample.
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * @return the number of rows in the data set content.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @param size the number of requested rows.
+     * @return <code>true</code> if this sample holds enough rows to serve the requested size (or all the rows of the
+     * data set).
+     */
+    public boolean covers(long size) {
+        return size <= rows.size() || rows.size() == rowCount;
+    }
+
+    /**
+     * @param size the number of requested rows.
+     * @param rowMetadata the row metadata of the returned rows.
+     * @return up to <code>size</code> sampled rows, in data set order.
+     */
+    public Stream<DataSetRow> rows(long size, RowMetadata rowMetadata) {
+        return rows
+                .stream() //
+                .limit(size) //
+                .sorted(Comparator.comparingLong(row -> row.position)) //
+                .map(row -> {
+                    final Map<String, Object> values = new HashMap<>(columnIds.size() * 2);
+                    for (int i = 0; i < columnIds.size(); i++) {
+                        if (row.values[i] != null) {
+                            values.put(columnIds.get(i), row.values[i]);
+                        }
+                    }
+                    final DataSetRow dataSetRow = new DataSetRow(rowMetadata, values);
+                    dataSetRow.setTdpId(row.position + 1);
+                    return dataSetRow;
+                });
+    }
+
+    /**
+     * Writes this sample.
+     *
+     * @param output where to write the sample (not closed by this method).
+     * @throws IOException if sample can't be written.
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        final DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(MAGIC);
+        data.writeUTF(version);
+        data.writeLong(rowCount);
+        data.writeInt(columnIds.size());
+        for (String columnId : columnIds) {
+            data.writeUTF(columnId);
+        }
+        data.writeInt(rows.size());
+        for (SampledRow row : rows) {
+            data.writeLong(row.position);
+            for (String value : row.values) {
+                if (value == null) {
+                    data.writeInt(-1);
+                } else {
+                    final byte[] bytes = value.getBytes(UTF_8);
+                    data.writeInt(bytes.length);
+                    data.write(bytes);
+                }
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads a sample previously written with {@link #writeTo(OutputStream)}.
+     *
+     * @param input where to read the sample from (not closed by this method).
+     * @return the sample.
+     * @throws IOException if sample can't be read or is not valid.
+     */
+    public static RowSample readFrom(InputStream input) throws IOException {
+        final DataInputStream data = new DataInputStream(input);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a valid row sample content.");
+        }
+        final String version = data.readUTF();
+        final long rowCount = data.readLong();
+        final int columnCount = data.readInt();
+        final List<String> columnIds = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            columnIds.add(data.readUTF());
+        }
+        final int size = data.readInt();
+        final List<SampledRow> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final long position = data.readLong();
+            final String[] values = new String[columnCount];
+            for (int j = 0; j < columnCount; j++) {
+                final int length = data.readInt();
+                if (length >= 0) {
+                    final byte[] bytes = new byte[length];
+                    data.readFully(bytes);
+                    values[j] = new String(bytes, UTF_8);
+                }
+            }
+            rows.add(new SampledRow(position, values));
+        }
+        return new RowSample(version, columnIds, rowCount, rows);
+    }
+
+    /**
+     * Reservoir sampler (a.k.a. "algorithm R"): keeps a uniform random sample of a fixed size over rows offered one at
+     * a time, whatever the number of rows.
+     */
+    public static class Sampler {
+
+        private final String version;
+
+        private final int size;
+
+        private final List<String> columnIds = new ArrayList<>();
+
+        private final List<SampledRow> reservoir;
+
+        /** Seeded with the content version so the same content always gives the same sample. */
+        private final Random random;
+
+        private long rowCount;
+
+        private Sampler(String version, int size, List<ColumnMetadata> columns) {
+            this.version = version;
+            this.size = Math.max(1, size);
+            this.reservoir = new ArrayList<>(Math.min(this.size, 16384));
+            this.random = new Random(version.hashCode());
+            columns.forEach(column -> columnIds.add(column.getId()));
+        }
+
+        /**
+         * Offers a row of the data set content.
+         *
+         * @param position the row position (0 based, empty rows excluded).
+         * @param row the row (values are copied, so row instance may be reused afterwards).
+         */
+        public void offer(long position, DataSetRow row) {
+            rowCount++;
+            if (reservoir.size() < size) {
+                reservoir.add(new SampledRow(position, values(row)));
+            } else {
+                final long slot = (long) (random.nextDouble() * rowCount);
+                if (slot < size) {
+                    reservoir.set((int) slot, new SampledRow(position, values(row)));
+                }
+            }
+        }
+
+        private String[] values(DataSetRow row) {
+            final String[] values = new String[columnIds.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = row.get(columnIds.get(i));
+            }
+            return values;
+        }
+
+        /**
+         * @return the sample of all offered rows.
+         */
+        public RowSample build() {
+            // first slots hold the first rows until enough rows replaced them, shuffle so any prefix is uniform
+            final List<SampledRow> rows = new ArrayList<>(reservoir);
+            Collections.shuffle(rows, random);
+            return new RowSample(version, new ArrayList<>(columnIds), rowCount, rows);
+        }
+    }
+
+    /**
+     * A sampled row: its position in the data set and its values (in sampled columns order).
+     */
+    private static class SampledRow {
+
+        private final long position;
+
+        private final String[] values;
+
+        private SampledRow(long position, String[] values) {
+            this.position = position;
+            this.values = values;
+        }
+    }
+}
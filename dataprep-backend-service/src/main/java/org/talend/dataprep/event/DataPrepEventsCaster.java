@@ -14,13 +14,25 @@ package org.talend.dataprep.event;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.slf4j.Logger;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.SimpleApplicationEventMulticaster;
 import org.springframework.core.ResolvableType;
-import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ClassUtils;
 
 /**
  * <p>
@@ -28,7 +40,15 @@ import org.springframework.core.task.TaskExecutor;
  * component.
  * </p>
  * <p>
- * It wraps both a synchronous and an asynchronous ApplicationEventMulticaster.
+ * Events are dispatched synchronously, except for {@link AsyncApplicationListener asynchronous listeners}: each of them
+ * has its own bounded worker pool, so events are not piled up in memory. Events are never dropped:
+ * <ul>
+ * <li>with a {@link EventJournal journal}, events dispatched to asynchronous listeners are journaled. When the queue of
+ * a listener is full, the publishing thread waits (at most the configured timeout) for room in the queue, and an event
+ * that still finds no room stays in the journal. Events journaled by a previous run and not processed are replayed once
+ * the application context is refreshed.</li>
+ * <li>without journal, an event that finds the queue of its listener full is processed by the publishing thread.</li>
+ * </ul>
  * </p>
  */
 @SuppressWarnings("InsufficientBranchCoverage")
@@ -37,15 +57,43 @@ public class DataPrepEventsCaster extends SimpleApplicationEventMulticaster {
     /** This class' logger. */
     private static final Logger LOGGER = getLogger(DataPrepEventsCaster.class);
 
+    /** The journal of events dispatched to asynchronous listeners (<code>null</code> if events are not journaled). */
+    private final EventJournal journal;
+
+    /** The number of worker threads of each asynchronous listener. */
+    private final int workers;
+
+    /** The number of events that can wait for a worker of each asynchronous listener. */
+    private final int queueCapacity;
+
+    /** How long (in ms) a publisher waits for room in the queue of an asynchronous listener. */
+    private final long queueTimeout;
+
+    /** The worker pool of each asynchronous listener (by listener name). */
+    private final Map<String, ThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean replayed = new AtomicBoolean();
+
+    /** The events journaled by a previous run (and not processed), to be replayed once context is refreshed. */
+    private final List<EventJournal.Entry> pendingAtStartup;
+
     /**
      * Default constructor.
      *
-     * @param taskExecutor the task executor for asynchronous event managing.
      * @param beanFactory the spring bean factory.
+     * @param journal the journal of events dispatched to asynchronous listeners (<code>null</code> to disable).
+     * @param workers the number of worker threads of each asynchronous listener.
+     * @param queueCapacity the number of events that can wait for a worker of each asynchronous listener.
+     * @param queueTimeout how long (in ms) a publisher waits for room in the queue of an asynchronous listener.
      */
-    public DataPrepEventsCaster(TaskExecutor taskExecutor, BeanFactory beanFactory) {
+    public DataPrepEventsCaster(BeanFactory beanFactory, EventJournal journal, int workers, int queueCapacity,
+            long queueTimeout) {
         super(beanFactory);
-        setTaskExecutor(taskExecutor);
+        this.journal = journal;
+        this.workers = Math.max(1, workers);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.queueTimeout = Math.max(0, queueTimeout);
+        this.pendingAtStartup = journal == null ? Collections.emptyList() : journal.pendingBeforeStart();
     }
 
     @Override
@@ -55,12 +103,96 @@ public class DataPrepEventsCaster extends SimpleApplicationEventMulticaster {
         for (final ApplicationListener<?> listener : getApplicationListeners(event, type)) {
             if (AsyncApplicationListener.class.isAssignableFrom(listener.getClass())) {
                 LOGGER.trace("processing {} asynchronously to {}", event, listener);
-                getTaskExecutor().execute(() -> invokeListener(listener, event));
+                final EventJournal.Entry entry = journal == null ? null : journal.append(getName(listener), event);
+                dispatch(listener, event, entry);
             } else {
                 LOGGER.trace("processing {} synchronously to {}", event, listener);
                 invokeListener(listener, event);
             }
         }
+        if (event instanceof ContextRefreshedEvent && replayed.compareAndSet(false, true)) {
+            replay();
+        }
+    }
+
+    /**
+     * Dispatches again the events journaled by a previous run that were not processed (all listeners are registered at
+     * this point). Events journaled by this run are not replayed: they are still queued or being processed.
+     */
+    private void replay() {
+        for (EventJournal.Entry entry : pendingAtStartup) {
+            final ApplicationEvent event = entry.getEvent();
+            getApplicationListeners(event, ResolvableType.forInstance(event))
+                    .stream() //
+                    .filter(listener -> AsyncApplicationListener.class.isAssignableFrom(listener.getClass())) //
+                    .filter(listener -> getName(listener).equals(entry.getListener())) //
+                    .findFirst() //
+                    .ifPresent(listener -> {
+                        LOGGER.info("Replay {} to {}.", event, entry.getListener());
+                        dispatch(listener, event, entry);
+                    });
+        }
+    }
+
+    private void dispatch(ApplicationListener<?> listener, ApplicationEvent event, EventJournal.Entry entry) {
+        final ThreadPoolExecutor executor = getExecutor(listener);
+        final Runnable task = () -> {
+            try {
+                invokeListener(listener, event);
+            } finally {
+                if (entry != null) {
+                    journal.complete(entry);
+                }
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            if (entry == null) {
+                LOGGER.info("No room to process {} by {}, event is processed by publisher.", event, getName(listener));
+                task.run();
+            } else if (!offer(executor, task)) {
+                LOGGER.warn("No room to process {} by {}, event is kept in journal for replay.", event,
+                        getName(listener));
+            }
+        }
+    }
+
+    /**
+     * Waits (at most {@link #queueTimeout}) for room in the queue of a busy executor.
+     *
+     * @return <code>true</code> if task was queued, <code>false</code> otherwise.
+     */
+    private boolean offer(ThreadPoolExecutor executor, Runnable task) {
+        if (executor.isShutdown()) {
+            return false;
+        }
+        try {
+            return executor.getQueue().offer(task, queueTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private ThreadPoolExecutor getExecutor(ApplicationListener<?> listener) {
+        return executors.computeIfAbsent(getName(listener), name -> {
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("event-" + name + "-"));
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        });
+    }
+
+    private static String getName(ApplicationListener<?> listener) {
+        return ClassUtils.getUserClass(listener).getSimpleName(); // same name across restarts (no proxy class)
+    }
+
+    /**
+     * Stops the workers of asynchronous listeners (journaled events still queued are replayed on next start).
+     */
+    public void shutdown() {
+        executors.values().forEach(ThreadPoolExecutor::shutdownNow);
     }
 
 }
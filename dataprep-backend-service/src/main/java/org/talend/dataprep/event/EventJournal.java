@@ -0,0 +1,218 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.event;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * A local file journal of the events dispatched to asynchronous listeners. An event is journaled before it is queued
+ * and removed once its listener processed it, so events still queued (or being processed) when the service stops are
+ * replayed on next start.
+ * <p>
+ * Only the listener name, the event class and the event source are journaled: journaled events must have a public
+ * constructor that takes their source as only argument (as {@link DaikonMessageEvent} implementations do), and a
+ * serializable source.
+ * </p>
+ */
+public class EventJournal {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = getLogger(EventJournal.class);
+
+    private static final String ENTRY_SUFFIX = ".event";
+
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    /** Where journal entries are stored. */
+    private final File directory;
+
+    /** Sequence of the entries (entries are replayed in sequence order). */
+    private final AtomicLong sequence;
+
+    /** The last sequence journaled before this journal was opened (i.e. by a previous run). */
+    private final long startSequence;
+
+    /**
+     * Constructor.
+     *
+     * @param directory where journal entries are stored (created if missing).
+     */
+    public EventJournal(File directory) {
+        this.directory = directory;
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("Unable to create event journal directory '" + directory + "'.");
+        }
+        this.startSequence = entryFiles().stream() //
+                .mapToLong(EventJournal::sequenceOf) //
+                .max() //
+                .orElse(0);
+        this.sequence = new AtomicLong(startSequence);
+        LOGGER.info("Using event journal in '{}'.", directory);
+    }
+
+    /**
+     * Journals an event for a listener.
+     *
+     * @param listener the name of the listener the event is dispatched to.
+     * @param event the dispatched event.
+     * @return the journal entry, <code>null</code> if the event can't be journaled (its source is not serializable).
+     */
+    public Entry append(String listener, ApplicationEvent event) {
+        if (!(event.getSource() instanceof Serializable)) {
+            LOGGER.debug("Unable to journal {} (source is not serializable).", event);
+            return null;
+        }
+        final String name = String.format("%019d", sequence.incrementAndGet()) + ENTRY_SUFFIX;
+        final File temporary = new File(directory, name + TEMPORARY_SUFFIX);
+        final File file = new File(directory, name);
+        try {
+            try (ObjectOutputStream output = new ObjectOutputStream(new FileOutputStream(temporary))) {
+                output.writeUTF(listener);
+                output.writeUTF(event.getClass().getName());
+                output.writeObject(event.getSource());
+            }
+            // an entry is never seen half written
+            if (!temporary.renameTo(file)) {
+                throw new IOException("Unable to rename '" + temporary + "' to '" + file + "'.");
+            }
+            return new Entry(file, listener, event);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to journal {}, event will not be replayed.", event, e);
+            delete(temporary);
+            return null;
+        }
+    }
+
+    /**
+     * Removes an entry from journal, once its listener processed the event.
+     *
+     * @param entry the entry to remove.
+     */
+    public void complete(Entry entry) {
+        delete(entry.file);
+    }
+
+    /**
+     * @return the journaled entries, in journal order. Entries that can no longer be read are removed.
+     */
+    public List<Entry> pending() {
+        return read(entryFiles());
+    }
+
+    /**
+     * @return the entries journaled before this journal was opened (by a previous run) and not processed yet, in
+     * journal order. Entries that can no longer be read are removed.
+     */
+    public List<Entry> pendingBeforeStart() {
+        final List<File> files = entryFiles().stream() //
+                .filter(file -> sequenceOf(file) <= startSequence) //
+                .collect(Collectors.toList());
+        return read(files);
+    }
+
+    private List<Entry> read(List<File> files) {
+        final List<Entry> entries = new ArrayList<>();
+        for (File file : files) {
+            try (ObjectInputStream input = new ObjectInputStream(new FileInputStream(file))) {
+                final String listener = input.readUTF();
+                final Class<?> eventClass = Class.forName(input.readUTF());
+                final Object source = input.readObject();
+                entries.add(new Entry(file, listener, newEvent(eventClass, source)));
+            } catch (Exception e) {
+                LOGGER.warn("Unable to read event journal entry '{}', entry is removed.", file, e);
+                delete(file);
+            }
+        }
+        return entries;
+    }
+
+    private static ApplicationEvent newEvent(Class<?> eventClass, Object source) throws ReflectiveOperationException {
+        for (Constructor<?> constructor : eventClass.getConstructors()) {
+            final Class<?>[] parameterTypes = constructor.getParameterTypes();
+            if (parameterTypes.length == 1 && parameterTypes[0].isInstance(source)) {
+                return (ApplicationEvent) constructor.newInstance(source);
+            }
+        }
+        throw new NoSuchMethodException("No constructor of " + eventClass + " takes a " + source.getClass());
+    }
+
+    private static long sequenceOf(File file) {
+        return Long.parseLong(StringUtils.substringBefore(file.getName(), ENTRY_SUFFIX));
+    }
+
+    private List<File> entryFiles() {
+        final File[] files = directory.listFiles((dir, name) -> name.endsWith(ENTRY_SUFFIX));
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        Arrays.sort(files); // names are zero padded sequence numbers
+        return Arrays.asList(files);
+    }
+
+    private static void delete(File file) {
+        if (file.exists() && !file.delete()) {
+            LOGGER.warn("Unable to delete event journal entry '{}'.", file);
+        }
+    }
+
+    /**
+     * An event journaled for a listener.
+     */
+    public static class Entry {
+
+        private final File file;
+
+        private final String listener;
+
+        private final ApplicationEvent event;
+
+        private Entry(File file, String listener, ApplicationEvent event) {
+            this.file = file;
+            this.listener = listener;
+            this.event = event;
+        }
+
+        /**
+         * @return the name of the listener the event is dispatched to.
+         */
+        public String getListener() {
+            return listener;
+        }
+
+        /**
+         * @return the journaled event.
+         */
+        public ApplicationEvent getEvent() {
+            return event;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.dataprep.format.binary;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads and writes {@link DataSet data sets} as binary row streams, for requests that accept (or send)
+ * {@link BinaryRowWriter#MIME_TYPE}.
+ */
+public class BinaryDataSetMessageConverter extends AbstractHttpMessageConverter<DataSet> {
+
+    /** Media type of binary row streams. */
+    public static final MediaType MEDIA_TYPE = MediaType.valueOf(BinaryRowWriter.MIME_TYPE);
+
+    private final ObjectMapper mapper;
+
+    /**
+     * Constructor.
+     *
+     * @param mapper The mapper to read and write metadata.
+     */
+    public BinaryDataSetMessageConverter(ObjectMapper mapper) {
+        super(MEDIA_TYPE);
+        this.mapper = mapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return DataSet.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected DataSet readInternal(Class<? extends DataSet> clazz, HttpInputMessage inputMessage) throws IOException {
+        return new BinaryRowReader(inputMessage.getBody(), mapper).readDataSet();
+    }
+
+    @Override
+    protected void writeInternal(DataSet dataSet, HttpOutputMessage outputMessage) throws IOException {
+        final BinaryRowWriter writer = new BinaryRowWriter(outputMessage.getBody(), mapper);
+        if (dataSet.getMetadata() != null) {
+            writer.write(dataSet.getMetadata());
+        }
+        if (dataSet.getRecords() != null) {
+            try (Stream<DataSetRow> records = dataSet.getRecords()) {
+                final Iterator<DataSetRow> iterator = records.iterator();
+                while (iterator.hasNext()) {
+                    writer.write(iterator.next());
+                }
+            }
+        }
+        writer.finish();
+    }
+}
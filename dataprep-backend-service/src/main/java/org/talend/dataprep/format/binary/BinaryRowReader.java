@@ -0,0 +1,245 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.dataprep.format.binary;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.talend.dataprep.format.binary.BinaryRowWriter.COLUMNS;
+import static org.talend.dataprep.format.binary.BinaryRowWriter.END;
+import static org.talend.dataprep.format.binary.BinaryRowWriter.MAGIC;
+import static org.talend.dataprep.format.binary.BinaryRowWriter.METADATA;
+import static org.talend.dataprep.format.binary.BinaryRowWriter.ROW;
+import static org.talend.dataprep.format.binary.BinaryRowWriter.ROW_METADATA;
+import static org.talend.dataprep.format.binary.BinaryRowWriter.VERSION;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.io.IOUtils;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads a stream written by {@link BinaryRowWriter}. Rows are read lazily, metadata is available once the blocks
+ * before the first row are read (metadata written after the rows is available once rows are read).
+ */
+public class BinaryRowReader implements Closeable {
+
+    private final DataInputStream input;
+
+    private final ObjectMapper mapper;
+
+    private DataSetMetadata metadata;
+
+    private RowMetadata rowMetadata;
+
+    /** The ids of the values of the next rows. */
+    private String[] columns = new String[0];
+
+    /** The read ahead row (if any). */
+    private DataSetRow next;
+
+    private boolean ended;
+
+    /**
+     * Constructor (reads stream header).
+     *
+     * @param input The binary row stream.
+     * @param mapper The mapper to read metadata.
+     * @throws IOException If input is not a binary row stream (or of a later version).
+     */
+    public BinaryRowReader(InputStream input, ObjectMapper mapper) throws IOException {
+        this.input = new DataInputStream(new BufferedInputStream(input));
+        this.mapper = mapper;
+        if (this.input.readInt() != MAGIC) {
+            throw new IOException("Not a binary row stream.");
+        }
+        final byte version = this.input.readByte();
+        if (version > VERSION) {
+            throw new IOException("Unsupported binary row stream version " + version + ".");
+        }
+    }
+
+    /**
+     * @return The data set metadata, <code>null</code> if none before first row.
+     * @throws IOException If stream can't be read.
+     */
+    public DataSetMetadata getMetadata() throws IOException {
+        readAhead();
+        return metadata;
+    }
+
+    /**
+     * @return The row metadata (of data set metadata if stream has no row metadata), <code>null</code> if none read
+     * yet.
+     * @throws IOException If stream can't be read.
+     */
+    public RowMetadata getRowMetadata() throws IOException {
+        readAhead();
+        return getCurrentRowMetadata();
+    }
+
+    /**
+     * @return The rows of the stream, read lazily. Closing returned stream closes this reader.
+     */
+    public Stream<DataSetRow> rows() {
+        final Iterator<DataSetRow> iterator = new Iterator<DataSetRow>() {
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    return readAhead() != null;
+                } catch (IOException e) {
+                    throw new TDPException(CommonErrorCodes.UNABLE_TO_READ_CONTENT, e);
+                }
+            }
+
+            @Override
+            public DataSetRow next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final DataSetRow row = next;
+                next = null;
+                return row;
+            }
+        };
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> IOUtils.closeQuietly(this));
+    }
+
+    /**
+     * @return The data set (metadata and lazily read rows) of the stream. Closing the data set closes this reader.
+     * @throws IOException If stream can't be read.
+     */
+    public DataSet readDataSet() throws IOException {
+        final DataSet dataSet = new DataSet();
+        DataSetMetadata dataSetMetadata = getMetadata();
+        if (dataSetMetadata == null && rowMetadata != null) {
+            dataSetMetadata = new DataSetMetadata();
+            dataSetMetadata.setRowMetadata(rowMetadata);
+        }
+        dataSet.setMetadata(dataSetMetadata);
+        dataSet.setRecords(rows());
+        return dataSet;
+    }
+
+    /**
+     * Reads blocks up to next row (or end of stream).
+     *
+     * @return The next row, <code>null</code> if no more rows.
+     */
+    private DataSetRow readAhead() throws IOException {
+        while (next == null && !ended) {
+            final byte tag;
+            try {
+                tag = input.readByte();
+            } catch (EOFException e) {
+                throw new IOException("Unexpected end of binary row stream.", e);
+            }
+            switch (tag) {
+            case METADATA:
+                metadata = mapper.readValue(readBytes((int) readVarLong()), DataSetMetadata.class);
+                break;
+            case ROW_METADATA:
+                rowMetadata = mapper.readValue(readBytes((int) readVarLong()), RowMetadata.class);
+                break;
+            case COLUMNS:
+                columns = new String[(int) readVarLong()];
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = readString();
+                }
+                break;
+            case ROW:
+                next = readRow();
+                break;
+            case END:
+                ended = true;
+                break;
+            default:
+                throw new IOException("Unexpected block '" + (char) tag + "' in binary row stream.");
+            }
+        }
+        return next;
+    }
+
+    private DataSetRow readRow() throws IOException {
+        final long tdpId = readVarLong();
+        final Map<String, Object> values = new LinkedHashMap<>(columns.length * 2);
+        for (String column : columns) {
+            values.put(column, readString());
+        }
+        final RowMetadata currentRowMetadata = getCurrentRowMetadata();
+        final DataSetRow row =
+                new DataSetRow(currentRowMetadata == null ? new RowMetadata() : currentRowMetadata, values);
+        if (tdpId > 0) {
+            row.setTdpId(tdpId - 1);
+        }
+        return row;
+    }
+
+    private RowMetadata getCurrentRowMetadata() {
+        if (rowMetadata == null && metadata != null) {
+            return metadata.getRowMetadata();
+        }
+        return rowMetadata;
+    }
+
+    private String readString() throws IOException {
+        final long length = readVarLong();
+        if (length == 0) {
+            return null;
+        }
+        return new String(readBytes((int) (length - 1)), UTF_8);
+    }
+
+    private byte[] readBytes(int length) throws IOException {
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = input.readByte();
+            value |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
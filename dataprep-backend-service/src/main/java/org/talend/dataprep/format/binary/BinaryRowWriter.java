@@ -0,0 +1,232 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.dataprep.format.binary;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.talend.dataprep.api.dataset.row.FlagNames.TDP_ID;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes data set rows in the binary row format, a compact alternative to JSON for row streams between services.
+ * <p>
+ * A binary row stream starts with a header (magic number and format version), then holds blocks that each start with
+ * a tag byte:
+ * <ul>
+ * <li>{@link #METADATA}: the data set metadata (as JSON).</li>
+ * <li>{@link #ROW_METADATA}: the row metadata (as JSON), when there's no data set metadata.</li>
+ * <li>{@link #COLUMNS}: the ids of the values of the next rows. Written before the first row, and only written again
+ * when the values of a row change (e.g. a column is created).</li>
+ * <li>{@link #ROW}: the TDP id of a row, then its values in {@link #COLUMNS} order (no column name).</li>
+ * <li>{@link #END}: end of stream.</li>
+ * </ul>
+ * Lengths and numbers are variable-length encoded, values are written as UTF-8 strings (<code>null</code> values are
+ * kept).
+ * </p>
+ * <p>
+ * The format is string-only, as data set rows are: a value that is not a string is written as its
+ * {@link String#valueOf(Object) string value} and read back as a string. Types are described by the column metadata,
+ * not by the values.
+ * </p>
+ *
+ * @see BinaryRowReader
+ */
+public class BinaryRowWriter implements Closeable, Flushable {
+
+    /** Content type of binary row streams. */
+    public static final String MIME_TYPE = "application/vnd.talend.dataprep.rows";
+
+    /** "TDPR" */
+    static final int MAGIC = 0x54445052;
+
+    static final byte VERSION = 1;
+
+    static final byte METADATA = 'D';
+
+    static final byte ROW_METADATA = 'M';
+
+    static final byte COLUMNS = 'C';
+
+    static final byte ROW = 'R';
+
+    static final byte END = 'E';
+
+    private final DataOutputStream output;
+
+    private final ObjectMapper mapper;
+
+    /** The ids of the values of the last written row (TDP id excluded). */
+    private List<String> columns = Collections.emptyList();
+
+    private boolean finished;
+
+    /**
+     * Constructor (writes stream header).
+     *
+     * @param output Where this writer should write.
+     * @param mapper The mapper to write metadata.
+     * @throws IOException If header can't be written.
+     */
+    public BinaryRowWriter(OutputStream output, ObjectMapper mapper) throws IOException {
+        this.output = new DataOutputStream(new BufferedOutputStream(output));
+        this.mapper = mapper;
+        this.output.writeInt(MAGIC);
+        this.output.writeByte(VERSION);
+    }
+
+    /**
+     * @param metadata The data set metadata (usually written before the rows).
+     * @throws IOException If metadata can't be written.
+     */
+    public void write(DataSetMetadata metadata) throws IOException {
+        writeJson(METADATA, metadata);
+    }
+
+    /**
+     * @param rowMetadata The row metadata (may be written after the rows).
+     * @throws IOException If metadata can't be written.
+     */
+    public void write(RowMetadata rowMetadata) throws IOException {
+        writeJson(ROW_METADATA, rowMetadata);
+    }
+
+    /**
+     * @param row The row to write.
+     * @throws IOException If row can't be written.
+     */
+    public void write(DataSetRow row) throws IOException {
+        write(row.getTdpId(), row.values());
+    }
+
+    /**
+     * @param tdpId The TDP id of the row (may be <code>null</code>).
+     * @param values The row values (a {@link org.talend.dataprep.api.dataset.row.FlagNames#TDP_ID TDP id} value is
+     * ignored), written as strings.
+     * @throws IOException If row can't be written.
+     */
+    public void write(Long tdpId, Map<String, ?> values) throws IOException {
+        if (!hasColumns(values)) {
+            final List<String> rowColumns = new ArrayList<>(values.size());
+            for (String column : values.keySet()) {
+                if (!TDP_ID.equals(column)) {
+                    rowColumns.add(column);
+                }
+            }
+            columns = rowColumns;
+            output.writeByte(COLUMNS);
+            writeVarLong(columns.size());
+            for (String column : columns) {
+                writeString(column);
+            }
+        }
+        output.writeByte(ROW);
+        writeVarLong(tdpId == null ? 0 : tdpId + 1);
+        // values are iterated in columns order (see hasColumns)
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            if (!TDP_ID.equals(entry.getKey())) {
+                final Object value = entry.getValue();
+                writeString(value == null ? null : String.valueOf(value));
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> if values have the same ids in the same order as {@link #columns}.
+     */
+    private boolean hasColumns(Map<String, ?> values) {
+        int i = 0;
+        for (String column : values.keySet()) {
+            if (TDP_ID.equals(column)) {
+                continue;
+            }
+            if (i >= columns.size() || !column.equals(columns.get(i))) {
+                return false;
+            }
+            i++;
+        }
+        return i == columns.size();
+    }
+
+    private void writeJson(byte tag, Object value) throws IOException {
+        final byte[] json = mapper.writeValueAsBytes(value);
+        output.writeByte(tag);
+        writeVarLong(json.length);
+        output.write(json);
+    }
+
+    /**
+     * Writes a string as its UTF-8 length plus one (0 for <code>null</code>), then its UTF-8 bytes.
+     */
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarLong(0);
+        } else {
+            final byte[] bytes = value.getBytes(UTF_8);
+            writeVarLong(bytes.length + 1L);
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Writes a positive number 7 bits per byte (high bit set if more bytes follow).
+     */
+    private void writeVarLong(long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            output.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        output.writeByte((int) remaining);
+    }
+
+    /**
+     * Ends the stream (and flushes it) without closing the underlying output.
+     *
+     * @throws IOException If stream can't be ended.
+     */
+    public void finish() throws IOException {
+        if (!finished) {
+            output.writeByte(END);
+            output.flush();
+            finished = true;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            output.close();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.dataprep.preparation.service;
+
+import java.util.List;
+
+import org.talend.dataprep.api.preparation.Action;
+import org.talend.dataprep.api.preparation.PreparationDTO;
+import org.talend.dataprep.api.preparation.PreparationDetailsDTO;
+
+/**
+ * Preparation service operations that commands may call in-process (instead of HTTP) when the preparation service runs
+ * in the same JVM. Only available in application context when preparation service is.
+ *
+ * @see org.talend.dataprep.command.GenericCommand
+ */
+public interface PreparationEndpoint {
+
+    /**
+     * @param id the wanted preparation id.
+     * @param stepId the wanted step id (head if <code>null</code>).
+     * @return the preparation details, as <code>GET /preparations/{id}/details</code> does.
+     */
+    PreparationDTO getDetails(String id, String stepId);
+
+    /**
+     * @param id the wanted preparation id.
+     * @param stepId the wanted step id (head if <code>null</code>).
+     * @return the preparation full details, as <code>GET /preparations/{id}/details/full</code> does.
+     */
+    PreparationDetailsDTO getDetailsFull(String id, String stepId);
+
+    /**
+     * @param id the wanted preparation id.
+     * @param stepId the wanted step id (head if <code>null</code>).
+     * @return the actions of the preparation at step, as <code>GET /preparations/{id}/actions/{stepId}</code> does.
+     */
+    List<Action> getActions(String id, String stepId);
+}
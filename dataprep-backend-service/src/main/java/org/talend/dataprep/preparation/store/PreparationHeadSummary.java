@@ -0,0 +1,111 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.preparation.store;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.talend.dataprep.api.preparation.Action;
+
+/**
+ * A denormalized summary of a preparation head, stored under {@link #idOf(String)} so it never replaces the preparation
+ * in repositories keyed by id: it saves walking the step chain (head step, then its actions) to describe a preparation.
+ * A summary is only valid as long as the preparation head is the summary {@link #getHeadId() head}.
+ */
+public class PreparationHeadSummary extends PersistentIdentifiable {
+
+    /** Serialization UID. */
+    private static final long serialVersionUID = 1L;
+
+    /** The preparation head step this summary describes. */
+    private String headId;
+
+    /** The actions of the head step. */
+    private List<Action> actions = new ArrayList<>();
+
+    /**
+     * Default empty constructor;
+     */
+    public PreparationHeadSummary() {
+        // needed for Serialization
+    }
+
+    /**
+     * @param preparationId a preparation id.
+     * @return the id of the summary of this preparation.
+     */
+    public static String idOf(String preparationId) {
+        return "summary-" + preparationId;
+    }
+
+    /**
+     * @param preparation a preparation.
+     * @param headActions the actions of the preparation head.
+     * @return the summary of the preparation head.
+     */
+    public static PreparationHeadSummary of(PersistentPreparation preparation, List<Action> headActions) {
+        final PreparationHeadSummary summary = new PreparationHeadSummary();
+        summary.setId(idOf(preparation.id()));
+        summary.setHeadId(preparation.getHeadId());
+        summary.setActions(new ArrayList<>(headActions));
+        return summary;
+    }
+
+    /**
+     * @param preparation a preparation.
+     * @return <code>true</code> if this summary describes the current head of the preparation.
+     */
+    public boolean isSummaryOf(PersistentPreparation preparation) {
+        return headId != null && headId.equals(preparation.getHeadId());
+    }
+
+    public String getHeadId() {
+        return headId;
+    }
+
+    public void setHeadId(String headId) {
+        this.headId = headId;
+    }
+
+    public List<Action> getActions() {
+        return actions;
+    }
+
+    public void setActions(List<Action> actions) {
+        this.actions = actions;
+    }
+
+    @Override
+    public String id() {
+        return getId();
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public String toString() {
+        return "PreparationHeadSummary{" + //
+                "id='" + id + '\'' + //
+                ", headId='" + headId + '\'' + //
+                ", actions=" + actions.size() + //
+                '}';
+    }
+}
@@ -0,0 +1,247 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.schema.csv;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Splits a raw CSV content into chunks of bytes aligned on record boundaries, so that each chunk can be parsed
+ * independently from the others.
+ * <p>
+ * A record boundary is a line break ("\n", "\r\n" or "\r") that is not enclosed in text enclosure characters: the
+ * reader keeps track of the enclosure (and escape) state while scanning, so a line break inside a quoted value never
+ * ends a chunk. This is only valid for charsets where the line break, text enclosure and escape characters are encoded
+ * as single bytes that can not appear inside a multi-byte sequence, see {@link #isSupported(Charset, char, char)}.
+ * </p>
+ * <p>
+ * The first chunk holds at least the header records. A chunk never exceeds the maximum chunk size: when no record
+ * boundary is found within this size (e.g. unbalanced text enclosure), {@link #next()} returns <code>null</code> and
+ * the content left must be parsed sequentially, see {@link #remaining()}.
+ * </p>
+ */
+public class CSVChunkReader {
+
+    /** The initial size (in bytes) of the read buffer. */
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    /** The raw CSV content. */
+    private final InputStream input;
+
+    /** The minimum size (in bytes) of a chunk, a chunk ends at the first record boundary after this size. */
+    private final int chunkSize;
+
+    /** The maximum size (in bytes) of a chunk. */
+    private final int maxChunkSize;
+
+    /** The text enclosure byte. */
+    private final byte textEnclosure;
+
+    /** True if text enclosure must be taken into account. */
+    private final boolean hasTextEnclosure;
+
+    /** The escape byte. */
+    private final byte escape;
+
+    /** True if escape character must be taken into account. */
+    private final boolean hasEscape;
+
+    /** Bytes read from input but not returned yet. */
+    private byte[] buffer;
+
+    /** Number of valid bytes in buffer. */
+    private int length;
+
+    /** Number of bytes in buffer already scanned for a record boundary. */
+    private int scanned;
+
+    /** True if scan is currently within a text enclosure. */
+    private boolean inTextEnclosure;
+
+    /** True if previous scanned byte was an escape character. */
+    private boolean escaped;
+
+    /** True when input is fully read. */
+    private boolean endOfStream;
+
+    /** The number of records the next chunk must hold at least (the header records for the first chunk). */
+    private int minRecords;
+
+    /** The number of record boundaries scanned in current chunk. */
+    private int records;
+
+    /** True when no record boundary was found within maximum chunk size. */
+    private boolean overflow;
+
+    /**
+     * Constructor.
+     *
+     * @param input the raw CSV content.
+     * @param chunkSize the minimum size (in bytes) of a chunk.
+     * @param textEnclosure the text enclosure character ({@link Character#MIN_VALUE} if none).
+     * @param escape the escape character ({@link Character#MIN_VALUE} if none).
+     */
+    public CSVChunkReader(InputStream input, int chunkSize, char textEnclosure, char escape) {
+        this(input, chunkSize, Integer.MAX_VALUE, textEnclosure, escape, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param input the raw CSV content.
+     * @param chunkSize the minimum size (in bytes) of a chunk.
+     * @param maxChunkSize the maximum size (in bytes) of a chunk.
+     * @param textEnclosure the text enclosure character ({@link Character#MIN_VALUE} if none).
+     * @param escape the escape character ({@link Character#MIN_VALUE} if none).
+     * @param headerLines the number of header records (all in first chunk).
+     */
+    public CSVChunkReader(InputStream input, int chunkSize, int maxChunkSize, char textEnclosure, char escape,
+            int headerLines) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive.");
+        }
+        this.input = input;
+        this.chunkSize = chunkSize;
+        this.textEnclosure = (byte) textEnclosure;
+        this.hasTextEnclosure = textEnclosure != Character.MIN_VALUE;
+        this.escape = (byte) escape;
+        this.hasEscape = escape != Character.MIN_VALUE && escape != textEnclosure;
+        final int minChunkCapacity = Math.min(chunkSize, Integer.MAX_VALUE - 8192) + 8192;
+        // buffer grows on demand (see fill()) so that small contents do not allocate a full chunk
+        this.buffer = new byte[Math.min(minChunkCapacity, INITIAL_BUFFER_SIZE)];
+        this.maxChunkSize = Math.max(maxChunkSize, minChunkCapacity);
+        this.minRecords = Math.max(0, headerLines);
+    }
+
+    /**
+     * Checks whether record boundaries can be safely detected at byte level.
+     *
+     * @param charset the charset of the CSV content.
+     * @param textEnclosure the text enclosure character.
+     * @param escape the escape character.
+     * @return <code>true</code> if content can be split in chunks with this reader, <code>false</code> otherwise.
+     */
+    public static boolean isSupported(Charset charset, char textEnclosure, char escape) {
+        final boolean compatibleCharset = StandardCharsets.UTF_8.equals(charset)
+                || (charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1.0f);
+        return compatibleCharset //
+                && isEncodedAsItself(charset, '\n') //
+                && isEncodedAsItself(charset, '\r') //
+                && (textEnclosure == Character.MIN_VALUE || isEncodedAsItself(charset, textEnclosure)) //
+                && (escape == Character.MIN_VALUE || isEncodedAsItself(charset, escape));
+    }
+
+    private static boolean isEncodedAsItself(Charset charset, char c) {
+        return c < 0x80 && Arrays.equals(String.valueOf(c).getBytes(charset), new byte[] { (byte) c });
+    }
+
+    /**
+     * @return the next chunk of the CSV content (ending with a complete record) or <code>null</code> if content is
+     * fully read or if content left can't be split in chunks (see {@link #remaining()}).
+     * @throws IOException if content can't be read.
+     */
+    public byte[] next() throws IOException {
+        while (!overflow) {
+            final int boundary = scan();
+            if (boundary > 0) {
+                return cut(boundary);
+            }
+            if (endOfStream) {
+                return length == 0 ? null : cut(length);
+            }
+            fill();
+        }
+        return null;
+    }
+
+    /**
+     * @return the content left to parse sequentially when no record boundary was found within maximum chunk size,
+     * <code>null</code> otherwise.
+     */
+    public InputStream remaining() {
+        if (!overflow) {
+            return null;
+        }
+        return new SequenceInputStream(new ByteArrayInputStream(buffer, 0, length), input);
+    }
+
+    /**
+     * Scans buffered bytes for the first record boundary after chunk size.
+     *
+     * @return the position right after the record boundary or -1 if none found in buffered bytes.
+     */
+    private int scan() {
+        while (scanned < length) {
+            final byte current = buffer[scanned++];
+            if (escaped) {
+                escaped = false;
+                if (current == textEnclosure || current == escape) {
+                    continue;
+                }
+            }
+            if (hasTextEnclosure && current == textEnclosure) {
+                inTextEnclosure = !inTextEnclosure;
+            } else if (hasEscape && current == escape) {
+                escaped = true;
+            } else if ((current == '\n' || current == '\r') && !inTextEnclosure) {
+                if (current == '\r') {
+                    if (scanned == length && !endOfStream) {
+                        scanned--; // next byte is needed to know whether record ends with "\r\n"
+                        return -1;
+                    }
+                    if (scanned < length && buffer[scanned] == '\n') {
+                        scanned++;
+                    }
+                }
+                records++;
+                if (records >= minRecords && scanned >= chunkSize) {
+                    return scanned;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private byte[] cut(int position) {
+        final byte[] chunk = Arrays.copyOf(buffer, position);
+        System.arraycopy(buffer, position, buffer, 0, length - position);
+        length -= position;
+        scanned = 0;
+        records = 0;
+        minRecords = 0;
+        return chunk;
+    }
+
+    private void fill() throws IOException {
+        if (length == buffer.length) {
+            if (buffer.length >= maxChunkSize) {
+                overflow = true;
+                return;
+            }
+            // chunk not complete yet (or a single record is larger than the buffer, e.g. a very long quoted value)
+            buffer = Arrays.copyOf(buffer, (int) Math.min((long) buffer.length * 2, maxChunkSize));
+        }
+        final int read = input.read(buffer, length, buffer.length - length);
+        if (read < 0) {
+            endOfStream = true;
+        } else {
+            length += read;
+        }
+    }
+}
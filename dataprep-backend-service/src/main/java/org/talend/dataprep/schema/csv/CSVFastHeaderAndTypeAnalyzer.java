@@ -87,6 +87,16 @@ public class CSVFastHeaderAndTypeAnalyzer {
      */
     private final Separator separator;
 
+    /**
+     * The pattern used to delimit fields when guessing their types.
+     */
+    private final Pattern delimiter;
+
+    /**
+     * Statistics on the sample lines, shared with other separators analysis (may be null).
+     */
+    private final CSVSampleHistogram histogram;
+
     /**
      * a flag which tells whether the analysis has been performed or not.
      */
@@ -112,6 +122,18 @@ public class CSVFastHeaderAndTypeAnalyzer {
      * @param separator the specified character or string used as a separator
      */
     public CSVFastHeaderAndTypeAnalyzer(List<String> sampleLines, Separator separator) {
+        this(sampleLines, separator, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param sampleLines the lines used to perform the analysis
+     * @param separator the specified character or string used as a separator
+     * @param histogram the statistics of the sample lines, used to skip full CSV parsing of simple lines and to share
+     * field types with other separators analysis (may be null)
+     */
+    public CSVFastHeaderAndTypeAnalyzer(List<String> sampleLines, Separator separator, CSVSampleHistogram histogram) {
         if (sampleLines == null || sampleLines.isEmpty()) {
             throw new IllegalArgumentException("The sample used for analysis must neither be null nor empty!");
         }
@@ -121,6 +143,8 @@ public class CSVFastHeaderAndTypeAnalyzer {
 
         this.sampleLines = sampleLines;
         this.separator = separator;
+        this.histogram = histogram;
+        this.delimiter = Pattern.compile(Pattern.quote(Character.toString(separator.getSeparator())));
         sampleTypes = setFieldTypes();
     }
 
@@ -159,35 +183,65 @@ public class CSVFastHeaderAndTypeAnalyzer {
         if (StringUtils.isEmpty(line)) {
             return result;
         }
-        List<String> fields = readLine(line);
+        List<String> fields = readLine(i);
         for (String field : fields) {
-            Scanner scanner = new Scanner(field);
-            scanner.useDelimiter(Pattern.quote(Character.toString(separator.getSeparator())));
+            result.add(getFieldType(field));
+        }
+        return result;
+    }
+
+    /**
+     * Guess the type of a field.
+     *
+     * @param field the field value.
+     * @return the field type.
+     */
+    private int getFieldType(String field) {
+        // when the field does not contain the separator its type does not depend on it: share it with other separators
+        if (histogram != null && field.indexOf(separator.getSeparator()) < 0) {
+            return histogram.getFieldTypes().computeIfAbsent(field, this::computeFieldType);
+        }
+        return computeFieldType(field);
+    }
+
+    private int computeFieldType(String field) {
+        final int result;
+        try (Scanner scanner = new Scanner(field)) {
+            scanner.useDelimiter(delimiter);
             // called integer but we are looking for long in Java parlance
             if (scanner.hasNextLong()) {
-                result.add(INTEGER);
-                scanner.next();
+                result = INTEGER;
             } else if (scanner.hasNextDouble()) {
-                result.add(DECIMAL);
-                scanner.next();
+                result = DECIMAL;
             } else if (scanner.hasNextBoolean()) {
-                result.add(BOOLEAN);
-                scanner.next();
+                result = BOOLEAN;
             } else {
                 String text = scanner.hasNext() ? scanner.next() : StringUtils.EMPTY;
-                switch (text) {
-                case "":
-                    result.add(EMPTY);
-                    break;
-                default: // used to detect a stable length of a field (may be it is a date or a pattern)
-                    result.add(text.length());
-                }
+                // used to detect a stable length of a field (may be it is a date or a pattern)
+                result = text.isEmpty() ? EMPTY : text.length();
             }
-            scanner.close();
         }
         return result;
     }
 
+    /**
+     * Extracts fields from the sample line at the specified index.
+     *
+     * @param i the index of the sample line.
+     * @return a list of ordered fields
+     */
+    private List<String> readLine(int i) {
+        final String line = sampleLines.get(i);
+        if (histogram != null && !histogram.hasSpecialChars(i)) {
+            // neither text enclosure nor escape char: a plain split gives the same fields as CSVReader
+            final List<String> result =
+                    new ArrayList<>(Arrays.asList(StringUtils.splitPreserveAllTokens(line, separator.getSeparator())));
+            removeLastEmptyField(result);
+            return result;
+        }
+        return readLine(line);
+    }
+
     /**
      * Extracts fields from a line, using CSVReader.
      *
@@ -206,14 +260,22 @@ public class CSVFastHeaderAndTypeAnalyzer {
         } catch (IOException e) {
             LOGGER.info("Unable to read line {i} of sample", line, e);
         }
-        // remove last fields if it is empty
-        int size = result.size();
-        if (size > 0 && StringUtils.isEmpty(result.get(size - 1))) {
-            result.remove(size - 1);
-        }
+        removeLastEmptyField(result);
         return result;
     }
 
+    /**
+     * Remove last field if it is empty.
+     *
+     * @param fields the fields of a line.
+     */
+    private void removeLastEmptyField(List<String> fields) {
+        int size = fields.size();
+        if (size > 0 && StringUtils.isEmpty(fields.get(size - 1))) {
+            fields.remove(size - 1);
+        }
+    }
+
     /**
      * Performs the column typing, i.e, look for the type of each column. A column has String type by default. If it has
      * more than half of considered number of records (<tt>end</tt> - <tt>start</tt> + 1) of the same type being numeric
@@ -358,7 +420,7 @@ public class CSVFastHeaderAndTypeAnalyzer {
         if (firstLineAHeader) {
             List<Type> columnTypes = columnTypingWithoutFirstRecord();
 
-            List<String> firstLine = readLine(sampleLines.get(0));
+            List<String> firstLine = readLine(0);
             int i = 0;
             for (String field : firstLine) {
                 headers.add(new Pair<>(field, columnTypes.get(i++)));
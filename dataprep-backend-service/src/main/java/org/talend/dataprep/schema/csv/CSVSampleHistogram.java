@@ -0,0 +1,255 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.schema.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * Statistics computed in a single pass over the first lines of a CSV content:
+ * <ul>
+ * <li>occurrences of every separator candidate per line,</li>
+ * <li>occurrences of text enclosure and escape characters in sample lines,</li>
+ * <li>number of lines and characters read.</li>
+ * </ul>
+ * Both separator scoring ({@link SeparatorAnalyzer}) and header / type analysis
+ * ({@link CSVFastHeaderAndTypeAnalyzer}) are fed with these statistics, so the content is only scanned once whatever
+ * the number of separator candidates.
+ */
+public class CSVSampleHistogram {
+
+    /** The character that toggles the "in quote" state while scanning. */
+    private static final char TEXT_ENCLOSURE = '"';
+
+    /** The escape character used when sample lines are tokenized. */
+    private static final char ESCAPE = '\\';
+
+    /** The separator candidates. */
+    private final char[] candidates;
+
+    /** Index of each ASCII char in candidates (-1 if not a candidate). */
+    private final int[] asciiCandidateIndex = new int[128];
+
+    /** Occurrences of each candidate per line (line numbers start at 1). */
+    private final int[][] countPerLine;
+
+    /** Total occurrences of each candidate. */
+    private final int[] totalCount;
+
+    /** Candidates indexes in order of first occurrence. */
+    private final List<Integer> firstOccurrences = new ArrayList<>();
+
+    /** Some non empty lines from the beginning of the content. */
+    private final List<String> sampleLines = new ArrayList<>();
+
+    /** For each sample line, true if it contains a text enclosure or escape character. */
+    private final List<Boolean> sampleLinesWithSpecialChars = new ArrayList<>();
+
+    /** Field types shared by all header and type analysis on this sample (see {@link CSVFastHeaderAndTypeAnalyzer}). */
+    private final Map<String, Integer> fieldTypes = new HashMap<>();
+
+    /** The number of lines read (a line within quotes belongs to the previous one). */
+    private int lineCount = 0;
+
+    /** The number of characters read. */
+    private long totalChars = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param candidates the separator candidates.
+     * @param lineLimit the maximum number of lines that can be read.
+     */
+    private CSVSampleHistogram(List<Character> candidates, int lineLimit) {
+        this.candidates = new char[candidates.size()];
+        Arrays.fill(asciiCandidateIndex, -1);
+        for (int i = 0; i < candidates.size(); i++) {
+            final char candidate = candidates.get(i);
+            this.candidates[i] = candidate;
+            if (candidate < asciiCandidateIndex.length) {
+                asciiCandidateIndex[candidate] = i;
+            }
+        }
+        this.countPerLine = new int[lineLimit + 1][candidates.size()];
+        this.totalCount = new int[candidates.size()];
+    }
+
+    /**
+     * Scans the beginning of a CSV content.
+     *
+     * @param inputStream the CSV content (closed by this method).
+     * @param encoding the encoding of the content, if <code>null</code> platform default is used.
+     * @param candidates the separator candidates to count.
+     * @param sizeLimit the maximum number of characters to read.
+     * @param lineLimit the maximum number of lines to read.
+     * @param sampleLimit the maximum number of non empty lines to keep as sample.
+     * @return the statistics of the scanned content.
+     * @throws IOException if content can't be read.
+     */
+    public static CSVSampleHistogram scan(InputStream inputStream, String encoding, List<Character> candidates,
+            long sizeLimit, int lineLimit, int sampleLimit) throws IOException {
+        final CSVSampleHistogram histogram = new CSVSampleHistogram(candidates, lineLimit);
+        try (Reader reader = encoding != null ? new InputStreamReader(inputStream, encoding)
+                : new InputStreamReader(inputStream)) {
+            histogram.read(reader, sizeLimit, lineLimit, sampleLimit);
+        }
+        return histogram;
+    }
+
+    private void read(Reader reader, long sizeLimit, int lineLimit, int sampleLimit) throws IOException {
+        final char[] buffer = new char[8192];
+        final StringBuilder currentLine = new StringBuilder();
+        boolean inQuote = false;
+        boolean lineStarted = false;
+        boolean lineHasSpecialChars = false;
+        boolean skipLineFeed = false;
+        int lineLength = 0;
+        int read;
+
+        while ((read = reader.read(buffer)) > 0) {
+            for (int i = 0; i < read; i++) {
+                final char c = buffer[i];
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (c == '\n') {
+                        continue;
+                    }
+                }
+                if (!lineStarted) {
+                    if (totalChars >= sizeLimit || lineCount >= lineLimit) {
+                        return;
+                    }
+                    // a line read while in quote belongs to the same record
+                    if (!inQuote) {
+                        lineCount++;
+                    }
+                    lineStarted = true;
+                }
+                if (c == '\n' || c == '\r') {
+                    endOfLine(currentLine, lineLength, lineHasSpecialChars, sampleLimit);
+                    currentLine.setLength(0);
+                    lineStarted = false;
+                    lineHasSpecialChars = false;
+                    lineLength = 0;
+                    skipLineFeed = c == '\r';
+                    continue;
+                }
+
+                lineLength++;
+                if (sampleLines.size() < sampleLimit) {
+                    currentLine.append(c);
+                }
+                if (c == TEXT_ENCLOSURE) {
+                    inQuote = !inQuote;
+                    lineHasSpecialChars = true;
+                } else if (c == ESCAPE) {
+                    lineHasSpecialChars = true;
+                }
+                final int candidateIndex = indexOf(c);
+                if (candidateIndex >= 0) {
+                    if (totalCount[candidateIndex] == 0) {
+                        firstOccurrences.add(candidateIndex);
+                    }
+                    totalCount[candidateIndex]++;
+                    countPerLine[lineCount][candidateIndex]++;
+                }
+            }
+        }
+        if (lineStarted) {
+            endOfLine(currentLine, lineLength, lineHasSpecialChars, sampleLimit);
+        }
+    }
+
+    private void endOfLine(StringBuilder line, int lineLength, boolean hasSpecialChars, int sampleLimit) {
+        totalChars += lineLength + 1; // count the new line character
+        if (lineLength > 0 && sampleLines.size() < sampleLimit) {
+            sampleLines.add(line.toString());
+            sampleLinesWithSpecialChars.add(hasSpecialChars);
+        }
+    }
+
+    private int indexOf(char c) {
+        if (c < asciiCandidateIndex.length) {
+            return asciiCandidateIndex[c];
+        }
+        for (int i = 0; i < candidates.length; i++) {
+            if (candidates[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return a {@link Separator} for each candidate found in content, in the order the candidates were found.
+     */
+    public List<Separator> getSeparators() {
+        // use a hash map to keep the same iteration order as previous map based detection
+        final Map<Character, Separator> separators = new HashMap<>();
+        for (int candidateIndex : firstOccurrences) {
+            final Separator separator = new Separator(candidates[candidateIndex]);
+            final Map<Integer, Long> separatorCountPerLine = new HashMap<>();
+            for (int line = 1; line <= lineCount; line++) {
+                final int count = countPerLine[line][candidateIndex];
+                if (count > 0) {
+                    separatorCountPerLine.put(line, (long) count);
+                }
+            }
+            separator.setCountPerLine(separatorCountPerLine);
+            separator.setTotalCount(totalCount[candidateIndex]);
+            separators.put(separator.getSeparator(), separator);
+        }
+        return new ArrayList<>(separators.values());
+    }
+
+    /**
+     * @return the number of lines read (a line within quotes belongs to the previous one).
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * @return the number of characters read.
+     */
+    public long getTotalChars() {
+        return totalChars;
+    }
+
+    /**
+     * @return some non empty lines from the beginning of the content.
+     */
+    public List<String> getSampleLines() {
+        return sampleLines;
+    }
+
+    /**
+     * @param sampleLineIndex the index of a sample line.
+     * @return <code>true</code> if the sample line contains a text enclosure or escape character, hence needs a full
+     * CSV parsing to be split in fields.
+     */
+    public boolean hasSpecialChars(int sampleLineIndex) {
+        return sampleLinesWithSpecialChars.get(sampleLineIndex);
+    }
+
+    /**
+     * @return the field types computed so far on this sample, shared by all separators analysis.
+     */
+    Map<String, Integer> getFieldTypes() {
+        return fieldTypes;
+    }
+}
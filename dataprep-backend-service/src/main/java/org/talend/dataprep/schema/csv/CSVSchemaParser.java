@@ -16,10 +16,10 @@ package org.talend.dataprep.schema.csv;
 import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
 import static org.talend.dataprep.schema.csv.CSVFormatFamily.HEADER_NB_LINES_PARAMETER;
 
-import java.io.*;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 
-import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -145,22 +145,13 @@ public class CSVSchemaParser implements SchemaParser {
      * @return the guessed CSV separator or null if none found
      */
     private Separator guessSeparator(InputStream is, String encoding, Optional<Character> forcedSeparator) {
-        try (CSVStreamReader csvStreamReader = new CSVStreamReader(is, encoding, SIZE_LIMIT, LINE_LIMIT)) {
-            Map<Character, Separator> separatorMap = new HashMap<>();
-            String line;
-            List<String> sampleLines = new ArrayList<>();
-            final List<Character> validSepartors;
-
-            validSepartors = forcedSeparator.map(Collections::singletonList).orElse(DEFAULT_VALID_SEPARATORS);
-
-            while ((line = csvStreamReader.readLine()) != null) {
-                if (!line.isEmpty() && sampleLines.size() < SMALL_SAMPLE_LIMIT) {
-                    sampleLines.add(line);
-                }
-                processLine(line, separatorMap, validSepartors, csvStreamReader.getLineCount());
-            }
-            return chooseSeparator(new ArrayList<>(separatorMap.values()), csvStreamReader.getLineCount(), sampleLines,
-                    forcedSeparator);
+        try {
+            final List<Character> validSeparators =
+                    forcedSeparator.map(Collections::singletonList).orElse(DEFAULT_VALID_SEPARATORS);
+            // count all separator candidates in a single pass
+            final CSVSampleHistogram histogram = CSVSampleHistogram.scan(is, encoding, validSeparators, SIZE_LIMIT,
+                    LINE_LIMIT, SMALL_SAMPLE_LIMIT);
+            return chooseSeparator(histogram.getSeparators(), histogram, forcedSeparator);
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNABLE_TO_READ_CONTENT, e);
         } catch (Exception e) {
@@ -169,63 +160,20 @@ public class CSVSchemaParser implements SchemaParser {
         }
     }
 
-    /**
-     * Process a line to update the separators with the current line
-     *
-     * @param line the current line
-     * @param separatorMap the map of current candidates
-     * @param validSeparators the list of valid separators
-     * @param lineCount the current line number
-     */
-    private void processLine(String line, Map<Character, Separator> separatorMap, List<Character> validSeparators,
-            int lineCount) {
-        // do not process the line if it is empty
-        if (line.isEmpty())
-            return;
-
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            processCharAsSeparatorCandidate(c, separatorMap, validSeparators, lineCount);
-        }
-    }
-
-    /**
-     * Detects if the given char is a separator candidate. If true, the separator is added within the separators map.
-     *
-     * @param candidate the candidate to analyse
-     * @param separatorMap the map of current candidates
-     * @param lineNumber the current line number
-     */
-    protected void processCharAsSeparatorCandidate(char candidate, Map<Character, Separator> separatorMap,
-            List<Character> validSeparators, int lineNumber) {
-        if (validSeparators.contains(candidate)) {
-            updateSeparatorMap(candidate, separatorMap, lineNumber);
-        }
-    }
-
-    private void updateSeparatorMap(char candidate, Map<Character, Separator> separatorMap, int lineNumber) {
-        Separator separator = separatorMap.get(candidate);
-        if (separator == null) {
-            separator = new Separator(candidate);
-            separatorMap.put(candidate, separator);
-        }
-        separator.incrementCount(lineNumber);
-    }
-
     /**
      * Chooses the best separator out of the given ones.
      *
      * @param separators the list of separators found in the CSV (may be empty but not null
-     * @param lineCount number of lines in the CSV
+     * @param histogram the statistics of the lines read from the CSV
      * @param forcedSeparator
      * @return the separator to use to read the CSV or null if none found
      */
-    private Separator chooseSeparator(List<Separator> separators, int lineCount, List<String> sampleLines,
+    private Separator chooseSeparator(List<Separator> separators, CSVSampleHistogram histogram,
             Optional<Character> forcedSeparator) {
 
         // easy case where there's no choice
         if (separators.isEmpty()) {
-            if (lineCount > 0) {
+            if (histogram.getLineCount() > 0) {
                 // There are some lines processed, but no separator (a one-column content?), so pick a default
                 // separator.
                 if (forcedSeparator.isPresent()) {
@@ -241,7 +189,7 @@ public class CSVSchemaParser implements SchemaParser {
         }
 
         // compute each separator score
-        SeparatorAnalyzer separatorAnalyzer = new SeparatorAnalyzer(lineCount, sampleLines);
+        SeparatorAnalyzer separatorAnalyzer = new SeparatorAnalyzer(histogram);
         separators.forEach(separatorAnalyzer::accept); // analyse separators and set header info and score
 
         // sort separator and return the first
@@ -252,116 +200,4 @@ public class CSVSchemaParser implements SchemaParser {
                 .get();
     }
 
-    /**
-     * A helper class to parse CSV file during separator guessing or updating
-     */
-    class CSVStreamReader implements AutoCloseable {
-
-        /**
-         * The number of so far read characters
-         */
-        private long totalChars = 0;
-
-        /**
-         * The number of line read so far
-         */
-        private int lineCount = 0;
-
-        /**
-         * Is a quote currently opened
-         */
-        private boolean inQuote = false;
-
-        /**
-         * The helper {@see LineNumberReader}
-         */
-        private final LineNumberReader reader;
-
-        /**
-         * The maximum size that can be read from the file
-         */
-        private final long sizeLimit;
-
-        /**
-         * The maximum number of lines that can be read from the file
-         */
-        private final int lineLimit;
-
-        /**
-         * Constructs an CSVReaderStream object.
-         *
-         * @param inputStream the specified base input stream
-         * @param encoding the encoding of the file
-         * @param sizeLimit maximum size that can be read from the file
-         * @param lineLimit the maximum number of lines that can be read from the file
-         * @throws UnsupportedEncodingException
-         */
-        public CSVStreamReader(InputStream inputStream, String encoding, long sizeLimit, int lineLimit)
-                throws UnsupportedEncodingException {
-            this.sizeLimit = sizeLimit;
-            this.lineLimit = lineLimit;
-            this.reader = new LineNumberReader(encoding != null ? new InputStreamReader(inputStream, encoding)
-                    : new InputStreamReader(inputStream));
-        }
-
-        /**
-         * Returns the portion of a line that is not in quote as a string.
-         *
-         * @return he portion of a line that is not in quote as a string
-         * @throws IOException
-         */
-        public String readLine() throws IOException {
-            final String currentLine;
-            if (totalChars < sizeLimit && lineCount < lineLimit && (currentLine = reader.readLine()) != null) {
-                totalChars += currentLine.length() + 1; // count the new line character
-                if (BooleanUtils.isFalse(inQuote)) {
-                    lineCount++;
-                }
-                return processLine(currentLine);
-            } else {
-                reader.close();
-                return null;
-            }
-        }
-
-        /**
-         * Processes a line and only returns the portion of a line that is not in quote as a string.
-         *
-         * @param line the line as read from the input stream
-         * @return the portion of a line that is not in quote as a string
-         */
-        private String processLine(String line) {
-
-            StringBuilder sb = new StringBuilder();
-            // do not process the line if it is empty
-            if (line.isEmpty())
-                return sb.toString();
-
-            for (int i = 0; i < line.length(); i++) {
-
-                char c = line.charAt(i);
-
-                if ('"' == c) {
-                    inQuote = BooleanUtils.negate(inQuote);
-                }
-
-                sb.append(c);
-            }
-            return sb.toString();
-        }
-
-        @Override
-        public void close() throws Exception {
-            reader.close();
-        }
-
-        public long getTotalChars() {
-            return totalChars;
-        }
-
-        public int getLineCount() {
-            return lineCount;
-        }
-    }
-
 }
@@ -16,8 +16,13 @@ package org.talend.dataprep.schema.csv;
 import static org.talend.dataprep.schema.csv.CSVFormatFamily.TEXT_ENCLOSURE_CHAR;
 
 import java.io.*;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
 
 import javax.annotation.Resource;
 
@@ -25,16 +30,19 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.dataset.store.content.RowOffsetIndex;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
 import org.talend.dataprep.schema.Serializer;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
 
 import au.com.bytecode.opencsv.CSVReader;
 
@@ -56,8 +64,38 @@ public class CSVSerializer implements Serializer {
     @Resource(name = "serializer#csv#executor")
     private TaskExecutor executor;
 
+    /** True if full reads of CSV content may be parsed on several cores. */
+    @Value("${dataset.import.csv.parallel.enabled:true}")
+    private boolean parallelEnabled;
+
+    /** The minimum size (in bytes) of the CSV chunks parsed in parallel. */
+    @Value("${dataset.import.csv.parallel.chunk.size:8388608}")
+    private int parallelChunkSize;
+
+    /** The maximum size (in bytes) of the CSV chunks parsed in parallel (content left is parsed sequentially). */
+    @Value("${dataset.import.csv.parallel.chunk.max.size:67108864}")
+    private int parallelMaxChunkSize;
+
+    /** Task executor used to parse CSV chunks in parallel. */
+    @Resource(name = "serializer#csv#parallel#executor")
+    private AsyncTaskExecutor parallelExecutor;
+
     @Override
     public InputStream serialize(InputStream rawContent, DataSetMetadata metadata, long limit) {
+        return serialize(rawContent, metadata, limit, null);
+    }
+
+    /**
+     * Same as {@link #serialize(InputStream, DataSetMetadata, long)} but only writes the values of the given columns:
+     * values of other columns are skipped as soon as records are parsed.
+     *
+     * @param rawContent the raw CSV content.
+     * @param metadata the dataset metadata.
+     * @param limit The maximum number of lines in the exported content.
+     * @param columnIds the ids of the columns to write (<code>null</code> for all columns).
+     * @return the JSON content.
+     */
+    public InputStream serialize(InputStream rawContent, DataSetMetadata metadata, long limit, Set<String> columnIds) {
         try {
             PipedInputStream pipe = new PipedInputStream();
             PipedOutputStream jsonOutput = new PipedOutputStream(pipe);
@@ -69,18 +107,15 @@ public class CSVSerializer implements Serializer {
                 final char textEnclosureChar = getFromParameters(parameters, TEXT_ENCLOSURE_CHAR, defaultTextEnclosure);
                 final char escapeChar = getFromParameters(parameters, CSVFormatFamily.ESCAPE_CHAR, defaultEscapeChar);
 
-                try (InputStreamReader input = new InputStreamReader(rawContent, metadata.getEncoding());
-                        CSVReader reader = new CSVReader(input, actualSeparator, textEnclosureChar, escapeChar)) {
-
-                    JsonGenerator generator = new JsonFactory().createGenerator(jsonOutput);
-                    int i = 0;
-                    while (i++ < metadata.getContent().getNbLinesInHeader()) {
-                        reader.readNext(); // Skip all header lines
+                try {
+                    if (useParallelParsing(metadata, limit, textEnclosureChar, escapeChar)) {
+                        LOGGER.debug("Parsing {} in parallel chunks.", metadata.getId());
+                        writeChunkedContent(rawContent, metadata, jsonOutput, actualSeparator, textEnclosureChar,
+                                escapeChar, columnIds);
+                    } else {
+                        writeContent(rawContent, metadata, jsonOutput, actualSeparator, textEnclosureChar, escapeChar,
+                                limit, columnIds);
                     }
-                    generator.writeStartArray();
-                    writeLineContent(reader, metadata, generator, separator, limit);
-                    generator.writeEndArray();
-                    generator.flush();
                 } catch (Exception e) {
                     // Consumer may very well interrupt consumption of stream (in case of limit(n) use for sampling).
                     // This is not an issue as consumer is allowed to partially consumes results, it's up to the
@@ -102,6 +137,312 @@ public class CSVSerializer implements Serializer {
         }
     }
 
+    /**
+     * Builds the row offset index of a CSV content: record boundaries are detected at byte level (see
+     * {@link CSVChunkReader}), header lines and empty lines are skipped the same way {@link #serialize} does.
+     *
+     * @param rawContent the raw CSV content (not closed by this method).
+     * @param metadata the dataset metadata.
+     * @param interval the number of rows between two indexed rows.
+     * @return the index or <code>null</code> if record boundaries can't be safely detected for this content.
+     * @throws IOException if content can't be read.
+     */
+    public RowOffsetIndex index(InputStream rawContent, DataSetMetadata metadata, int interval) throws IOException {
+        final Map<String, String> parameters = metadata.getContent().getParameters();
+        final char textEnclosureChar = getFromParameters(parameters, TEXT_ENCLOSURE_CHAR, defaultTextEnclosure);
+        final char escapeChar = getFromParameters(parameters, CSVFormatFamily.ESCAPE_CHAR, defaultEscapeChar);
+        final String separator = parameters.get(CSVFormatFamily.SEPARATOR_PARAMETER);
+        if (separator == null || separator.isEmpty()) {
+            return null;
+        }
+        final char separatorChar = separator.charAt(0);
+        try {
+            if (!CSVChunkReader.isSupported(Charset.forName(metadata.getEncoding()), textEnclosureChar, escapeChar)) {
+                return null;
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        final boolean hasTextEnclosure = textEnclosureChar != Character.MIN_VALUE;
+        final boolean hasEscape = escapeChar != Character.MIN_VALUE && escapeChar != textEnclosureChar;
+        final int headerLines = metadata.getContent().getNbLinesInHeader();
+
+        final RowOffsetIndex index = new RowOffsetIndex(RowOffsetIndex.version(metadata), interval);
+        final InputStream input = new BufferedInputStream(rawContent, 65536);
+        long position = 0;
+        long recordStart = 0;
+        long records = 0;
+        boolean inTextEnclosure = false;
+        boolean escaped = false;
+        boolean previousIsCarriageReturn = false;
+        // true while current record only holds separators, text enclosures and blanks (i.e. has no value)
+        boolean noValue = true;
+        // the first bytes of current record (to detect empty lines)
+        int first = -1;
+        int second = -1;
+        int third = -1;
+        int current;
+        while (true) {
+            current = input.read();
+            if (previousIsCarriageReturn && current != '\n' && !inTextEnclosure) {
+                return null; // CSV reader also ends records on single carriage returns, index would not match
+            }
+            if (current < 0 || (current == '\n' && !inTextEnclosure)) {
+                if (current >= 0 || position > recordStart) {
+                    if (first == 0) {
+                        return null; // CSV reader may or may not skip such record depending on its values
+                    }
+                    records++;
+                    if (records > headerLines && !isEmptyRecord(first, second, third, (byte) textEnclosureChar)) {
+                        if (noValue) {
+                            return null; // row with empty values only is dropped on read, index would not match
+                        }
+                        index.record(recordStart);
+                    }
+                }
+                if (current < 0) {
+                    return index;
+                }
+                position++;
+                recordStart = position;
+                first = second = third = -1;
+                previousIsCarriageReturn = false;
+                noValue = true;
+                continue;
+            }
+            if (first < 0) {
+                first = current;
+            } else if (second < 0) {
+                second = current;
+            } else if (third < 0) {
+                third = current;
+            }
+            previousIsCarriageReturn = current == '\r';
+            noValue &= current == separatorChar || current == textEnclosureChar || Character.isWhitespace(current);
+            position++;
+            if (escaped) {
+                escaped = false;
+                if (current == textEnclosureChar || current == escapeChar) {
+                    continue;
+                }
+            }
+            if (hasTextEnclosure && current == textEnclosureChar) {
+                inTextEnclosure = !inTextEnclosure;
+            } else if (hasEscape && current == escapeChar) {
+                escaped = true;
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> if a record starting with the given bytes is an empty line for {@link CSVReader}.
+     */
+    private static boolean isEmptyRecord(int first, int second, int third, byte textEnclosure) {
+        if (first < 0 || first == '\r') {
+            return true;
+        }
+        // a single empty quoted value
+        final boolean endOfRecord = third < 0 || third == '\r';
+        return first == textEnclosure && second == textEnclosure && endOfRecord;
+    }
+
+    /**
+     * Write the whole CSV content as a JSON array, reading it sequentially.
+     *
+     * @param rawContent the raw CSV content.
+     * @param metadata the dataset metadata.
+     * @param jsonOutput where to write the JSON content.
+     * @param separator the csv separator.
+     * @param textEnclosureChar the text enclosure character.
+     * @param escapeChar the escape character.
+     * @param limit The maximum number of lines in the exported content.
+     * @param columnIds the ids of the columns to write (<code>null</code> for all columns).
+     * @throws IOException if an error occurs.
+     */
+    private void writeContent(InputStream rawContent, DataSetMetadata metadata, OutputStream jsonOutput,
+            char separator, char textEnclosureChar, char escapeChar, long limit, Set<String> columnIds)
+            throws IOException {
+        try (InputStreamReader input = new InputStreamReader(rawContent, metadata.getEncoding());
+                CSVReader reader = new CSVReader(input, separator, textEnclosureChar, escapeChar)) {
+
+            JsonGenerator generator = new JsonFactory().createGenerator(jsonOutput);
+            skipHeader(reader, metadata.getContent().getNbLinesInHeader());
+            generator.writeStartArray();
+            writeLineContent(reader, metadata, generator, String.valueOf(separator), limit, columnIds);
+            generator.writeEndArray();
+            generator.flush();
+        }
+    }
+
+    /**
+     * Write the whole CSV content as a JSON array: content is split in chunks aligned on record boundaries, chunks are
+     * serialized in parallel and written back in their original order. When no record boundary is found within maximum
+     * chunk size, content left is serialized sequentially.
+     *
+     * @param rawContent the raw CSV content.
+     * @param metadata the dataset metadata.
+     * @param jsonOutput where to write the JSON content.
+     * @param separator the csv separator.
+     * @param textEnclosureChar the text enclosure character.
+     * @param escapeChar the escape character.
+     * @param columnIds the ids of the columns to write (<code>null</code> for all columns).
+     * @throws Exception if an error occurs.
+     * @see CSVChunkReader
+     */
+    private void writeChunkedContent(InputStream rawContent, DataSetMetadata metadata, OutputStream jsonOutput,
+            char separator, char textEnclosureChar, char escapeChar, Set<String> columnIds) throws Exception {
+        final int maxPendingChunks = Runtime.getRuntime().availableProcessors();
+        final Deque<Future<byte[]>> pendingChunks = new ArrayDeque<>(maxPendingChunks);
+        try (InputStream input = rawContent) {
+            int headerLines = metadata.getContent().getNbLinesInHeader();
+            final CSVChunkReader chunkReader = new CSVChunkReader(input, parallelChunkSize, parallelMaxChunkSize,
+                    textEnclosureChar, escapeChar, headerLines);
+            boolean isFirst = true;
+            byte[] chunk = chunkReader.next();
+
+            jsonOutput.write('[');
+            while (chunk != null || !pendingChunks.isEmpty()) {
+                // keep a bounded number of chunks in memory
+                while (chunk != null && pendingChunks.size() < maxPendingChunks) {
+                    final byte[] chunkToSerialize = chunk;
+                    final int linesToSkip = headerLines;
+                    pendingChunks.add(parallelExecutor.submit(() -> serializeChunk(chunkToSerialize, metadata,
+                            separator, textEnclosureChar, escapeChar, linesToSkip, columnIds)));
+                    headerLines = 0; // first chunk contains all header lines
+                    chunk = chunkReader.next();
+                }
+                final byte[] json = pendingChunks.poll().get();
+                if (json.length > 0) {
+                    if (!isFirst) {
+                        jsonOutput.write(',');
+                    }
+                    jsonOutput.write(json);
+                    isFirst = false;
+                }
+            }
+            final InputStream remaining = chunkReader.remaining();
+            if (remaining != null) {
+                LOGGER.debug("No record boundary within chunk size limit, parse rest of {} sequentially.",
+                        metadata.getId());
+                writeRemainingContent(remaining, metadata, jsonOutput, separator, textEnclosureChar, escapeChar,
+                        headerLines, isFirst, columnIds);
+            }
+            jsonOutput.write(']');
+            jsonOutput.flush();
+        } finally {
+            pendingChunks.forEach(pendingChunk -> pendingChunk.cancel(true));
+        }
+    }
+
+    /**
+     * Serialize the content left by a {@link CSVChunkReader} as comma separated JSON objects (without the enclosing
+     * array) directly in the output.
+     *
+     * @param remaining the CSV content left, made of complete records.
+     * @param metadata the dataset metadata.
+     * @param jsonOutput where to write the JSON content.
+     * @param separator the csv separator.
+     * @param textEnclosureChar the text enclosure character.
+     * @param escapeChar the escape character.
+     * @param linesToSkip the number of header lines to skip at the beginning of the content.
+     * @param isFirst <code>true</code> if no JSON object was written to output yet.
+     * @param columnIds the ids of the columns to write (<code>null</code> for all columns).
+     * @throws IOException if an error occurs.
+     */
+    private void writeRemainingContent(InputStream remaining, DataSetMetadata metadata, OutputStream jsonOutput,
+            char separator, char textEnclosureChar, char escapeChar, int linesToSkip, boolean isFirst,
+            Set<String> columnIds) throws IOException {
+        // separate from previous objects only if there's any object to write
+        final OutputStream output = isFirst ? jsonOutput : new FilterOutputStream(jsonOutput) {
+
+            private boolean separated;
+
+            @Override
+            public void write(int b) throws IOException {
+                separate();
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                separate();
+                out.write(b, off, len);
+            }
+
+            private void separate() throws IOException {
+                if (!separated) {
+                    separated = true;
+                    out.write(',');
+                }
+            }
+        };
+        try (InputStreamReader input = new InputStreamReader(remaining, metadata.getEncoding());
+                CSVReader reader = new CSVReader(input, separator, textEnclosureChar, escapeChar)) {
+            final JsonGenerator generator = new JsonFactory().createGenerator(output);
+            generator.setRootValueSeparator(new SerializedString(","));
+            skipHeader(reader, linesToSkip);
+            writeLineContent(reader, metadata, generator, String.valueOf(separator), -1, columnIds);
+            generator.flush();
+        }
+    }
+
+    /**
+     * Serialize a chunk of CSV content as comma separated JSON objects (without the enclosing array).
+     *
+     * @param chunk the CSV content, made of complete records.
+     * @param metadata the dataset metadata.
+     * @param separator the csv separator.
+     * @param textEnclosureChar the text enclosure character.
+     * @param escapeChar the escape character.
+     * @param linesToSkip the number of header lines to skip at the beginning of the chunk.
+     * @param columnIds the ids of the columns to write (<code>null</code> for all columns).
+     * @return the JSON content of this chunk.
+     * @throws IOException if an error occurs.
+     */
+    private byte[] serializeChunk(byte[] chunk, DataSetMetadata metadata, char separator, char textEnclosureChar,
+            char escapeChar, int linesToSkip, Set<String> columnIds) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(chunk.length * 2);
+        try (InputStreamReader input = new InputStreamReader(new ByteArrayInputStream(chunk), metadata.getEncoding());
+                CSVReader reader = new CSVReader(input, separator, textEnclosureChar, escapeChar);
+                JsonGenerator generator = new JsonFactory().createGenerator(output)) {
+            generator.setRootValueSeparator(new SerializedString(","));
+            skipHeader(reader, linesToSkip);
+            writeLineContent(reader, metadata, generator, String.valueOf(separator), -1, columnIds);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Check whether the whole content can be parsed using parallel chunks.
+     *
+     * @param metadata the dataset metadata.
+     * @param limit The maximum number of lines in the exported content.
+     * @param textEnclosureChar the text enclosure character.
+     * @param escapeChar the escape character.
+     * @return <code>true</code> if content can be parsed in parallel.
+     */
+    private boolean useParallelParsing(DataSetMetadata metadata, long limit, char textEnclosureChar,
+            char escapeChar) {
+        // partial reads (samples) are faster to read sequentially
+        if (!parallelEnabled || parallelExecutor == null || limit >= 0) {
+            return false;
+        }
+        try {
+            return CSVChunkReader.isSupported(Charset.forName(metadata.getEncoding()), textEnclosureChar, escapeChar);
+        } catch (IllegalArgumentException e) {
+            LOGGER.debug("Unable to parse {} in parallel with encoding '{}'.", metadata.getId(),
+                    metadata.getEncoding(), e);
+            return false;
+        }
+    }
+
+    private void skipHeader(CSVReader reader, int nbLinesInHeader) throws IOException {
+        int i = 0;
+        while (i++ < nbLinesInHeader) {
+            reader.readNext(); // Skip all header lines
+        }
+    }
+
     /**
      * Extract the parameter value from the dataset parameters or return the given default value if not found.
      *
@@ -129,10 +470,11 @@ public class CSVSerializer implements Serializer {
      * @param generator the json generator used to actually write the line content.
      * @param separator the csv separator to use.
      * @param limit The maximum number of lines in the exported content.
+     * @param columnIds the ids of the columns to write (<code>null</code> for all columns).
      * @throws IOException if an error occurs.
      */
     private void writeLineContent(CSVReader reader, DataSetMetadata metadata, JsonGenerator generator, String separator,
-            long limit) throws IOException {
+            long limit, Set<String> columnIds) throws IOException {
         String[] line;
         int current = 0;
 
@@ -147,6 +489,9 @@ public class CSVSerializer implements Serializer {
             int columnsSize = columns.size();
             for (int i = 0; i < columnsSize; i++) {
                 ColumnMetadata columnMetadata = columns.get(i);
+                if (columnIds != null && !columnIds.contains(columnMetadata.getId())) {
+                    continue;
+                }
 
                 generator.writeFieldName(columnMetadata.getId());
 
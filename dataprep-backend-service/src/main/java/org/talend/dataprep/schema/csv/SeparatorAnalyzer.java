@@ -35,6 +35,11 @@ public class SeparatorAnalyzer implements Consumer<Separator> {
      */
     private final List<String> sampleLines;
 
+    /**
+     * Statistics on the sample lines shared by all separators analysis (may be null).
+     */
+    private final CSVSampleHistogram histogram;
+
     /**
      * Internal comparator used to compare separators between them
      */
@@ -56,6 +61,22 @@ public class SeparatorAnalyzer implements Consumer<Separator> {
         }
         this.numberOfLines = numberOfLines;
         this.sampleLines = sampleLines;
+        this.histogram = null;
+        this.comparator = new SeparatorComparator();
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param histogram the statistics of the lines read from the dataset.
+     */
+    public SeparatorAnalyzer(CSVSampleHistogram histogram) {
+        if (histogram.getLineCount() <= 0) {
+            throw new IllegalArgumentException("The number of lines must be strictly positive");
+        }
+        this.numberOfLines = histogram.getLineCount();
+        this.sampleLines = histogram.getSampleLines();
+        this.histogram = histogram;
         this.comparator = new SeparatorComparator();
     }
 
@@ -135,7 +156,7 @@ public class SeparatorAnalyzer implements Consumer<Separator> {
     public void accept(Separator separator) {
         separator.setScore(computeEntropy(separator));
         CSVFastHeaderAndTypeAnalyzer csvFastHeaderAndTypeAnalyzer =
-                new CSVFastHeaderAndTypeAnalyzer(sampleLines, separator);
+                new CSVFastHeaderAndTypeAnalyzer(sampleLines, separator, histogram);
         csvFastHeaderAndTypeAnalyzer.analyze();
         separator.setFirstLineAHeader(csvFastHeaderAndTypeAnalyzer.isFirstLineAHeader());
         separator.setHeaderInfoReliable(csvFastHeaderAndTypeAnalyzer.isHeaderInfoReliable());
@@ -53,7 +53,11 @@ public class HtmlSchemaParser implements SchemaParser {
 
             Metadata metadata = new Metadata();
 
-            htmlParser.parse(inputStream, headersContentHandler, metadata, new ParseContext());
+            try {
+                htmlParser.parse(inputStream, headersContentHandler, metadata, new ParseContext());
+            } catch (SimpleHeadersContentHandler.HeadersContentFoundException e) {
+                LOGGER.debug("Headers found, skipping remaining content.");
+            }
 
             List<ColumnMetadata> columns = new ArrayList<>(headersContentHandler.getHeaderValues().size());
 
@@ -62,40 +62,21 @@ public class HtmlSerializer implements Serializer {
         try {
 
             List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
-            SimpleValuesContentHandler valuesContentHandler = new SimpleValuesContentHandler(columns.size(), limit);
-
-            HtmlParser htmlParser = new HtmlParser();
-            Metadata metadata = new Metadata();
-
-            htmlParser.parse(rawContent, valuesContentHandler, metadata, new ParseContext());
 
             JsonGenerator generator = new JsonFactory().createGenerator(jsonOutput);
             generator.writeStartArray(); // start the record
 
-            for (List<String> values : valuesContentHandler.getValues()) {
-
-                if (values.isEmpty()) {
-                    // avoid empty record which can fail analysis
-                    continue;
-                }
-
-                generator.writeStartObject();
+            // rows are written as soon as they are parsed (no need to keep the whole table in memory)
+            SimpleValuesContentHandler valuesContentHandler =
+                    new SimpleValuesContentHandler(columns.size(), limit, values -> writeRow(generator, columns, values));
 
-                int idx = 0;
+            HtmlParser htmlParser = new HtmlParser();
+            Metadata metadata = new Metadata();
 
-                for (String value : values) {
-                    if (idx < columns.size()) {
-                        ColumnMetadata columnMetadata = columns.get(idx);
-                        generator.writeFieldName(columnMetadata.getId());
-                        if (value != null) {
-                            generator.writeString(value);
-                        } else {
-                            generator.writeNull();
-                        }
-                        idx++;
-                    }
-                }
-                generator.writeEndObject();
+            try {
+                htmlParser.parse(rawContent, valuesContentHandler, metadata, new ParseContext());
+            } catch (SimpleValuesContentHandler.LimitReachedException e) {
+                LOGGER.debug("Limit {} reached for {}, skipping remaining content.", limit, dataSetMetadata.getId());
             }
 
             generator.writeEndArray(); // end the record
@@ -114,4 +95,35 @@ public class HtmlSerializer implements Serializer {
             }
         }
     }
+
+    /**
+     * Write a row of values.
+     *
+     * @param generator where to write the row.
+     * @param columns the dataset columns.
+     * @param values the row values.
+     */
+    private static void writeRow(JsonGenerator generator, List<ColumnMetadata> columns, List<String> values) {
+        try {
+            generator.writeStartObject();
+
+            int idx = 0;
+
+            for (String value : values) {
+                if (idx < columns.size()) {
+                    ColumnMetadata columnMetadata = columns.get(idx);
+                    generator.writeFieldName(columnMetadata.getId());
+                    if (value != null) {
+                        generator.writeString(value);
+                    } else {
+                        generator.writeNull();
+                    }
+                    idx++;
+                }
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
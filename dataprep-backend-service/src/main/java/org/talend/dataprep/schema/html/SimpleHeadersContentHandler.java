@@ -61,6 +61,9 @@ class SimpleHeadersContentHandler extends DefaultHandler {
     public void endElement(String uri, String localName, String qName) throws SAXException {
         if ("th".equals(localName)) {
             readingHeader = false;
+        } else if ("tr".equals(localName) && !headerValues.isEmpty()) {
+            // header row is complete, no need to read the (possibly huge) remaining content
+            throw new HeadersContentFoundException();
         }
     }
 
@@ -78,4 +81,14 @@ class SimpleHeadersContentHandler extends DefaultHandler {
         }
     }
 
+    /**
+     * Thrown to stop the parsing once the header row is read.
+     */
+    static class HeadersContentFoundException extends SAXException {
+
+        HeadersContentFoundException() {
+            super("Headers found");
+        }
+    }
+
 }
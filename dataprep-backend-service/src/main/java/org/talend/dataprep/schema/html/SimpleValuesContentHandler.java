@@ -15,6 +15,7 @@ package org.talend.dataprep.schema.html;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -24,7 +25,9 @@ import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
 
 /**
- * ContentHandler to get values from the selector
+ * ContentHandler to get values from the selector. Each row is handed to a consumer as soon as its <code>tr</code>
+ * element is closed, so only the current row is kept in memory. Parsing is stopped (with a
+ * {@link LimitReachedException}) once the limit is reached.
  */
 class SimpleValuesContentHandler extends DefaultHandler {
 
@@ -34,68 +37,86 @@ class SimpleValuesContentHandler extends DefaultHandler {
 
     private final long limit;
 
+    /** Where to send each row of values. */
+    private final Consumer<List<String>> rowConsumer;
+
     private boolean inValue;
 
     private int index = -1;
 
+    /** The number of rows sent to the consumer. */
+    private long rowCount = 0;
+
+    /** The values of the current row (<code>null</code> if not in a row). */
+    private List<String> currentRow;
+
     /**
-     * list of row values
+     * Constructor.
+     *
+     * @param rowSize the expected number of values per row (rows with less values are discarded).
+     * @param limit the maximum number of rows to send to the consumer (-1 for no limit).
+     * @param rowConsumer where to send each non empty row of values.
      */
-    private List<List<String>> values = new ArrayList<>();
-
-    SimpleValuesContentHandler(int rowSize, long limit) {
+    SimpleValuesContentHandler(int rowSize, long limit, Consumer<List<String>> rowConsumer) {
         this.rowSize = rowSize;
         this.limit = limit;
+        this.rowConsumer = rowConsumer;
     }
 
-    List<List<String>> getValues() {
-        return values;
-    }
-
-    private List<String> getLastRow() {
-        return values.get(values.size() - 1);
-    }
-
-    private boolean withinLimit() {
-        return limit < 0 || values.size() < limit;
+    /**
+     * @return <code>true</code> if the limit is reached, <code>false</code> otherwise.
+     */
+    boolean isLimitReached() {
+        return limit >= 0 && rowCount >= limit;
     }
 
     @Override
     public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
-        if (withinLimit()) {
-            if ("tr".equals(localName)) {
-                // New line
-                values.add(new ArrayList<>());
-                index = -1;
-            } else if ("td".equals(localName)) {
-                inValue = true;
-                getLastRow().add(StringUtils.EMPTY);
-                index++;
-            }
+        if ("tr".equals(localName)) {
+            // New line
+            currentRow = new ArrayList<>(Math.max(rowSize, 10));
+            index = -1;
+        } else if ("td".equals(localName) && currentRow != null) {
+            inValue = true;
+            currentRow.add(StringUtils.EMPTY);
+            index++;
         }
     }
 
     @Override
     public void endElement(String uri, String localName, String qName) throws SAXException {
-        if (withinLimit()) {
-            if ("tr".equals(localName) && rowSize > 0 && getLastRow().size() < rowSize) {
-                // Discard row (does not match column number)
-                values.remove(values.size() - 1);
-            } else if ("td".equals(localName)) {
-                inValue = false;
+        if ("tr".equals(localName) && currentRow != null) {
+            final List<String> row = currentRow;
+            currentRow = null;
+            // Discard row if it does not match column number (avoid empty record which can fail analysis)
+            if (!row.isEmpty() && (rowSize <= 0 || row.size() >= rowSize)) {
+                if (isLimitReached()) {
+                    throw new LimitReachedException();
+                }
+                rowConsumer.accept(row);
+                rowCount++;
             }
+        } else if ("td".equals(localName)) {
+            inValue = false;
         }
     }
 
     @Override
     public void characters(char[] chars, int start, int length) throws SAXException {
-        if (withinLimit() && inValue) {
-            char[] thechars = new char[length];
-            System.arraycopy(chars, start, thechars, 0, length);
-            String value = new String(thechars);
+        if (inValue && currentRow != null) {
+            String value = new String(chars, start, length);
             LOGGER.debug("value: {}", value);
-            List<String> currentRowValues = getLastRow();
-            currentRowValues.set(index, StringUtils.trim(currentRowValues.get(index) + value));
+            currentRow.set(index, StringUtils.trim(currentRow.get(index) + value));
+        }
+    }
+
+    /**
+     * Thrown to stop the parsing once the limit is reached.
+     */
+    static class LimitReachedException extends SAXException {
+
+        LimitReachedException() {
+            super("Limit reached");
         }
     }
 
@@ -14,10 +14,15 @@
 package org.talend.dataprep.schema.xls;
 
 import java.io.*;
+import java.nio.file.Files;
 import java.util.List;
 
 import javax.annotation.Resource;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
@@ -28,12 +33,16 @@ import org.talend.dataprep.exception.error.CommonErrorCodes;
 import org.talend.dataprep.schema.Serializer;
 import org.talend.dataprep.schema.xls.serialization.XlsRunnable;
 import org.talend.dataprep.schema.xls.serialization.XlsxStreamRunnable;
+import org.talend.dataprep.util.FilesHelper;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service("serializer#xls")
 public class XlsSerializer implements Serializer {
 
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(XlsSerializer.class);
+
     /** Dataprep ready to use jackson object mapper. */
     @Autowired
     private ObjectMapper mapper;
@@ -56,30 +65,35 @@ public class XlsSerializer implements Serializer {
      * @see Serializer#serialize(InputStream, DataSetMetadata, long)
      */
     @Override
-    public InputStream serialize(InputStream givenInputStream, DataSetMetadata metadata, long limit) {
+    public InputStream serialize(InputStream rawContent, DataSetMetadata metadata, long limit) {
         try {
 
             PipedInputStream pipe = new PipedInputStream();
             PipedOutputStream jsonOutput = new PipedOutputStream(pipe);
 
-            // override the parameter in case it needs to be wrapped in a buffered inputstream
-            InputStream inputStream = givenInputStream;
-            if (!inputStream.markSupported()) {
-                inputStream = new BufferedInputStream(inputStream);
-            }
-
-            inputStream.mark(Integer.MAX_VALUE);
-
-            boolean newExcelFormat = XlsUtils.isNewExcelFormat(inputStream);
-
-            inputStream.reset();
-
-            Runnable runnable = newExcelFormat ? //
-                    serializeNew(inputStream, metadata, limit, jsonOutput)
-                    : serializeOld(inputStream, metadata, limit, jsonOutput);
-
             // Serialize asynchronously for better performance (especially if caller doesn't consume all, see sampling).
-            executor.execute(runnable);
+            executor.execute(() -> {
+                File content = null;
+                try {
+                    // content is copied once to a local file so that neither xls nor xlsx is buffered in memory
+                    content = spool(rawContent);
+                    boolean newExcelFormat = isNewExcelFormat(content);
+                    Runnable runnable = newExcelFormat ? //
+                            serializeNew(content, metadata, limit, jsonOutput)
+                            : serializeOld(content, metadata, limit, jsonOutput);
+                    runnable.run();
+                } catch (Exception e) {
+                    LOGGER.debug("Unable to serialize {}.", metadata.getId(), e);
+                } finally {
+                    // always end the JSON content, otherwise the consumer waits for it forever
+                    try {
+                        jsonOutput.close();
+                    } catch (IOException closeException) {
+                        LOGGER.error("Unable to close output", closeException);
+                    }
+                    FilesHelper.deleteQuietly(content);
+                }
+            });
 
             return pipe;
         } catch (IOException e) {
@@ -87,13 +101,37 @@ public class XlsSerializer implements Serializer {
         }
     }
 
-    private Runnable serializeNew(InputStream rawContent, DataSetMetadata metadata, long limit,
+    /**
+     * Copy the given content to a temporary file.
+     *
+     * @param rawContent the excel content, closed by this method.
+     * @return the temporary file, it's up to the caller to delete it.
+     * @throws IOException if content can't be copied.
+     */
+    private static File spool(InputStream rawContent) throws IOException {
+        final File file = Files.createTempFile("tdp-excel-", ".tmp").toFile();
+        try (InputStream input = rawContent; OutputStream output = new FileOutputStream(file)) {
+            IOUtils.copy(input, output);
+            return file;
+        } catch (IOException e) {
+            FilesHelper.deleteQuietly(file);
+            throw e;
+        }
+    }
+
+    private static boolean isNewExcelFormat(File content) throws IOException {
+        try (InputStream input = FileMagic.prepareToCheckMagic(new FileInputStream(content))) {
+            return XlsUtils.isNewExcelFormat(input);
+        }
+    }
+
+    private Runnable serializeNew(File rawContent, DataSetMetadata metadata, long limit,
             PipedOutputStream jsonOutput) {
         return new XlsxStreamRunnable(jsonOutput, rawContent, metadata, limit, mapper.getFactory());
     }
 
-    private Runnable serializeOld(InputStream rawContent, DataSetMetadata metadata, long limit,
-            PipedOutputStream jsonOutput) throws IOException {
+    private Runnable serializeOld(File rawContent, DataSetMetadata metadata, long limit,
+            PipedOutputStream jsonOutput) {
         return new XlsRunnable(rawContent, jsonOutput, metadata, limit, mapper.getFactory());
     }
 
@@ -16,18 +16,25 @@ package org.talend.dataprep.schema.xls.serialization;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.talend.dataprep.schema.xls.XlsSerializer.isHeaderLine;
-import static org.talend.dataprep.schema.xls.XlsUtils.getCellValueAsString;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.List;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.*;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.hssf.eventusermodel.AbortableHSSFListener;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.HSSFUserException;
+import org.apache.poi.hssf.record.*;
+import org.apache.poi.hssf.usermodel.HSSFDataFormatter;
+import org.apache.poi.hssf.usermodel.HSSFDateUtil;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.CellType;
 import org.slf4j.Logger;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
@@ -36,15 +43,22 @@ import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 
 /**
- * Serialize XLS file.
+ * Serialize XLS file using HSSF event records: rows are written as soon as they are read and the workbook is never
+ * loaded in memory (only the shared strings table is kept).
  */
 public class XlsRunnable implements Runnable {
 
     /** This class' logger. */
     private static final Logger LOG = getLogger(XlsRunnable.class);
 
-    /** The input stream raw content. */
-    private final InputStream rawContent;
+    /** Value returned by the record listener to go on with next record. */
+    private static final short CONTINUE = 0;
+
+    /** Value returned by the record listener to stop reading records. */
+    private static final short STOP = 1;
+
+    /** The raw excel file content (a local copy of the content). */
+    private final File rawContent;
 
     /** Where to serialize the json. */
     private final OutputStream jsonOutput;
@@ -59,13 +73,13 @@ public class XlsRunnable implements Runnable {
 
     /**
      * Constructor.
-     *  @param rawContent the raw excel file content.
+     *  @param rawContent the raw excel file content (a local copy of the content).
      * @param jsonOutput Where to serialize the json.
      * @param metadata The dataset metadata.
-     * @param limit
+     * @param limit A limit to indicate to serializer when to stop. Use -1 for "no limit".
      * @param factory A json factory to use for the serialization.
      */
-    public XlsRunnable(InputStream rawContent, OutputStream jsonOutput, DataSetMetadata metadata, long limit,
+    public XlsRunnable(File rawContent, OutputStream jsonOutput, DataSetMetadata metadata, long limit,
             JsonFactory factory) {
         this.rawContent = rawContent;
         this.jsonOutput = jsonOutput;
@@ -79,33 +93,13 @@ public class XlsRunnable implements Runnable {
      */
     @Override
     public void run() {
-        try {
-
-            Workbook workbook = WorkbookFactory.create(rawContent);
-
+        try (POIFSFileSystem fileSystem = new POIFSFileSystem(rawContent, true)) {
             JsonGenerator generator = jsonFactory.createGenerator(jsonOutput);
-
-            // if no sheet name just get the first one (take it easy mate :-) )
-            Sheet sheet = isEmpty(metadata.getSheetName()) ? workbook.getSheetAt(0)
-                    : workbook.getSheet(metadata.getSheetName());
-
-            if (sheet == null) {
-                // auto generated sheet name so take care!! "sheet-" + i
-                if (StringUtils.startsWith(metadata.getSheetName(), "sheet-")) {
-                    String sheetNumberStr = StringUtils.removeStart(metadata.getSheetName(), "sheet-");
-
-                    sheet = workbook.getSheetAt(Integer.valueOf(sheetNumberStr));
-                }
-                // still null so use the first one
-                if (sheet == null) {
-                    sheet = workbook.getSheetAt(0);
-                }
-            }
-
             generator.writeStartArray();
-            List<ColumnMetadata> columns = metadata.getRowMetadata().getColumns();
 
-            serializeColumns(workbook, generator, sheet, columns);
+            HSSFRequest request = new HSSFRequest();
+            request.addListenerForAllRecords(new SheetRecordsListener(generator));
+            new HSSFEventFactory().abortableProcessWorkbookEvents(request, fileSystem);
 
             generator.writeEndArray();
             generator.flush();
@@ -123,39 +117,234 @@ public class XlsRunnable implements Runnable {
         }
     }
 
-    private void serializeColumns(Workbook workbook, JsonGenerator generator, Sheet sheet, List<ColumnMetadata> columns)
-            throws IOException {
+    /**
+     * Listens to the workbook records and writes the rows of the wanted sheet.
+     */
+    private class SheetRecordsListener extends AbortableHSSFListener {
+
+        /** Where rows are written. */
+        private final JsonGenerator generator;
+
+        /** Tracks cell formats (needed to format numbers and dates). */
+        private final FormatTrackingHSSFListener formats;
+
+        /** Number formatter. */
+        private final HSSFDataFormatter formatter = new HSSFDataFormatter(Locale.ENGLISH);
+
+        /** Date formatter. */
+        private final DateFormat dateFormat = new SimpleDateFormat("dd-MMM-yyyy", Locale.ENGLISH);
+
+        /** The dataset columns. */
+        private final List<ColumnMetadata> columns;
+
+        /** The sheets as declared in workbook. */
+        private final List<BoundSheetRecord> sheets = new ArrayList<>();
+
+        /** The cell values of the current row. */
+        private final Map<Integer, String> rowValues = new HashMap<>();
+
+        /** Shared strings. */
+        private SSTRecord sharedStrings;
+
+        /** True if workbook uses the 1904 date windowing. */
+        private boolean date1904;
+
+        /** Depth of the current BOF / EOF sub stream. */
+        private int depth = 0;
+
+        /** Index (in file order) of the current sheet. */
+        private int sheetIndex = -1;
+
+        /** Index (in file order) of the sheet to serialize. */
+        private int targetSheetIndex = -1;
+
+        /** True when the records of the sheet to serialize are read. */
+        private boolean inTargetSheet;
+
+        /** The index of the current row (-1 if none). */
+        private int currentRow = -1;
 
-        for (int i = 0, size = sheet.getLastRowNum(); i <= size; i++) {
-            if (limit > 0 && i > limit) {
-                break;
+        /** Formula with a string result, waiting for the next string record. */
+        private FormulaRecord pendingFormula;
+
+        private SheetRecordsListener(JsonGenerator generator) {
+            this.generator = generator;
+            this.formats = new FormatTrackingHSSFListener(record -> {
+                // only used to track formats
+            }, Locale.ENGLISH);
+            this.columns = metadata.getRowMetadata().getColumns();
+        }
+
+        @Override
+        public short abortableProcessRecord(Record record) throws HSSFUserException {
+            formats.processRecordInternally(record);
+            switch (record.getSid()) {
+            case BoundSheetRecord.sid:
+                sheets.add((BoundSheetRecord) record);
+                return CONTINUE;
+            case DateWindow1904Record.sid:
+                date1904 = ((DateWindow1904Record) record).getWindowing() == 1;
+                return CONTINUE;
+            case SSTRecord.sid:
+                sharedStrings = (SSTRecord) record;
+                return CONTINUE;
+            case BOFRecord.sid:
+                depth++;
+                if (depth == 1 && ((BOFRecord) record).getType() != BOFRecord.TYPE_WORKBOOK) {
+                    sheetIndex++;
+                    if (targetSheetIndex < 0) {
+                        targetSheetIndex = getTargetSheetIndex();
+                    }
+                    inTargetSheet = sheetIndex == targetSheetIndex;
+                }
+                return CONTINUE;
+            case EOFRecord.sid:
+                depth--;
+                if (depth == 0 && inTargetSheet) {
+                    // the wanted sheet is fully read, no need to go further
+                    writeRow();
+                    return STOP;
+                }
+                return CONTINUE;
+            default:
+                return inTargetSheet && depth == 1 ? processCell(record) : CONTINUE;
             }
-            // is header line?
-            Row row = sheet.getRow(i);
-            if (isHeaderLine(i, columns) || row == null) {
-                continue;
+        }
+
+        private short processCell(Record record) throws HSSFUserException {
+            final CellValueRecordInterface cell;
+            final String value;
+            if (record instanceof StringRecord && pendingFormula != null) {
+                cell = pendingFormula;
+                value = StringUtils.trim(((StringRecord) record).getString());
+                pendingFormula = null;
+            } else if (record instanceof CellValueRecordInterface) {
+                cell = (CellValueRecordInterface) record;
+                if (record instanceof FormulaRecord && ((FormulaRecord) record).hasCachedResultString()) {
+                    // value is in next string record
+                    pendingFormula = (FormulaRecord) record;
+                    return CONTINUE;
+                }
+                value = getValue(record);
+            } else {
+                return CONTINUE;
             }
 
-            generator.writeStartObject();
-            for (ColumnMetadata columnMetadata : columns) {
+            if (cell.getRow() != currentRow) {
+                writeRow();
+                if (limit > 0 && cell.getRow() > limit) {
+                    return STOP;
+                }
+                currentRow = cell.getRow();
+            }
+            rowValues.put((int) cell.getColumn(), value);
+            return CONTINUE;
+        }
 
-                // do not write the values if this has been detected as an header
-                if (i < columnMetadata.getHeaderSize()) {
-                    continue;
+        /**
+         * @param record a cell value record.
+         * @return the cell value as String.
+         */
+        private String getValue(Record record) {
+            switch (record.getSid()) {
+            case LabelSSTRecord.sid:
+                return StringUtils.trim(sharedStrings.getString(((LabelSSTRecord) record).getSSTIndex()).getString());
+            case LabelRecord.sid:
+                return StringUtils.trim(((LabelRecord) record).getValue());
+            case NumberRecord.sid:
+                final NumberRecord number = (NumberRecord) record;
+                if (isDateFormatted(number, number.getValue())) {
+                    return dateFormat.format(HSSFDateUtil.getJavaDate(number.getValue(), date1904));
                 }
+                return formatter.formatRawCellContents(number.getValue(), formats.getFormatIndex(number),
+                        formats.getFormatString(number));
+            case BoolErrRecord.sid:
+                final BoolErrRecord boolErr = (BoolErrRecord) record;
+                return boolErr.isBoolean() ? String.valueOf(boolErr.getBooleanValue()) : "Cell Error type";
+            case FormulaRecord.sid:
+                // formulas are not evaluated, the result cached in the file is used instead
+                final FormulaRecord formula = (FormulaRecord) record;
+                final CellType resultType = formula.getCachedResultTypeEnum();
+                if (resultType == CellType.NUMERIC) {
+                    if (isDateFormatted(formula, formula.getValue())) {
+                        return dateFormat.format(HSSFDateUtil.getJavaDate(formula.getValue(), date1904));
+                    }
+                    return String.valueOf(formula.getValue());
+                } else if (resultType == CellType.BOOLEAN) {
+                    return String.valueOf(formula.getCachedBooleanValue());
+                } else if (resultType == CellType.ERROR) {
+                    return "Cell Error type";
+                }
+                return StringUtils.EMPTY;
+            default:
+                return StringUtils.EMPTY;
+            }
+        }
 
-                int colId = Integer.parseInt(columnMetadata.getId());
-                String cellValue =
-                        getCellValueAsString(row.getCell(colId), workbook.getCreationHelper().createFormulaEvaluator());
-                LOG.trace("cellValue for {}/{}: {}", i, colId, cellValue);
-                generator.writeFieldName(columnMetadata.getId());
-                if (cellValue != null) {
-                    generator.writeString(cellValue);
-                } else {
-                    generator.writeNull();
+        private boolean isDateFormatted(CellValueRecordInterface cell, double value) {
+            return HSSFDateUtil.isValidExcelDate(value)
+                    && HSSFDateUtil.isADateFormat(formats.getFormatIndex(cell), formats.getFormatString(cell));
+        }
+
+        /**
+         * Write the current row (if any and not part of the header).
+         */
+        private void writeRow() throws HSSFUserException {
+            if (currentRow < 0) {
+                return;
+            }
+            try {
+                if (!isHeaderLine(currentRow, columns)) {
+                    generator.writeStartObject();
+                    for (ColumnMetadata columnMetadata : columns) {
+                        int colId = Integer.parseInt(columnMetadata.getId());
+                        String cellValue = rowValues.getOrDefault(colId, StringUtils.EMPTY);
+                        LOG.trace("cellValue for {}/{}: {}", currentRow, colId, cellValue);
+                        generator.writeFieldName(columnMetadata.getId());
+                        generator.writeString(cellValue);
+                    }
+                    generator.writeEndObject();
                 }
+            } catch (IOException e) {
+                throw new HSSFUserException("Unable to write row " + currentRow, e);
+            } finally {
+                rowValues.clear();
+                currentRow = -1;
+            }
+        }
+
+        /**
+         * @return the index (in file order) of the sheet to serialize.
+         */
+        private int getTargetSheetIndex() {
+            final String sheetName = metadata.getSheetName();
+            int index = 0;
+            if (!isEmpty(sheetName)) {
+                index = -1;
+                for (int i = 0; i < sheets.size() && index < 0; i++) {
+                    if (sheets.get(i).getSheetname().equalsIgnoreCase(sheetName)) {
+                        index = i;
+                    }
+                }
+                // auto generated sheet name so take care!! "sheet-" + i
+                if (index < 0 && StringUtils.startsWith(sheetName, "sheet-")) {
+                    try {
+                        index = Integer.parseInt(StringUtils.removeStart(sheetName, "sheet-"));
+                    } catch (NumberFormatException e) {
+                        LOG.debug("Unable to find sheet '{}'.", sheetName, e);
+                    }
+                }
+                // still not found so use the first one
+                if (index < 0 || index >= sheets.size()) {
+                    index = 0;
+                }
+            }
+            if (sheets.isEmpty()) {
+                return index;
             }
-            generator.writeEndObject();
+            // sheet records are in workbook order, sheets content are read in file order
+            final BoundSheetRecord targetSheet = sheets.get(index);
+            return Arrays.asList(BoundSheetRecord.orderByBofPosition(sheets)).indexOf(targetSheet);
         }
     }
 }
@@ -15,8 +15,8 @@ package org.talend.dataprep.schema.xls.serialization;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 
 import org.apache.commons.lang3.StringUtils;
@@ -44,8 +44,8 @@ public class XlsxStreamRunnable implements Runnable {
     /** Where to serialize the json. */
     private final OutputStream jsonOutput;
 
-    /** The xlsx raw input. */
-    private final InputStream rawContent;
+    /** The xlsx raw input (a local copy of the content). */
+    private final File rawContent;
 
     /** The dataset metadata to serialize. */
     private final DataSetMetadata metadata;
@@ -58,12 +58,12 @@ public class XlsxStreamRunnable implements Runnable {
     /**
      * Constructor.
      *  @param jsonOutput Where to serialize the json.
-     * @param rawContent The xlsx raw input.
+     * @param rawContent The xlsx raw input (a local copy of the content).
      * @param metadata The dataset metadata to serialize.
      * @param limit A limit to indicate to serializer when to stop. Use -1 for "no limit".
      * @param factory The jackson factory to use for the serialization.
      */
-    public XlsxStreamRunnable(OutputStream jsonOutput, InputStream rawContent, DataSetMetadata metadata, long limit,
+    public XlsxStreamRunnable(OutputStream jsonOutput, File rawContent, DataSetMetadata metadata, long limit,
             JsonFactory factory) {
         this.jsonOutput = jsonOutput;
         this.rawContent = rawContent;
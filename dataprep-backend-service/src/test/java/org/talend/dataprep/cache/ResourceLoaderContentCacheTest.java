@@ -6,8 +6,14 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
 
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -26,53 +32,106 @@ public class ResourceLoaderContentCacheTest {
     @InjectMocks
     private ResourceLoaderContentCache resourceLoaderContentCache;
 
+    private final Map<String, DeletableResource> resources = new HashMap<>();
+
+    private final Map<String, ByteArrayOutputStream> contents = new HashMap<>();
+
+    @Before
+    public void setUp() {
+        when(resolver.getResource(anyString())) //
+                .thenAnswer(invocation -> getResource((String) invocation.getArguments()[0]));
+    }
+
     @Test
     public void testEvictMatch1() throws IOException {
 
-        DeletableResource r10 = createMockResource("transformation_prepId_datasetId_HEAD_other.12345");
-        DeletableResource r11 = createMockResource("/cache/transformation_prepId_datasetId_HEAD_other.12345");
-        DeletableResource r12 = createMockResource("/subDir/cache/transformation_prepId_datasetId_HEAD_other.12345");
-        DeletableResource r20 = createMockResource("transformation_prepId2_datasetId_HEAD_other.12345");
-        DeletableResource r21 = createMockResource("/cache/transformation_prepId2_datasetId_HEAD_other.12345");
-        DeletableResource r22 = createMockResource("/subDir/cache/transformation_prepId2_datasetId_HEAD_other.12345");
-        DeletableResource r30 = createMockResource("transformation-metadata_prepId_datasetId_HEAD_other.12345");
-        DeletableResource r31 = createMockResource("/cache/transformation-metadata_prepId_datasetId_HEAD_other.12345");
-        DeletableResource r32 =
-                createMockResource("/subDir/cache/transformation-metadata_prepId_datasetId_HEAD_other.12345");
-        DeletableResource r40 = createMockResource("transformation-metadata_prepId2_datasetId2_HEAD_other.12345");
-        DeletableResource r41 =
-                createMockResource("/cache/transformation-metadata_prepId2_datasetId2_HEAD_other.12345");
-        DeletableResource r42 =
-                createMockResource("/subDir/cache/transformation-metadata_prepId2_datasetId2_HEAD_other.12345");
-
-        DeletableResource[] resources = { r10, r11, r12, r20, r21, r22, r30, r31, r32, r40, r41, r42 };
-        when(resolver.getResources(anyString())).thenReturn(resources);
+        // entries tagged with the preparation
+        DeletableResource t1 = createMockResource("transformation_prepId_datasetId_HEAD_other.12345");
+        DeletableResource t2 = createMockResource("/cache/.tags/preparation-prepId/"
+                + "transformation-metadata_prepId_HEAD_HEAD_other.12345");
+        when(resolver.getResources("/cache/.tags/preparation-prepId/*")).thenReturn(new DeletableResource[] { t1, t2 });
 
         ContentCacheKey metadataKey = new TransformationMetadataCacheKey("prepId", null, null, null);
         resourceLoaderContentCache.evictMatch(metadataKey);
 
-        // we delete all the key with transformation-metadata_prepId
-        verify(r30, times(1)).delete();
-        verify(r31, times(1)).delete();
-        verify(r32, times(1)).delete();
+        // we delete the transformation-metadata_prepId entry and its tag
+        verify(getResource("/cache/transformation-metadata_prepId_HEAD_HEAD_other.12345"), times(1)).delete();
+        verify(getResource("/cache/.tags/preparation-prepId/transformation-metadata_prepId_HEAD_HEAD_other.12345"),
+                times(1)).delete();
 
         // other are not delete
-        verify(r10, times(0)).delete();
-        verify(r11, times(0)).delete();
-        verify(r12, times(0)).delete();
+        verify(getResource("/cache/transformation_prepId_datasetId_HEAD_other.12345"), times(0)).delete();
+    }
 
-        verify(r20, times(0)).delete();
-        verify(r21, times(0)).delete();
-        verify(r22, times(0)).delete();
+    @Test
+    public void testEvictMatch2() throws IOException {
 
-        verify(r40, times(0)).delete();
-        verify(r41, times(0)).delete();
-        verify(r42, times(0)).delete();
+        // entries tagged with the dataset
+        DeletableResource t1 = createMockResource("transformation_prepId_datasetId_HEAD_other.12345");
+        DeletableResource t2 = createMockResource("transformation_prepId2_datasetId_HEAD_other.12345");
+        when(resolver.getResources("/cache/.tags/dataset-datasetId/*")).thenReturn(new DeletableResource[] { t1, t2 });
+
+        ContentCacheKey transfoKey = new TransformationCacheKey(null, "datasetId", null, null, null, null, null, null);
+        resourceLoaderContentCache.evictMatch(transfoKey);
 
+        // we delete all the key with "transformation_XXX_datasetId_XX, without looking at the other entries
+        verify(getResource("/cache/transformation_prepId_datasetId_HEAD_other.12345"), times(1)).delete();
+        verify(getResource("/cache/transformation_prepId2_datasetId_HEAD_other.12345"), times(1)).delete();
+        verify(resolver, times(1)).getResources(anyString());
     }
 
     @Test
-    public void testEvictMatch2() throws IOException {
+    public void testEvictMatchRemovesAllTagFiles() throws IOException {
+
+        // given an entry tagged with its preparation, data set and step
+        final ContentCacheKey key = new TransformationCacheKey("prepId", "datasetId", "JSON", "stepId", null, null,
+                null, null);
+        final String entry = key.getKey();
+        try (OutputStream content = resourceLoaderContentCache.put(key, ContentCache.TimeToLive.PERMANENT)) {
+            content.write("content".getBytes());
+        }
+        final DeletableResource tagged = createMockResource(entry);
+        when(resolver.getResources("/cache/.tags/dataset-datasetId/*")).thenReturn(new DeletableResource[] { tagged });
+
+        // when evicting on data set only
+        resourceLoaderContentCache.evictMatch(new TransformationCacheKey(null, "datasetId", null, null, null, null,
+                null, null));
+
+        // then no tag file remains
+        verify(getResource("/cache/" + entry), times(1)).delete();
+        verify(getResource("/cache/.tags/dataset-datasetId/" + entry), times(1)).delete();
+        verify(getResource("/cache/.tags/preparation-prepId/" + entry), times(1)).delete();
+        verify(getResource("/cache/.tags/step-stepId/" + entry), times(1)).delete();
+        verify(getResource("/cache/.tags/.entries/" + entry), times(1)).delete();
+    }
+
+    @Test
+    public void testEvictRemovesAllTagFiles() throws IOException {
+
+        // given an entry tagged with its preparation, data set and step
+        final ContentCacheKey key = new TransformationCacheKey("prepId", "datasetId", "JSON", "stepId", null, null,
+                null, null);
+        final String entry = key.getKey();
+        try (OutputStream content = resourceLoaderContentCache.put(key, ContentCache.TimeToLive.PERMANENT)) {
+            content.write("content".getBytes());
+        }
+        final DeletableResource stored = getResource("/cache/" + entry);
+        when(resolver.getResources("/cache/" + entry)).thenReturn(new DeletableResource[] { stored });
+        when(resolver.getResources("/cache/" + entry + "*")).thenReturn(new DeletableResource[0]);
+
+        // when
+        resourceLoaderContentCache.evict(key);
+
+        // then no tag file remains
+        verify(getResource("/cache/" + entry), times(1)).delete();
+        verify(getResource("/cache/.tags/dataset-datasetId/" + entry), times(1)).delete();
+        verify(getResource("/cache/.tags/preparation-prepId/" + entry), times(1)).delete();
+        verify(getResource("/cache/.tags/step-stepId/" + entry), times(1)).delete();
+        verify(getResource("/cache/.tags/.entries/" + entry), times(1)).delete();
+    }
+
+    @Test
+    public void testEvictMatchWithoutTags() throws IOException {
 
         DeletableResource r10 = createMockResource("transformation_prepId_datasetId_HEAD_other.12345");
         DeletableResource r11 = createMockResource("/cache/transformation_prepId_datasetId_HEAD_other.12345");
@@ -84,20 +143,16 @@ public class ResourceLoaderContentCacheTest {
         DeletableResource r31 = createMockResource("/cache/transformation-metadata_prepId_datasetId_HEAD_other.12345");
         DeletableResource r32 =
                 createMockResource("/subDir/cache/transformation-metadata_prepId_datasetId_HEAD_other.12345");
-        DeletableResource r40 = createMockResource("transformation-metadata_prepId2_datasetId2_HEAD_other.12345");
-        DeletableResource r41 =
-                createMockResource("/cache/transformation-metadata_prepId2_datasetId2_HEAD_other.12345");
-        DeletableResource r42 =
-                createMockResource("/subDir/cache/transformation-metadata_prepId2_datasetId2_HEAD_other.12345");
 
-        DeletableResource[] resources = { r10, r11, r12, r20, r21, r22, r30, r31, r32, r40, r41, r42 };
+        DeletableResource[] resources = { r10, r11, r12, r20, r21, r22, r30, r31, r32 };
 
         when(resolver.getResources(anyString())).thenReturn(resources);
 
-        ContentCacheKey transfoKey = new TransformationCacheKey(null, "datasetId", null, null, null, null, null, null);
+        // no tag in key: matching entries are looked up by prefix
+        ContentCacheKey transfoKey = new TransformationCacheKey(null, null, null, null, null, null, null, null);
         resourceLoaderContentCache.evictMatch(transfoKey);
 
-        // we delete all the key with "transformation_XXX_datasetId_XX
+        // we delete all the key with "transformation_XXX_XXX_XX
         verify(r10, times(1)).delete();
         verify(r11, times(1)).delete();
         verify(r12, times(1)).delete();
@@ -107,15 +162,32 @@ public class ResourceLoaderContentCacheTest {
         verify(r22, times(1)).delete();
 
         // other are not delete
-
         verify(r30, times(0)).delete();
         verify(r31, times(0)).delete();
         verify(r32, times(0)).delete();
+    }
 
-        verify(r40, times(0)).delete();
-        verify(r41, times(0)).delete();
-        verify(r42, times(0)).delete();
-
+    /**
+     * @return the mock resource the resolver returns for this location (resources always exist and keep what is
+     * written to them).
+     */
+    private DeletableResource getResource(String location) {
+        return resources.computeIfAbsent(location, l -> {
+            final DeletableResource resource = createMockResource(l);
+            try {
+                when(resource.exists()).thenReturn(true);
+                when(resource.getOutputStream()).thenAnswer(invocation -> {
+                    final ByteArrayOutputStream content = new ByteArrayOutputStream();
+                    contents.put(l, content);
+                    return content;
+                });
+                when(resource.getInputStream()).thenAnswer(invocation -> new ByteArrayInputStream(
+                        contents.getOrDefault(l, new ByteArrayOutputStream()).toByteArray()));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            return resource;
+        });
     }
 
     private DeletableResource createMockResource(String fileName) {
@@ -0,0 +1,108 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.command;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class DirectCommandExecutorTest {
+
+    private final DirectCommandExecutor executor = new DirectCommandExecutor();
+
+    private final ExecutorService threads = Executors.newSingleThreadExecutor();
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(executor, "enabled", true);
+        ReflectionTestUtils.setField(executor, "maxConcurrent", 1);
+        ReflectionTestUtils.setField(executor, "permitTimeout", 100L);
+    }
+
+    @After
+    public void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    public void shouldRunCommand() throws Exception {
+        assertThat(executor.execute("command", () -> "result"), is("result"));
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void shouldRejectCommandWhenNoPermitInTime() throws Exception {
+        // given (the only permit of the command is in use)
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        threads.submit(() -> executor.execute("command", () -> {
+            started.countDown();
+            release.await();
+            return "first";
+        }));
+        started.await();
+
+        // when
+        try {
+            executor.execute("command", () -> "second");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void shouldRunCommandOnceAPermitIsReleased() throws Exception {
+        // given
+        final Future<String> first = threads.submit(() -> executor.execute("command", () -> "first"));
+        first.get();
+
+        // when
+        final String result = executor.execute("command", () -> "second");
+
+        // then
+        assertThat(result, is("second"));
+    }
+
+    @Test
+    public void shouldNotShareLimitBetweenCommands() throws Exception {
+        // given (the only permit of a command is in use)
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        threads.submit(() -> executor.execute("command", () -> {
+            started.countDown();
+            release.await();
+            return "first";
+        }));
+        started.await();
+
+        // when
+        final String result;
+        try {
+            result = executor.execute("other", () -> "second");
+        } finally {
+            release.countDown();
+        }
+
+        // then
+        assertThat(result, is("second"));
+    }
+}
@@ -17,6 +17,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.isA;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
 import static org.talend.dataprep.command.Defaults.asString;
 
 import java.util.Collections;
@@ -37,6 +38,7 @@ import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.context.WebApplicationContext;
 import org.talend.ServiceBaseTest;
 import org.talend.dataprep.BaseErrorCodes;
@@ -63,6 +65,9 @@ public class GenericCommandTest extends ServiceBaseTest {
     @Autowired
     private Security security;
 
+    @Autowired
+    private DirectCommandExecutor directCommandExecutor;
+
     private static RuntimeException error(Exception e) {
         lastException = (TDPException) e;
         return new RuntimeException(e);
@@ -142,6 +147,80 @@ public class GenericCommandTest extends ServiceBaseTest {
         assertThat(lastException, nullValue());
     }
 
+    @Test
+    public void testDirectExecution() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(directCommandExecutor, "enabled", true);
+        try {
+            final GenericCommand<String> command =
+                    getCommand("http://localhost:" + port + "/command/test/success", GenericCommandTest::error);
+            // When
+            final String result = command.toObservable().toBlocking().first();
+            // Then
+            assertThat(result, is("success"));
+            assertThat(lastException, nullValue());
+        } finally {
+            ReflectionTestUtils.setField(directCommandExecutor, "enabled", false);
+        }
+    }
+
+    @Test
+    public void testDirectExecutionPassThrough() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(directCommandExecutor, "enabled", true);
+        try {
+            GenericCommand<String> command =
+                    getCommand("http://localhost:" + port + "/command/test/fail_with_500", Defaults.passthrough());
+            // When
+            command.execute();
+            fail("TDPException expected");
+        } catch (TDPException e) {
+            // Then underlying is returned as is (passthrough method), as with Hystrix.
+            assertThat(e.getCode().getCode(), is(CommonErrorCodes.UNABLE_TO_SERIALIZE_TO_JSON.getCode()));
+        } finally {
+            ReflectionTestUtils.setField(directCommandExecutor, "enabled", false);
+        }
+    }
+
+    @Test
+    public void testDirectExecutionFallback() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(directCommandExecutor, "enabled", true);
+        try {
+            final String url = "http://localhost:" + port + "/command/test/fail_with_500";
+            final GenericCommand<String> command = context.getBean(TestFallbackCommand.class, url);
+            // When
+            final String result = command.execute();
+            // Then fallback is used, as with Hystrix.
+            assertThat(result, is("fallback"));
+        } finally {
+            ReflectionTestUtils.setField(directCommandExecutor, "enabled", false);
+        }
+    }
+
+    @Test
+    public void testLocalExecution() throws Exception {
+        // Given
+        final GenericCommand<String> command =
+                context.getBean(TestLocalCommand.class, "http://localhost:" + port + "/command/test/success");
+        ReflectionTestUtils.setField(command, "colocated", true);
+        // When
+        final String result = command.execute();
+        // Then
+        assertThat(result, is("local"));
+    }
+
+    @Test
+    public void testLocalExecutionWhenNotColocated() throws Exception {
+        // Given
+        final GenericCommand<String> command =
+                context.getBean(TestLocalCommand.class, "http://localhost:" + port + "/command/test/success");
+        // When
+        final String result = command.execute();
+        // Then
+        assertThat(result, is("success"));
+    }
+
     @Test
     public void testFail_With_400() throws Exception {
         // Given
@@ -292,6 +371,44 @@ public class GenericCommandTest extends ServiceBaseTest {
         }
     }
 
+    // Test command
+    @Component
+    @Scope("prototype")
+    private static class TestFallbackCommand extends GenericCommand<String> {
+
+        protected TestFallbackCommand(String url) {
+            super(HystrixCommandGroupKey.Factory.asKey("dataset"));
+            execute(() -> new HttpGet(url));
+            on(HttpStatus.OK).then(asString());
+        }
+
+        @Override
+        protected String getFallback() {
+            return "fallback";
+        }
+    }
+
+    // Test command
+    @Component
+    @Scope("prototype")
+    private static class TestLocalCommand extends GenericCommand<String> {
+
+        protected TestLocalCommand(String url) {
+            super(HystrixCommandGroupKey.Factory.asKey("dataset"));
+            execute(() -> new HttpGet(url));
+            local(TestEndpoint.class, TestEndpoint::get);
+            on(HttpStatus.OK).then(asString());
+        }
+    }
+
+    @Component
+    private static class TestEndpoint {
+
+        public String get() {
+            return "local";
+        }
+    }
+
     @Component
     @ConditionalOnProperty(name = "security.mode", havingValue = "genericCommandTest", matchIfMissing = false)
     private static class TestSecurity implements Security {
@@ -0,0 +1,74 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content;
+
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+
+public class ColumnProjectionTest {
+
+    private final RowMetadata rowMetadata = new RowMetadata(Arrays.asList( //
+            ColumnMetadata.Builder.column().id(0).type(Type.INTEGER).name("id").build(), //
+            ColumnMetadata.Builder.column().id(1).type(Type.STRING).name("name").build(), //
+            ColumnMetadata.Builder.column().id(2).type(Type.STRING).name("city").build()));
+
+    @Test
+    public void shouldNotProjectWithoutColumns() {
+        assertNull(ColumnProjection.of(null));
+        assertNull(ColumnProjection.of(emptyList()));
+    }
+
+    @Test
+    public void shouldKeepProjectedColumnsInOriginalOrder() {
+        // when
+        final RowMetadata projected = ColumnProjection.of(Arrays.asList("0002", "0000")).apply(rowMetadata);
+
+        // then
+        assertEquals(2, projected.getColumns().size());
+        assertEquals("0000", projected.getColumns().get(0).getId());
+        assertEquals("0002", projected.getColumns().get(1).getId());
+    }
+
+    @Test
+    public void shouldOnlyKeepProjectedValues() {
+        // given
+        final ColumnProjection projection = ColumnProjection.of(Arrays.asList("0000", "0002"));
+        final Map<String, String> values = new HashMap<>();
+        values.put("0000", "1");
+        values.put("0001", "Doe");
+        values.put("0002", "Paris");
+        final DataSetRow row = new DataSetRow(values);
+        row.setTdpId(12L);
+
+        // when
+        final DataSetRow projected = projection.apply(row, projection.apply(rowMetadata));
+
+        // then
+        assertEquals("1", projected.get("0000"));
+        assertNull(projected.get("0001"));
+        assertEquals("Paris", projected.get("0002"));
+        assertEquals(12L, (long) projected.getTdpId());
+    }
+}
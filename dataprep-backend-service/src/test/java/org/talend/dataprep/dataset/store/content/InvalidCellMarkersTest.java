@@ -0,0 +1,69 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+
+public class InvalidCellMarkersTest {
+
+    private final List<ColumnMetadata> columns = Arrays.asList( //
+            ColumnMetadata.Builder.column().id(0).type(Type.INTEGER).name("id").build(), //
+            ColumnMetadata.Builder.column().id(1).type(Type.STRING).name("name").build());
+
+    private static DataSetRow row(String id, String name) {
+        final Map<String, String> values = new HashMap<>();
+        values.put("0000", id);
+        values.put("0001", name);
+        return new DataSetRow(values);
+    }
+
+    @Test
+    public void shouldApplyRecordedMarkersByPosition() throws Exception {
+        // given
+        final InvalidCellMarkers markers = new InvalidCellMarkers("version");
+        final DataSetRow invalidRow = row("abc", "Smith");
+        invalidRow.setInvalid("0000");
+        markers.record(0, row("1", "Doe"), columns);
+        markers.record(1, invalidRow, columns);
+
+        // when
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        markers.writeTo(output);
+        final InvalidCellMarkers read = InvalidCellMarkers.readFrom(new ByteArrayInputStream(output.toByteArray()));
+
+        // then
+        assertEquals("version", read.getVersion());
+        assertEquals(2, read.getRowCount());
+        assertTrue(read.covers(1));
+        assertFalse(read.covers(2));
+        assertFalse(read.apply(0, row("1", "Doe")).isInvalid("0000"));
+        final DataSetRow marked = read.apply(1, row("abc", "Smith"));
+        assertTrue(marked.isInvalid("0000"));
+        assertFalse(marked.isInvalid("0001"));
+    }
+}
@@ -0,0 +1,80 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+public class RowOffsetIndexTest {
+
+    private RowOffsetIndex index(int rowCount, int interval) {
+        final RowOffsetIndex index = new RowOffsetIndex("version", interval);
+        for (int i = 0; i < rowCount; i++) {
+            index.record(100 + i * 10L); // 100 bytes of header, 10 bytes per row
+        }
+        return index;
+    }
+
+    @Test
+    public void shouldIndexEveryIntervalRow() {
+        // when
+        final RowOffsetIndex index = index(95, 10);
+
+        // then
+        assertEquals(95, index.getRowCount());
+        assertEquals(100, index.getHeaderLength());
+        assertEquals(0, index.getIndexedPosition(9));
+        assertEquals(10, index.getIndexedPosition(10));
+        assertEquals(90, index.getIndexedPosition(94));
+        assertEquals(1000, index.getByteOffset(90));
+    }
+
+    @Test
+    public void shouldUseLastIndexedRowAfterContent() {
+        // when
+        final RowOffsetIndex index = index(25, 10);
+
+        // then
+        assertEquals(20, index.getIndexedPosition(1000));
+    }
+
+    @Test
+    public void shouldReadWrittenIndex() throws IOException {
+        // given
+        final RowOffsetIndex index = index(1234, 100);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        index.writeTo(output);
+        final RowOffsetIndex read = RowOffsetIndex.readFrom(new ByteArrayInputStream(output.toByteArray()));
+
+        // then
+        assertEquals("version", read.getVersion());
+        assertEquals(100, read.getInterval());
+        assertEquals(1234, read.getRowCount());
+        assertEquals(100, read.getHeaderLength());
+        assertEquals(1200, read.getIndexedPosition(1233));
+        assertEquals(12100, read.getByteOffset(1200));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectInvalidContent() throws IOException {
+        RowOffsetIndex.readFrom(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5 }));
+    }
+}
@@ -0,0 +1,112 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+
+public class RowSampleTest {
+
+    private final List<ColumnMetadata> columns = Arrays.asList( //
+            ColumnMetadata.Builder.column().id(0).type(Type.INTEGER).name("id").build(), //
+            ColumnMetadata.Builder.column().id(1).type(Type.STRING).name("name").build());
+
+    private RowSample sample(int rowCount, int size) {
+        final RowSample.Sampler sampler = RowSample.sampler("version", size, columns);
+        for (int i = 0; i < rowCount; i++) {
+            final Map<String, String> values = new HashMap<>();
+            values.put("0000", String.valueOf(i));
+            if (i % 2 == 0) {
+                values.put("0001", "name " + i);
+            }
+            sampler.offer(i, new DataSetRow(values));
+        }
+        return sampler.build();
+    }
+
+    @Test
+    public void shouldSampleRowsFromWholeContent() {
+        // when
+        final RowSample sample = sample(10000, 100);
+
+        // then
+        assertEquals(100, sample.size());
+        assertEquals(10000, sample.getRowCount());
+        assertTrue(sample.covers(100));
+        assertFalse(sample.covers(101));
+        final List<DataSetRow> rows = sample.rows(100, new RowMetadata(columns)).collect(toList());
+        assertTrue(rows.stream().anyMatch(row -> row.getTdpId() > 100));
+        for (int i = 0; i < rows.size(); i++) {
+            final DataSetRow row = rows.get(i);
+            assertEquals(String.valueOf(row.getTdpId() - 1), row.get("0000"));
+            if (i > 0) {
+                assertTrue(rows.get(i - 1).getTdpId() < row.getTdpId()); // data set order
+            }
+        }
+    }
+
+    @Test
+    public void shouldServeSmallerSamplesFromSamePersistedSample() throws Exception {
+        // given
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        sample(1000, 100).writeTo(output);
+
+        // when
+        final RowSample read = RowSample.readFrom(new ByteArrayInputStream(output.toByteArray()));
+
+        // then
+        assertEquals("version", read.getVersion());
+        final List<DataSetRow> rows = read.rows(10, new RowMetadata(columns)).collect(toList());
+        assertEquals(10, rows.size());
+        rows.forEach(row -> {
+            final long position = row.getTdpId() - 1;
+            assertEquals(String.valueOf(position), row.get("0000"));
+            if (position % 2 == 0) {
+                assertEquals("name " + position, row.get("0001"));
+            } else {
+                assertNull(row.get("0001"));
+            }
+        });
+    }
+
+    @Test
+    public void shouldKeepAllRowsOfSmallContent() {
+        // when
+        final RowSample sample = sample(10, 100);
+
+        // then
+        assertEquals(10, sample.size());
+        assertTrue(sample.covers(1000));
+        final List<DataSetRow> rows = sample.rows(1000, new RowMetadata(columns)).collect(toList());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(i + 1, (long) rows.get(i).getTdpId());
+        }
+    }
+}
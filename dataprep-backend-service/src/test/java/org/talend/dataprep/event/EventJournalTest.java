@@ -0,0 +1,122 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.ApplicationEvent;
+import org.talend.dataprep.dataset.event.DatasetImportedEvent;
+
+public class EventJournalTest {
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("event-journal").toFile();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    public void shouldReplayPendingEventsInOrder() {
+        // given
+        final EventJournal journal = new EventJournal(directory);
+        journal.append("listener", new DatasetImportedEvent("1"));
+        final EventJournal.Entry completed = journal.append("listener", new DatasetImportedEvent("2"));
+        journal.append("other", new DatasetImportedEvent("3"));
+        journal.complete(completed);
+
+        // when (journal opened again, e.g. after restart)
+        final List<EventJournal.Entry> pending = new EventJournal(directory).pending();
+
+        // then
+        assertEquals(2, pending.size());
+        assertEquals("listener", pending.get(0).getListener());
+        assertTrue(pending.get(0).getEvent() instanceof DatasetImportedEvent);
+        assertEquals("1", pending.get(0).getEvent().getSource());
+        assertEquals("other", pending.get(1).getListener());
+        assertEquals("3", pending.get(1).getEvent().getSource());
+    }
+
+    @Test
+    public void shouldContinueSequenceAfterRestart() {
+        // given
+        new EventJournal(directory).append("listener", new DatasetImportedEvent("1"));
+
+        // when
+        new EventJournal(directory).append("listener", new DatasetImportedEvent("2"));
+
+        // then
+        final List<EventJournal.Entry> pending = new EventJournal(directory).pending();
+        assertEquals("1", pending.get(0).getEvent().getSource());
+        assertEquals("2", pending.get(1).getEvent().getSource());
+    }
+
+    @Test
+    public void shouldOnlyListEntriesJournaledBeforeStart() {
+        // given
+        new EventJournal(directory).append("listener", new DatasetImportedEvent("1"));
+        final EventJournal journal = new EventJournal(directory);
+
+        // when
+        journal.append("listener", new DatasetImportedEvent("2"));
+
+        // then
+        final List<EventJournal.Entry> pending = journal.pendingBeforeStart();
+        assertEquals(1, pending.size());
+        assertEquals("1", pending.get(0).getEvent().getSource());
+        assertEquals(2, journal.pending().size());
+    }
+
+    @Test
+    public void shouldNotJournalNonSerializableSource() {
+        // given
+        final EventJournal journal = new EventJournal(directory);
+
+        // when
+        final EventJournal.Entry entry = journal.append("listener", new ApplicationEvent(new Object()) {
+        });
+
+        // then
+        assertNull(entry);
+        assertTrue(journal.pending().isEmpty());
+    }
+
+    @Test
+    public void shouldRemoveUnreadableEntries() throws IOException {
+        // given
+        FileUtils.writeStringToFile(new File(directory, "0000000000000000001.event"), "not an event", "UTF-8");
+
+        // when
+        final List<EventJournal.Entry> pending = new EventJournal(directory).pending();
+
+        // then
+        assertTrue(pending.isEmpty());
+        assertEquals(0, directory.listFiles().length);
+    }
+}
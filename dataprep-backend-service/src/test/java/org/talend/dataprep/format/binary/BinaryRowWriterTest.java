@@ -0,0 +1,125 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.dataprep.format.binary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.preparation.json.MixedContentMapModule;
+import org.talend.dataprep.api.type.Type;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+
+public class BinaryRowWriterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper() //
+            .registerModule(new Jdk8Module()) //
+            .registerModule(new MixedContentMapModule());
+
+    private final RowMetadata rowMetadata = new RowMetadata(Collections.singletonList(
+            ColumnMetadata.Builder.column().id(0).name("name").type(Type.STRING).build()));
+
+    @Test
+    public void shouldReadWrittenRows() throws IOException {
+        // given
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (BinaryRowWriter writer = new BinaryRowWriter(output, mapper)) {
+            writer.write(rowMetadata);
+            writer.write(1L, values("0000", "Alice"));
+            writer.write(2L, values("0000", null));
+            // new column (e.g. created by an action)
+            writer.write(3L, values("0000", "Bob", "0001", "BOB"));
+        }
+
+        // when
+        final List<DataSetRow> rows;
+        final BinaryRowReader reader = new BinaryRowReader(new ByteArrayInputStream(output.toByteArray()), mapper);
+        final DataSet dataSet = reader.readDataSet();
+        try {
+            rows = dataSet.getRecords().collect(Collectors.toList());
+        } finally {
+            dataSet.close();
+        }
+
+        // then
+        assertEquals(1, dataSet.getMetadata().getRowMetadata().getColumns().size());
+        assertEquals(3, rows.size());
+        assertEquals(1L, (long) rows.get(0).getTdpId());
+        assertEquals("Alice", rows.get(0).get("0000"));
+        assertNull(rows.get(1).get("0000"));
+        assertEquals("BOB", rows.get(2).get("0001"));
+        assertEquals(3L, (long) rows.get(2).getTdpId());
+    }
+
+    @Test
+    public void shouldReadMetadataWrittenAfterRows() throws IOException {
+        // given
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (BinaryRowWriter writer = new BinaryRowWriter(output, mapper)) {
+            writer.write(null, values("0000", "Alice"));
+            writer.write(rowMetadata);
+        }
+        final BinaryRowReader reader = new BinaryRowReader(new ByteArrayInputStream(output.toByteArray()), mapper);
+
+        // when
+        final List<DataSetRow> rows = reader.rows().collect(Collectors.toList());
+
+        // then
+        assertEquals(1, rows.size());
+        assertEquals("Alice", rows.get(0).get("0000"));
+        assertEquals(1, reader.getRowMetadata().getColumns().size());
+    }
+
+    @Test
+    public void shouldBeSmallerThanJson() throws IOException {
+        // given
+        final ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        final ByteArrayOutputStream json = new ByteArrayOutputStream();
+
+        // when
+        try (BinaryRowWriter writer = new BinaryRowWriter(binary, mapper)) {
+            for (long i = 0; i < 100; i++) {
+                final Map<String, Object> values = values("0000", "value " + i, "0001", "other value " + i);
+                writer.write(i, values);
+                mapper.writeValue(json, values);
+            }
+        }
+
+        // then
+        assertTrue(binary.size() < json.size() / 2);
+    }
+
+    private static Map<String, Object> values(String... idAndValues) {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < idAndValues.length; i += 2) {
+            values.put(idAndValues[i], idAndValues[i + 1]);
+        }
+        return values;
+    }
+}
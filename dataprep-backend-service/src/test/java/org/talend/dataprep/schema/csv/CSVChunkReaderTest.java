@@ -0,0 +1,212 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.schema.csv;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+/**
+ * Unit test for the CSVChunkReader.
+ *
+ * @see CSVChunkReader
+ */
+public class CSVChunkReaderTest {
+
+    @Test
+    public void should_split_on_line_feeds() throws IOException {
+        // given
+        final String content = "a;b\nc;d\ne;f\n";
+
+        // when
+        final List<String> chunks = readChunks(content, 1, '"', Character.MIN_VALUE);
+
+        // then
+        assertEquals(3, chunks.size());
+        assertEquals("a;b\n", chunks.get(0));
+        assertEquals("c;d\n", chunks.get(1));
+        assertEquals("e;f\n", chunks.get(2));
+    }
+
+    @Test
+    public void should_not_split_within_text_enclosure() throws IOException {
+        // given
+        final String content = "a;\"multi\nline\"\nc;d";
+
+        // when
+        final List<String> chunks = readChunks(content, 1, '"', Character.MIN_VALUE);
+
+        // then
+        assertEquals(2, chunks.size());
+        assertEquals("a;\"multi\nline\"\n", chunks.get(0));
+        assertEquals("c;d", chunks.get(1));
+    }
+
+    @Test
+    public void should_ignore_escaped_text_enclosure() throws IOException {
+        // given
+        final String content = "a;\"escaped \\\" quote\nstill quoted\"\nc;d\n";
+
+        // when
+        final List<String> chunks = readChunks(content, 1, '"', '\\');
+
+        // then
+        assertEquals(2, chunks.size());
+        assertEquals("c;d\n", chunks.get(1));
+    }
+
+    @Test
+    public void should_respect_chunk_size() throws IOException {
+        // given
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("value").append(i).append(";other\n");
+        }
+
+        // when
+        final List<String> chunks = readChunks(content.toString(), 1024, '"', Character.MIN_VALUE);
+
+        // then
+        assertTrue(chunks.size() > 1);
+        assertEquals(content.toString(), String.join("", chunks));
+        for (int i = 0; i < chunks.size() - 1; i++) {
+            assertTrue(chunks.get(i).length() >= 1024);
+            assertTrue(chunks.get(i).endsWith("\n"));
+        }
+    }
+
+    @Test
+    public void should_read_chunks_larger_than_initial_buffer() throws IOException {
+        // given (chunks of at least 200KB, more than the initial read buffer)
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 50000; i++) {
+            content.append("value").append(i).append(";other\n");
+        }
+
+        // when
+        final List<String> chunks = readChunks(content.toString(), 200 * 1024, '"', Character.MIN_VALUE);
+
+        // then
+        assertTrue(chunks.size() > 1);
+        assertEquals(content.toString(), String.join("", chunks));
+        for (int i = 0; i < chunks.size() - 1; i++) {
+            assertTrue(chunks.get(i).length() >= 200 * 1024);
+            assertTrue(chunks.get(i).endsWith("\n"));
+        }
+    }
+
+    @Test
+    public void should_split_on_carriage_returns() throws IOException {
+        // given
+        final String content = "a;b\rc;d\r\ne;\"multi\rline\"\rg;h";
+
+        // when
+        final List<String> chunks = readChunks(content, 1, '"', Character.MIN_VALUE);
+
+        // then
+        assertEquals(4, chunks.size());
+        assertEquals("a;b\r", chunks.get(0));
+        assertEquals("c;d\r\n", chunks.get(1));
+        assertEquals("e;\"multi\rline\"\r", chunks.get(2));
+        assertEquals("g;h", chunks.get(3));
+    }
+
+    @Test
+    public void should_keep_header_lines_in_first_chunk() throws IOException {
+        // given
+        final String content = "\"multi\nline\";header\nsecond;header\na;b\nc;d\n";
+        final CSVChunkReader reader = new CSVChunkReader(new ByteArrayInputStream(content.getBytes(UTF_8)), 1,
+                Integer.MAX_VALUE, '"', Character.MIN_VALUE, 2);
+
+        // when
+        final List<String> chunks = readChunks(reader);
+
+        // then
+        assertEquals(3, chunks.size());
+        assertEquals("\"multi\nline\";header\nsecond;header\n", chunks.get(0));
+        assertEquals("a;b\n", chunks.get(1));
+        assertEquals("c;d\n", chunks.get(2));
+    }
+
+    @Test
+    public void should_stop_splitting_when_no_boundary_within_max_chunk_size() throws IOException {
+        // given (an unbalanced text enclosure)
+        final StringBuilder content = new StringBuilder("a;b\n\"unbalanced;value\n");
+        for (int i = 0; i < 1000; i++) {
+            content.append("value").append(i).append(";other\n");
+        }
+        final CSVChunkReader reader = new CSVChunkReader(
+                new ByteArrayInputStream(content.toString().getBytes(UTF_8)), 1, 1, '"', Character.MIN_VALUE, 0);
+
+        // when
+        final List<String> chunks = readChunks(reader);
+
+        // then
+        assertEquals(1, chunks.size());
+        assertEquals("a;b\n", chunks.get(0));
+        assertNotNull(reader.remaining());
+        assertEquals(content.substring(4), IOUtils.toString(reader.remaining(), UTF_8));
+    }
+
+    @Test
+    public void should_have_no_remaining_content_when_fully_split() throws IOException {
+        // given
+        final CSVChunkReader reader =
+                new CSVChunkReader(new ByteArrayInputStream("a;b\nc;d".getBytes(UTF_8)), 1, '"', Character.MIN_VALUE);
+
+        // when
+        final List<String> chunks = readChunks(reader);
+
+        // then
+        assertEquals(2, chunks.size());
+        assertNull(reader.remaining());
+    }
+
+    @Test
+    public void should_return_null_on_empty_content() throws IOException {
+        assertTrue(readChunks("", 10, '"', Character.MIN_VALUE).isEmpty());
+    }
+
+    @Test
+    public void should_check_supported_charsets() {
+        assertTrue(CSVChunkReader.isSupported(UTF_8, '"', Character.MIN_VALUE));
+        assertTrue(CSVChunkReader.isSupported(Charset.forName("ISO-8859-1"), '"', '\\'));
+        assertFalse(CSVChunkReader.isSupported(Charset.forName("UTF-16"), '"', Character.MIN_VALUE));
+        assertFalse(CSVChunkReader.isSupported(UTF_8, '¤', Character.MIN_VALUE));
+    }
+
+    private List<String> readChunks(String content, int chunkSize, char textEnclosure, char escape)
+            throws IOException {
+        final CSVChunkReader reader =
+                new CSVChunkReader(new ByteArrayInputStream(content.getBytes(UTF_8)), chunkSize, textEnclosure, escape);
+        return readChunks(reader);
+    }
+
+    private List<String> readChunks(CSVChunkReader reader) throws IOException {
+        final List<String> chunks = new ArrayList<>();
+        byte[] chunk;
+        while ((chunk = reader.next()) != null) {
+            chunks.add(new String(chunk, UTF_8));
+        }
+        return chunks;
+    }
+}
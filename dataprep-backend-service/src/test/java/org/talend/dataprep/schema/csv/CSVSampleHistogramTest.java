@@ -0,0 +1,100 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.schema.csv;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * Unit test for the CSVSampleHistogram.
+ *
+ * @see CSVSampleHistogram
+ */
+public class CSVSampleHistogramTest {
+
+    @Test
+    public void should_count_all_candidates_per_line() throws IOException {
+        // given
+        final String content = "a;b,c\r\nd;e;f\ng|h";
+
+        // when
+        final CSVSampleHistogram histogram = scan(content, 100);
+        final Map<Character, Separator> separators = histogram.getSeparators().stream()
+                .collect(Collectors.toMap(Separator::getSeparator, Function.identity()));
+
+        // then
+        assertEquals(3, histogram.getLineCount());
+        assertEquals(3, separators.size());
+        assertEquals(3, separators.get(';').getTotalCount());
+        assertEquals(Long.valueOf(1), separators.get(';').getCountPerLine().get(1));
+        assertEquals(Long.valueOf(2), separators.get(';').getCountPerLine().get(2));
+        assertFalse(separators.get(';').getCountPerLine().containsKey(3));
+        assertEquals(Long.valueOf(1), separators.get('|').getCountPerLine().get(3));
+        assertEquals(Arrays.asList("a;b,c", "d;e;f", "g|h"), histogram.getSampleLines());
+    }
+
+    @Test
+    public void should_count_quoted_line_breaks_in_same_line() throws IOException {
+        // given
+        final String content = "a;\"multi\nline;value\"\nb;c";
+
+        // when
+        final CSVSampleHistogram histogram = scan(content, 100);
+        final Separator separator = histogram.getSeparators().get(0);
+
+        // then
+        assertEquals(2, histogram.getLineCount());
+        assertEquals(Long.valueOf(2), separator.getCountPerLine().get(1));
+        assertEquals(Long.valueOf(1), separator.getCountPerLine().get(2));
+        assertTrue(histogram.hasSpecialChars(0));
+        assertFalse(histogram.hasSpecialChars(2));
+    }
+
+    @Test
+    public void should_stop_at_line_limit() throws IOException {
+        // when
+        final CSVSampleHistogram histogram = scan("a;b\nc;d\ne;f\n", 2);
+
+        // then
+        assertEquals(2, histogram.getLineCount());
+        assertEquals(2, histogram.getSeparators().get(0).getTotalCount());
+        assertEquals(8, histogram.getTotalChars());
+    }
+
+    @Test
+    public void should_skip_empty_lines_in_sample() throws IOException {
+        // when
+        final CSVSampleHistogram histogram = scan("a;b\n\nc;d", 100);
+        final List<String> sampleLines = histogram.getSampleLines();
+
+        // then
+        assertEquals(3, histogram.getLineCount());
+        assertEquals(Arrays.asList("a;b", "c;d"), sampleLines);
+    }
+
+    private CSVSampleHistogram scan(String content, int lineLimit) throws IOException {
+        return CSVSampleHistogram.scan(new ByteArrayInputStream(content.getBytes(UTF_8)), "UTF-8",
+                CSVSchemaParser.DEFAULT_VALID_SEPARATORS, 64L * 1024L, lineLimit, 10);
+    }
+}
@@ -212,14 +212,11 @@ public class CSVSchemaParserTest extends AbstractSchemaTestUtils {
     }
 
     @Test
-    public void should_not_detect_char_or_digit_separator_candidate() {
-        Map<Character, Separator> separatorMap = new HashMap<>();
-        char[] cases = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
-        for (char candidate : cases) {
-            csvSchemaParser.processCharAsSeparatorCandidate(candidate, separatorMap,
-                    CSVSchemaParser.DEFAULT_VALID_SEPARATORS, 0);
-        }
-        assertTrue(separatorMap.isEmpty());
+    public void should_not_detect_char_or_digit_separator_candidate() throws IOException {
+        String cases = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+        CSVSampleHistogram histogram = CSVSampleHistogram.scan(new ByteArrayInputStream(cases.getBytes()), "UTF-8",
+                CSVSchemaParser.DEFAULT_VALID_SEPARATORS, 1024, 10, 10);
+        assertTrue(histogram.getSeparators().isEmpty());
     }
 
     /**
@@ -13,6 +13,7 @@
 package org.talend.dataprep.schema.csv;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singleton;
 import static org.talend.dataprep.schema.csv.CSVFormatFamily.ESCAPE_CHAR;
 import static org.talend.dataprep.schema.csv.CSVFormatFamily.SEPARATOR_PARAMETER;
 import static org.talend.dataprep.schema.csv.CSVFormatFamily.TEXT_ENCLOSURE_CHAR;
@@ -35,6 +36,7 @@ import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.dataset.store.content.RowOffsetIndex;
 
 /**
  * Unit test for the CSVSerializer test.
@@ -67,6 +69,80 @@ public class CSVSerializerTest {
         Assert.assertThat(actual, sameJSONAsFile(expected));
     }
 
+    @Test
+    public void should_serialize_standard_csv_in_parallel_chunks() throws IOException {
+        // given
+        final CSVSerializer parallelSerializer = getParallelSerializer(16, Integer.MAX_VALUE);
+        InputStream inputStream = this.getClass().getResourceAsStream("simple.csv");
+        DataSetMetadata datasetMetadata = getSimpleDataSetMetadata("first name", "last name");
+
+        // when
+        InputStream input = parallelSerializer.serialize(inputStream, datasetMetadata, -1);
+        String actual = IOUtils.toString(input, UTF_8);
+
+        // then
+        InputStream expected = this.getClass().getResourceAsStream("simple.csv_expected.json");
+        Assert.assertThat(actual, sameJSONAsFile(expected));
+    }
+
+    @Test
+    public void should_only_serialize_projected_columns() throws Exception {
+        // given
+        final String content = "first name;last name;city\nJohn;Doe;Paris\nJane;\"Doe\nSmith\";Nantes\n";
+        DataSetMetadata datasetMetadata = getSimpleDataSetMetadata("first name", "last name", "city");
+
+        // when
+        final InputStream sequential = serializer.serialize(IOUtils.toInputStream(content, UTF_8), datasetMetadata,
+                -1, singleton("0001"));
+        final InputStream parallel = getParallelSerializer(16, Integer.MAX_VALUE)
+                .serialize(IOUtils.toInputStream(content, UTF_8), datasetMetadata, -1, singleton("0001"));
+
+        // then
+        final String expected = "[{\"0001\":\"Doe\"},{\"0001\":\"Doe\\nSmith\"}]";
+        JSONAssert.assertEquals(expected, IOUtils.toString(sequential, UTF_8), true);
+        JSONAssert.assertEquals(expected, IOUtils.toString(parallel, UTF_8), true);
+    }
+
+    @Test
+    public void should_serialize_multi_lines_header_and_values_in_parallel_chunks() throws Exception {
+        // given (a quoted line feed in header and in values, header longer than chunk size)
+        final StringBuilder content = new StringBuilder("\"first\nname\";last name\n(only first); (only first 10)\n");
+        for (int i = 0; i < 20; i++) {
+            content.append("John").append(i).append(";\"Doe\nline ").append(i).append("\"\n");
+        }
+        DataSetMetadata datasetMetadata = getSimpleDataSetMetadata("first name", "last name");
+        datasetMetadata.getContent().setNbLinesInHeader(2);
+
+        // then
+        assertSameContentInParallel(content.toString(), datasetMetadata, getParallelSerializer(16, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void should_serialize_carriage_return_csv_in_parallel_chunks() throws Exception {
+        // given
+        final StringBuilder content = new StringBuilder("first name;last name\r");
+        for (int i = 0; i < 20; i++) {
+            content.append("John").append(i).append(";\"Doe\rline ").append(i).append("\"\r");
+        }
+        DataSetMetadata datasetMetadata = getSimpleDataSetMetadata("first name", "last name");
+
+        // then
+        assertSameContentInParallel(content.toString(), datasetMetadata, getParallelSerializer(16, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void should_serialize_rest_of_content_sequentially_when_chunk_is_too_large() throws Exception {
+        // given (an unbalanced text enclosure, no record boundary afterwards)
+        final StringBuilder content = new StringBuilder("first name;last name\nJohn;Doe\nJane;\"Doe\n");
+        for (int i = 0; i < 1000; i++) {
+            content.append("John").append(i).append(";Doe\n");
+        }
+        DataSetMetadata datasetMetadata = getSimpleDataSetMetadata("first name", "last name");
+
+        // then
+        assertSameContentInParallel(content.toString(), datasetMetadata, getParallelSerializer(16, 16));
+    }
+
     @Test
     public void should_serialize_csv_with_missing_values() throws IOException {
         InputStream inputStream = this.getClass().getResourceAsStream("missing_values.csv");
@@ -340,6 +416,62 @@ public class CSVSerializerTest {
         JSONAssert.assertEquals(expected, actual, false);
     }
 
+    @Test
+    public void should_index_rows_offsets() throws Exception {
+        // given (an empty line and a multi line value)
+        final String content = "first name;last name\nJohn;Doe\n\nJane;\"Multi\nline\"\nBob;Smith\n";
+        DataSetMetadata datasetMetadata = getSimpleDataSetMetadata("first name", "last name");
+
+        // when
+        final RowOffsetIndex index =
+                serializer.index(IOUtils.toInputStream(content, UTF_8), datasetMetadata, 2);
+
+        // then
+        Assert.assertNotNull(index);
+        Assert.assertEquals(3, index.getRowCount());
+        Assert.assertEquals(content.indexOf("John"), index.getHeaderLength());
+        Assert.assertEquals(2, index.getIndexedPosition(3));
+        Assert.assertEquals(content.indexOf("Bob"), index.getByteOffset(2));
+    }
+
+    @Test
+    public void should_not_index_rows_with_carriage_return_separator() throws Exception {
+        // given
+        final String content = "first name;last name\rJohn;Doe\rBob;Smith\r";
+        DataSetMetadata datasetMetadata = getSimpleDataSetMetadata("first name", "last name");
+
+        // when
+        final RowOffsetIndex index =
+                serializer.index(IOUtils.toInputStream(content, UTF_8), datasetMetadata, 2);
+
+        // then
+        Assert.assertNull(index);
+    }
+
+    /**
+     * Checks that content is serialized in parallel chunks the same way it is serialized sequentially.
+     */
+    private void assertSameContentInParallel(String content, DataSetMetadata metadata,
+            CSVSerializer parallelSerializer) throws Exception {
+        final String expected =
+                IOUtils.toString(serializer.serialize(IOUtils.toInputStream(content, UTF_8), metadata, -1), UTF_8);
+        final String actual = IOUtils
+                .toString(parallelSerializer.serialize(IOUtils.toInputStream(content, UTF_8), metadata, -1), UTF_8);
+        JSONAssert.assertEquals(expected, actual, true);
+    }
+
+    private CSVSerializer getParallelSerializer(int chunkSize, int maxChunkSize) {
+        final CSVSerializer parallelSerializer = new CSVSerializer();
+        ReflectionTestUtils.setField(parallelSerializer, "executor", new SimpleAsyncTaskExecutor());
+        ReflectionTestUtils.setField(parallelSerializer, "parallelExecutor", new SimpleAsyncTaskExecutor());
+        ReflectionTestUtils.setField(parallelSerializer, "parallelEnabled", true);
+        ReflectionTestUtils.setField(parallelSerializer, "parallelChunkSize", chunkSize);
+        ReflectionTestUtils.setField(parallelSerializer, "parallelMaxChunkSize", maxChunkSize);
+        ReflectionTestUtils.setField(parallelSerializer, "defaultTextEnclosure", "\"");
+        ReflectionTestUtils.setField(parallelSerializer, "defaultEscapeChar", "\u0000");
+        return parallelSerializer;
+    }
+
     private DataSetMetadata getSimpleDataSetMetadata(String... columnsName) {
         List<ColumnMetadata> columns = new ArrayList<>(columnsName.length);
         for (int i = 0; i < columnsName.length; i++) {
@@ -130,4 +130,33 @@ public class HtmlSerializerTest extends AbstractSchemaTestUtils {
         }
     }
 
+    @Test
+    public void html_serializer_should_stop_at_limit() throws Exception {
+
+        final SchemaParser.Request request;
+        final Schema result;
+        try (InputStream inputStream = this.getClass().getResourceAsStream("sales-force.xls")) {
+            request = getRequest(inputStream, "#3");
+            request.getMetadata().setEncoding("UTF-16");
+
+            result = htmlSchemaGuesser.parse(request);
+        }
+
+        try (InputStream inputStream = this.getClass().getResourceAsStream("sales-force.xls")) {
+
+            request.getMetadata().getRowMetadata().setColumns(result.getSheetContents().get(0).getColumnMetadatas());
+
+            InputStream jsonStream = htmlSerializer.serialize(inputStream, request.getMetadata(), 2);
+
+            String json = IOUtils.toString(jsonStream, UTF_8);
+            ObjectMapper mapper = new ObjectMapper();
+            CollectionType collectionType =
+                    mapper.getTypeFactory().constructCollectionType(ArrayList.class, TreeMap.class);
+            List<Map<String, String>> values = mapper.readValue(json, collectionType);
+
+            Assert.assertThat(values.size(), is(2));
+            Assertions.assertThat(values.get(0)).contains(MapEntry.entry("0000", "000001"));
+        }
+    }
+
 }
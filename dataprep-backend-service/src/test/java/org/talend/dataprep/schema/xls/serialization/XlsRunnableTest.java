@@ -0,0 +1,166 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.schema.xls.serialization;
+
+import static org.junit.Assert.assertEquals;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.hssf.usermodel.HSSFCellStyle;
+import org.apache.poi.hssf.usermodel.HSSFRow;
+import org.apache.poi.hssf.usermodel.HSSFSheet;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.type.Type;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class XlsRunnableTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private File content;
+
+    @Before
+    public void setUp() throws IOException {
+        content = File.createTempFile("XlsRunnableTest", ".xls");
+    }
+
+    @After
+    public void tearDown() {
+        content.delete();
+    }
+
+    @Test
+    public void shouldSerializeCellValues() throws Exception {
+        // given
+        try (HSSFWorkbook workbook = new HSSFWorkbook()) {
+            final HSSFSheet sheet = workbook.createSheet("values");
+            header(sheet, "name", "age", "birth", "active", "code");
+            final HSSFCellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("dd/mm/yyyy"));
+
+            final HSSFRow row = sheet.createRow(1);
+            row.createCell(0).setCellValue(" Superman ");
+            row.createCell(1).setCellValue(42);
+            row.createCell(2).setCellValue(new GregorianCalendar(2018, Calendar.MARCH, 15).getTime());
+            row.getCell(2).setCellStyle(dateStyle);
+            row.createCell(3).setCellValue(true);
+            row.createCell(4).setCellFormula("UPPER(\"kal\")");
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            write(workbook);
+        }
+
+        // when
+        final List<Map<String, String>> rows = serialize(metadata(null, 5), -1);
+
+        // then
+        assertEquals(1, rows.size());
+        assertEquals("Superman", rows.get(0).get("0000"));
+        assertEquals("42", rows.get(0).get("0001"));
+        assertEquals("15-Mar-2018", rows.get(0).get("0002"));
+        assertEquals("true", rows.get(0).get("0003"));
+        assertEquals("KAL", rows.get(0).get("0004"));
+    }
+
+    @Test
+    public void shouldStopAtLimit() throws Exception {
+        // given
+        try (HSSFWorkbook workbook = new HSSFWorkbook()) {
+            final HSSFSheet sheet = workbook.createSheet("values");
+            header(sheet, "id");
+            for (int i = 1; i <= 10; i++) {
+                sheet.createRow(i).createCell(0).setCellValue("row " + i);
+            }
+            write(workbook);
+        }
+
+        // when
+        final List<Map<String, String>> rows = serialize(metadata(null, 1), 3);
+
+        // then
+        assertEquals(3, rows.size());
+        assertEquals("row 1", rows.get(0).get("0000"));
+        assertEquals("row 3", rows.get(2).get("0000"));
+    }
+
+    @Test
+    public void shouldSerializeWantedSheetOnly() throws Exception {
+        // given
+        try (HSSFWorkbook workbook = new HSSFWorkbook()) {
+            final HSSFSheet first = workbook.createSheet("first");
+            header(first, "id");
+            first.createRow(1).createCell(0).setCellValue("first value");
+            final HSSFSheet second = workbook.createSheet("second");
+            header(second, "id");
+            second.createRow(1).createCell(0).setCellValue("second value");
+            write(workbook);
+        }
+
+        // when
+        final List<Map<String, String>> rows = serialize(metadata("second", 1), -1);
+
+        // then
+        assertEquals(1, rows.size());
+        assertEquals("second value", rows.get(0).get("0000"));
+    }
+
+    private static void header(HSSFSheet sheet, String... names) {
+        final HSSFRow header = sheet.createRow(0);
+        for (int i = 0; i < names.length; i++) {
+            header.createCell(i).setCellValue(names[i]);
+        }
+    }
+
+    private void write(HSSFWorkbook workbook) throws IOException {
+        try (OutputStream output = new FileOutputStream(content)) {
+            workbook.write(output);
+        }
+    }
+
+    private static DataSetMetadata metadata(String sheetName, int columnCount) {
+        final List<ColumnMetadata> columns = new ArrayList<>();
+        for (int i = 0; i < columnCount; i++) {
+            columns.add(column().id(i).name("column " + i).type(Type.STRING).headerSize(1).build());
+        }
+        final DataSetMetadata metadata = new DataSetMetadata();
+        metadata.setId("123456789");
+        metadata.setSheetName(sheetName);
+        metadata.setRowMetadata(new RowMetadata(columns));
+        return metadata;
+    }
+
+    private List<Map<String, String>> serialize(DataSetMetadata metadata, long limit) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new XlsRunnable(content, output, metadata, limit, new JsonFactory()).run();
+        return mapper.readValue(output.toByteArray(), new TypeReference<List<Map<String, String>>>() {
+        });
+    }
+}
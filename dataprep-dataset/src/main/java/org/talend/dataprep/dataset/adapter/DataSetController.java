@@ -26,6 +26,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.stream.Stream;
 
@@ -77,14 +78,29 @@ public class DataSetController {
                 new ConverterBasedPropertyEditor<>(Dataset.CertificationState::valueOf));
     }
 
+    /**
+     * List datasets, filtering, sorting and limits are applied by the metadata repository so only the returned datasets
+     * are read and transferred.
+     *
+     * @param certification only list datasets with this certification.
+     * @param favorite only list favorite datasets.
+     * @param sort how to sort the datasets.
+     * @param order the order to apply to the sort.
+     * @param name only list datasets whose name contains this value (ignoring case).
+     * @param limit only list the most recent datasets.
+     */
     @GetMapping
     public Stream<Dataset> getAllDatasets(@RequestParam(required = false) Dataset.CertificationState certification,
-            @RequestParam(required = false) Boolean favorite) {
+            @RequestParam(required = false) Boolean favorite,
+            @RequestParam(defaultValue = "creationDate") Sort sort,
+            @RequestParam(defaultValue = "desc") Order order,
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "false") boolean limit) {
         boolean legacyCertified = CERTIFIED == certification;
         boolean legacyFavorite = favorite != null && favorite == TRUE;
 
         return dataSetService
-                .list(Sort.CREATION_DATE, Order.DESC, null, false, legacyCertified, legacyFavorite, false) //
+                .list(sort, order, name, false, legacyCertified, legacyFavorite, limit) //
                 .map(datasetDTO -> beanConversionService.convert(datasetDTO, Dataset.class));
     }
 
@@ -123,9 +139,11 @@ public class DataSetController {
 
     @GetMapping(value = "/{datasetId}/content", produces = AvroUtils.AVRO_BINARY_MIME_TYPES_UNOFFICIAL_VALID_VALUE)
     public Resource getDatasetContent(@PathVariable String datasetId, @RequestParam(defaultValue = "0") long offset,
-            @RequestParam(defaultValue = "-1") long limit) {
+            @RequestParam(defaultValue = "-1") long limit, @RequestParam(required = false) List<String> columns,
+            @RequestParam(defaultValue = "") String filter, @RequestParam(defaultValue = "false") boolean sample) {
         InputStream result;
-        Callable<DataSet> dataSetCallable = dataSetService.get(true, true, limit, EMPTY, datasetId);
+        Callable<DataSet> dataSetCallable =
+                dataSetService.get(true, true, offset, limit, filter, columns, sample, datasetId);
         Stream<DataSetRow> records = Stream.empty();
         DataSetMetadata metadata = null;
         try {
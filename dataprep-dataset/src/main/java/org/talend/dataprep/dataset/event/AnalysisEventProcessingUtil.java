@@ -12,31 +12,104 @@
 
 package org.talend.dataprep.dataset.event;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.dataset.service.analysis.asynchronous.BackgroundAnalysis;
+import org.talend.dataprep.dataset.service.analysis.asynchronous.SampleAnalysis;
 import org.talend.dataprep.security.SecurityProxy;
 
+/**
+ * Runs the background analyses of data sets. Analysis requests are coalesced per data set: a request received while an
+ * analysis of the same data set runs cancels it, and the thread that runs it starts a single analysis of the latest
+ * content once all pending requests are received.
+ */
 @Component
 public class AnalysisEventProcessingUtil {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AnalysisEventProcessingUtil.class);
+
     @Autowired
     private BackgroundAnalysis backgroundAnalysis;
 
+    @Autowired
+    private SampleAnalysis sampleAnalysis;
+
     @Autowired
     private SecurityProxy securityProxy;
 
+    /** How long (in ms) to wait for more requests on the same data set before analysis starts. */
+    @Value("${dataset.analysis.coalescing.delay:0}")
+    private long coalescingDelay;
+
+    /** The number of analysis requests received for each data set being analyzed. */
+    private final Map<String, AtomicLong> requests = new ConcurrentHashMap<>();
+
     /**
      * Processing analysis event
      *
      * @param datasetId the id of the dataset to analyse
      */
     public void processAnalysisEvent(String datasetId) {
+        final AtomicLong counter = new AtomicLong(1);
+        final AtomicLong current = requests.merge(datasetId, counter, (previous, ignored) -> {
+            previous.incrementAndGet();
+            return previous;
+        });
+        if (current != counter) {
+            LOGGER.debug("Analysis of {} already running, coalesce request.", datasetId);
+            return;
+        }
+        // this thread owns the analysis of the data set until no request is pending
         try {
             securityProxy.asTechnicalUser();
-            backgroundAnalysis.analyze(datasetId);
+            boolean pending = true;
+            while (pending) {
+                final long request = debounce(counter);
+                try {
+                    backgroundAnalysis.analyze(datasetId, () -> counter.get() != request);
+                    if (counter.get() == request) {
+                        sampleAnalysis.analyze(datasetId);
+                    }
+                } catch (Exception e) {
+                    // requests received meanwhile still need an analysis of the latest content
+                    LOGGER.error("Unable to analyze data set {}.", datasetId, e);
+                }
+                // release data set unless requests were received during analysis (atomic with request counting)
+                pending = requests.computeIfPresent(datasetId, (id, c) -> c.get() == request ? null : c) != null;
+            }
         } finally {
+            requests.remove(datasetId, counter);
             securityProxy.releaseIdentity();
         }
     }
+
+    /**
+     * Waits until no request is received during the coalescing delay.
+     *
+     * @return the number of requests received when analysis can start.
+     */
+    private long debounce(AtomicLong counter) {
+        long received = counter.get();
+        while (coalescingDelay > 0) {
+            try {
+                Thread.sleep(coalescingDelay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            final long latest = counter.get();
+            if (latest == received) {
+                break;
+            }
+            received = latest;
+        }
+        return received;
+    }
 }
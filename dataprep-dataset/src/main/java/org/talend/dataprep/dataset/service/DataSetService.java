@@ -108,11 +108,13 @@ import org.talend.dataprep.dataset.service.analysis.synchronous.SchemaAnalysis;
 import org.talend.dataprep.dataset.service.api.UpdateColumnParameters;
 import org.talend.dataprep.dataset.service.cache.UpdateDataSetCacheKey;
 import org.talend.dataprep.dataset.store.QuotaService;
+import org.talend.dataprep.dataset.store.content.ColumnProjection;
 import org.talend.dataprep.dataset.store.content.DataSetContentLimit;
 import org.talend.dataprep.dataset.store.content.StrictlyBoundedInputStream;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.DataSetErrorCodes;
 import org.talend.dataprep.exception.json.JsonErrorCodeDescription;
+import org.talend.dataprep.format.binary.BinaryRowWriter;
 import org.talend.dataprep.http.HttpResponseContext;
 import org.talend.dataprep.lock.DistributedLock;
 import org.talend.dataprep.log.Markers;
@@ -447,13 +449,20 @@ public class DataSetService extends BaseDataSetService {
     }
 
     /**
-     * Returns the <b>full</b> data set content for given id.
+     * Returns the <b>full</b> data set content for given id. Content is JSON, or a binary row stream if requested with
+     * {@link BinaryRowWriter#MIME_TYPE} content type.
      *
      * @param metadata If <code>true</code>, includes data set metadata information.
+     * @param offset The position of the first returned row (ignored for samples).
+     * @param filter TQL filter for retrieved content (may use any column, projected or not).
+     * @param columns The ids of the columns to return (empty for all columns).
+     * @param sample If <code>true</code>, returns a random sample of <code>limit</code> rows instead of the first
+     * <code>limit</code> rows.
      * @param dataSetId A data set id.
      * @return The full data set.
      */
-    @RequestMapping(value = "/datasets/{id}/content", method = RequestMethod.GET)
+    @RequestMapping(value = "/datasets/{id}/content", method = RequestMethod.GET,
+            produces = { APPLICATION_JSON_VALUE, BinaryRowWriter.MIME_TYPE })
     @ApiOperation(value = "Get a data set by id",
             notes = "Get a data set content based on provided id. Id should be a UUID returned by the list operation. Not valid or non existing data set id returns empty content.")
     @Timed
@@ -463,9 +472,15 @@ public class DataSetService extends BaseDataSetService {
                     value = "Include metadata information in the response") boolean metadata, //
             @RequestParam(defaultValue = "false") @ApiParam(name = "includeInternalContent",
                     value = "Include internal content in the response") boolean includeInternalContent, //
+            @RequestParam(defaultValue = "0") @ApiParam(name = "offset",
+                    value = "Position of the first returned row") long offset, //
             @RequestParam(defaultValue = "-1") @ApiParam(name = STORAGE_LIMIT, value = STORAGE_LIMIT) long limit, //
             @ApiParam(value = "Filter for retrieved content.") @RequestParam(value = "filter",
                     defaultValue = "") String filter,
+            @ApiParam(value = "Ids of the columns to retrieve (all columns if empty).") @RequestParam(value = "columns",
+                    required = false) List<String> columns,
+            @RequestParam(defaultValue = "false") @ApiParam(name = "sample",
+                    value = "Return a random sample of 'limit' rows") boolean sample,
             @PathVariable(value = "id") @ApiParam(name = "id",
                     value = "Id of the requested data set") String dataSetId) {
         return () -> {
@@ -477,26 +492,46 @@ public class DataSetService extends BaseDataSetService {
                 assertDataSetMetadata(dataSetMetadata, dataSetId);
                 // Build the result
                 DataSet dataSet = new DataSet();
+                final ColumnProjection projection = ColumnProjection.of(columns);
                 if (metadata) {
                     dataSet.setMetadata(conversionService.convert(dataSetMetadata, UserDataSetMetadata.class));
+                    if (projection != null) {
+                        dataSet.getMetadata().setRowMetadata(projection.apply(dataSet.getMetadata().getRowMetadata()));
+                    }
                 }
-                stream = contentStore.stream(dataSetMetadata, limit); // Disable line limit
-
-                // on-demand analyzer for dataset (See TDP-4404, migration problems)
-                if (dataSetMetadata.getRowMetadata().getColumns().stream().anyMatch(
-                        c -> c.getStatistics().getWordPatternFrequencyTable().isEmpty())) {
-                    stream = insertWordPatternAnalysis(dataSetMetadata, stream);
+                // on-demand analyzer for dataset (See TDP-4404, migration problems), needs all columns and rows
+                final boolean wordPatternAnalysis = projection == null && dataSetMetadata
+                        .getRowMetadata()
+                        .getColumns()
+                        .stream()
+                        .anyMatch(c -> c.getStatistics().getWordPatternFrequencyTable().isEmpty());
+                final Predicate<DataSetRow> filterPredicate =
+                        filterService.build(filter, dataSetMetadata.getRowMetadata());
+                if (wordPatternAnalysis) {
+                    final long readLimit = limit < 0 || offset <= 0 ? limit : offset + limit;
+                    stream = contentStore.stream(dataSetMetadata, readLimit, null); // Disable line limit
+                    // skipped rows are still analyzed
+                    stream = insertWordPatternAnalysis(dataSetMetadata, stream).skip(Math.max(0, offset));
+                } else if (sample && limit > 0) {
+                    // Filter content as soon as rows are read
+                    stream = contentStore.streamSample(dataSetMetadata, limit, projection, filterPredicate);
+                } else if (offset > 0) {
+                    // Read content from the closest indexed row (if any)
+                    stream = contentStore.streamPage(dataSetMetadata, offset, limit, projection, filterPredicate);
+                } else {
+                    // Filter content as soon as rows are read
+                    stream = contentStore.stream(dataSetMetadata, limit, projection, filterPredicate);
                 }
 
                 if (!includeInternalContent) {
                     LOG.debug("Skip internal content when serving data set #{} content.", dataSetId);
                     stream = stream.map(r -> {
                         final Map<String, Object> values = r.values();
-                        final Map<String, Object> filteredValues = new HashMap<>(values);
-                        // Remove technical properties from returned values.
+                        final Map<String, Object> filteredValues = new HashMap<>((values.size() + 1) * 4 / 3 + 1);
+                        // Only keep non technical properties in returned values (single pass over values).
                         values.forEach((k, v) -> {
-                            if (k != null && k.startsWith(FlagNames.INTERNAL_PROPERTY_PREFIX)) {
-                                filteredValues.remove(k);
+                            if (k == null || !k.startsWith(FlagNames.INTERNAL_PROPERTY_PREFIX)) {
+                                filteredValues.put(k, v);
                             }
                         });
                         filteredValues.put(FlagNames.TDP_ID, r.getTdpId()); // Include TDP_ID anyway
@@ -504,8 +539,10 @@ public class DataSetService extends BaseDataSetService {
                     });
                 }
 
-                // Filter content
-                stream = stream.filter(filterService.build(filter, dataSetMetadata.getRowMetadata()));
+                if (wordPatternAnalysis) {
+                    // Filter content (word pattern analysis needs all rows)
+                    stream = stream.filter(filterPredicate);
+                }
 
                 dataSet.setRecords(stream);
                 return dataSet;
@@ -1383,7 +1420,10 @@ public class DataSetService extends BaseDataSetService {
         }
 
         if (StringUtils.isNotEmpty(name)) {
-            final String regex = "(?i)" + Pattern.quote(name);
+            // TQL literals are single quoted: quotes of the name are matched with their regex escape
+            final String regex = "(?i)" + Stream.of(name.split("'", -1)) //
+                    .map(Pattern::quote) //
+                    .collect(Collectors.joining("\\x27"));
             final String filter;
             if (nameStrict) {
                 filter = "name ~ '^" + regex + "$'";
@@ -19,23 +19,31 @@ import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.AllNestedConditions;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEvent;
 import org.springframework.context.annotation.Conditional;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.core.Ordered;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.dataset.event.AnalysisEventProcessingUtil;
 import org.talend.dataprep.dataset.event.DatasetImportedEvent;
 import org.talend.dataprep.dataset.event.DatasetUpdatedEvent;
+import org.talend.dataprep.event.AsyncApplicationListener;
 
 /**
  * Compute statistics analysis on the full dataset.
  * TDP-6141 : `DataSteImportedEvent` should be compute asynchronously because it will do some analyse and can reach
  * timeout
+ * <p>
+ * Events are processed by the bounded worker pool of this listener, and replayed on restart when the event journal is
+ * enabled (see {@link org.talend.dataprep.event.DataPrepEventsCaster}). Only dataset imported and updated events are
+ * dispatched to this listener (other events are neither queued nor journaled).
+ * </p>
  */
 @SuppressWarnings("InsufficientBranchCoverage")
 @Component
 @Conditional(AsyncBackgroundAnalysis.AsyncBackgroundAnalysisConditon.class)
-public class AsyncBackgroundAnalysis {
+public class AsyncBackgroundAnalysis
+        implements AsyncApplicationListener<ApplicationEvent>, SmartApplicationListener {
 
     /**
      * This class' logger.
@@ -45,21 +53,42 @@ public class AsyncBackgroundAnalysis {
     @Autowired
     private AnalysisEventProcessingUtil analysisEventProcessingUtil;
 
+    @Override
+    public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+        return DatasetImportedEvent.class.isAssignableFrom(eventType)
+                || DatasetUpdatedEvent.class.isAssignableFrom(eventType);
+    }
+
+    @Override
+    public boolean supportsSourceType(Class<?> sourceType) {
+        return true;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof DatasetImportedEvent) {
+            onEvent((DatasetImportedEvent) event);
+        } else if (event instanceof DatasetUpdatedEvent) {
+            onEvent((DatasetUpdatedEvent) event);
+        }
+    }
+
     /**
      * Handle an application event.
      *
      * @param event the event to respond to
      */
-    @EventListener
-    @Async
     public void onEvent(DatasetImportedEvent event) {
         LOGGER.debug("Processing spring dataset imported event: {}", event);
         String datasetId = event.getSource();
         analysisEventProcessingUtil.processAnalysisEvent(datasetId);
     }
 
-    @EventListener
-    @Async
     public void onEvent(DatasetUpdatedEvent event) {
         LOGGER.debug("Processing spring dataset imported event: {}", event);
         String datasetId = event.getSource().getId();
@@ -16,6 +16,8 @@ package org.talend.dataprep.dataset.service.analysis.asynchronous;
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_ANALYZE_DATASET_QUALITY;
 
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
@@ -66,6 +68,17 @@ public class BackgroundAnalysis {
      * @see DataSetAnalyzer#analyze
      */
     public void analyze(String dataSetId) {
+        analyze(dataSetId, () -> false);
+    }
+
+    /**
+     * Computes statistics of a data set unless cancelled: once cancelled, analysis stops and no result is saved.
+     *
+     * @param dataSetId the data set id.
+     * @param cancelled <code>true</code> once analysis is no longer needed (e.g. superseded by a newer analysis).
+     * @see DataSetAnalyzer#analyze
+     */
+    public void analyze(String dataSetId, BooleanSupplier cancelled) {
 
         if (StringUtils.isEmpty(dataSetId)) {
             throw new IllegalArgumentException("Data set id cannot be null or empty.");
@@ -90,25 +103,31 @@ public class BackgroundAnalysis {
             return; // no acknowledge to allow re-poll.
         }
         // base analysis
-        try (final Stream<DataSetRow> stream = store.stream(metadata)) {
+        try (final Stream<DataSetRow> stream = checked(store.stream(metadata), cancelled)) {
             try (Analyzer<Analyzers.Result> analyzer = analyzerService.schemaAnalysis(columns)) {
                 computeStatistics(analyzer, columns, stream);
                 LOGGER.debug("Base statistics analysis done for {}", dataSetId);
                 // Save base analysis
                 saveAnalyzerResults(analyzer, metadata);
             }
+        } catch (CancellationException e) {
+            LOGGER.debug("Statistics analysis of {} cancelled.", dataSetId);
+            return;
         } catch (Exception e) {
             LOGGER.warn("Base statistics analysis, dataset {} generates an error", dataSetId, e);
             throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
         }
         // advanced analysis
-        try (final Stream<DataSetRow> stream = store.stream(metadata);
+        try (final Stream<DataSetRow> stream = checked(store.stream(metadata), cancelled);
                 Analyzer<Analyzers.Result> analyzerAdvanced = analyzerService.advancedAnalysis(columns)) {
             computeStatistics(analyzerAdvanced, columns, stream);
             updateNbRecords(metadata, analyzerAdvanced.getResult());
             LOGGER.debug("Advanced statistics analysis done for {}", dataSetId);
             // Save advanced analysis
             saveAnalyzerResults(analyzerAdvanced, metadata);
+        } catch (CancellationException e) {
+            LOGGER.debug("Advanced statistics analysis of {} cancelled.", dataSetId);
+            return;
         } catch (Exception e) {
             LOGGER.warn("Advanced statistics analysis, dataset {} generates an error", dataSetId, e);
             throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
@@ -116,6 +135,17 @@ public class BackgroundAnalysis {
         LOGGER.info("Statistics analysis done for {}", dataSetId);
     }
 
+    /**
+     * @return the given rows, that throw a {@link CancellationException} once analysis is cancelled.
+     */
+    private static Stream<DataSetRow> checked(Stream<DataSetRow> stream, BooleanSupplier cancelled) {
+        return stream.peek(row -> {
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException();
+            }
+        });
+    }
+
     private void saveAnalyzerResults(Analyzer<Analyzers.Result> analyzer, DataSetMetadata metadata) {
         DistributedLock datasetLock = repository.createDatasetMetadataLock(metadata.getId());
         try {
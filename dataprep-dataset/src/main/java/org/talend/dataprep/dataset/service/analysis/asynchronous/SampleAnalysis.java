@@ -0,0 +1,126 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.service.analysis.asynchronous;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.cache.CacheKeyGenerator;
+import org.talend.dataprep.cache.TransformationCacheKey;
+import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
+import org.talend.dataprep.dataset.store.content.InvalidCellMarkers;
+import org.talend.dataprep.dataset.store.content.RowSample;
+import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
+import org.talend.dataprep.event.CacheEventProcessingUtil;
+
+/**
+ * Computes and persists the sample of the full dataset, so sample reads neither re-read the dataset content nor are
+ * limited to its first rows. The same full content pass records the invalid cells of all rows, so reads need no
+ * analyzer, even past the rows covered by quality analysis.
+ *
+ * @see org.talend.dataprep.dataset.store.content.DataSetContentStore#streamSample
+ */
+@Component
+public class SampleAnalysis {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SampleAnalysis.class);
+
+    /** Dataset metadata repository. */
+    @Autowired
+    private DataSetMetadataRepository repository;
+
+    /** DataSet content store. */
+    @Autowired
+    private ContentStoreRouter store;
+
+    /** Cache key generator. */
+    @Autowired
+    private CacheKeyGenerator cacheKeyGenerator;
+
+    /** Cache eviction. */
+    @Autowired
+    private CacheEventProcessingUtil cacheEventProcessingUtil;
+
+    /** Whether samples are computed and persisted. */
+    @Value("${dataset.sample.persisted:true}")
+    private boolean enabled;
+
+    /** The number of rows in the persisted sample. */
+    @Value("${dataset.sample.size:${dataset.records.limit:10000}}")
+    private int sampleSize;
+
+    /**
+     * Computes the sample of a dataset (unless a sample of the current content is already persisted).
+     *
+     * @param dataSetId the dataset id.
+     */
+    public void analyze(String dataSetId) {
+        if (StringUtils.isEmpty(dataSetId)) {
+            throw new IllegalArgumentException("Data set id cannot be null or empty.");
+        }
+        if (!enabled) {
+            return;
+        }
+        final DataSetMetadata metadata = repository.get(dataSetId);
+        if (metadata == null) {
+            LOGGER.info("Unable to sample data set #{}: seems to be removed.", dataSetId);
+            return;
+        }
+        if (metadata.getRowMetadata().getColumns().isEmpty() || !metadata.getLifecycle().schemaAnalyzed()) {
+            LOGGER.debug("Skip sample of {} (no column information).", dataSetId);
+            return;
+        }
+        try {
+            if (store.hasValidSample(metadata, sampleSize) && store.hasFullInvalidMarkers(metadata)) {
+                LOGGER.debug("Sample of data set #{} is up to date.", dataSetId);
+                return;
+            }
+            final InvalidCellMarkers markers = new InvalidCellMarkers(InvalidCellMarkers.version(metadata));
+            final RowSample sample = store.computeSample(metadata, sampleSize, markers);
+            // in order to check that the dataset was not deleted (or its content changed) during sampling
+            final DataSetMetadata savedDataSetMetadata = repository.get(dataSetId);
+            if (savedDataSetMetadata != null && sample.getVersion().equals(RowSample.version(savedDataSetMetadata))) {
+                if (markers.getVersion().equals(InvalidCellMarkers.version(savedDataSetMetadata))) {
+                    store.storeInvalidMarkers(metadata, markers);
+                }
+                store.storeSample(metadata, sample);
+                evictCachedSamples(dataSetId);
+                LOGGER.debug("Sampled {} row(s) out of {} for data set #{}.", sample.size(), sample.getRowCount(),
+                        dataSetId);
+            }
+        } catch (Exception e) {
+            // samples are only an optimization, first rows will be used
+            LOGGER.warn("Unable to sample data set #{}.", dataSetId, e);
+        }
+    }
+
+    /**
+     * Sample reads now return the persisted sample instead of the first rows: evict what was computed from the
+     * previous rows (dataset sample and transformation content).
+     *
+     * @param dataSetId the dataset id.
+     */
+    private void evictCachedSamples(String dataSetId) {
+        cacheEventProcessingUtil.processCleanCacheEvent(cacheKeyGenerator.generateDatasetSampleKey(dataSetId),
+                Boolean.FALSE);
+        final TransformationCacheKey transformationKey =
+                cacheKeyGenerator.generateContentKey(dataSetId, null, null, null, null, null);
+        cacheEventProcessingUtil.processCleanCacheEvent(transformationKey, Boolean.TRUE);
+    }
+}
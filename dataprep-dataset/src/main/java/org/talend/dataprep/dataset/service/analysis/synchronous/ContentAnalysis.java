@@ -28,6 +28,7 @@ import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.dataset.service.analysis.DataSetAnalyzer;
 import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
+import org.talend.dataprep.dataset.store.content.RowOffsetIndex;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
 import org.talend.dataprep.lock.DistributedLock;
 import org.talend.dataprep.schema.csv.CSVFormatFamily;
@@ -45,6 +46,10 @@ public class ContentAnalysis implements SynchronousDataSetAnalyzer {
     @Value("${dataset.records.limit:10000}")
     private Long sizeLimit;
 
+    /** Number of rows between two indexed rows in the row offset index of dataset content. */
+    @Value("${dataset.content.index.interval:1000}")
+    private int indexInterval;
+
     /** DataSet metadata repository. */
     @Autowired
     private DataSetMetadataRepository repository;
@@ -72,7 +77,8 @@ public class ContentAnalysis implements SynchronousDataSetAnalyzer {
                 LOG.info("Indexing content of data set #{}...", metadata.getId());
 
                 updateHeaderAndFooter(metadata);
-                updateLimit(metadata);
+                final RowOffsetIndex index = updateRowOffsetIndex(metadata);
+                updateLimit(metadata, index);
 
                 metadata.getLifecycle().contentIndexed(true);
 
@@ -111,12 +117,41 @@ public class ContentAnalysis implements SynchronousDataSetAnalyzer {
         datasetContent.setNbLinesInFooter(0);
     }
 
+    /**
+     * Compute and store the row offset index of the dataset content (if content format supports it).
+     *
+     * @param metadata the dataset metadata.
+     * @return the stored index or <code>null</code> if none could be computed.
+     */
+    private RowOffsetIndex updateRowOffsetIndex(DataSetMetadata metadata) {
+        try {
+            final RowOffsetIndex index = contentStore.computeRowOffsetIndex(metadata, indexInterval);
+            if (index != null) {
+                contentStore.storeRowOffsetIndex(metadata, index);
+                LOG.debug("Indexed {} row(s) of data set #{}.", index.getRowCount(), metadata.getId());
+            }
+            return index;
+        } catch (Exception e) {
+            // index is only an optimization, content will be read from first row
+            LOG.warn("Unable to compute row offset index of data set #{}.", metadata.getId(), e);
+            return null;
+        }
+    }
+
     /**
      * Update the dataset limit if it's too large for the system settings.
      *
      * @param metadata the dataset metadata to update.
+     * @param index the row offset index of dataset content (may be <code>null</code>).
      */
-    private void updateLimit(DataSetMetadata metadata) {
+    private void updateLimit(DataSetMetadata metadata, RowOffsetIndex index) {
+        if (index != null) {
+            // row count is known without reading the content
+            if (index.getRowCount() > sizeLimit) {
+                metadata.getContent().setLimit(sizeLimit);
+            }
+            return;
+        }
         // auto closable block is really important to make sure the stream is closed after the limit is set
         try (final Stream<DataSetRow> stream = contentStore.stream(metadata)) {
             final Optional<DataSetRow> firstAfterLimit = stream.skip(sizeLimit).findAny();
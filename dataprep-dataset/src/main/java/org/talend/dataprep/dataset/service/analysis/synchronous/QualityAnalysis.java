@@ -29,6 +29,7 @@ import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
+import org.talend.dataprep.dataset.store.content.InvalidCellMarkers;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
@@ -87,7 +88,11 @@ public class QualityAnalysis implements SynchronousDataSetAnalyzer {
                 return; // no acknowledge to allow re-poll.
             }
 
-            try (Stream<DataSetRow> stream = store.stream(metadata)) {
+            // markers are bound to the columns (types and domains) used to validate the values read below
+            final InvalidCellMarkers markers = new InvalidCellMarkers(InvalidCellMarkers.version(metadata));
+            final List<ColumnMetadata> columns = metadata.getRowMetadata().getColumns();
+            try (Stream<DataSetRow> stream = store.stream(metadata) //
+                    .peek(row -> markers.record(row.getTdpId() - 1, row, columns))) {
 
                 LOGGER.debug("Analyzing quality of dataset #{}...", metadata.getId());
                 // New data set, or reached the max limit of records for synchronous analysis, trigger a full scan (but
@@ -111,6 +116,10 @@ public class QualityAnalysis implements SynchronousDataSetAnalyzer {
                 // in order to check that the dataset was not deleted during analysis
                 if (savedDataSetMetadata != null) {
                     repository.save(metadata);
+                    // persist invalid cells so reads don't need to run an analyzer on each row
+                    if (markers.getRowCount() > 0) {
+                        store.storeInvalidMarkers(metadata, markers);
+                    }
                     LOGGER.debug("Analyzed quality of dataset #{}.", dataSetId);
                 }
 
@@ -14,6 +14,7 @@
 package org.talend.dataprep.dataset.store.content;
 
 import java.io.InputStream;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -97,6 +98,70 @@ public class ContentStoreRouter extends DataSetContentStore {
         return target.stream(dataSetMetadata);
     }
 
+    /**
+     * @see DataSetContentStore#storeInvalidMarkers(DataSetMetadata, InvalidCellMarkers)
+     */
+    @Override
+    public void storeInvalidMarkers(DataSetMetadata dataSetMetadata, InvalidCellMarkers markers) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        target.storeInvalidMarkers(dataSetMetadata, markers);
+    }
+
+    @Override
+    protected InvalidCellMarkers getInvalidMarkers(DataSetMetadata dataSetMetadata) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.getInvalidMarkers(dataSetMetadata);
+    }
+
+    /**
+     * @see DataSetContentStore#storeSample(DataSetMetadata, RowSample)
+     */
+    @Override
+    public void storeSample(DataSetMetadata dataSetMetadata, RowSample sample) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        target.storeSample(dataSetMetadata, sample);
+    }
+
+    @Override
+    protected RowSample getSample(DataSetMetadata dataSetMetadata) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.getSample(dataSetMetadata);
+    }
+
+    /**
+     * @see DataSetContentStore#streamPage(DataSetMetadata, long, long, ColumnProjection, Predicate)
+     */
+    @Override
+    public Stream<DataSetRow> streamPage(DataSetMetadata dataSetMetadata, long offset, long limit,
+            ColumnProjection projection, Predicate<DataSetRow> filter) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.streamPage(dataSetMetadata, offset, limit, projection, filter);
+    }
+
+    /**
+     * @see DataSetContentStore#computeRowOffsetIndex(DataSetMetadata, int)
+     */
+    @Override
+    public RowOffsetIndex computeRowOffsetIndex(DataSetMetadata dataSetMetadata, int interval) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.computeRowOffsetIndex(dataSetMetadata, interval);
+    }
+
+    /**
+     * @see DataSetContentStore#storeRowOffsetIndex(DataSetMetadata, RowOffsetIndex)
+     */
+    @Override
+    public void storeRowOffsetIndex(DataSetMetadata dataSetMetadata, RowOffsetIndex index) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        target.storeRowOffsetIndex(dataSetMetadata, index);
+    }
+
+    @Override
+    protected RowOffsetIndex getRowOffsetIndex(DataSetMetadata dataSetMetadata) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.getRowOffsetIndex(dataSetMetadata);
+    }
+
     /**
      * @see DataSetContentStore#clear()
      */
@@ -20,6 +20,8 @@ import java.io.OutputStream;
 import java.util.UUID;
 
 import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.stereotype.Component;
@@ -29,9 +31,15 @@ import org.talend.daikon.content.ResourceResolver;
 import org.talend.daikon.exception.ExceptionContext;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.dataset.store.content.DataSetContentStore;
+import org.talend.dataprep.dataset.store.content.InvalidCellMarkers;
+import org.talend.dataprep.dataset.store.content.RowOffsetIndex;
+import org.talend.dataprep.dataset.store.content.RowSample;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.DataSetErrorCodes;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
  * Local dataset content that stores content in files.
  */
@@ -39,11 +47,29 @@ import org.talend.dataprep.exception.error.DataSetErrorCodes;
 @ConditionalOnBean(ContentServiceEnabled.class)
 public class LocalFileContentStore extends DataSetContentStore {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalFileContentStore.class);
+
     private static final String ROOT = "/store/datasets/content/dataset/";
 
+    /** Suffix of the resource holding invalid cells markers of a dataset content. */
+    private static final String INVALID_MARKERS_SUFFIX = ".invalid";
+
+    /** Suffix of the resource holding the sample of a dataset content. */
+    private static final String SAMPLE_SUFFIX = ".sample";
+
+    /** Suffix of the resource holding the row offset index of a dataset content. */
+    private static final String ROW_OFFSETS_SUFFIX = ".offsets";
+
     @Autowired
     private ResourceResolver resolver;
 
+    /** Invalid markers read from (or written to) their resource, by dataset id: markers are read once per version. */
+    private final Cache<String, InvalidCellMarkers> invalidMarkers = CacheBuilder
+            .newBuilder() //
+            .maximumSize(50) //
+            .softValues() //
+            .build();
+
     @SuppressWarnings("ResultOfMethodCallIgnored")
     private DeletableResource getResource(DataSetMetadata dataSetMetadata) {
         String id = dataSetMetadata.getId();
@@ -56,6 +82,30 @@ public class LocalFileContentStore extends DataSetContentStore {
         return resolver.getResource(ROOT + id);
     }
 
+    /**
+     * @return the resource that holds invalid cells markers, next to the dataset content.
+     */
+    private DeletableResource getInvalidMarkersResource(DataSetMetadata dataSetMetadata) {
+        getResource(dataSetMetadata); // validates id
+        return resolver.getResource(ROOT + dataSetMetadata.getId() + INVALID_MARKERS_SUFFIX);
+    }
+
+    /**
+     * @return the resource that holds the sample, next to the dataset content.
+     */
+    private DeletableResource getSampleResource(DataSetMetadata dataSetMetadata) {
+        getResource(dataSetMetadata); // validates id
+        return resolver.getResource(ROOT + dataSetMetadata.getId() + SAMPLE_SUFFIX);
+    }
+
+    /**
+     * @return the resource that holds the row offset index, next to the dataset content.
+     */
+    private DeletableResource getRowOffsetIndexResource(DataSetMetadata dataSetMetadata) {
+        getResource(dataSetMetadata); // validates id
+        return resolver.getResource(ROOT + dataSetMetadata.getId() + ROW_OFFSETS_SUFFIX);
+    }
+
     @Override
     public void storeAsRaw(DataSetMetadata dataSetMetadata, InputStream dataSetContent) {
         final DeletableResource resource = getResource(dataSetMetadata);
@@ -65,6 +115,127 @@ public class LocalFileContentStore extends DataSetContentStore {
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_STORE_DATASET_CONTENT, e,
                     build().put("id", dataSetMetadata.getId()));
         }
+        // previous markers, sample and index (if any) no longer match content
+        deleteInvalidMarkers(dataSetMetadata);
+        deleteSample(dataSetMetadata);
+        deleteRowOffsetIndex(dataSetMetadata);
+    }
+
+    @Override
+    public void storeInvalidMarkers(DataSetMetadata dataSetMetadata, InvalidCellMarkers markers) {
+        final DeletableResource resource = getInvalidMarkersResource(dataSetMetadata);
+        invalidMarkers.invalidate(dataSetMetadata.getId());
+        try (OutputStream outputStream = resource.getOutputStream()) {
+            markers.writeTo(outputStream);
+            invalidMarkers.put(dataSetMetadata.getId(), markers);
+        } catch (IOException e) {
+            // markers are only an optimization, invalid cells will be detected on read
+            LOGGER.warn("Unable to store invalid markers of dataset #{}.", dataSetMetadata.getId(), e);
+        }
+    }
+
+    @Override
+    protected InvalidCellMarkers getInvalidMarkers(DataSetMetadata dataSetMetadata) {
+        final InvalidCellMarkers cached = invalidMarkers.getIfPresent(dataSetMetadata.getId());
+        if (cached != null && cached.getVersion().equals(InvalidCellMarkers.version(dataSetMetadata))) {
+            return cached;
+        }
+        final DeletableResource resource = getInvalidMarkersResource(dataSetMetadata);
+        if (!resource.exists()) {
+            return null;
+        }
+        try (InputStream inputStream = resource.getInputStream()) {
+            final InvalidCellMarkers markers = InvalidCellMarkers.readFrom(inputStream);
+            invalidMarkers.put(dataSetMetadata.getId(), markers);
+            return markers;
+        } catch (IOException e) {
+            LOGGER.debug("Unable to read invalid markers of dataset #{}.", dataSetMetadata.getId(), e);
+            return null;
+        }
+    }
+
+    @Override
+    public void storeSample(DataSetMetadata dataSetMetadata, RowSample sample) {
+        final DeletableResource resource = getSampleResource(dataSetMetadata);
+        try (OutputStream outputStream = resource.getOutputStream()) {
+            sample.writeTo(outputStream);
+        } catch (IOException e) {
+            // samples are only an optimization, first rows will be used
+            LOGGER.warn("Unable to store sample of dataset #{}.", dataSetMetadata.getId(), e);
+        }
+    }
+
+    @Override
+    protected RowSample getSample(DataSetMetadata dataSetMetadata) {
+        final DeletableResource resource = getSampleResource(dataSetMetadata);
+        if (!resource.exists()) {
+            return null;
+        }
+        try (InputStream inputStream = resource.getInputStream()) {
+            return RowSample.readFrom(inputStream);
+        } catch (IOException e) {
+            LOGGER.debug("Unable to read sample of dataset #{}.", dataSetMetadata.getId(), e);
+            return null;
+        }
+    }
+
+    @Override
+    public void storeRowOffsetIndex(DataSetMetadata dataSetMetadata, RowOffsetIndex index) {
+        final DeletableResource resource = getRowOffsetIndexResource(dataSetMetadata);
+        try (OutputStream outputStream = resource.getOutputStream()) {
+            index.writeTo(outputStream);
+        } catch (IOException e) {
+            // index is only an optimization, content will be read from first row
+            LOGGER.warn("Unable to store row offset index of dataset #{}.", dataSetMetadata.getId(), e);
+        }
+    }
+
+    @Override
+    protected RowOffsetIndex getRowOffsetIndex(DataSetMetadata dataSetMetadata) {
+        final DeletableResource resource = getRowOffsetIndexResource(dataSetMetadata);
+        if (!resource.exists()) {
+            return null;
+        }
+        try (InputStream inputStream = resource.getInputStream()) {
+            return RowOffsetIndex.readFrom(inputStream);
+        } catch (IOException e) {
+            LOGGER.debug("Unable to read row offset index of dataset #{}.", dataSetMetadata.getId(), e);
+            return null;
+        }
+    }
+
+    private void deleteRowOffsetIndex(DataSetMetadata dataSetMetadata) {
+        final DeletableResource resource = getRowOffsetIndexResource(dataSetMetadata);
+        try {
+            if (resource.exists()) {
+                resource.delete();
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Unable to delete row offset index of dataset #{}.", dataSetMetadata.getId(), e);
+        }
+    }
+
+    private void deleteSample(DataSetMetadata dataSetMetadata) {
+        final DeletableResource resource = getSampleResource(dataSetMetadata);
+        try {
+            if (resource.exists()) {
+                resource.delete();
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Unable to delete sample of dataset #{}.", dataSetMetadata.getId(), e);
+        }
+    }
+
+    private void deleteInvalidMarkers(DataSetMetadata dataSetMetadata) {
+        invalidMarkers.invalidate(dataSetMetadata.getId());
+        final DeletableResource resource = getInvalidMarkersResource(dataSetMetadata);
+        try {
+            if (resource.exists()) {
+                resource.delete();
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Unable to delete invalid markers of dataset #{}.", dataSetMetadata.getId(), e);
+        }
     }
 
     @Override
@@ -86,10 +257,14 @@ public class LocalFileContentStore extends DataSetContentStore {
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_DELETE_DATASET, e,
                     build().put("dataSetId", dataSetMetadata.getId()));
         }
+        deleteInvalidMarkers(dataSetMetadata);
+        deleteSample(dataSetMetadata);
+        deleteRowOffsetIndex(dataSetMetadata);
     }
 
     @Override
     public void clear() {
+        invalidMarkers.invalidateAll();
         try {
             resolver.clear(ROOT + "/**");
         } catch (IOException e) {
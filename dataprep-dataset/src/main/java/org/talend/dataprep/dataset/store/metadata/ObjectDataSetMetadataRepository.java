@@ -14,6 +14,7 @@ package org.talend.dataprep.dataset.store.metadata;
 
 import static org.talend.dataprep.util.SortAndOrderHelper.getDataSetMetadataComparator;
 
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -31,6 +32,9 @@ public abstract class ObjectDataSetMetadataRepository extends DataSetMetadataRep
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ObjectDataSetMetadataRepository.class);
 
+    /** Compatible data sets lookup, implementations must keep it up to date on save and remove. */
+    protected final SchemaFingerprintIndex schemaIndex = new SchemaFingerprintIndex(this::source);
+
     protected abstract Stream<DataSetMetadata> source();
 
     @Override
@@ -59,6 +63,22 @@ public abstract class ObjectDataSetMetadataRepository extends DataSetMetadataRep
         }
     }
 
+    @Override
+    public Iterable<DataSetMetadata> listCompatible(String id) {
+        final DataSetMetadata metadata = get(id);
+        if (metadata == null) {
+            return Collections.emptyList();
+        }
+        // only data sets with the same schema fingerprint may be compatible
+        final Stream<DataSetMetadata> stream = schemaIndex
+                .get(metadata)
+                .stream() //
+                .filter(candidateId -> !id.equals(candidateId)) //
+                .map(this::get) //
+                .filter(m -> m != null && !metadata.equals(m) && metadata.compatible(m));
+        return stream::iterator;
+    }
+
     @Override
     public int size() {
         return (int) source().count();
@@ -0,0 +1,145 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.metadata;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+
+/**
+ * Index of data set ids by schema fingerprint, i.e. a hash of the column names and types of a data set. Data sets with
+ * compatible schemas share the same fingerprint, so compatible data sets are looked up instead of compared pairwise.
+ * <p>
+ * Index is built from repository content on first use, then kept up to date on each save and remove.
+ * </p>
+ */
+public class SchemaFingerprintIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaFingerprintIndex.class);
+
+    /** Fingerprint of each indexed data set. */
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    /** Data set ids for each fingerprint. */
+    private final Map<String, Set<String>> dataSetIds = new ConcurrentHashMap<>();
+
+    /** All data sets of the repository (used to build index on first use). */
+    private final Supplier<Stream<DataSetMetadata>> source;
+
+    private volatile boolean initialized;
+
+    /**
+     * @param source all data sets of the repository.
+     */
+    public SchemaFingerprintIndex(Supplier<Stream<DataSetMetadata>> source) {
+        this.source = source;
+    }
+
+    /**
+     * @param metadata a data set.
+     * @return the schema fingerprint of the data set, <code>null</code> if data set has no column.
+     */
+    public static String fingerprint(DataSetMetadata metadata) {
+        final RowMetadata rowMetadata = metadata.getRowMetadata();
+        if (rowMetadata == null || rowMetadata.getColumns().isEmpty()) {
+            return null;
+        }
+        final StringBuilder builder = new StringBuilder();
+        for (ColumnMetadata column : rowMetadata.getColumns()) {
+            builder.append(column.getName()).append('\u0000').append(column.getType()).append('\u0000');
+        }
+        return DigestUtils.sha1Hex(builder.toString());
+    }
+
+    /**
+     * Updates the fingerprint of a saved data set.
+     *
+     * @param metadata the saved data set.
+     */
+    public void update(DataSetMetadata metadata) {
+        if (!initialized) {
+            return; // saved data set will be indexed on first use
+        }
+        index(metadata);
+    }
+
+    /**
+     * Removes a data set from index.
+     *
+     * @param dataSetId the id of the removed data set.
+     */
+    public void remove(String dataSetId) {
+        final String previous = fingerprints.remove(dataSetId);
+        if (previous != null) {
+            dataSetIds.computeIfPresent(previous, (fingerprint, ids) -> {
+                ids.remove(dataSetId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * @param metadata a data set.
+     * @return the ids of the data sets with the same schema fingerprint (including given data set if indexed).
+     */
+    public Set<String> get(DataSetMetadata metadata) {
+        init();
+        final String fingerprint = fingerprint(metadata);
+        if (fingerprint == null) {
+            return Collections.emptySet();
+        }
+        final Set<String> ids = dataSetIds.get(fingerprint);
+        return ids == null ? Collections.emptySet() : Collections.unmodifiableSet(ids);
+    }
+
+    private void index(DataSetMetadata metadata) {
+        final String fingerprint = fingerprint(metadata);
+        final String previous = fingerprint == null ? fingerprints.remove(metadata.getId())
+                : fingerprints.put(metadata.getId(), fingerprint);
+        if (previous != null && !previous.equals(fingerprint)) {
+            dataSetIds.computeIfPresent(previous, (key, ids) -> {
+                ids.remove(metadata.getId());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        if (fingerprint != null) {
+            dataSetIds.computeIfAbsent(fingerprint, key -> ConcurrentHashMap.newKeySet()).add(metadata.getId());
+        }
+    }
+
+    private void init() {
+        if (initialized) {
+            return;
+        }
+        synchronized (this) {
+            if (!initialized) {
+                // saves during build are indexed by the build itself, set flag first so none is missed
+                initialized = true;
+                try (Stream<DataSetMetadata> metadata = source.get()) {
+                    metadata.filter(m -> m != null).forEach(this::index);
+                }
+                LOGGER.debug("Schema fingerprint index built for {} data set(s).", fingerprints.size());
+            }
+        }
+    }
+}
@@ -92,6 +92,7 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
         } finally {
             lock.writeLock().unlock();
         }
+        schemaIndex.update(metadata);
     }
 
     /**
@@ -130,6 +131,7 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
     public void remove(String id) {
         final File file = getFile(id);
         FilesHelper.deleteQuietly(file);
+        schemaIndex.remove(id);
         LOG.debug("metadata {} successfully deleted", id);
     }
 
@@ -60,6 +60,7 @@ public class InMemoryDataSetMetadataRepository extends ObjectDataSetMetadataRepo
     @Override
     public void save(DataSetMetadata dataSetMetadata) {
         store.put(dataSetMetadata.getId(), dataSetMetadata);
+        schemaIndex.update(dataSetMetadata);
     }
 
     /**
@@ -105,6 +106,7 @@ public class InMemoryDataSetMetadataRepository extends ObjectDataSetMetadataRepo
     @Override
     public void remove(String id) {
         store.remove(id);
+        schemaIndex.remove(id);
     }
 
 }
@@ -56,6 +56,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.apache.commons.io.IOUtils;
 import org.assertj.core.api.Assertions;
@@ -75,6 +76,7 @@ import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.DataSetGovernance.Certification;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.dataset.statistics.SemanticDomain;
 import org.talend.dataprep.api.dataset.statistics.Statistics;
 import org.talend.dataprep.api.type.Type;
@@ -86,6 +88,8 @@ import org.talend.dataprep.dataset.service.cache.UpdateDataSetCacheKey;
 import org.talend.dataprep.dataset.store.QuotaService;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.DataSetErrorCodes;
+import org.talend.dataprep.format.binary.BinaryRowReader;
+import org.talend.dataprep.format.binary.BinaryRowWriter;
 import org.talend.dataprep.lock.DistributedLock;
 import org.talend.dataprep.schema.csv.CSVFormatFamily;
 
@@ -740,6 +744,58 @@ public class DataSetServiceTest extends DataSetBaseTest {
         assertThat(datasetContent, sameJSONAsFile(expected));
     }
 
+    @Test
+    public void getWithFilterOnColumnOutOfProjection() throws Exception {
+        final String dataSetId =
+                createCSVDataSet(this.getClass().getResourceAsStream("../avengers.csv"), "dataset with filter");
+
+        final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(given()
+                .queryParam("metadata", "true")
+                .queryParam("filter", "(0004 = 'New York City')")
+                .queryParam("columns", "0001")
+                .get("/datasets/{id}/content", dataSetId)
+                .asInputStream());
+
+        assertEquals(1, dataSet.getMetadata().getRowMetadata().getColumns().size());
+        final List<DataSetRow> records = dataSet.getRecords().collect(Collectors.toList());
+        assertFalse(records.isEmpty());
+        records.forEach(r -> {
+            assertNotNull(r.get("0001"));
+            assertNull(r.get("0004"));
+        });
+    }
+
+    @Test
+    public void getAsBinaryRows() throws Exception {
+        // given
+        final String dataSetId =
+                createCSVDataSet(this.getClass().getResourceAsStream("../avengers.csv"), "dataset as binary rows");
+        final DataSet expected = mapper.readerFor(DataSet.class).readValue(given()
+                .queryParam("metadata", "true")
+                .get("/datasets/{id}/content", dataSetId)
+                .asInputStream());
+
+        // when
+        final Response response = given()
+                .header("Accept", BinaryRowWriter.MIME_TYPE)
+                .queryParam("metadata", "true")
+                .get("/datasets/{id}/content", dataSetId);
+
+        // then
+        assertEquals(200, response.statusCode());
+        assertThat(response.contentType(), containsString(BinaryRowWriter.MIME_TYPE));
+        try (BinaryRowReader reader = new BinaryRowReader(response.asInputStream(), mapper)) {
+            final DataSet actual = reader.readDataSet();
+            assertEquals(expected.getMetadata().getId(), actual.getMetadata().getId());
+            final List<DataSetRow> expectedRecords = expected.getRecords().collect(Collectors.toList());
+            final List<DataSetRow> actualRecords = actual.getRecords().collect(Collectors.toList());
+            assertEquals(expectedRecords.size(), actualRecords.size());
+            for (int i = 0; i < expectedRecords.size(); i++) {
+                assertEquals(expectedRecords.get(i).get("0001"), actualRecords.get(i).get("0001"));
+            }
+        }
+    }
+
     @Test
     public void getWithMalformedFilterShouldFail() throws Exception {
         final String dataSetId = createCSVDataSet(this.getClass().getResourceAsStream("../avengers.csv"),
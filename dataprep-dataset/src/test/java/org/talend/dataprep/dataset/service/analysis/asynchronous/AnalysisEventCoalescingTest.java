@@ -0,0 +1,84 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.service.analysis.asynchronous;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.talend.dataprep.dataset.event.AnalysisEventProcessingUtil;
+import org.talend.dataprep.security.SecurityProxy;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AnalysisEventCoalescingTest {
+
+    @InjectMocks
+    private AnalysisEventProcessingUtil analysisEventProcessingUtil;
+
+    @Mock
+    private BackgroundAnalysis backgroundAnalysis;
+
+    @Mock
+    private SampleAnalysis sampleAnalysis;
+
+    @Mock
+    private SecurityProxy securityProxy;
+
+    @Test
+    public void shouldCoalesceRequestsReceivedDuringAnalysis() {
+        // given
+        final List<BooleanSupplier> cancellations = new ArrayList<>();
+        doAnswer(invocation -> {
+            cancellations.add((BooleanSupplier) invocation.getArguments()[1]);
+            if (cancellations.size() == 1) {
+                // requests received while first analysis runs
+                analysisEventProcessingUtil.processAnalysisEvent("datasetId");
+                analysisEventProcessingUtil.processAnalysisEvent("datasetId");
+            }
+            return null;
+        }).when(backgroundAnalysis).analyze(eq("datasetId"), any(BooleanSupplier.class));
+
+        // when
+        analysisEventProcessingUtil.processAnalysisEvent("datasetId");
+
+        // then
+        verify(backgroundAnalysis, times(2)).analyze(eq("datasetId"), any(BooleanSupplier.class));
+        assertTrue(cancellations.get(0).getAsBoolean());
+        assertFalse(cancellations.get(1).getAsBoolean());
+        verify(sampleAnalysis, times(1)).analyze("datasetId");
+    }
+
+    @Test
+    public void shouldAnalyzeAgainOnceAnalysisIsOver() {
+        // when
+        analysisEventProcessingUtil.processAnalysisEvent("datasetId");
+        analysisEventProcessingUtil.processAnalysisEvent("datasetId");
+
+        // then
+        verify(backgroundAnalysis, times(2)).analyze(eq("datasetId"), any(BooleanSupplier.class));
+        verify(sampleAnalysis, times(2)).analyze("datasetId");
+    }
+}
@@ -0,0 +1,127 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.service.analysis.asynchronous;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.cache.CacheKeyGenerator;
+import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
+import org.talend.dataprep.dataset.store.content.InvalidCellMarkers;
+import org.talend.dataprep.dataset.store.content.RowSample;
+import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
+import org.talend.dataprep.event.CacheEventProcessingUtil;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SampleAnalysisTest {
+
+    @InjectMocks
+    private SampleAnalysis sampleAnalysis;
+
+    @Mock
+    private DataSetMetadataRepository repository;
+
+    @Mock
+    private ContentStoreRouter store;
+
+    @Mock
+    private CacheKeyGenerator cacheKeyGenerator;
+
+    @Mock
+    private CacheEventProcessingUtil cacheEventProcessingUtil;
+
+    private DataSetMetadata metadata;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(sampleAnalysis, "enabled", true);
+        ReflectionTestUtils.setField(sampleAnalysis, "sampleSize", 10);
+
+        final ColumnMetadata column = ColumnMetadata.Builder.column().id(0).name("name").type(Type.STRING).build();
+        metadata = new DataSetMetadata();
+        metadata.setId("datasetId");
+        metadata.setRowMetadata(new RowMetadata(Collections.singletonList(column)));
+        metadata.getLifecycle().schemaAnalyzed(true);
+        when(repository.get("datasetId")).thenReturn(metadata);
+    }
+
+    @Test
+    public void shouldNotSampleAgainWhenSampleIsUpToDate() {
+        // given
+        when(store.hasValidSample(metadata, 10)).thenReturn(true);
+        when(store.hasFullInvalidMarkers(metadata)).thenReturn(true);
+
+        // when
+        sampleAnalysis.analyze("datasetId");
+
+        // then
+        verify(store, never()).computeSample(any(DataSetMetadata.class), anyInt(), any(InvalidCellMarkers.class));
+        verify(store, never()).storeSample(any(DataSetMetadata.class), any(RowSample.class));
+    }
+
+    @Test
+    public void shouldSampleWhenInvalidMarkersDoNotCoverContent() {
+        // given
+        final RowSample sample = sample();
+        when(store.hasValidSample(metadata, 10)).thenReturn(true);
+        when(store.hasFullInvalidMarkers(metadata)).thenReturn(false);
+        when(store.computeSample(eq(metadata), eq(10), any(InvalidCellMarkers.class))).thenReturn(sample);
+
+        // when
+        sampleAnalysis.analyze("datasetId");
+
+        // then
+        verify(store).storeInvalidMarkers(eq(metadata), any(InvalidCellMarkers.class));
+        verify(store).storeSample(metadata, sample);
+    }
+
+    @Test
+    public void shouldSampleWhenContentChanged() {
+        // given
+        final RowSample sample = sample();
+        when(store.hasValidSample(metadata, 10)).thenReturn(false);
+        when(store.computeSample(eq(metadata), eq(10), any(InvalidCellMarkers.class))).thenReturn(sample);
+
+        // when
+        sampleAnalysis.analyze("datasetId");
+
+        // then
+        verify(store).storeSample(metadata, sample);
+        verify(cacheEventProcessingUtil).processCleanCacheEvent(any(), eq(Boolean.TRUE));
+    }
+
+    private RowSample sample() {
+        final RowSample.Sampler sampler =
+                RowSample.sampler(RowSample.version(metadata), 10, metadata.getRowMetadata().getColumns());
+        sampler.offer(0, new DataSetRow(Collections.singletonMap("0000", "value")));
+        return sampler.build();
+    }
+}
@@ -0,0 +1,88 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.metadata;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.type.Type;
+
+public class SchemaFingerprintIndexTest {
+
+    private final List<DataSetMetadata> repository = new ArrayList<>();
+
+    private final SchemaFingerprintIndex index = new SchemaFingerprintIndex(repository::stream);
+
+    @Test
+    public void shouldBuildIndexOnFirstUse() {
+        // given
+        repository.add(metadata("1", Type.STRING, Type.INTEGER));
+        repository.add(metadata("2", Type.STRING, Type.INTEGER));
+        repository.add(metadata("3", Type.STRING, Type.STRING));
+
+        // when
+        final DataSetMetadata lookup = metadata("4", Type.STRING, Type.INTEGER);
+
+        // then
+        assertThat(index.get(lookup), is(new HashSet<>(Arrays.asList("1", "2"))));
+    }
+
+    @Test
+    public void shouldFollowSchemaChanges() {
+        // given
+        repository.add(metadata("1", Type.STRING, Type.INTEGER));
+        repository.add(metadata("2", Type.STRING, Type.INTEGER));
+        index.get(repository.get(0));
+
+        // when (column type change of data set #2)
+        index.update(metadata("2", Type.STRING, Type.STRING));
+
+        // then
+        assertThat(index.get(metadata("1", Type.STRING, Type.INTEGER)), is(new HashSet<>(Arrays.asList("1"))));
+        assertThat(index.get(metadata("2", Type.STRING, Type.STRING)), is(new HashSet<>(Arrays.asList("2"))));
+    }
+
+    @Test
+    public void shouldRemoveDataSet() {
+        // given
+        repository.add(metadata("1", Type.STRING, Type.INTEGER));
+        repository.add(metadata("2", Type.STRING, Type.INTEGER));
+        index.get(repository.get(0));
+
+        // when
+        index.remove("1");
+
+        // then
+        assertThat(index.get(metadata("3", Type.STRING, Type.INTEGER)), is(new HashSet<>(Arrays.asList("2"))));
+    }
+
+    private static DataSetMetadata metadata(String id, Type... types) {
+        final List<ColumnMetadata> columns = new ArrayList<>();
+        for (int i = 0; i < types.length; i++) {
+            columns.add(ColumnMetadata.Builder.column().id(i).name("column " + i).type(types[i]).build());
+        }
+        final DataSetMetadata metadata = new DataSetMetadata();
+        metadata.setId(id);
+        metadata.setRowMetadata(new RowMetadata(columns));
+        return metadata;
+    }
+}
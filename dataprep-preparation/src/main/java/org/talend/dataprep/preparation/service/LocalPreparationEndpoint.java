@@ -0,0 +1,48 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.dataprep.preparation.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.preparation.Action;
+import org.talend.dataprep.api.preparation.PreparationDTO;
+import org.talend.dataprep.api.preparation.PreparationDetailsDTO;
+
+/**
+ * {@link PreparationEndpoint} that delegates to {@link PreparationController}, for commands run in the same JVM as the
+ * preparation service.
+ */
+@Component
+public class LocalPreparationEndpoint implements PreparationEndpoint {
+
+    private static final String HEAD = "head";
+
+    @Autowired
+    private PreparationController controller;
+
+    @Override
+    public PreparationDTO getDetails(String id, String stepId) {
+        return controller.getDetails(id, stepId == null ? HEAD : stepId);
+    }
+
+    @Override
+    public PreparationDetailsDTO getDetailsFull(String id, String stepId) {
+        return controller.getDetailsFull(id, stepId == null ? HEAD : stepId);
+    }
+
+    @Override
+    public List<Action> getActions(String id, String stepId) {
+        return controller.getVersionedAction(id, stepId == null ? HEAD : stepId);
+    }
+}
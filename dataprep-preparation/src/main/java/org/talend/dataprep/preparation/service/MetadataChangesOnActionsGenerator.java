@@ -16,7 +16,13 @@ package org.talend.dataprep.preparation.service;
 import static java.util.stream.Collectors.toList;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
@@ -27,12 +33,62 @@ import org.talend.dataprep.transformation.api.action.DataSetRowAction;
 import org.talend.dataprep.transformation.api.action.context.ActionContext;
 import org.talend.dataprep.transformation.api.action.context.TransformationContext;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 /**
  * Generates the metadata changes of a preparation between 2 steps.
+ * <p>
+ * The row metadata compiled for a step is memoized (keyed by step id and starting row metadata) so that appending a
+ * step only compiles the new actions against the memoized metadata of its parent.
+ * </p>
+ * <p>
+ * Step append is the only operation of the preparation service that compiles metadata: step update, delete and
+ * reorder replay the steps with their (shifted) stored diffs, the diff of an updated step being computed by the
+ * transformation service. The new head steps they create are not memoized, so the first append after such a history
+ * rewrite compiles the head actions once.
+ * </p>
  */
 @Component
 public class MetadataChangesOnActionsGenerator {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetadataChangesOnActionsGenerator.class);
+
+    /** Row metadata compiled for a step, keyed by step id and starting row metadata. */
+    private final Cache<String, RowMetadata> compiledMetadata = Caffeine
+            .newBuilder() //
+            .maximumSize(1000) //
+            .expireAfterAccess(1, TimeUnit.HOURS) //
+            .build();
+
+    /**
+     * Compiles new actions after a step, reusing the memoized row metadata of the step if any.
+     *
+     * @param metadata the row metadata the preparation starts from.
+     * @param stepId the id of the step new actions are appended to.
+     * @param stepActions all the actions of the step (only compiled if the step row metadata is not memoized).
+     * @param newActions the new actions.
+     * @return the compiled step, to be memoized with {@link CompiledStep#memoizeAs(String)} once created.
+     */
+    public CompiledStep compileStep(final RowMetadata metadata, String stepId,
+            Supplier<List<RunnableAction>> stepActions, List<RunnableAction> newActions) {
+        final String metadataKey = getMetadataKey(metadata);
+        final RowMetadata memoized = compiledMetadata.getIfPresent(stepId + metadataKey);
+        final RowMetadata workingMetadata;
+        if (memoized != null) {
+            LOGGER.debug("Reuse compiled row metadata of step #{}.", stepId);
+            workingMetadata = memoized.clone();
+        } else {
+            workingMetadata = compileActionsOnMetadata(stepActions.get(), metadata);
+            compiledMetadata.put(stepId + metadataKey, workingMetadata.clone());
+        }
+        workingMetadata.clearDiffStatus();
+        final RowMetadata updatedMetadata = compileActionsOnMetadata(newActions, workingMetadata);
+        final RowMetadata memoizable = updatedMetadata.clone();
+        return new CompiledStep(computeCreatedColumns(updatedMetadata, workingMetadata),
+                newStepId -> compiledMetadata.put(newStepId + metadataKey, memoizable));
+    }
+
     public StepDiff computeCreatedColumns(final RowMetadata metadata, List<RunnableAction> currentActions,
             List<RunnableAction> newActions) {
         RowMetadata workingMetadata = compileActionsOnMetadata(currentActions, metadata);
@@ -49,7 +105,10 @@ public class MetadataChangesOnActionsGenerator {
     StepDiff computeCreatedColumns(List<RunnableAction> newActions, RowMetadata reference) {
         reference.clearDiffStatus();
         RowMetadata updatedMetadata = compileActionsOnMetadata(newActions, reference);
+        return computeCreatedColumns(updatedMetadata, reference);
+    }
 
+    private static StepDiff computeCreatedColumns(RowMetadata updatedMetadata, RowMetadata reference) {
         updatedMetadata.diff(reference);
 
         List<String> createdColumnIds = updatedMetadata //
@@ -88,4 +147,48 @@ public class MetadataChangesOnActionsGenerator {
         return updatedRowMetadata;
     }
 
+    /**
+     * @return a key that changes whenever the starting row metadata changes.
+     */
+    private static String getMetadataKey(RowMetadata metadata) {
+        final StringBuilder key = new StringBuilder();
+        for (ColumnMetadata column : metadata.getColumns()) {
+            key.append(column.getId()).append(':') //
+                    .append(column.getName()).append(':') //
+                    .append(column.getType()).append(':') //
+                    .append(column.getDomain()).append('|');
+        }
+        return '#' + DigestUtils.sha1Hex(key.toString());
+    }
+
+    /**
+     * Result of new actions compiled after a step.
+     */
+    public static class CompiledStep {
+
+        private final StepDiff diff;
+
+        private final Consumer<String> memoizer;
+
+        private CompiledStep(StepDiff diff, Consumer<String> memoizer) {
+            this.diff = diff;
+            this.memoizer = memoizer;
+        }
+
+        /**
+         * @return the columns created by the new actions.
+         */
+        public StepDiff getDiff() {
+            return diff;
+        }
+
+        /**
+         * Memoizes the compiled row metadata as the one of the given step.
+         *
+         * @param stepId the id of the step created with the new actions.
+         */
+        public void memoizeAs(String stepId) {
+            memoizer.accept(stepId);
+        }
+    }
 }
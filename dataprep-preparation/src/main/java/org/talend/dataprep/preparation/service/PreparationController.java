@@ -169,7 +169,7 @@ public class PreparationController {
      * </ul>
      * </p>
      *
-     * @param dataSetId  to search all preparations based on this dataset id.
+     * @param dataSetId  to search all preparations based on this dataset id (or any of these dataset ids).
      * @param folderId   to search all preparations located in this folderId.
      * @param name       to search all preparations that match this name.
      * @param exactMatch if true, the name matching must be exact.
@@ -181,7 +181,7 @@ public class PreparationController {
             notes = "Returns the list of preparations details that match the search criteria.")
     @Timed
     public Stream<PreparationDTO> searchPreparations(
-            @RequestParam(required = false) @ApiParam("dataSetId") String dataSetId,
+            @RequestParam(required = false) @ApiParam("dataSetId") List<String> dataSetId,
             @RequestParam(required = false) @ApiParam(
                     value = "Id of the folder where to look for preparations") String folderId,
             @RequestParam(required = false) @ApiParam(
@@ -11,12 +11,15 @@
 
 package org.talend.dataprep.preparation.service;
 
+import java.util.Collection;
+import java.util.Collections;
+
 /**
  * Group any criteria available to filter preparations.
  */
 public class PreparationSearchCriterion {
 
-    private String dataSetId;
+    private Collection<String> dataSetIds;
 
     private String folderId;
 
@@ -33,12 +36,17 @@ public class PreparationSearchCriterion {
         return new PreparationSearchCriterion();
     }
 
-    public String getDataSetId() {
-        return dataSetId;
+    public Collection<String> getDataSetIds() {
+        return dataSetIds;
     }
 
     public PreparationSearchCriterion byDataSetId(String dataSetId) {
-        this.dataSetId = dataSetId;
+        this.dataSetIds = dataSetId == null ? null : Collections.singletonList(dataSetId);
+        return this;
+    }
+
+    public PreparationSearchCriterion byDataSetIds(Collection<String> dataSetIds) {
+        this.dataSetIds = dataSetIds == null || dataSetIds.isEmpty() ? null : dataSetIds;
         return this;
     }
 
@@ -32,12 +32,14 @@ import static org.talend.dataprep.transformation.actions.common.ActionsUtils.CRE
 import static org.talend.dataprep.util.SortAndOrderHelper.getPreparationComparator;
 import static org.talend.tql.api.TqlBuilder.and;
 import static org.talend.tql.api.TqlBuilder.eq;
+import static org.talend.tql.api.TqlBuilder.in;
 import static org.talend.tql.api.TqlBuilder.isEmpty;
 import static org.talend.tql.api.TqlBuilder.match;
 
 import java.text.DecimalFormat;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Deque;
@@ -91,8 +93,10 @@ import org.talend.dataprep.exception.json.JsonErrorCodeDescription;
 import org.talend.dataprep.folder.store.FolderRepository;
 import org.talend.dataprep.lock.store.LockedResourceRepository;
 import org.talend.dataprep.preparation.configuration.SharedInjection;
+import org.talend.dataprep.preparation.service.MetadataChangesOnActionsGenerator.CompiledStep;
 import org.talend.dataprep.preparation.store.PersistentPreparation;
 import org.talend.dataprep.preparation.store.PersistentStep;
+import org.talend.dataprep.preparation.store.PreparationHeadSummary;
 import org.talend.dataprep.preparation.store.PreparationRepository;
 import org.talend.dataprep.security.Security;
 import org.talend.dataprep.transformation.actions.common.ActionFactory;
@@ -290,8 +294,10 @@ public class PreparationService {
         if (searchCriterion.getName() != null) {
             filter = getNameFilter(searchCriterion.getName(), searchCriterion.isNameExactMatch());
         }
-        if (searchCriterion.getDataSetId() != null) {
-            Expression dataSetFilter = eq(DATASET_ID, searchCriterion.getDataSetId());
+        final Collection<String> dataSetIds = searchCriterion.getDataSetIds();
+        if (dataSetIds != null) {
+            Expression dataSetFilter = dataSetIds.size() == 1 ? eq(DATASET_ID, dataSetIds.iterator().next())
+                    : in(DATASET_ID, dataSetIds.toArray(new String[0]));
             filter = filter == null ? dataSetFilter : and(filter, dataSetFilter);
         }
         if (searchCriterion.getFolderId() != null) {
@@ -391,9 +397,21 @@ public class PreparationService {
      */
     public Stream<PreparationDTO> searchPreparations(String dataSetId, String folderId, String name, boolean exactMatch,
             String path, Sort sort, Order order) {
+        final List<String> dataSetIds = dataSetId == null ? null : Collections.singletonList(dataSetId);
+        return searchPreparations(dataSetIds, folderId, name, exactMatch, path, sort, order);
+    }
+
+    /**
+     * Same as {@link #searchPreparations(String, String, String, boolean, String, Sort, Order)} but searches the
+     * preparations of several data sets at once.
+     *
+     * @param dataSetIds to search all preparations based on any of these dataset ids.
+     */
+    public Stream<PreparationDTO> searchPreparations(Collection<String> dataSetIds, String folderId, String name,
+            boolean exactMatch, String path, Sort sort, Order order) {
         return listAll( //
                 filterPreparation() //
-                        .byDataSetId(dataSetId) //
+                        .byDataSetIds(dataSetIds) //
                         .byFolderId(folderId) //
                         .byName(name) //
                         .withNameExactMatch(exactMatch) //
@@ -587,6 +605,7 @@ public class PreparationService {
         final PersistentPreparation preparationToDelete = lockPreparation(preparationId);
         try {
             preparationRepository.remove(preparationToDelete);
+            removeHeadSummary(preparationId);
 
             // delete the associated folder entries
             try (final Stream<FolderEntry> entries = folderRepository.findFolderEntries(preparationId, PREPARATION)) {
@@ -619,6 +638,7 @@ public class PreparationService {
 
             if (!updated.id().equals(preparationId)) {
                 preparationRepository.remove(previousPreparation);
+                removeHeadSummary(preparationId);
             }
             updated.setAppVersion(versionService.version().getVersionId());
             updated.setLastModificationDate(System.currentTimeMillis());
@@ -686,7 +706,10 @@ public class PreparationService {
             throw new TDPException(PreparationErrorCodes.PREPARATION_DOES_NOT_EXIST, build().put(ID, id));
         }
 
-        ensurePreparationConsistency(preparation);
+        // a valid head summary means head actions were available when head was set (no need to check again)
+        if (!getHeadSummary(preparation).isPresent()) {
+            ensurePreparationConsistency(preparation);
+        }
 
         // specify the step id if provided
         if (!StringUtils.equals(HEAD, stepId)) {
@@ -818,10 +841,30 @@ public class PreparationService {
 
             if (inconsistentPreparation) {
                 setPreparationHead(preparation, head);
+            } else if (prepActions != null) {
+                preparationRepository.add(PreparationHeadSummary.of(preparation, prepActions.getActions()));
             }
         }
     }
 
+    /**
+     * @param preparation a preparation.
+     * @return the summary of the preparation current head, if any.
+     */
+    private Optional<PreparationHeadSummary> getHeadSummary(PersistentPreparation preparation) {
+        final PreparationHeadSummary summary =
+                preparationRepository.get(PreparationHeadSummary.idOf(preparation.id()), PreparationHeadSummary.class);
+        return Optional.ofNullable(summary).filter(s -> s.isSummaryOf(preparation));
+    }
+
+    private void removeHeadSummary(String preparationId) {
+        final PreparationHeadSummary summary =
+                preparationRepository.get(PreparationHeadSummary.idOf(preparationId), PreparationHeadSummary.class);
+        if (summary != null) {
+            preparationRepository.remove(summary);
+        }
+    }
+
     /**
      * Return the folder that holds this preparation.
      *
@@ -850,13 +893,17 @@ public class PreparationService {
 
     public void addPreparationAction(final String preparationId, final AppendStep appendStep) {
         PersistentPreparation preparation = preparationRepository.get(preparationId, PersistentPreparation.class);
-        List<Action> actions = getVersionedAction(preparation, HEAD);
-        StepDiff actionCreatedColumns = stepDiffDelegate.computeCreatedColumns(preparation.getRowMetadata(),
-                buildActions(actions), buildActions(appendStep.getActions()));
-        appendStep.setDiff(actionCreatedColumns);
+        final String previousHeadId = preparation.getHeadId();
+        // head actions are only compiled if head row metadata is not memoized yet
+        final CompiledStep compiledStep = stepDiffDelegate.compileStep(preparation.getRowMetadata(), previousHeadId,
+                () -> buildActions(getVersionedAction(preparation, HEAD)), buildActions(appendStep.getActions()));
+        appendStep.setDiff(compiledStep.getDiff());
 
         checkActionStepConsistency(appendStep);
         appendStepToHead(preparation, appendStep);
+        if (!Objects.equals(previousHeadId, preparation.getHeadId())) {
+            compiledStep.memoizeAs(preparation.getHeadId());
+        }
 
         LOGGER.debug("Added action to preparation.");
         if (auditService.isActive()) {
@@ -1011,6 +1058,12 @@ public class PreparationService {
     private List<Action> getVersionedAction(final PersistentPreparation preparation, final String version) {
         LOGGER.debug("Get list of actions of preparation #{} at version {}.", preparation.getId(), version);
         final String stepId = getStepId(version, preparation);
+        if (stepId.equals(preparation.getHeadId())) {
+            final Optional<PreparationHeadSummary> summary = getHeadSummary(preparation);
+            if (summary.isPresent()) {
+                return new ArrayList<>(summary.get().getActions());
+            }
+        }
         final PersistentStep step = getStep(stepId);
         if (step == null) {
             LOGGER.warn("Step '{}' no longer exist for preparation #{} at version '{}'", stepId, preparation.getId(),
@@ -1376,6 +1429,11 @@ public class PreparationService {
         preparation.setLastModificationDate(System.currentTimeMillis());
         preparation.setSteps(preparationUtils.listStepsIds(head.id(), preparationRepository));
         preparationRepository.add(preparation);
+
+        final PreparationActions headActions = preparationRepository.get(head.getContent(), PreparationActions.class);
+        if (headActions != null) {
+            preparationRepository.add(PreparationHeadSummary.of(preparation, headActions.getActions()));
+        }
     }
 
     /**
@@ -1435,6 +1493,7 @@ public class PreparationService {
         preparationRepository.add(newContent);
         preparationRepository.add(newHead);
         preparationRepository.add(preparation);
+        preparationRepository.add(PreparationHeadSummary.of(preparation, newActions));
     }
 
     /**
@@ -0,0 +1,141 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.preparation.service;
+
+import static com.jayway.restassured.RestAssured.given;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.talend.dataprep.exception.error.PreparationErrorCodes.PREPARATION_DOES_NOT_EXIST;
+import static uk.co.datumedge.hamcrest.json.SameJSONAs.sameJSONAs;
+
+import java.util.function.BiFunction;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.preparation.BasePreparationTest;
+
+import com.jayway.restassured.specification.RequestSpecification;
+
+/**
+ * Checks that {@link LocalPreparationEndpoint} returns the same results as the preparation service HTTP API.
+ *
+ * @see LocalPreparationEndpoint
+ */
+public class LocalPreparationEndpointTest extends BasePreparationTest {
+
+    @Autowired
+    private LocalPreparationEndpoint endpoint;
+
+    @Test
+    public void getDetailsShouldMatchHttp() throws Exception {
+        // given
+        final String preparationId = createPreparationWithSteps();
+        final String firstStepId = getFirstStepId(preparationId);
+
+        // then
+        assertUnknownPreparation(endpoint::getDetails, "/preparations/{id}/details");
+        assertSameAsHttp(endpoint::getDetails, "/preparations/{id}/details", preparationId, null);
+        assertSameAsHttp(endpoint::getDetails, "/preparations/{id}/details", preparationId, "head");
+        assertSameAsHttp(endpoint::getDetails, "/preparations/{id}/details", preparationId, firstStepId);
+    }
+
+    @Test
+    public void getDetailsFullShouldMatchHttp() throws Exception {
+        // given
+        final String preparationId = createPreparationWithSteps();
+        final String firstStepId = getFirstStepId(preparationId);
+
+        // then
+        assertUnknownPreparation(endpoint::getDetailsFull, "/preparations/{id}/details/full");
+        assertSameAsHttp(endpoint::getDetailsFull, "/preparations/{id}/details/full", preparationId, null);
+        assertSameAsHttp(endpoint::getDetailsFull, "/preparations/{id}/details/full", preparationId, "head");
+        assertSameAsHttp(endpoint::getDetailsFull, "/preparations/{id}/details/full", preparationId, firstStepId);
+    }
+
+    @Test
+    public void getActionsShouldMatchHttp() throws Exception {
+        // given
+        final String preparationId = createPreparationWithSteps();
+        final String firstStepId = getFirstStepId(preparationId);
+
+        // then
+        assertUnknownPreparation(endpoint::getActions, "/preparations/{id}/actions/head");
+        final String headActions = getHttp("/preparations/{id}/actions/{version}", preparationId, "head");
+        assertThat(mapper.writeValueAsString(endpoint.getActions(preparationId, null)), sameJSONAs(headActions));
+        assertThat(mapper.writeValueAsString(endpoint.getActions(preparationId, "head")), sameJSONAs(headActions));
+        final String firstStepActions = getHttp("/preparations/{id}/actions/{version}", preparationId, firstStepId);
+        assertThat(mapper.writeValueAsString(endpoint.getActions(preparationId, firstStepId)),
+                sameJSONAs(firstStepActions));
+    }
+
+    /**
+     * @return the id of a new preparation with two steps.
+     */
+    private String createPreparationWithSteps() throws Exception {
+        final String preparationContent =
+                IOUtils.toString(this.getClass().getResourceAsStream("base_preparation.json"), UTF_8);
+        final String preparationId = clientTest.createPreparationWithAPI(preparationContent);
+        final String step =
+                IOUtils.toString(this.getClass().getResourceAsStream("actions/append_copy_firstname.json"), UTF_8);
+        clientTest.addStep(preparationId, step);
+        clientTest.addStep(preparationId, step);
+        return preparationId;
+    }
+
+    private String getFirstStepId(String preparationId) {
+        return clientTest.getDetails(preparationId).getSteps().get(1);
+    }
+
+    private void assertSameAsHttp(BiFunction<String, String, ?> local, String path, String preparationId,
+            String stepId) throws Exception {
+        final RequestSpecification request = given();
+        if (stepId != null) {
+            request.queryParam("stepId", stepId);
+        }
+        final String expected = request //
+                .when() //
+                .expect() //
+                .statusCode(200) //
+                .log() //
+                .ifError() //
+                .get(path, preparationId) //
+                .asString();
+
+        assertThat(mapper.writeValueAsString(local.apply(preparationId, stepId)), sameJSONAs(expected));
+    }
+
+    private void assertUnknownPreparation(BiFunction<String, String, ?> local, String path) {
+        given().when().expect().statusCode(404).get(path, "unknown");
+        try {
+            local.apply("unknown", null);
+            fail("unknown preparation should not be found");
+        } catch (TDPException e) {
+            assertEquals(PREPARATION_DOES_NOT_EXIST, e.getCode());
+        }
+    }
+
+    private String getHttp(String path, String preparationId, String version) {
+        return given() //
+                .when() //
+                .expect() //
+                .statusCode(200) //
+                .log() //
+                .ifError() //
+                .get(path, preparationId, version) //
+                .asString();
+    }
+}
@@ -18,6 +18,7 @@ import static java.util.Collections.emptyList;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.talend.dataprep.preparation.service.MetadataChangesOnActionsGeneratorTest.CompileAnswer.answer;
@@ -143,6 +144,34 @@ public class MetadataChangesOnActionsGeneratorTest {
         verify(secondActionStuffInActionContext).destroy();
     }
 
+    @Test
+    public void compileStep_should_reuse_memoized_step_metadata() throws Exception {
+        // given
+        RowMetadata rowMetadata = new RowMetadata();
+        rowMetadata.addColumn(createColumnNamed("do"));
+        doAnswer(answer(newArrayList("foo"), emptyList(), null)) //
+                .when(firstRowAction) //
+                .compile(any(ActionContext.class) //
+        );
+        doAnswer(answer(newArrayList("bar"), emptyList(), null)) //
+                .when(secondRowAction) //
+                .compile(any(ActionContext.class) //
+        );
+        onActionsGenerator
+                .compileStep(rowMetadata, "head", () -> newArrayList(firstAction), newArrayList(secondAction))
+                .memoizeAs("step-2");
+
+        // when
+        StepDiff diff = onActionsGenerator.compileStep(rowMetadata, "step-2", () -> {
+            throw new AssertionError("Step actions should not be compiled again");
+        }, newArrayList(firstAction)).getDiff();
+
+        // then
+        assertEquals(newArrayList("0003"), diff.getCreatedColumns());
+        verify(firstRowAction, times(2)).compile(any(ActionContext.class));
+        verify(secondRowAction, times(1)).compile(any(ActionContext.class));
+    }
+
     private static ColumnMetadata createColumnNamed(String name) {
         ColumnMetadata firstCol = new ColumnMetadata();
         firstCol.setName(name);
@@ -30,6 +30,8 @@ import org.talend.dataprep.api.folder.Folder;
 import org.talend.dataprep.api.preparation.Preparation;
 import org.talend.dataprep.api.preparation.PreparationDTO;
 import org.talend.dataprep.preparation.BasePreparationTest;
+import org.talend.dataprep.preparation.store.PersistentPreparation;
+import org.talend.dataprep.preparation.store.PreparationHeadSummary;
 
 import com.netflix.hystrix.HystrixCommandProperties;
 
@@ -187,6 +189,41 @@ public class PreparationServiceTest extends BasePreparationTest {
         updateHeadAndCheckResult(prep, originalStepIds, 2);
     }
 
+    @Test
+    public void shouldMaintainHeadSummary() throws IOException {
+        // given
+        Preparation preparation = new Preparation();
+        preparation.setName("prep_name_summary");
+        preparation.setDataSetId("1234");
+        preparation.setRowMetadata(new RowMetadata());
+        PreparationDTO prep = clientTest.createPreparation(preparation, home.getId());
+        final String step =
+                IOUtils.toString(this.getClass().getResourceAsStream("actions/append_lower_case.json"), UTF_8);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            clientTest.addStep(prep.getId(), step);
+        }
+        prep = clientTest.getPreparation(prep.getId());
+
+        // then
+        final String summaryId = PreparationHeadSummary.idOf(prep.getId());
+        PreparationHeadSummary summary = repository.get(summaryId, PreparationHeadSummary.class);
+        assertEquals(prep.getHeadId(), summary.getHeadId());
+        assertEquals(prep.getId(), repository.get(prep.getId(), PersistentPreparation.class).id());
+        assertEquals(3, summary.getActions().size());
+        assertEquals(3, preparationService.getVersionedAction(prep.getId(), "head").size());
+
+        // when
+        preparationService.setPreparationHead(prep.getId(), prep.getSteps().get(1));
+
+        // then
+        summary = repository.get(summaryId, PreparationHeadSummary.class);
+        assertEquals(prep.getSteps().get(1), summary.getHeadId());
+        assertEquals(1, summary.getActions().size());
+        assertEquals(1, preparationService.getVersionedAction(prep.getId(), "head").size());
+    }
+
     private void updateHeadAndCheckResult(PreparationDTO prep, List<String> originalStepIds, Integer indexOfStep) {
         preparationService.setPreparationHead(prep.getId(), originalStepIds.get(indexOfStep));
 
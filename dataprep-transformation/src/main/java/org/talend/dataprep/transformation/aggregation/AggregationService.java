@@ -13,9 +13,19 @@
 
 package org.talend.dataprep.transformation.aggregation;
 
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
+import javax.annotation.Resource;
+
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
@@ -24,24 +34,37 @@ import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.filter.FilterService;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.transformation.aggregation.api.AggregationOperation;
 import org.talend.dataprep.transformation.aggregation.api.AggregationParameters;
 import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
-import org.talend.dataprep.transformation.aggregation.operation.Aggregator;
-import org.talend.dataprep.transformation.aggregation.operation.AggregatorFactory;
+import org.talend.dataprep.transformation.aggregation.api.Operator;
+import org.talend.dataprep.transformation.aggregation.operation.GroupAccumulator;
 
 /**
  * Service in charge of... aggregation !
+ * <p>
+ * Rows are consumed as a stream: the values needed by the aggregation are copied in batches that are accumulated in
+ * parallel (one {@link GroupAccumulator} per group and per batch), partial results are then merged. All operations and
+ * group by columns of the parameters are computed in a single pass.
+ * </p>
  */
 @Service
 public class AggregationService {
 
-    /** Aggregator factory. */
-    @Autowired
-    private AggregatorFactory factory;
+    /** Separator of the group by values in result keys (when grouped by several columns). */
+    private static final String KEY_SEPARATOR = "\u0000";
 
     @Autowired
     private FilterService filterService;
 
+    /** Executor for the accumulation of the batches. */
+    @Resource(name = "aggregation#executor")
+    private AsyncTaskExecutor executor;
+
+    /** Number of rows accumulated by a single task. */
+    @Value("${aggregation.batch.size:4096}")
+    private int batchSize = 4096;
+
     /**
      * Process an aggregation.
      *
@@ -52,14 +75,14 @@ public class AggregationService {
     public AggregationResult aggregate(AggregationParameters parameters, DataSet dataset) {
 
         // check the parameters
-        if (parameters.getOperations().isEmpty() || parameters.getGroupBy().isEmpty()) {
+        if (parameters.getOperations().isEmpty() || parameters.getGroupBy().isEmpty()
+                || parameters.getOperations().stream().anyMatch(operation -> operation.getOperator() == null)) {
             throw new TDPException(CommonErrorCodes.BAD_AGGREGATION_PARAMETERS);
         }
 
-        AggregationResult result = new AggregationResult(parameters.getOperations().get(0).getOperator());
-
-        // get the aggregator
-        Aggregator aggregator = factory.get(parameters);
+        final List<String> groupBy = parameters.getGroupBy();
+        final List<AggregationOperation> operations = parameters.getOperations();
+        final AggregationResult result = new AggregationResult(groupBy, operations);
 
         // Build optional filter
         final DataSetMetadata metadata = dataset.getMetadata();
@@ -67,11 +90,135 @@ public class AggregationService {
         final Predicate<DataSetRow> filter = filterService.build(parameters.getFilter(), rowMetadata);
 
         // process the dataset
-        dataset.getRecords().filter(filter).forEach(row -> aggregator.accept(row, result));
+        final Map<List<String>, GroupAccumulator> groups =
+                accumulate(dataset.getRecords().filter(filter), groupBy, operations);
 
-        // Normalize result (perform clean / optimization now that all input was processed).
-        aggregator.normalize(result);
+        // Normalize result (remove groups without any value now that all input was processed).
+        groups.forEach((groupValues, group) -> {
+            if (!group.isEmpty()) {
+                result.put(String.join(KEY_SEPARATOR, groupValues), group);
+            }
+        });
 
         return result;
     }
+
+    /**
+     * Accumulates the rows in batches, in parallel.
+     *
+     * @param records the rows to aggregate.
+     * @param groupBy the group by columns.
+     * @param operations the operations to compute.
+     * @return the accumulators, per group by values.
+     */
+    private Map<List<String>, GroupAccumulator> accumulate(Stream<DataSetRow> records, List<String> groupBy,
+            List<AggregationOperation> operations) {
+        final Operator[] operators = operations.stream() //
+                .map(AggregationOperation::getOperator) //
+                .toArray(Operator[]::new);
+        final int groupBySize = groupBy.size();
+        final int width = groupBySize + operators.length;
+        final int maxPendingBatches = Runtime.getRuntime().availableProcessors() * 2;
+
+        final Map<List<String>, GroupAccumulator> groups = new HashMap<>();
+        final Deque<Future<Map<List<String>, GroupAccumulator>>> pending = new ArrayDeque<>();
+        String[] batch = new String[batchSize * width];
+        int rows = 0;
+        try {
+            final Iterator<DataSetRow> iterator = records.iterator();
+            while (iterator.hasNext()) {
+                // rows may be reused by the iterator, so values are copied right now
+                final DataSetRow row = iterator.next();
+                final int offset = rows * width;
+                for (int i = 0; i < groupBySize; i++) {
+                    batch[offset + i] = row.get(groupBy.get(i));
+                }
+                for (int i = 0; i < operators.length; i++) {
+                    batch[offset + groupBySize + i] = row.get(operations.get(i).getColumnId());
+                }
+                if (++rows == batchSize) {
+                    pending.add(submit(batch, rows, groupBySize, operators));
+                    batch = new String[batchSize * width];
+                    rows = 0;
+                    // keep memory bounded: wait for the oldest batch when enough are in progress
+                    if (pending.size() >= maxPendingBatches) {
+                        merge(groups, pending.poll().get());
+                    }
+                }
+            }
+            // last batch is accumulated in current thread
+            final Map<List<String>, GroupAccumulator> last = accumulate(batch, rows, groupBySize, operators);
+            while (!pending.isEmpty()) {
+                merge(groups, pending.poll().get());
+            }
+            merge(groups, last);
+            return groups;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE, e);
+        } catch (ExecutionException e) {
+            throw new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE, e.getCause());
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private Future<Map<List<String>, GroupAccumulator>> submit(String[] batch, int rows, int groupBySize,
+            Operator[] operators) {
+        if (executor == null) {
+            return CompletableFuture.completedFuture(accumulate(batch, rows, groupBySize, operators));
+        }
+        return executor.submit(() -> accumulate(batch, rows, groupBySize, operators));
+    }
+
+    /**
+     * Accumulates a batch of rows values.
+     *
+     * @param batch the rows values (group by values then operations values for each row).
+     * @param rows the number of rows in batch.
+     * @param groupBySize the number of group by columns.
+     * @param operators the operators.
+     * @return the accumulators of the batch, per group by values.
+     */
+    private static Map<List<String>, GroupAccumulator> accumulate(String[] batch, int rows, int groupBySize,
+            Operator[] operators) {
+        final int width = groupBySize + operators.length;
+        final Map<List<String>, GroupAccumulator> groups = new HashMap<>();
+        for (int row = 0; row < rows; row++) {
+            final int offset = row * width;
+            if (hasEmptyGroupValue(batch, offset, groupBySize)) {
+                // skip value not found
+                continue;
+            }
+            final List<String> groupValues = groupBySize == 1 ? Collections.singletonList(batch[offset])
+                    : Arrays.asList(Arrays.copyOfRange(batch, offset, offset + groupBySize));
+            final GroupAccumulator group =
+                    groups.computeIfAbsent(groupValues, values -> new GroupAccumulator(values, operators));
+            for (int i = 0; i < operators.length; i++) {
+                group.accumulate(i, batch[offset + groupBySize + i]);
+            }
+        }
+        return groups;
+    }
+
+    private static boolean hasEmptyGroupValue(String[] batch, int offset, int groupBySize) {
+        for (int i = offset; i < offset + groupBySize; i++) {
+            if (StringUtils.isEmpty(batch[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void merge(Map<List<String>, GroupAccumulator> groups,
+            Map<List<String>, GroupAccumulator> partial) {
+        if (groups.isEmpty()) {
+            groups.putAll(partial);
+            return;
+        }
+        partial.forEach((groupValues, group) -> groups.merge(groupValues, group, (current, other) -> {
+            current.merge(other);
+            return current;
+        }));
+    }
 }
@@ -13,7 +13,9 @@
 
 package org.talend.dataprep.transformation.aggregation.api;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -30,6 +32,12 @@ public class AggregationResult {
     /** The aggregation operator. */
     private Operator operator;
 
+    /** The group by columns (empty if the result of a single aggregator). */
+    private List<String> groupBy;
+
+    /** The aggregation operations (empty if the result of a single aggregator). */
+    private List<AggregationOperation> operations;
+
     /** Where all the results are stored. */
     private Map<String, WorkingContext> results;
 
@@ -39,8 +47,24 @@ public class AggregationResult {
      * @param operator the aggregation operator.
      */
     public AggregationResult(Operator operator) {
-        results = new HashMap<>();
+        this(operator, Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * Constructor for a result of several operations (possibly grouped by several columns).
+     *
+     * @param groupBy the group by columns.
+     * @param operations the aggregation operations.
+     */
+    public AggregationResult(List<String> groupBy, List<AggregationOperation> operations) {
+        this(operations.get(0).getOperator(), groupBy, operations);
+    }
+
+    private AggregationResult(Operator operator, List<String> groupBy, List<AggregationOperation> operations) {
+        this.results = new HashMap<>();
         this.operator = operator;
+        this.groupBy = groupBy;
+        this.operations = operations;
     }
 
     /**
@@ -78,6 +102,20 @@ public class AggregationResult {
         return operator;
     }
 
+    /**
+     * @return the group by columns (empty if the result of a single aggregator).
+     */
+    public List<String> getGroupBy() {
+        return groupBy;
+    }
+
+    /**
+     * @return the aggregation operations (empty if the result of a single aggregator).
+     */
+    public List<AggregationOperation> getOperations() {
+        return operations;
+    }
+
     /**
      * @return the result entries.
      */
@@ -19,8 +19,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.talend.dataprep.transformation.aggregation.api.AggregationOperation;
 import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
+import org.talend.dataprep.transformation.aggregation.api.Operator;
 import org.talend.dataprep.transformation.aggregation.api.WorkingContext;
+import org.talend.dataprep.transformation.aggregation.operation.GroupAccumulator;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
@@ -37,22 +40,69 @@ public class AggregationResultSerializer extends JsonSerializer<AggregationResul
     @Override
     public void serialize(AggregationResult result, JsonGenerator gen, SerializerProvider provider) throws IOException {
 
-        // sort the results first
+        // sort the results first (NaN, i.e. no value for first operation, at the end)
         Comparator<Map.Entry<String, WorkingContext>> comparator =
-                (e1, e2) -> Double.compare(e2.getValue().getValue(), e1.getValue().getValue());
+                (e1, e2) -> Double.compare(valueForSort(e2), valueForSort(e1));
         final List<Map.Entry<String, WorkingContext>> entries =
                 result.entries().stream().sorted(comparator).collect(Collectors.toList());
 
+        final List<String> operationNames = getOperationNames(result.getOperations());
+
         // then write it
         gen.writeStartArray();
         for (Map.Entry<String, WorkingContext> entry : entries) {
-            String key = entry.getKey();
             gen.writeStartObject();
-            gen.writeStringField("data", key);
-            gen.writeNumberField(result.getOperator().name(), entry.getValue().getValue());
+            if (entry.getValue() instanceof GroupAccumulator) {
+                writeGroup(result, operationNames, (GroupAccumulator) entry.getValue(), gen);
+            } else {
+                gen.writeStringField("data", entry.getKey());
+                gen.writeNumberField(result.getOperator().name(), entry.getValue().getValue());
+            }
             gen.writeEndObject();
         }
         gen.writeEndArray();
     }
 
+    private static double valueForSort(Map.Entry<String, WorkingContext> entry) {
+        final double value = entry.getValue().getValue();
+        return Double.isNaN(value) ? Double.NEGATIVE_INFINITY : value;
+    }
+
+    /**
+     * Write a group of a multiple operations result: <code>data</code> holds the group by value (or the array of
+     * group by values if grouped by several columns), each operation result is named after its operator (suffixed by
+     * the column id if the same operator is used more than once).
+     */
+    private static void writeGroup(AggregationResult result, List<String> operationNames, GroupAccumulator group,
+            JsonGenerator gen) throws IOException {
+        final List<String> groupValues = group.getGroupValues();
+        if (groupValues.size() == 1) {
+            gen.writeStringField("data", groupValues.get(0));
+        } else {
+            gen.writeArrayFieldStart("data");
+            for (String groupValue : groupValues) {
+                gen.writeString(groupValue);
+            }
+            gen.writeEndArray();
+        }
+        for (int i = 0; i < operationNames.size(); i++) {
+            final double value = group.getValue(i);
+            if (Double.isNaN(value)) {
+                gen.writeNullField(operationNames.get(i));
+            } else {
+                gen.writeNumberField(operationNames.get(i), value);
+            }
+        }
+    }
+
+    private static List<String> getOperationNames(List<AggregationOperation> operations) {
+        final Map<Operator, Long> operatorCount = operations.stream() //
+                .collect(Collectors.groupingBy(AggregationOperation::getOperator, Collectors.counting()));
+        return operations.stream() //
+                .map(operation -> operatorCount.get(operation.getOperator()) > 1
+                        ? operation.getOperator().name() + '_' + operation.getColumnId()
+                        : operation.getOperator().name()) //
+                .collect(Collectors.toList());
+    }
+
 }
@@ -0,0 +1,153 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.aggregation.operation;
+
+import java.util.List;
+
+import org.talend.dataprep.transformation.aggregation.api.Operator;
+import org.talend.dataprep.transformation.aggregation.api.WorkingContext;
+
+/**
+ * Working context of a group that accumulates several operations at once in primitive arrays (one slot per
+ * operation).
+ * <p>
+ * Accumulators are not thread safe, but accumulators of the same group computed on different parts of the input can
+ * be merged with {@link #merge(GroupAccumulator)}.
+ * </p>
+ */
+public class GroupAccumulator implements WorkingContext {
+
+    /** The group by values of this group. */
+    private final List<String> groupValues;
+
+    /** The operator of each operation. */
+    private final Operator[] operators;
+
+    /** The accumulated value of each operation (sum, min or max). */
+    private final double[] values;
+
+    /** The number of accumulated values of each operation. */
+    private final long[] counts;
+
+    /**
+     * Constructor.
+     *
+     * @param groupValues the group by values of this group.
+     * @param operators the operator of each operation.
+     */
+    public GroupAccumulator(List<String> groupValues, Operator[] operators) {
+        this.groupValues = groupValues;
+        this.operators = operators;
+        this.values = new double[operators.length];
+        this.counts = new long[operators.length];
+    }
+
+    /**
+     * Accumulates a row value for an operation.
+     *
+     * @param operation the operation index.
+     * @param value the raw row value (skipped if not a number, except for {@link Operator#COUNT}).
+     */
+    public void accumulate(int operation, String value) {
+        final Operator operator = operators[operation];
+        if (operator == Operator.COUNT) {
+            counts[operation]++;
+            return;
+        }
+        // skip null or empty value
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        final double number;
+        try {
+            number = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            // skip non number
+            return;
+        }
+        accumulate(operation, number, 1);
+    }
+
+    private void accumulate(int operation, double value, long count) {
+        switch (operators[operation]) {
+        case MIN:
+            values[operation] = counts[operation] == 0 ? value : Math.min(values[operation], value);
+            break;
+        case MAX:
+            values[operation] = counts[operation] == 0 ? value : Math.max(values[operation], value);
+            break;
+        default:
+            values[operation] += value;
+            break;
+        }
+        counts[operation] += count;
+    }
+
+    /**
+     * Merges the values accumulated by another accumulator of the same group into this one.
+     *
+     * @param other the other accumulator.
+     */
+    public void merge(GroupAccumulator other) {
+        for (int i = 0; i < operators.length; i++) {
+            if (other.counts[i] > 0) {
+                accumulate(i, other.values[i], other.counts[i]);
+            }
+        }
+    }
+
+    /**
+     * @return the group by values of this group.
+     */
+    public List<String> getGroupValues() {
+        return groupValues;
+    }
+
+    /**
+     * @param operation the operation index.
+     * @return the result of the operation or {@link Double#NaN} if no value was accumulated.
+     */
+    public double getValue(int operation) {
+        final long count = counts[operation];
+        switch (operators[operation]) {
+        case COUNT:
+            return count;
+        case AVERAGE:
+            return values[operation] / count;
+        default:
+            return count == 0 ? Double.NaN : values[operation];
+        }
+    }
+
+    /**
+     * @return <code>true</code> if no operation has a result for this group.
+     */
+    public boolean isEmpty() {
+        for (long count : counts) {
+            if (count > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the result of the first operation.
+     * @see WorkingContext#getValue()
+     */
+    @Override
+    public double getValue() {
+        return getValue(0);
+    }
+}
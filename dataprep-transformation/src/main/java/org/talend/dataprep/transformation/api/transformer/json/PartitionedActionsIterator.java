@@ -0,0 +1,300 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.api.transformer.json;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.Pipeline;
+import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataprep.transformation.pipeline.Visitor;
+import org.talend.dataprep.transformation.pipeline.node.BasicNode;
+
+/**
+ * Applies row-local actions on the rows of a dataset in parallel.
+ * <p>
+ * Input rows are partitioned in batches, each batch goes through a worker {@link Pipeline pipeline} (that only holds
+ * the actions) on the executor. Batches are returned in input order, so this iterator returns the transformed rows in
+ * the exact same order as a serial execution would. A worker pipeline only processes one batch at a time, and at most
+ * one batch per worker is in flight so memory usage stays bounded.
+ * </p>
+ * <p>
+ * The row metadata after actions is taken from the first non empty batch. Only row-local actions are run this way
+ * (no statistics, nothing shared between rows): their metadata changes only depend on action parameters and on the
+ * input metadata, and every worker pipeline starts from a copy of the same input metadata. So all batches end with the
+ * same metadata, which is also the metadata the last row would carry in a serial execution.
+ * </p>
+ */
+class PartitionedActionsIterator implements Iterator<DataSetRow>, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedActionsIterator.class);
+
+    /** The input rows. */
+    private final Iterator<DataSetRow> input;
+
+    /** The row metadata of input rows. */
+    private final RowMetadata inputMetadata;
+
+    /** Builds a worker pipeline that sends transformed rows to the given node. */
+    private final Function<Node, Pipeline> workerFactory;
+
+    private final AsyncTaskExecutor executor;
+
+    private final int batchSize;
+
+    private final int parallelism;
+
+    /** Batches being processed, in input order. */
+    private final Deque<Future<Batch>> pending = new ArrayDeque<>();
+
+    /** Worker pipelines not processing any batch. */
+    private final Queue<Worker> idleWorkers = new ConcurrentLinkedQueue<>();
+
+    /** All created worker pipelines. */
+    private final List<Worker> workers = Collections.synchronizedList(new ArrayList<>());
+
+    /** Rows of the current batch. */
+    private Iterator<DataSetRow> current = Collections.emptyIterator();
+
+    /** The row metadata after actions (<code>null</code> until a row went through actions). */
+    private RowMetadata outputMetadata;
+
+    private volatile boolean cancelled;
+
+    /**
+     * Constructor.
+     *
+     * @param input the input rows.
+     * @param inputMetadata the row metadata of input rows.
+     * @param workerFactory builds a pipeline (with actions only) that outputs rows to the given node.
+     * @param executor the executor for batches.
+     * @param batchSize the number of rows per batch.
+     * @param parallelism the maximum number of batches processed at the same time.
+     */
+    PartitionedActionsIterator(Iterator<DataSetRow> input, RowMetadata inputMetadata,
+            Function<Node, Pipeline> workerFactory, AsyncTaskExecutor executor, int batchSize, int parallelism) {
+        this.input = input;
+        this.inputMetadata = inputMetadata;
+        this.workerFactory = workerFactory;
+        this.executor = executor;
+        this.batchSize = Math.max(1, batchSize);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (cancelled) {
+                return false;
+            }
+            submitBatches();
+            if (pending.isEmpty()) {
+                return false;
+            }
+            final Batch batch = await(pending.poll());
+            if (outputMetadata == null) {
+                // all batches share the same metadata (see class documentation)
+                outputMetadata = batch.metadata;
+            }
+            current = batch.rows.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public DataSetRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Waits for the first transformed rows to return the row metadata after actions.
+     *
+     * @return the row metadata after actions or <code>null</code> if there's no row at all.
+     */
+    RowMetadata getOutputMetadata() {
+        // waits for the first non empty batch, its rows are kept for iteration
+        hasNext();
+        return outputMetadata;
+    }
+
+    /**
+     * Stops the processing of any further batch.
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    private void submitBatches() {
+        while (pending.size() < parallelism && input.hasNext()) {
+            final List<DataSetRow> rows = new ArrayList<>(batchSize);
+            while (rows.size() < batchSize && input.hasNext()) {
+                // row iterators may recycle the same instance, batched rows must not change on next()
+                rows.add(input.next().clone());
+            }
+            pending.add(executor.submit(() -> process(rows)));
+        }
+    }
+
+    private Batch process(List<DataSetRow> rows) {
+        if (cancelled) {
+            // batches not started before cancel or close never use a worker pipeline
+            return new Batch(Collections.emptyList(), null);
+        }
+        Worker worker = idleWorkers.poll();
+        if (worker == null) {
+            worker = new Worker(workerFactory, inputMetadata.clone());
+            workers.add(worker);
+        }
+        try {
+            return worker.process(rows);
+        } finally {
+            idleWorkers.offer(worker);
+        }
+    }
+
+    private static Batch await(Future<Batch> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e.getCause());
+        }
+    }
+
+    /**
+     * Waits for batches still in flight and ends all worker pipelines (so actions can release their resources). Futures
+     * are not cancelled: a running batch must be over before its worker pipeline is ended, and batches that did not
+     * start yet return immediately once {@link #cancelled} is set.
+     */
+    @Override
+    public void close() {
+        cancelled = true;
+        for (Future<Batch> future : pending) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                LOGGER.debug("Ignored batch failure on close.", e);
+            }
+        }
+        pending.clear();
+        synchronized (workers) {
+            for (Worker worker : workers) {
+                try {
+                    worker.pipeline.exec().signal(Signal.END_OF_STREAM);
+                } catch (Exception e) {
+                    LOGGER.debug("Unable to end worker pipeline.", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Transformed rows of a batch.
+     */
+    private static class Batch {
+
+        private final List<DataSetRow> rows;
+
+        private final RowMetadata metadata;
+
+        private Batch(List<DataSetRow> rows, RowMetadata metadata) {
+            this.rows = rows;
+            this.metadata = metadata;
+        }
+    }
+
+    /**
+     * A pipeline with actions only, and the node that collects its output.
+     */
+    private static class Worker {
+
+        private final CollectorNode collector = new CollectorNode();
+
+        private final Pipeline pipeline;
+
+        private final RowMetadata metadata;
+
+        private Worker(Function<Node, Pipeline> workerFactory, RowMetadata metadata) {
+            this.pipeline = workerFactory.apply(collector);
+            this.metadata = metadata;
+        }
+
+        private Batch process(List<DataSetRow> rows) {
+            collector.rows = new ArrayList<>(rows.size());
+            for (DataSetRow row : rows) {
+                pipeline.exec().receive(row, metadata);
+            }
+            return new Batch(collector.rows, collector.metadata);
+        }
+    }
+
+    /**
+     * Collects rows sent by a worker pipeline (signals are not forwarded: worker pipelines outlive batches).
+     */
+    private static class CollectorNode extends BasicNode {
+
+        private List<DataSetRow> rows = new ArrayList<>();
+
+        private RowMetadata metadata;
+
+        @Override
+        public void receive(DataSetRow row, RowMetadata metadata) {
+            rows.add(row);
+            this.metadata = metadata;
+        }
+
+        @Override
+        public void signal(Signal signal) {
+            LOGGER.trace("Signal {} not forwarded by worker pipeline.", signal);
+        }
+
+        @Override
+        public void accept(Visitor visitor) {
+            visitor.visitNode(this);
+        }
+
+        @Override
+        public Node copyShallow() {
+            return this;
+        }
+    }
+}
@@ -14,18 +14,21 @@
 package org.talend.dataprep.transformation.api.transformer.json;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Predicate;
 
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.quality.AnalyzerService;
+import org.talend.dataprep.transformation.actions.common.RunnableAction;
 import org.talend.dataprep.transformation.api.action.ActionParser;
 import org.talend.dataprep.transformation.api.transformer.ExecutableTransformer;
 import org.talend.dataprep.transformation.api.transformer.Transformer;
@@ -65,6 +68,10 @@ class PipelineDiffTransformer implements Transformer {
     @Autowired
     private StatisticsAdapter adapter;
 
+    /** True if actions shared by reference and preview are applied only once per row. */
+    @Value("${transformation.preview.shared.prefix.enabled:true}")
+    private boolean sharedPrefixEnabled = true;
+
     /**
      * Starts the transformation in preview mode.
      *
@@ -81,10 +88,11 @@ class PipelineDiffTransformer implements Transformer {
 
         // Build diff pipeline
         final Node diffWriterNode = new DiffWriterNode(writer);
-        final String referenceActions = previewConfiguration.getReferenceActions();
-        final String previewActions = previewConfiguration.getPreviewActions();
-        final Pipeline referencePipeline = buildPipeline(rowMetadata, referenceActions);
-        final Pipeline previewPipeline = buildPipeline(rowMetadata, previewActions);
+        final List<RunnableAction> referenceActions = actionParser.parse(previewConfiguration.getReferenceActions());
+        final List<RunnableAction> previewActions = actionParser.parse(previewConfiguration.getPreviewActions());
+        final int commonPrefixLength =
+                sharedPrefixEnabled ? getCommonPrefixLength(referenceActions, previewActions) : 0;
+        LOGGER.debug("Preview shares {} action(s) with reference.", commonPrefixLength);
 
         // Filter source records (extract TDP ids information)
         final List<Long> indexes = previewConfiguration.getIndexes();
@@ -96,9 +104,16 @@ class PipelineDiffTransformer implements Transformer {
             filter = row -> true;
         }
 
-        // Build diff pipeline
-        final Node diffPipeline = NodeBuilder
-                .filteredSource(filter) //
+        // Build diff pipeline: common actions (if any) are applied once per row, only the diverging actions are forked
+        final Pipeline referencePipeline =
+                buildPipeline(rowMetadata, referenceActions.subList(commonPrefixLength, referenceActions.size()));
+        final Pipeline previewPipeline =
+                buildPipeline(rowMetadata, previewActions.subList(commonPrefixLength, previewActions.size()));
+        NodeBuilder source = NodeBuilder.filteredSource(filter);
+        if (commonPrefixLength > 0) {
+            source = source.to(buildPipeline(rowMetadata, referenceActions.subList(0, commonPrefixLength)));
+        }
+        final Node diffPipeline = source //
                 .dispatchTo(referencePipeline, previewPipeline) //
                 .zipTo(diffWriterNode) //
                 .build();
@@ -127,12 +142,30 @@ class PipelineDiffTransformer implements Transformer {
         };
     }
 
-    private Pipeline buildPipeline(RowMetadata rowMetadata, String actions) {
+    /**
+     * @return the number of actions both lists start with (same action with same parameters).
+     */
+    private static int getCommonPrefixLength(List<RunnableAction> referenceActions,
+            List<RunnableAction> previewActions) {
+        final int maxLength = Math.min(referenceActions.size(), previewActions.size());
+        int length = 0;
+        while (length < maxLength && isSameAction(referenceActions.get(length), previewActions.get(length))) {
+            length++;
+        }
+        return length;
+    }
+
+    private static boolean isSameAction(RunnableAction reference, RunnableAction preview) {
+        return Objects.equals(reference.getName(), preview.getName())
+                && Objects.equals(reference.getParameters(), preview.getParameters());
+    }
+
+    private Pipeline buildPipeline(RowMetadata rowMetadata, List<RunnableAction> actions) {
         return Pipeline.Builder
                 .builder() //
                 .withAnalyzerService(analyzerService) //
                 .withActionRegistry(actionRegistry) //
-                .withActions(actionParser.parse(actions)) //
+                .withActions(actions) //
                 .withInitialMetadata(rowMetadata, true) //
                 .withGlobalStatistics(false) //
                 .withOutput(BasicNode::new) //
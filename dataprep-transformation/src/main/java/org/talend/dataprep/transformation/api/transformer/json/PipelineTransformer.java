@@ -12,26 +12,47 @@
 
 package org.talend.dataprep.transformation.api.transformer.json;
 
+import static java.util.Collections.emptyList;
 import static org.talend.dataprep.cache.ContentCache.TimeToLive.DEFAULT;
 import static org.talend.dataprep.transformation.api.transformer.configuration.Configuration.Volume.SMALL;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Resource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.action.ActionDefinition;
+import org.talend.dataprep.api.action.ActionDefinition.Behavior;
 import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.preparation.PreparationDTO;
 import org.talend.dataprep.cache.CacheKeyGenerator;
 import org.talend.dataprep.cache.ContentCache;
 import org.talend.dataprep.cache.TransformationMetadataCacheKey;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.quality.AnalyzerService;
+import org.talend.dataprep.transformation.actions.common.RunnableAction;
 import org.talend.dataprep.transformation.api.action.ActionParser;
 import org.talend.dataprep.transformation.api.transformer.ConfiguredCacheWriter;
 import org.talend.dataprep.transformation.api.transformer.ExecutableTransformer;
@@ -41,8 +62,10 @@ import org.talend.dataprep.transformation.api.transformer.configuration.Configur
 import org.talend.dataprep.transformation.format.JsonFormat;
 import org.talend.dataprep.transformation.format.WriterRegistrationService;
 import org.talend.dataprep.transformation.pipeline.ActionRegistry;
+import org.talend.dataprep.transformation.pipeline.Node;
 import org.talend.dataprep.transformation.pipeline.Pipeline;
 import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataprep.transformation.pipeline.model.BatchingNode;
 import org.talend.dataprep.transformation.pipeline.model.WriterNode;
 import org.talend.dataprep.transformation.service.StepMetadataRepository;
 
@@ -51,6 +74,11 @@ public class PipelineTransformer implements Transformer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PipelineTransformer.class);
 
+    /** Behaviors of actions that need state shared between rows (hence can't be applied on separate batches). */
+    private static final Set<Behavior> NON_ROW_LOCAL = EnumSet.of(Behavior.FORBID_DISTRIBUTED,
+            Behavior.NEED_STATISTICS_PATTERN, Behavior.NEED_STATISTICS_INVALID, Behavior.NEED_STATISTICS_QUALITY,
+            Behavior.NEED_STATISTICS_FREQUENCY);
+
     @Autowired
     private ActionParser actionParser;
 
@@ -78,40 +106,28 @@ public class PipelineTransformer implements Transformer {
     @Autowired
     private Optional<Tracer> tracer;
 
+    /** Executor for batches of rows transformed in parallel. */
+    @Resource(name = "pipeline#executor")
+    private AsyncTaskExecutor pipelineExecutor;
+
+    /** True if row-local actions may be applied in parallel for large volumes. */
+    @Value("${transformation.pipeline.parallel.enabled:true}")
+    private boolean parallelEnabled = true;
+
+    /** Number of rows per batch when actions are applied in parallel. */
+    @Value("${transformation.pipeline.parallel.batch.size:1000}")
+    private int parallelBatchSize = 1000;
+
     @Override
     public ExecutableTransformer buildExecutable(DataSet input, Configuration configuration) {
 
         final RowMetadata rowMetadata = input.getMetadata().getRowMetadata();
+        final List<RunnableAction> actions = actionParser.parse(configuration.getActions());
+        if (isParallelizable(configuration, actions)) {
+            return buildParallelExecutable(input, configuration, actions);
+        }
 
-        final TransformerWriter writer = writerRegistrationService.getWriter(configuration.formatId(),
-                configuration.output(), configuration.getArguments());
-        final ConfiguredCacheWriter metadataWriter = new ConfiguredCacheWriter(contentCache, DEFAULT);
-        final TransformationMetadataCacheKey metadataKey = cacheKeyGenerator.generateMetadataKey(
-                configuration.getPreparationId(), configuration.stepId(), configuration.getSourceType());
-        final PreparationDTO preparation = configuration.getPreparation();
-        // function that from a step gives the rowMetadata associated to the previous/parent step
-        final Function<String, RowMetadata> stepRowMetadataSupplier = s -> Optional
-                .ofNullable(s) //
-                .map(id -> stepMetadataRepository.get(id)) //
-                .orElse(null);
-
-        final Pipeline pipeline = Pipeline.Builder
-                .builder() //
-                .withAnalyzerService(analyzerService) //
-                .withActionRegistry(actionRegistry) //
-                .withPreparation(preparation) //
-                .withActions(actionParser.parse(configuration.getActions())) //
-                .withInitialMetadata(rowMetadata, configuration.volume() == SMALL) //
-                .withMonitor(configuration.getMonitor()) //
-                .withFilter(configuration.getFilter()) //
-                .withLimit(configuration.getLimit()) //
-                .withFilterOut(configuration.getOutFilter()) //
-                .withOutput(() -> new WriterNode(writer, metadataWriter, metadataKey)) //
-                .withStatisticsAdapter(adapter) //
-                .withStepMetadataSupplier(stepRowMetadataSupplier) //
-                .withGlobalStatistics(configuration.isGlobalStatistics()) //
-                .allowMetadataChange(configuration.isAllowMetadataChange()) //
-                .build();
+        final Pipeline pipeline = buildPipeline(configuration, rowMetadata, actions, configuration.getFilter(), false);
 
         // wrap this transformer into an executable transformer
         return new ExecutableTransformer() {
@@ -128,6 +144,7 @@ public class PipelineTransformer implements Transformer {
                     LOGGER.debug("Before execution: {}", pipeline);
                     pipeline.execute(input);
 
+                    final PreparationDTO preparation = configuration.getPreparation();
                     if (preparation != null && JsonFormat.JSON.equals(configuration.formatId())) {
                         final UpdatedStepVisitor visitor = new UpdatedStepVisitor(stepMetadataRepository);
                         pipeline.accept(visitor);
@@ -148,6 +165,150 @@ public class PipelineTransformer implements Transformer {
         };
     }
 
+    /**
+     * Actions are applied in parallel only for large volumes, when all actions are row-local (no need for statistics
+     * nor any other state shared between rows) and when no step metadata has to be updated after execution (this
+     * requires the action nodes in the main pipeline).
+     *
+     * @return <code>true</code> if actions can be applied on batches of rows in parallel.
+     */
+    private boolean isParallelizable(Configuration configuration, List<RunnableAction> actions) {
+        if (!parallelEnabled || actions.isEmpty() || configuration.volume() == SMALL
+                || Runtime.getRuntime().availableProcessors() < 2) {
+            return false;
+        }
+        if (configuration.getPreparation() != null && JsonFormat.JSON.equals(configuration.formatId())) {
+            return false;
+        }
+        for (RunnableAction action : actions) {
+            final ActionDefinition actionDefinition = actionRegistry.get(action.getName());
+            if (actionDefinition == null || !Collections.disjoint(actionDefinition.getBehavior(), NON_ROW_LOCAL)) {
+                LOGGER.debug("Action '{}' prevents parallel execution.", action.getName());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds a transformer that applies actions on batches of rows in parallel (see
+     * {@link PartitionedActionsIterator}) then sends the transformed rows, in order, to a pipeline without actions
+     * (statistics, limit, output filter and writer).
+     */
+    private ExecutableTransformer buildParallelExecutable(DataSet input, Configuration configuration,
+            List<RunnableAction> actions) {
+        final RowMetadata rowMetadata = input.getMetadata().getRowMetadata();
+        final Iterator<DataSetRow> filteredRows = input.getRecords().filter(configuration.getFilter()).iterator();
+        final PartitionedActionsIterator transformedRows = new PartitionedActionsIterator(filteredRows, rowMetadata,
+                output -> buildActionsPipeline(rowMetadata, configuration.getActions(), output), pipelineExecutor,
+                parallelBatchSize, Runtime.getRuntime().availableProcessors());
+        final AtomicReference<Pipeline> pipeline = new AtomicReference<>();
+
+        return new ExecutableTransformer() {
+
+            @Override
+            public void execute() {
+                try {
+                    final RowMetadata transformedMetadata = transformedRows.getOutputMetadata();
+                    final DataSet transformed = new DataSet();
+                    if (transformedMetadata == null) {
+                        // no row at all: let a serial pipeline compute metadata and write empty content
+                        pipeline.set(buildPipeline(configuration, rowMetadata, actions, r -> true, false));
+                        LOGGER.debug("Before execution: {}", pipeline.get());
+                        transformed.setMetadata(input.getMetadata());
+                        transformed.setRecords(Stream.empty());
+                        pipeline.get().execute(transformed);
+                        return;
+                    }
+                    // transformed rows are distinct instances, hence can be written by blocks
+                    pipeline.set(
+                            buildPipeline(configuration, transformedMetadata.clone(), emptyList(), r -> true, true));
+                    LOGGER.debug("Before execution (with {} parallel actions): {}", actions.size(), pipeline.get());
+
+                    final DataSetMetadata transformedDataSetMetadata = new DataSetMetadata();
+                    transformedDataSetMetadata.setId(input.getMetadata().getId());
+                    transformedDataSetMetadata.setRowMetadata(transformedMetadata.clone());
+                    transformed.setMetadata(transformedDataSetMetadata);
+                    transformed.setRecords(StreamSupport
+                            .stream(Spliterators.spliteratorUnknownSize(transformedRows, Spliterator.ORDERED), false));
+                    pipeline.get().execute(transformed);
+                } finally {
+                    transformedRows.close();
+                    LOGGER.debug("After execution: {}", pipeline.get());
+                }
+            }
+
+            @Override
+            public void signal(Signal signal) {
+                if (signal == Signal.CANCEL || signal == Signal.STOP) {
+                    transformedRows.cancel();
+                }
+                final Pipeline current = pipeline.get();
+                if (current != null) {
+                    current.signal(signal);
+                }
+            }
+        };
+    }
+
+    /**
+     * @param batchedOutput <code>true</code> to send rows to the writer by blocks (only valid if each row is a distinct
+     * instance).
+     */
+    private Pipeline buildPipeline(Configuration configuration, RowMetadata rowMetadata,
+            List<RunnableAction> actions, Predicate<DataSetRow> filter, boolean batchedOutput) {
+        final TransformerWriter writer = writerRegistrationService.getWriter(configuration.formatId(),
+                configuration.output(), configuration.getArguments());
+        final ConfiguredCacheWriter metadataWriter = new ConfiguredCacheWriter(contentCache, DEFAULT);
+        final TransformationMetadataCacheKey metadataKey = cacheKeyGenerator.generateMetadataKey(
+                configuration.getPreparationId(), configuration.stepId(), configuration.getSourceType());
+        // function that from a step gives the rowMetadata associated to the previous/parent step
+        final Function<String, RowMetadata> stepRowMetadataSupplier = s -> Optional
+                .ofNullable(s) //
+                .map(id -> stepMetadataRepository.get(id)) //
+                .orElse(null);
+
+        return Pipeline.Builder
+                .builder() //
+                .withAnalyzerService(analyzerService) //
+                .withActionRegistry(actionRegistry) //
+                .withPreparation(configuration.getPreparation()) //
+                .withActions(actions) //
+                .withInitialMetadata(rowMetadata, configuration.volume() == SMALL) //
+                .withMonitor(configuration.getMonitor()) //
+                .withFilter(filter) //
+                .withLimit(configuration.getLimit()) //
+                .withFilterOut(configuration.getOutFilter()) //
+                .withOutput(() -> {
+                    final WriterNode writerNode = new WriterNode(writer, metadataWriter, metadataKey);
+                    if (batchedOutput) {
+                        return new BatchingNode<>(writerNode, parallelBatchSize);
+                    }
+                    return writerNode;
+                }) //
+                .withStatisticsAdapter(adapter) //
+                .withStepMetadataSupplier(stepRowMetadataSupplier) //
+                .withGlobalStatistics(configuration.isGlobalStatistics()) //
+                .allowMetadataChange(configuration.isAllowMetadataChange()) //
+                .build();
+    }
+
+    /**
+     * @return a pipeline that only applies the actions (parsed again, so worker pipelines share no action state).
+     */
+    private Pipeline buildActionsPipeline(RowMetadata rowMetadata, String actions, Node output) {
+        return Pipeline.Builder
+                .builder() //
+                .withAnalyzerService(analyzerService) //
+                .withActionRegistry(actionRegistry) //
+                .withActions(actionParser.parse(actions)) //
+                .withInitialMetadata(rowMetadata, false) //
+                .withGlobalStatistics(false) //
+                .withOutput(() -> output) //
+                .withStatisticsAdapter(adapter) //
+                .build();
+    }
+
     @Override
     public boolean accept(Configuration configuration) {
         return Configuration.class.equals(configuration.getClass());
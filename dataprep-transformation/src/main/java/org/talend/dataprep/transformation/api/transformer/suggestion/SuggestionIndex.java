@@ -0,0 +1,115 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.api.transformer.suggestion;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
+import static org.talend.dataprep.transformation.actions.category.ScopeCategory.COLUMN;
+
+import java.util.List;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.action.ActionDefinition;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.statistics.PatternFrequency;
+import org.talend.dataprep.transformation.pipeline.ActionRegistry;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Index of ranked action suggestions per column profile.
+ * <p>
+ * Scoring walks every {@link SuggestionEngineRule rule} for every registered action, but rules only read a small part
+ * of the column metadata (type, domain, empty and invalid counts, minimum value and patterns). Ranked actions are
+ * therefore computed once per column profile and reused for every column sharing the same profile. Index is
+ * invalidated when the registered actions may have changed (i.e. on application context refresh).
+ * </p>
+ */
+@Component
+public class SuggestionIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SuggestionIndex.class);
+
+    /** The ranked actions per column profile. */
+    private final Cache<String, List<ActionDefinition>> rankedActions = Caffeine
+            .newBuilder() //
+            .maximumSize(1000) //
+            .build();
+
+    @Autowired
+    private ActionRegistry actionRegistry;
+
+    @Autowired
+    private SuggestionEngine suggestionEngine;
+
+    /**
+     * @param column A {@link ColumnMetadata column} definition.
+     * @return the actions that apply to the column with a strictly positive score, in decreasing score order.
+     */
+    public List<ActionDefinition> suggest(ColumnMetadata column) {
+        return rankedActions.get(getProfile(column), profile -> rank(column));
+    }
+
+    private List<ActionDefinition> rank(ColumnMetadata column) {
+        LOGGER.debug("Rank actions for column profile of column '{}'.", column.getName());
+        final List<ActionDefinition> actions = actionRegistry
+                .findAll() //
+                .filter(am -> am.acceptScope(COLUMN) && am.acceptField(column)) //
+                .map(am -> suggestionEngine.score(am, column)) //
+                .filter(s -> s.getScore() > 0) // Keep only strictly positive score (negative and 0 indicates not
+                // applicable)
+                .sorted((s1, s2) -> Integer.compare(s2.getScore(), s1.getScore())) //
+                .map(Suggestion::getAction) //
+                .collect(toList());
+        return unmodifiableList(actions);
+    }
+
+    /**
+     * Clears all ranked actions, to be called whenever registered actions or rules change.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void invalidate() {
+        LOGGER.debug("Invalidate suggestion index.");
+        rankedActions.invalidateAll();
+    }
+
+    /**
+     * Computes the fingerprint of the column properties read by suggestion rules: columns with the same fingerprint get
+     * the same suggestions.
+     *
+     * @param column A {@link ColumnMetadata column} definition.
+     * @return the profile fingerprint of the column.
+     */
+    static String getProfile(ColumnMetadata column) {
+        final StringBuilder profile = new StringBuilder();
+        profile.append(column.getType()).append('|') //
+                .append(column.getDomain()).append('|') //
+                .append(column.getStatistics().getEmpty()).append('|') //
+                .append(column.getQuality().getEmpty()).append('|') //
+                .append(column.getStatistics().getInvalid()).append('|') //
+                .append(column.getQuality().getInvalid()).append('|') //
+                .append(column.getStatistics().getMin());
+        for (PatternFrequency patternFrequency : column.getStatistics().getPatternFrequencies()) {
+            profile.append('|').append(patternFrequency.getPattern());
+        }
+        return DigestUtils.sha1Hex(profile.toString());
+    }
+}
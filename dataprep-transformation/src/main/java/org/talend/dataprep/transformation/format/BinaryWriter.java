@@ -0,0 +1,150 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.dataprep.transformation.format;
+
+import static org.talend.dataprep.api.dataset.row.FlagNames.TDP_ID;
+import static org.talend.dataprep.transformation.format.BinaryFormat.BINARY;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.format.binary.BinaryRowWriter;
+import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writer to serialize a dataset content as a binary row stream (see {@link BinaryRowWriter}).
+ *
+ * As {@link JsonWriter}, this writer buffers records until it receives the {@link RowMetadata}, so readers get the
+ * metadata before the records.
+ */
+@Scope("prototype")
+@Component("writer#" + BINARY)
+public class BinaryWriter implements TransformerWriter {
+
+    /** Where this writer should write. */
+    private final OutputStream output;
+
+    /** The data-prep ready jackson module. */
+    @Autowired
+    private ObjectMapper mapper;
+
+    private BinaryRowWriter writer;
+
+    /** True once the metadata is written (records are then no longer buffered). */
+    private boolean metadataWritten;
+
+    /** Buffer to store records before we received the metadata. */
+    private ObjectBuffer<BufferedDataSetRow> recordsBuffer;
+
+    private boolean closed = false;
+
+    /**
+     * Default constructor.
+     *
+     * @param output Where this writer should write.
+     */
+    public BinaryWriter(final OutputStream output) {
+        this.output = output;
+    }
+
+    /**
+     * <b>Needed</b> private constructor for the WriterRegistrationService.
+     *
+     * @param output where to write the transformation.
+     * @param params ignored parameters.
+     */
+    private BinaryWriter(final OutputStream output, final Map<String, String> params) {
+        this(output);
+    }
+
+    /**
+     * Init the writer.
+     *
+     * @throws IOException if an error occurs.
+     */
+    @PostConstruct
+    private void init() throws IOException {
+        writer = new BinaryRowWriter(output, mapper);
+    }
+
+    @Override
+    public void write(final RowMetadata rowMetadata) throws IOException {
+        writer.write(rowMetadata);
+        metadataWritten = true;
+        writeRecordsBuffer();
+    }
+
+    @Override
+    public void write(final DataSetRow row) throws IOException {
+        if (metadataWritten) {
+            writer.write(row);
+        } else {
+            if (recordsBuffer == null) {
+                recordsBuffer = new ObjectBuffer<>(BufferedDataSetRow.class);
+            }
+            recordsBuffer.appendRow(new BufferedDataSetRow(row));
+        }
+    }
+
+    private void writeRecordsBuffer() throws IOException {
+        if (recordsBuffer != null) {
+            try {
+                final Iterator<BufferedDataSetRow> rows = recordsBuffer.readAll().iterator();
+                while (rows.hasNext()) {
+                    final Map<String, Object> values = rows.next().values;
+                    final Object tdpId = values.get(TDP_ID);
+                    writer.write(tdpId instanceof Number ? ((Number) tdpId).longValue() : null, values);
+                }
+            } finally {
+                recordsBuffer.close();
+                recordsBuffer = null;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            writeRecordsBuffer();
+            writer.finish();
+            closed = true;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private static final class BufferedDataSetRow {
+
+        public Map<String, Object> values;
+
+        public BufferedDataSetRow() {
+        }
+
+        public BufferedDataSetRow(DataSetRow row) {
+            values = row.valuesWithId();
+        }
+    }
+}
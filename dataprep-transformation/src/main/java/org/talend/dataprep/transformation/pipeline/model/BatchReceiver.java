@@ -0,0 +1,36 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.model;
+
+import java.util.List;
+
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * A node able to receive a block of rows at once, so that per row costs (dispatch, locking, timing) are paid once per
+ * block.
+ *
+ * @see BatchingNode
+ */
+public interface BatchReceiver {
+
+    /**
+     * Receives a block of rows.
+     *
+     * @param rows the rows, in order (implementations must not keep a reference to the list after the call).
+     * @param metadata the row metadata shared by all rows of the block.
+     */
+    void receive(List<DataSetRow> rows, RowMetadata metadata);
+}
@@ -0,0 +1,110 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataprep.transformation.pipeline.Visitor;
+import org.talend.dataprep.transformation.pipeline.node.BasicNode;
+
+/**
+ * Groups rows received one at a time in blocks, and sends the blocks to a {@link BatchReceiver}.
+ * <p>
+ * Rows are kept until the block is full, so this node must only be used where each received row is a distinct instance
+ * (i.e. not with a source that recycles the same row instance).
+ * </p>
+ *
+ * @param <T> the type of the node that receives blocks.
+ */
+public class BatchingNode<T extends Node & BatchReceiver> extends BasicNode {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchingNode.class);
+
+    /** The node that receives blocks. */
+    private final T target;
+
+    /** The maximum number of rows per block. */
+    private final int batchSize;
+
+    /** The current block. */
+    private final List<DataSetRow> rows;
+
+    /** The row metadata of the current block. */
+    private RowMetadata metadata;
+
+    /**
+     * Constructor.
+     *
+     * @param target the node that receives blocks.
+     * @param batchSize the maximum number of rows per block.
+     */
+    public BatchingNode(T target, int batchSize) {
+        this.target = target;
+        this.batchSize = Math.max(1, batchSize);
+        this.rows = new ArrayList<>(this.batchSize);
+    }
+
+    @Override
+    public void receive(DataSetRow row, RowMetadata metadata) {
+        if (this.metadata != metadata) {
+            // a block only holds rows that share the same row metadata
+            flush();
+            this.metadata = metadata;
+        }
+        rows.add(row);
+        if (rows.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void signal(Signal signal) {
+        if (signal == Signal.CANCEL) {
+            LOGGER.debug("Cancelled, drop {} pending row(s).", rows.size());
+            rows.clear();
+        } else {
+            flush();
+        }
+        target.signal(signal);
+    }
+
+    private void flush() {
+        if (!rows.isEmpty()) {
+            target.receive(rows, metadata);
+            rows.clear();
+        }
+    }
+
+    @Override
+    public void accept(Visitor visitor) {
+        visitor.visitNode(this);
+        target.accept(visitor);
+    }
+
+    @Override
+    public Node copyShallow() {
+        return new BatchingNode<>(target, batchSize);
+    }
+
+    public T getTarget() {
+        return target;
+    }
+}
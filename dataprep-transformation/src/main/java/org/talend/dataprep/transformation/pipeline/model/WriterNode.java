@@ -15,6 +15,7 @@ package org.talend.dataprep.transformation.pipeline.model;
 import static org.talend.dataprep.transformation.pipeline.Signal.END_OF_STREAM;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
@@ -32,7 +33,7 @@ import org.talend.dataprep.transformation.pipeline.Signal;
 import org.talend.dataprep.transformation.pipeline.Visitor;
 import org.talend.dataprep.transformation.pipeline.node.BasicNode;
 
-public class WriterNode extends BasicNode implements Monitored {
+public class WriterNode extends BasicNode implements Monitored, BatchReceiver {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(WriterNode.class);
 
@@ -113,6 +114,41 @@ public class WriterNode extends BasicNode implements Monitored {
         }
     }
 
+    /**
+     * Writes a block of rows: lock and timing are taken once for the whole block.
+     *
+     * @see #receive(DataSetRow, RowMetadata)
+     */
+    @Override
+    public synchronized void receive(List<DataSetRow> rows, RowMetadata metadata) {
+        // do not write these rows if the writer is stopped
+        if (isStopped.get()) {
+            LOGGER.debug("already finished or canceled, let's skip these rows");
+            return;
+        }
+
+        final long start = System.currentTimeMillis();
+        try {
+            if (!startRecords) {
+                startRecords = true;
+            }
+            lastRowMetadata = metadata;
+            for (DataSetRow row : rows) {
+                if (row.shouldWrite()) {
+                    try {
+                        writer.write(row);
+                        super.receive(row, metadata);
+                    } catch (IOException e) {
+                        LOGGER.error("Unable to write record.", e);
+                    }
+                }
+            }
+        } finally {
+            totalTime += System.currentTimeMillis() - start;
+            count += rows.size();
+        }
+    }
+
     /**
      * Synchronized method not to clash with the receive method.
      *
@@ -81,6 +81,10 @@ public abstract class BaseExportStrategy {
     @Autowired
     protected DatasetClient datasetClient;
 
+    /** The actions of the preparation steps. */
+    @Autowired
+    protected StepActionsCache stepActionsCache;
+
     /**
      * Return the format that matches the given name or throw an error if the format is unknown.
      *
@@ -122,11 +126,9 @@ public abstract class BaseExportStrategy {
                 || Step.ROOT_STEP.getId().equals(stepId)) {
             actions = "{\"actions\": []}";
         } else {
-            final PreparationGetActions getActionsCommand =
-                    applicationContext.getBean(PreparationGetActions.class, preparationId, stepId);
             try {
                 final String actionsAsString = mapper.writerFor(new TypeReference<List<Action>>() {
-                }).writeValueAsString(getActionsCommand.execute());
+                }).writeValueAsString(getStepActions(preparationId, stepId));
                 actions = "{\"actions\": " + actionsAsString + '}';
             } catch (IOException e) {
                 final ExceptionContext context =
@@ -156,13 +158,9 @@ public abstract class BaseExportStrategy {
             actions = "{\"actions\": []}";
         } else {
             try {
-                final PreparationGetActions startStepActions =
-                        applicationContext.getBean(PreparationGetActions.class, preparationId, startStepId);
-                final PreparationGetActions endStepActions =
-                        applicationContext.getBean(PreparationGetActions.class, preparationId, endStepId);
                 final StringWriter actionsAsString = new StringWriter();
-                final Action[] startActions = startStepActions.execute().toArray(new Action[0]);
-                final Action[] endActions = endStepActions.execute().toArray(new Action[0]);
+                final Action[] startActions = getStepActions(preparationId, startStepId).toArray(new Action[0]);
+                final Action[] endActions = getStepActions(preparationId, endStepId).toArray(new Action[0]);
                 if (endActions.length > startActions.length) {
                     final Action[] filteredActions =
                             ArrayUtils.subarray(endActions, startActions.length, endActions.length);
@@ -184,6 +182,17 @@ public abstract class BaseExportStrategy {
         return actions;
     }
 
+    /**
+     * @param preparationId The preparation id.
+     * @param stepId A step id that must exist in given preparation id.
+     * @return The actions of the step (from {@link StepActionsCache cache} if possible).
+     * @throws IOException If actions can't be serialized.
+     */
+    private List<Action> getStepActions(String preparationId, String stepId) throws IOException {
+        return stepActionsCache.get(stepId,
+                () -> applicationContext.getBean(PreparationGetActions.class, preparationId, stepId).execute());
+    }
+
     /**
      * @param preparationId the wanted preparation id.
      * @return the preparation out of its id.
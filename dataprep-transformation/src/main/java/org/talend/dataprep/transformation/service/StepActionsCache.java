@@ -0,0 +1,177 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.dataprep.transformation.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.preparation.Action;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.ContentCacheKey;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Cache of the actions of preparation steps. The actions of a step never change once the step is created, so entries
+ * are never invalidated: they are only evicted when the cache is full. Entries are kept in memory (up to
+ * <code>transformation.step.actions.cache.size</code> bytes of JSON) and in the {@link ContentCache} (so they survive
+ * memory eviction and restarts).
+ * <p>
+ * "head" is not a step id: actions of the head are always fetched.
+ * </p>
+ */
+@Component
+public class StepActionsCache {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(StepActionsCache.class);
+
+    private static final TypeReference<List<Action>> ACTIONS_TYPE = new TypeReference<List<Action>>() {
+    };
+
+    @Autowired
+    private ContentCache contentCache;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    /** Maximum size (in bytes of JSON) of the actions kept in memory. */
+    @Value("${transformation.step.actions.cache.size:10485760}")
+    private long maxSize;
+
+    /** The actions in memory, per step id. */
+    private Cache<String, StepActions> actions;
+
+    @PostConstruct
+    void init() {
+        actions = Caffeine
+                .newBuilder() //
+                .maximumWeight(maxSize) //
+                .weigher((String stepId, StepActions stepActions) -> stepActions.size) //
+                .build();
+    }
+
+    /**
+     * Returns the actions of a step, from cache if possible, otherwise from <code>loader</code> (and caches them).
+     * Returned actions are shared and must not be modified.
+     *
+     * @param stepId A step id.
+     * @param loader Fetches the actions of the step if not in cache.
+     * @return The actions of the step.
+     * @throws IOException If actions can't be serialized.
+     */
+    public List<Action> get(String stepId, Supplier<List<Action>> loader) throws IOException {
+        if (StringUtils.isBlank(stepId) || StringUtils.equals("head", stepId)) {
+            return loader.get();
+        }
+        try {
+            return actions.get(stepId, id -> {
+                try {
+                    return load(id, loader);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).actions;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private StepActions load(String stepId, Supplier<List<Action>> loader) throws IOException {
+        final StepActionsCacheKey key = new StepActionsCacheKey(stepId);
+        if (contentCache.has(key)) {
+            try (InputStream input = contentCache.get(key)) {
+                final byte[] content = IOUtils.toByteArray(input);
+                return new StepActions(mapper.readValue(content, ACTIONS_TYPE), content.length);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to read cached actions of step '{}', fetching them.", stepId, e);
+            }
+        }
+        final List<Action> stepActions = loader.get();
+        final byte[] content = mapper.writerFor(ACTIONS_TYPE).writeValueAsBytes(stepActions);
+        try (OutputStream output = contentCache.put(key, ContentCache.TimeToLive.LONG)) {
+            output.write(content);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to cache actions of step '{}'.", stepId, e);
+        }
+        return new StepActions(stepActions, content.length);
+    }
+
+    /**
+     * The actions of a step, with their (JSON) size.
+     */
+    private static class StepActions {
+
+        private final List<Action> actions;
+
+        private final int size;
+
+        private StepActions(List<Action> actions, int size) {
+            this.actions = Collections.unmodifiableList(actions);
+            this.size = size;
+        }
+    }
+
+    /**
+     * Content cache key of the actions of a step.
+     */
+    private static class StepActionsCacheKey implements ContentCacheKey {
+
+        private static final String PREFIX = "step-actions";
+
+        private final String stepId;
+
+        private StepActionsCacheKey(String stepId) {
+            this.stepId = stepId;
+        }
+
+        @Override
+        public String getKey() {
+            return PREFIX + "_" + stepId;
+        }
+
+        @Override
+        public String getPrefix() {
+            return PREFIX;
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return Collections.singleton(ContentCacheKey.stepTag(stepId));
+        }
+
+        @Override
+        public String toString() {
+            return "StepActionsCacheKey{" + //
+                    "stepId='" + stepId + '\'' + //
+                    '}';
+        }
+    }
+}
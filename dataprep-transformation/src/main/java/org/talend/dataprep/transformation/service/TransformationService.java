@@ -27,6 +27,7 @@ import static org.talend.dataprep.exception.error.TransformationErrorCodes.UNEXP
 import static org.talend.dataprep.quality.AnalyzerService.Analysis.SEMANTIC;
 import static org.talend.dataprep.transformation.actions.category.ScopeCategory.COLUMN;
 import static org.talend.dataprep.transformation.actions.category.ScopeCategory.LINE;
+import static org.talend.dataprep.transformation.format.BinaryFormat.BINARY;
 import static org.talend.dataprep.transformation.format.JsonFormat.JSON;
 
 import java.io.IOException;
@@ -98,8 +99,10 @@ import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.dataset.adapter.DatasetClient;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.exception.error.DataSetErrorCodes;
 import org.talend.dataprep.exception.error.TransformationErrorCodes;
 import org.talend.dataprep.exception.json.JsonErrorCodeDescription;
+import org.talend.dataprep.format.binary.BinaryRowReader;
 import org.talend.dataprep.format.export.ExportFormat;
 import org.talend.dataprep.format.export.ExportFormatMessage;
 import org.talend.dataprep.metrics.Timed;
@@ -120,8 +123,8 @@ import org.talend.dataprep.transformation.api.action.dynamic.GenericParameter;
 import org.talend.dataprep.transformation.api.transformer.TransformerFactory;
 import org.talend.dataprep.transformation.api.transformer.configuration.Configuration;
 import org.talend.dataprep.transformation.api.transformer.configuration.PreviewConfiguration;
-import org.talend.dataprep.transformation.api.transformer.suggestion.Suggestion;
 import org.talend.dataprep.transformation.api.transformer.suggestion.SuggestionEngine;
+import org.talend.dataprep.transformation.api.transformer.suggestion.SuggestionIndex;
 import org.talend.dataprep.transformation.pipeline.ActionRegistry;
 import org.talend.dataprep.transformation.preview.api.PreviewParameters;
 import org.talend.dataprep.transformation.service.export.PreparationExportStrategy;
@@ -167,10 +170,10 @@ public class TransformationService extends BaseTransformationService {
     private AggregationService aggregationService;
 
     /**
-     * The action suggestion engine.
+     * The action suggestions per column profile.
      */
     @Autowired
-    private SuggestionEngine suggestionEngine;
+    private SuggestionIndex suggestionIndex;
 
     /**
      * The transformer factory.
@@ -367,24 +370,19 @@ public class TransformationService extends BaseTransformationService {
         }
 
         // apply the aggregation
-        try (InputStream contentToAggregate = getContentToAggregate(parameters);
-                JsonParser parser =
-                        mapper.getFactory().createParser(new InputStreamReader(contentToAggregate, UTF_8))) {
-            final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
+        try (DataSet dataSet = getContentToAggregate(parameters)) {
             return aggregationService.aggregate(parameters, dataSet);
-        } catch (IOException e) {
-            throw new TDPException(CommonErrorCodes.UNABLE_TO_PARSE_JSON, e);
         }
     }
 
-    private InputStream getContentToAggregate(AggregationParameters parameters) {
-        InputStream contentToAggregate;
+    private DataSet getContentToAggregate(AggregationParameters parameters) {
+        DataSet contentToAggregate;
 
         // get the content of the preparation (internal call with piped streams)
         if (StringUtils.isNotBlank(parameters.getPreparationId())) {
             try {
                 PipedOutputStream temp = new PipedOutputStream();
-                contentToAggregate = new PipedInputStream(temp);
+                final PipedInputStream content = new PipedInputStream(temp);
 
                 // because of piped streams, processing must be asynchronous
                 Runnable r = () -> {
@@ -393,25 +391,53 @@ public class TransformationService extends BaseTransformationService {
                         exportParameters.setPreparationId(parameters.getPreparationId());
                         exportParameters.setDatasetId(parameters.getDatasetId());
                         exportParameters.setFilter(parameters.getFilter());
-                        exportParameters.setExportType(JSON);
+                        exportParameters.setExportType(BINARY);
                         exportParameters.setStepId(parameters.getStepId());
 
                         final StreamingResponseBody body = executeSampleExportStrategy(exportParameters);
                         body.writeTo(temp);
                     } catch (IOException e) {
                         throw new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE, e);
+                    } finally {
+                        // reader must see the end of the content, even if export failed
+                        try {
+                            temp.close();
+                        } catch (IOException e) {
+                            LOG.debug("Unable to close aggregation content pipe.", e);
+                        }
                     }
                 };
                 executor.execute(r);
+                contentToAggregate = new BinaryRowReader(content, mapper).readDataSet();
             } catch (IOException e) {
                 throw new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE, e);
             }
         } else {
-            contentToAggregate = datasetClient.getDataSetGetCommand(parameters.getDatasetId(), false, true).execute();
+            // content is read (as Avro) from the dataset adapter, only the aggregated columns are requested
+            contentToAggregate = datasetClient.getDataSet(parameters.getDatasetId(), false, true, null,
+                    getAggregatedColumns(parameters));
+            if (contentToAggregate == null) {
+                throw new TDPException(DataSetErrorCodes.DATASET_DOES_NOT_EXIST,
+                        build().put("id", parameters.getDatasetId()));
+            }
         }
         return contentToAggregate;
     }
 
+    /**
+     * @param parameters the aggregation parameters.
+     * @return the ids of the columns the aggregation reads, or <code>null</code> if all columns are needed (a filter
+     * may use any column).
+     */
+    private static List<String> getAggregatedColumns(AggregationParameters parameters) {
+        if (StringUtils.isNotBlank(parameters.getFilter())) {
+            return null;
+        }
+        final List<String> columns = new ArrayList<>(parameters.getGroupBy());
+        parameters.getOperations().forEach(operation -> columns.add(operation.getColumnId()));
+        return columns;
+    }
+
     /**
      * This operation allow client to create a diff between 2 list of actions starting from the same data. For example,
      * sending:
@@ -699,16 +725,11 @@ public class TransformationService extends BaseTransformationService {
             return Stream.empty();
         }
 
-        // look for all actions applicable to the column type
-        return actionRegistry
-                .findAll() //
-                .filter(am -> am.acceptScope(COLUMN) && am.acceptField(column)) //
-                .map(am -> suggestionEngine.score(am, column)) //
-                .filter(s -> s.getScore() > 0) // Keep only strictly positive score (negative and 0 indicates not
-                // applicable)
-                .sorted((s1, s2) -> Integer.compare(s2.getScore(), s1.getScore()))
+        // look for all actions applicable to the column type (ranked once per column profile)
+        return suggestionIndex
+                .suggest(column) //
+                .stream() //
                 .limit(limit) //
-                .map(Suggestion::getAction) // Get the action for positive suggestions
                 .map(am -> am.adapt(column)) // Adapt default values (e.g. column name)
                 .map(ad -> ad.getActionForm(getLocale()));
     }
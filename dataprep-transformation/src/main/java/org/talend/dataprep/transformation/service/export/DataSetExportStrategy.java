@@ -54,12 +54,12 @@ public class DataSetExportStrategy extends BaseSampleExportStrategy {
         return outputStream -> {
             // get the dataset content (in an auto-closable block to make sure it is properly closed)
             final String datasetId = parameters.getDatasetId();
-            try (DataSet dataSet = datasetClient.getDataSet(datasetId, false, true)) {
+            // no actions, so filter is evaluated while the dataset content is read
+            try (DataSet dataSet = datasetClient.getDataSet(datasetId, false, true, parameters.getFilter())) {
                 // get the actions to apply (no preparation ==> dataset export ==> no actions)
                 Configuration configuration = Configuration
                         .builder() //
                         .args(parameters.getArguments()) //
-                        .outFilter(rm -> filterService.build(parameters.getFilter(), rm)) //
                         .format(format.getName()) //
                         .volume(Configuration.Volume.SMALL) //
                         .output(outputStream) //
@@ -39,8 +39,10 @@ import org.talend.dataprep.cache.TransformationCacheKey;
 import org.talend.dataprep.cache.TransformationMetadataCacheKey;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.TransformationErrorCodes;
+import org.talend.dataprep.format.binary.BinaryRowReader;
 import org.talend.dataprep.format.export.ExportFormat;
 import org.talend.dataprep.transformation.api.transformer.configuration.Configuration;
+import org.talend.dataprep.transformation.format.BinaryFormat;
 import org.talend.dataprep.transformation.format.CSVFormat;
 import org.talend.dataprep.transformation.service.BaseExportStrategy;
 import org.talend.dataprep.transformation.service.ExportUtils;
@@ -85,6 +87,20 @@ public class OptimizedExportStrategy extends BaseSampleExportStrategy {
         return outputStream -> performOptimizedTransform(parameters, outputStream);
     }
 
+    /**
+     * @param content The cached content of a previous step.
+     * @param format The format of the content (binary row streams are read as such, other formats as JSON).
+     * @return The data set of the content.
+     * @throws IOException If content can't be read.
+     */
+    private DataSet readContent(InputStream content, ExportFormat format) throws IOException {
+        if (BinaryFormat.BINARY.equals(format.getName())) {
+            return new BinaryRowReader(content, mapper).readDataSet();
+        }
+        final JsonParser parser = mapper.getFactory().createParser(new InputStreamReader(content, UTF_8));
+        return mapper.readerFor(DataSet.class).readValue(parser);
+    }
+
     private void performOptimizedTransform(ExportParameters parameters, OutputStream outputStream) throws IOException {
         // Initial check
         LOGGER.debug("Prepare optimized transformation");
@@ -103,10 +119,8 @@ public class OptimizedExportStrategy extends BaseSampleExportStrategy {
 
         // Get content from previous step
         LOGGER.debug("Before get cache content");
-        try (JsonParser parser = mapper
-                .getFactory()
-                .createParser(new InputStreamReader(contentCache.get(transformationCacheKey), UTF_8));
-                final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser)) {
+        try (InputStream content = contentCache.get(transformationCacheKey);
+                final DataSet dataSet = readContent(content, format)) {
             dataSet.setMetadata(metadata);
 
             // get the actions to apply (no preparation ==> dataset export ==> no actions)
@@ -13,14 +13,26 @@
 
 package org.talend.dataprep.transformation.aggregation;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.transformation.TransformationBaseTest;
 import org.talend.dataprep.transformation.aggregation.api.AggregationOperation;
 import org.talend.dataprep.transformation.aggregation.api.AggregationParameters;
+import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
 import org.talend.dataprep.transformation.aggregation.api.Operator;
+import org.talend.dataprep.transformation.aggregation.operation.GroupAccumulator;
 
 /**
  * Unit test for aggregation service.
@@ -45,6 +57,76 @@ public class AggregationServiceTest extends TransformationBaseTest {
         service.aggregate(params, new DataSet());
     }
 
+    @Test
+    public void shouldAggregateSeveralOperationsAndGroupBy() {
+        // given
+        final AggregationParameters params = new AggregationParameters();
+        params.addGroupBy("0000");
+        params.addGroupBy("0001");
+        params.addOperation(new AggregationOperation("0002", Operator.SUM));
+        params.addOperation(new AggregationOperation("0002", Operator.MAX));
+        params.addOperation(new AggregationOperation("0002", Operator.COUNT));
+        final DataSet dataSet = new DataSet();
+        dataSet.setRecords(Stream.of( //
+                getRow("France", "Paris", "10"), //
+                getRow("France", "Paris", "5.5"), //
+                getRow("France", "Nantes", "abc"), //
+                getRow("France", "", "100"), //
+                getRow("USA", "Boston", "-2")));
+
+        // when
+        final AggregationResult result = service.aggregate(params, dataSet);
+
+        // then
+        final GroupAccumulator paris = (GroupAccumulator) result.get("France\u0000Paris");
+        assertEquals(15.5, paris.getValue(0), 0);
+        assertEquals(10, paris.getValue(1), 0);
+        assertEquals(2, paris.getValue(2), 0);
+        final GroupAccumulator nantes = (GroupAccumulator) result.get("France\u0000Nantes");
+        assertEquals(Double.NaN, nantes.getValue(0), 0);
+        assertEquals(1, nantes.getValue(2), 0);
+        assertEquals(-2, result.get("USA\u0000Boston").getValue(), 0);
+        assertEquals(3, result.entries().size());
+    }
+
+    @Test
+    public void shouldAggregateBatchesInParallel() {
+        // given
+        final AggregationParameters params = new AggregationParameters();
+        params.addGroupBy("0000");
+        params.addOperation(new AggregationOperation("0002", Operator.AVERAGE));
+        params.addOperation(new AggregationOperation("0002", Operator.MIN));
+        final DataSet dataSet = new DataSet();
+        dataSet.setRecords(IntStream.range(0, 1000) //
+                .mapToObj(i -> getRow(i % 2 == 0 ? "even" : "odd", "", String.valueOf(i))));
+        ReflectionTestUtils.setField(service, "batchSize", 7);
+
+        // when
+        final AggregationResult result;
+        try {
+            result = service.aggregate(params, dataSet);
+        } finally {
+            ReflectionTestUtils.setField(service, "batchSize", 4096);
+        }
+
+        // then
+        final GroupAccumulator even = (GroupAccumulator) result.get("even");
+        assertEquals(499, even.getValue(0), 0);
+        assertEquals(0, even.getValue(1), 0);
+        final GroupAccumulator odd = (GroupAccumulator) result.get("odd");
+        assertEquals(500, odd.getValue(0), 0);
+        assertEquals(1, odd.getValue(1), 0);
+        assertNull(result.get(""));
+    }
+
+    private static DataSetRow getRow(String country, String city, String value) {
+        final Map<String, String> values = new HashMap<>();
+        values.put("0000", country);
+        values.put("0001", city);
+        values.put("0002", value);
+        return new DataSetRow(values);
+    }
+
     // aggregation will be tested at service level, see AggregationTest.class
 
 }
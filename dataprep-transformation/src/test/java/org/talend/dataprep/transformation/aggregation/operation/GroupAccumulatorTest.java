@@ -0,0 +1,132 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.aggregation.operation;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.talend.dataprep.transformation.aggregation.api.Operator;
+
+/**
+ * Unit test for the GroupAccumulator.
+ *
+ * @see GroupAccumulator
+ */
+public class GroupAccumulatorTest {
+
+    @Test
+    public void shouldComputeAverage() {
+        // given
+        final GroupAccumulator toto = accumulate(Operator.AVERAGE, "10", "2", "3.6", "", "8.2", "-8", "12.3");
+        final GroupAccumulator tata = accumulate(Operator.AVERAGE, "10", "5");
+
+        // then
+        assertEquals(4.683d, toto.getValue(), 0.001d);
+        assertEquals(7.5d, tata.getValue(), 0);
+    }
+
+    @Test
+    public void shouldHaveEmptyGroupWithoutNumbers() {
+        // given
+        final GroupAccumulator toto = accumulate(Operator.AVERAGE, "10", "0");
+        final GroupAccumulator empty = accumulate(Operator.AVERAGE, "", "");
+        final GroupAccumulator notNumbers = accumulate(Operator.AVERAGE, "sdfs", null);
+
+        // then
+        assertEquals(5d, toto.getValue(), 0d);
+        assertFalse(toto.isEmpty());
+        assertEquals(Double.NaN, empty.getValue(), 0d);
+        assertTrue(empty.isEmpty());
+        assertEquals(Double.NaN, notNumbers.getValue(), 0d);
+        assertTrue(notNumbers.isEmpty());
+    }
+
+    @Test
+    public void shouldComputeMax() {
+        // given
+        final GroupAccumulator toto = accumulate(Operator.MAX, "5123.4", "786.884", "41843.453", "0", "-1", "8.87",
+                "-0.01");
+        final GroupAccumulator tata = accumulate(Operator.MAX, "-50.2", "-0.2", "20", "875");
+        final GroupAccumulator negative = accumulate(Operator.MAX, "-50.2", "-0.2", "-20");
+        final GroupAccumulator tutu = accumulate(Operator.MAX, "sdfs");
+
+        // then
+        assertEquals(41843.453, toto.getValue(), 0);
+        assertEquals(875, tata.getValue(), 0);
+        assertEquals(-0.2, negative.getValue(), 0);
+        assertTrue(tutu.isEmpty());
+    }
+
+    @Test
+    public void shouldComputeMin() {
+        // given
+        final GroupAccumulator toto = accumulate(Operator.MIN, "5123.4", "786.884", "41843.453", "0", "-1", "8.87",
+                "-0.01");
+        final GroupAccumulator tata = accumulate(Operator.MIN, "-50.2", "-0.2", "20", "875");
+        final GroupAccumulator positive = accumulate(Operator.MIN, "5123.4", "786.884", "8.87");
+        final GroupAccumulator tutu = accumulate(Operator.MIN, "dqsfqs");
+
+        // then
+        assertEquals(-1, toto.getValue(), 0);
+        assertEquals(-50.2, tata.getValue(), 0);
+        assertEquals(8.87, positive.getValue(), 0);
+        assertTrue(tutu.isEmpty());
+    }
+
+    @Test
+    public void shouldComputeSum() {
+        // given
+        final GroupAccumulator toto = accumulate(Operator.SUM, "514.3", "0", "", "-786.25", "235874", "-8760");
+
+        // then
+        assertEquals(226842.05, toto.getValue(), 0.000001);
+    }
+
+    @Test
+    public void shouldMergeAccumulators() {
+        // given
+        final Operator[] operators = { Operator.SUM, Operator.MIN, Operator.MAX, Operator.AVERAGE, Operator.COUNT };
+        final GroupAccumulator first = new GroupAccumulator(singletonList("toto"), operators);
+        final GroupAccumulator second = new GroupAccumulator(singletonList("toto"), operators);
+        for (int i = 0; i < operators.length; i++) {
+            first.accumulate(i, "10");
+            first.accumulate(i, "-2.5");
+            second.accumulate(i, "4");
+        }
+
+        // when
+        first.merge(second);
+
+        // then
+        assertEquals(11.5, first.getValue(0), 0);
+        assertEquals(-2.5, first.getValue(1), 0);
+        assertEquals(10, first.getValue(2), 0);
+        assertEquals(11.5 / 3, first.getValue(3), 0.000001);
+        assertEquals(3, first.getValue(4), 0);
+    }
+
+    /**
+     * @return an accumulator of the given values for a single operation.
+     */
+    private GroupAccumulator accumulate(Operator operator, String... values) {
+        final GroupAccumulator accumulator = new GroupAccumulator(singletonList("group"), new Operator[] { operator });
+        for (String value : values) {
+            accumulator.accumulate(0, value);
+        }
+        return accumulator;
+    }
+}
@@ -0,0 +1,216 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.api.transformer.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.Pipeline;
+import org.talend.dataprep.transformation.pipeline.RuntimeNode;
+import org.talend.dataprep.transformation.pipeline.Signal;
+
+public class PartitionedActionsIteratorTest {
+
+    private ThreadPoolTaskExecutor executor;
+
+    private final List<RuntimeNode> workerNodes = Collections.synchronizedList(new ArrayList<>());
+
+    @Before
+    public void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.initialize();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldReturnTransformedRowsInInputOrder() {
+        // given
+        final List<DataSetRow> input = createRows(1000);
+
+        // when
+        final List<String> values = new ArrayList<>();
+        try (PartitionedActionsIterator iterator = new PartitionedActionsIterator(input.iterator(), new RowMetadata(),
+                this::createUpperCaseWorker, executor, 7, 4)) {
+            iterator.forEachRemaining(row -> values.add(row.get("0000")));
+        }
+
+        // then
+        assertEquals(1000, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals("VALUE " + i, values.get(i));
+        }
+        for (RuntimeNode workerNode : workerNodes) {
+            verify(workerNode, times(1)).signal(Signal.END_OF_STREAM);
+        }
+    }
+
+    @Test
+    public void shouldReturnMetadataAfterActions() {
+        // given
+        final RowMetadata transformed = new RowMetadata();
+
+        // when
+        try (PartitionedActionsIterator iterator = new PartitionedActionsIterator(createRows(10).iterator(),
+                new RowMetadata(), output -> createWorker(output, transformed), executor, 3, 2)) {
+            // then
+            assertEquals(transformed, iterator.getOutputMetadata());
+            assertEquals(10, countRemaining(iterator));
+        }
+    }
+
+    @Test
+    public void shouldHandleEmptyInput() {
+        try (PartitionedActionsIterator iterator = new PartitionedActionsIterator(
+                Collections.<DataSetRow> emptyList().iterator(), new RowMetadata(), this::createUpperCaseWorker,
+                executor, 3, 2)) {
+            assertNull(iterator.getOutputMetadata());
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    @Test
+    public void shouldStopWhenCancelled() {
+        // when
+        try (PartitionedActionsIterator iterator = new PartitionedActionsIterator(createRows(1000).iterator(),
+                new RowMetadata(), this::createUpperCaseWorker, executor, 10, 2)) {
+            iterator.next();
+            iterator.cancel();
+
+            // then
+            int remaining = countRemaining(iterator);
+            assertEquals(9, remaining); // only the rows of the current batch
+        }
+    }
+
+    @Test
+    public void shouldWaitForRunningBatchesOnClose() throws Exception {
+        // given
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final PartitionedActionsIterator iterator = new PartitionedActionsIterator(createRows(3).iterator(),
+                new RowMetadata(), output -> createBlockingWorker(output, started, release, events), executor, 1, 2);
+        iterator.next(); // second batch is now running
+        started.await();
+
+        // when
+        final Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        });
+        releaser.start();
+        iterator.close();
+
+        // then (worker pipelines are ended only once running batch is over)
+        assertEquals(Arrays.asList("processed value 0", "processed value 1"), events.subList(0, 2));
+        assertFalse(events.subList(2, events.size()).isEmpty());
+        assertTrue(events.subList(2, events.size()).stream().allMatch("end"::equals));
+    }
+
+    private static Pipeline createBlockingWorker(Node output, CountDownLatch started, CountDownLatch release,
+            List<String> events) {
+        final Pipeline pipeline = mock(Pipeline.class);
+        final RuntimeNode runtimeNode = mock(RuntimeNode.class);
+        when(pipeline.exec()).thenReturn(runtimeNode);
+        doAnswer(invocation -> {
+            final DataSetRow row = (DataSetRow) invocation.getArguments()[0];
+            if ("value 1".equals(row.get("0000"))) {
+                started.countDown();
+                release.await();
+            }
+            events.add("processed " + row.get("0000"));
+            output.receive(row, (RowMetadata) invocation.getArguments()[1]);
+            return null;
+        }).when(runtimeNode).receive(any(DataSetRow.class), any(RowMetadata.class));
+        doAnswer(invocation -> events.add("end")).when(runtimeNode).signal(Signal.END_OF_STREAM);
+        return pipeline;
+    }
+
+    private static int countRemaining(PartitionedActionsIterator iterator) {
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        return count;
+    }
+
+    private Pipeline createUpperCaseWorker(Node output) {
+        final Pipeline pipeline = mock(Pipeline.class);
+        final RuntimeNode runtimeNode = mock(RuntimeNode.class);
+        when(pipeline.exec()).thenReturn(runtimeNode);
+        doAnswer(invocation -> {
+            final DataSetRow row = (DataSetRow) invocation.getArguments()[0];
+            row.set("0000", row.get("0000").toUpperCase());
+            output.receive(row, (RowMetadata) invocation.getArguments()[1]);
+            return null;
+        }).when(runtimeNode).receive(any(DataSetRow.class), any(RowMetadata.class));
+        workerNodes.add(runtimeNode);
+        return pipeline;
+    }
+
+    private static Pipeline createWorker(Node output, RowMetadata transformed) {
+        final Pipeline pipeline = mock(Pipeline.class);
+        final RuntimeNode runtimeNode = mock(RuntimeNode.class);
+        when(pipeline.exec()).thenReturn(runtimeNode);
+        doAnswer(invocation -> {
+            output.receive((DataSetRow) invocation.getArguments()[0], transformed);
+            return null;
+        }).when(runtimeNode).receive(any(DataSetRow.class), any(RowMetadata.class));
+        return pipeline;
+    }
+
+    private static List<DataSetRow> createRows(int count) {
+        final List<DataSetRow> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final Map<String, String> values = new HashMap<>();
+            values.put("0000", "value " + i);
+            rows.add(new DataSetRow(values));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,153 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.api.transformer.json;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+import static org.talend.dataprep.transformation.format.JsonFormat.JSON;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.transformation.TransformationBaseTest;
+import org.talend.dataprep.transformation.actions.common.RunnableAction;
+import org.talend.dataprep.transformation.api.action.ActionParser;
+import org.talend.dataprep.transformation.api.action.DataSetRowAction;
+import org.talend.dataprep.transformation.api.transformer.configuration.Configuration;
+import org.talend.dataprep.transformation.api.transformer.configuration.PreviewConfiguration;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * Unit test for the PipelineDiffTransformer.
+ *
+ * @see PipelineDiffTransformer
+ */
+public class PipelineDiffTransformerTest extends TransformationBaseTest {
+
+    @Autowired
+    private PipelineDiffTransformer transformer;
+
+    @Autowired
+    private ActionParser actionParser;
+
+    /** The number of rows each action was applied on (by action name). */
+    private final Map<String, AtomicInteger> appliedActions = new ConcurrentHashMap<>();
+
+    @After
+    public void tearDown() {
+        ReflectionTestUtils.setField(transformer, "actionParser", actionParser);
+        ReflectionTestUtils.setField(transformer, "sharedPrefixEnabled", true);
+    }
+
+    @Test
+    public void shouldApplySharedActionsOnceWithSameDiff() throws Exception {
+        // given (reference and preview share 2 uppercase actions, preview adds a lowercase action)
+        final ActionParser countingParser = mock(ActionParser.class);
+        when(countingParser.parse(anyString())).thenAnswer(invocation -> actionParser
+                .parse((String) invocation.getArguments()[0])
+                .stream() //
+                .map(this::counted) //
+                .collect(Collectors.toList()));
+        ReflectionTestUtils.setField(transformer, "actionParser", countingParser);
+
+        // when
+        final String separatedDiff = preview(false);
+        final Map<String, Integer> separatedCounts = getAppliedActions();
+        final String sharedPrefixDiff = preview(true);
+        final Map<String, Integer> sharedPrefixCounts = getAppliedActions();
+
+        // then (6 rows in data set)
+        assertEquals(24, (int) separatedCounts.get("uppercase"));
+        assertEquals(6, (int) separatedCounts.get("lowercase"));
+        assertEquals(12, (int) sharedPrefixCounts.get("uppercase"));
+        assertEquals(6, (int) sharedPrefixCounts.get("lowercase"));
+        assertThat(sharedPrefixDiff, containsString("__tdpDiff"));
+        JSONAssert.assertEquals(separatedDiff, sharedPrefixDiff, true);
+    }
+
+    /**
+     * @return the preview diff of the test data set.
+     */
+    private String preview(boolean sharedPrefixEnabled) throws Exception {
+        appliedActions.clear();
+        ReflectionTestUtils.setField(transformer, "sharedPrefixEnabled", sharedPrefixEnabled);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final PreviewConfiguration configuration = PreviewConfiguration.preview() //
+                .withActions(getActions("shared_prefix_preview.json")) //
+                .fromReference(Configuration.builder() //
+                        .format(JSON) //
+                        .output(output) //
+                        .actions(getActions("shared_prefix_reference.json")) //
+                        .build()) //
+                .build();
+
+        final InputStream content =
+                PipelineDiffTransformerTest.class.getResourceAsStream("../../../format/export_dataset.json");
+        try (JsonParser parser = mapper.getFactory().createParser(content)) {
+            final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
+            transformer.buildExecutable(dataSet, configuration).execute();
+        }
+        return new String(output.toByteArray(), UTF_8);
+    }
+
+    private String getActions(String name) throws Exception {
+        return IOUtils.toString(PipelineDiffTransformerTest.class.getResourceAsStream(name), UTF_8);
+    }
+
+    private Map<String, Integer> getAppliedActions() {
+        final Map<String, Integer> counts = new HashMap<>();
+        appliedActions.forEach((name, count) -> counts.put(name, count.get()));
+        return counts;
+    }
+
+    /**
+     * @return the same action, counting the rows it is applied on.
+     */
+    private RunnableAction counted(RunnableAction action) {
+        final DataSetRowAction rowAction = action.getRowAction();
+        final DataSetRowAction countedRowAction = mock(DataSetRowAction.class, invocation -> {
+            if ("apply".equals(invocation.getMethod().getName())) {
+                appliedActions.computeIfAbsent(action.getName(), name -> new AtomicInteger()).incrementAndGet();
+            }
+            try {
+                return invocation.getMethod().invoke(rowAction, invocation.getArguments());
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+        final RunnableAction countedAction = spy(action);
+        doReturn(countedRowAction).when(countedAction).getRowAction();
+        return countedAction;
+    }
+}
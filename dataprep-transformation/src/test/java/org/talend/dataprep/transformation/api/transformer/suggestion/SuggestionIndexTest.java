@@ -0,0 +1,135 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.api.transformer.suggestion;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.talend.dataprep.transformation.actions.category.ScopeCategory.COLUMN;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.talend.dataprep.api.action.ActionDefinition;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.transformation.pipeline.ActionRegistry;
+
+/**
+ * Unit test for the SuggestionIndex
+ *
+ * @see SuggestionIndex
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SuggestionIndexTest {
+
+    @InjectMocks
+    private SuggestionIndex suggestionIndex;
+
+    @Mock
+    private ActionRegistry actionRegistry;
+
+    @Mock
+    private SuggestionEngine suggestionEngine;
+
+    @Mock
+    private ActionDefinition upperCase;
+
+    @Mock
+    private ActionDefinition deleteEmpty;
+
+    @Mock
+    private ActionDefinition notApplicable;
+
+    @Before
+    public void setUp() {
+        when(actionRegistry.findAll()).then(invocation -> asList(upperCase, deleteEmpty, notApplicable).stream());
+        for (ActionDefinition action : asList(upperCase, deleteEmpty, notApplicable)) {
+            when(action.acceptScope(COLUMN)).thenReturn(true);
+            when(action.acceptField(any(ColumnMetadata.class))).thenReturn(true);
+        }
+        when(suggestionEngine.score(any(ActionDefinition.class), any(ColumnMetadata.class))).then(invocation -> {
+            final ActionDefinition action = (ActionDefinition) invocation.getArguments()[0];
+            final ColumnMetadata column = (ColumnMetadata) invocation.getArguments()[1];
+            if (action == upperCase) {
+                return new Suggestion(action, 10);
+            } else if (action == deleteEmpty) {
+                return new Suggestion(action, column.getQuality().getEmpty() > 0 ? 50 : 0);
+            }
+            return new Suggestion(action, -1);
+        });
+    }
+
+    @Test
+    public void shouldRankOncePerColumnProfile() {
+        // given
+        final ColumnMetadata first = createColumn("first", 0);
+        final ColumnMetadata second = createColumn("second", 0);
+
+        // when
+        final List<ActionDefinition> firstSuggestions = suggestionIndex.suggest(first);
+        final List<ActionDefinition> secondSuggestions = suggestionIndex.suggest(second);
+
+        // then
+        assertEquals(asList(upperCase), firstSuggestions);
+        assertEquals(firstSuggestions, secondSuggestions);
+        verify(suggestionEngine, times(3)).score(any(ActionDefinition.class), any(ColumnMetadata.class));
+    }
+
+    @Test
+    public void shouldRankAgainForDifferentProfile() {
+        // when
+        suggestionIndex.suggest(createColumn("first", 0));
+        final List<ActionDefinition> suggestions = suggestionIndex.suggest(createColumn("second", 2));
+
+        // then
+        assertEquals(asList(deleteEmpty, upperCase), suggestions);
+        verify(suggestionEngine, times(6)).score(any(ActionDefinition.class), any(ColumnMetadata.class));
+    }
+
+    @Test
+    public void shouldRankAgainAfterInvalidate() {
+        // when
+        suggestionIndex.suggest(createColumn("first", 0));
+        suggestionIndex.invalidate();
+        suggestionIndex.suggest(createColumn("first", 0));
+
+        // then
+        verify(suggestionEngine, times(6)).score(any(ActionDefinition.class), any(ColumnMetadata.class));
+    }
+
+    @Test
+    public void shouldNotIncludeColumnNameInProfile() {
+        assertEquals(SuggestionIndex.getProfile(createColumn("first", 1)),
+                SuggestionIndex.getProfile(createColumn("second", 1)));
+        assertNotEquals(SuggestionIndex.getProfile(createColumn("first", 1)),
+                SuggestionIndex.getProfile(createColumn("first", 0)));
+    }
+
+    private static ColumnMetadata createColumn(String name, int empty) {
+        final ColumnMetadata column = new ColumnMetadata();
+        column.setName(name);
+        column.setType("string");
+        column.getQuality().setEmpty(empty);
+        return column;
+    }
+}
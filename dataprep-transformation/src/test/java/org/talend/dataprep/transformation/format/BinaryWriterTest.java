@@ -0,0 +1,87 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.dataprep.transformation.format;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.format.binary.BinaryRowReader;
+
+/**
+ * Unit test for the BinaryWriter.
+ *
+ * @see BinaryWriter
+ */
+public class BinaryWriterTest extends BaseFormatTest {
+
+    /** The writer to test. */
+    private BinaryWriter writer;
+
+    /** Where the writer should write. */
+    private ByteArrayOutputStream outputStream;
+
+    @Before
+    public void init() {
+        outputStream = new ByteArrayOutputStream();
+        writer = (BinaryWriter) context.getBean("writer#BINARY", outputStream);
+    }
+
+    @Test
+    public void shouldWriteRowsBeforeColumns() throws Exception {
+        // given
+        final List<ColumnMetadata> columns = new ArrayList<>(2);
+        columns.add(ColumnMetadata.Builder.column().id(0).name("id").type(Type.STRING).build());
+        columns.add(ColumnMetadata.Builder.column().id(1).name("firstname").type(Type.STRING).build());
+        final RowMetadata rowMetadata = new RowMetadata(columns);
+
+        final Map<String, String> values = new HashMap<>();
+        values.put("0000", "64a5456ac148b64524ef165");
+        values.put("0001", "Superman");
+        final DataSetRow row = new DataSetRow(rowMetadata, values);
+        row.setTdpId(23L);
+
+        // when
+        writer.write(row);
+        writer.write(rowMetadata);
+        writer.close();
+
+        // then
+        try (BinaryRowReader reader =
+                new BinaryRowReader(new ByteArrayInputStream(outputStream.toByteArray()), mapper)) {
+            final List<String> columnNames = reader.getRowMetadata().getColumns().stream() //
+                    .map(ColumnMetadata::getName) //
+                    .collect(Collectors.toList());
+            assertThat(columnNames.size(), is(2));
+            assertThat(columnNames.get(1), is("firstname"));
+
+            final List<DataSetRow> rows = reader.rows().collect(Collectors.toList());
+            assertThat(rows.size(), is(1));
+            assertThat(rows.get(0).getTdpId(), is(23L));
+            assertThat(rows.get(0).get("0001"), is("Superman"));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.model;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataprep.transformation.pipeline.node.BasicNode;
+
+public class BatchingNodeTest {
+
+    private final RecordingNode target = new RecordingNode();
+
+    private final BatchingNode<RecordingNode> node = new BatchingNode<>(target, 3);
+
+    @Test
+    public void shouldSendFullBlocksThenRemainingRowsOnEndOfStream() {
+        // given
+        final RowMetadata metadata = new RowMetadata();
+
+        // when
+        for (int i = 0; i < 7; i++) {
+            node.receive(new DataSetRow(Collections.singletonMap("0000", String.valueOf(i))), metadata);
+        }
+        node.signal(Signal.END_OF_STREAM);
+
+        // then
+        assertEquals(asList(3, 3, 1), target.blockSizes);
+        assertEquals(asList(Signal.END_OF_STREAM), target.signals);
+    }
+
+    @Test
+    public void shouldNotMixRowMetadataInBlock() {
+        // when
+        node.receive(new DataSetRow(Collections.singletonMap("0000", "a")), new RowMetadata());
+        node.receive(new DataSetRow(Collections.singletonMap("0000", "b")), new RowMetadata());
+        node.signal(Signal.END_OF_STREAM);
+
+        // then
+        assertEquals(asList(1, 1), target.blockSizes);
+    }
+
+    @Test
+    public void shouldDropPendingRowsOnCancel() {
+        // when
+        node.receive(new DataSetRow(Collections.singletonMap("0000", "a")), new RowMetadata());
+        node.signal(Signal.CANCEL);
+
+        // then
+        assertTrue(target.blockSizes.isEmpty());
+        assertEquals(asList(Signal.CANCEL), target.signals);
+    }
+
+    private static class RecordingNode extends BasicNode implements BatchReceiver {
+
+        private final List<Integer> blockSizes = new ArrayList<>();
+
+        private final List<Signal> signals = new ArrayList<>();
+
+        @Override
+        public void receive(List<DataSetRow> rows, RowMetadata metadata) {
+            blockSizes.add(rows.size());
+        }
+
+        @Override
+        public void signal(Signal signal) {
+            signals.add(signal);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.dataprep.transformation.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.api.preparation.Action;
+import org.talend.dataprep.api.preparation.json.MixedContentMapModule;
+import org.talend.dataprep.cache.ContentCache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StepActionsCacheTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final ByteArrayOutputStream cached = new ByteArrayOutputStream();
+
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    @InjectMocks
+    private StepActionsCache cache;
+
+    @Mock
+    private ContentCache contentCache;
+
+    @Before
+    public void setUp() {
+        mapper.registerModule(new MixedContentMapModule());
+        ReflectionTestUtils.setField(cache, "mapper", mapper);
+        ReflectionTestUtils.setField(cache, "maxSize", 1024L);
+        cache.init();
+        when(contentCache.put(any(), any())).thenReturn(cached);
+    }
+
+    private Supplier<List<Action>> fetch(String actionName) {
+        return () -> {
+            fetches.incrementAndGet();
+            final Action action = new Action();
+            action.setName(actionName);
+            return Collections.singletonList(action);
+        };
+    }
+
+    @Test
+    public void shouldFetchStepActionsOnce() throws Exception {
+        // when
+        cache.get("step-1", fetch("uppercase"));
+        final List<Action> actions = cache.get("step-1", fetch("uppercase"));
+
+        // then
+        assertEquals(1, fetches.get());
+        assertEquals("uppercase", actions.get(0).getName());
+        verify(contentCache, times(1)).put(any(), any());
+    }
+
+    @Test
+    public void shouldReadStepActionsFromContentCache() throws Exception {
+        // given
+        final Action action = new Action();
+        action.setName("lowercase");
+        final byte[] content = mapper.writeValueAsBytes(Collections.singletonList(action));
+        when(contentCache.has(any())).thenReturn(true);
+        when(contentCache.get(any())).thenReturn(new ByteArrayInputStream(content));
+
+        // when
+        final List<Action> actions = cache.get("step-1", fetch("uppercase"));
+
+        // then
+        assertEquals(0, fetches.get());
+        assertEquals("lowercase", actions.get(0).getName());
+        verify(contentCache, never()).put(any(), any());
+    }
+
+    @Test
+    public void shouldAlwaysFetchHeadActions() throws Exception {
+        // when
+        cache.get("head", fetch("uppercase"));
+        cache.get("head", fetch("uppercase"));
+
+        // then
+        assertEquals(2, fetches.get());
+        verify(contentCache, never()).put(any(), any());
+    }
+}
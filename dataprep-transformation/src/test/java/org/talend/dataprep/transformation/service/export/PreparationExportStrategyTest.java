@@ -14,6 +14,8 @@ import static org.mockito.Mockito.when;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.apache.commons.io.output.NullOutputStream;
@@ -32,6 +34,7 @@ import org.talend.dataprep.api.dataset.DataSetContent;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.export.ExportParameters;
+import org.talend.dataprep.api.preparation.Action;
 import org.talend.dataprep.api.preparation.PreparationDTO;
 import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.cache.CacheKeyGenerator;
@@ -51,6 +54,7 @@ import org.talend.dataprep.transformation.format.JsonFormat;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import org.talend.dataprep.transformation.service.BaseExportStrategy;
+import org.talend.dataprep.transformation.service.StepActionsCache;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PreparationExportStrategyTest {
@@ -87,6 +91,9 @@ public class PreparationExportStrategyTest {
     @Mock
     private DatasetClient datasetClient;
 
+    @Mock
+    private StepActionsCache stepActionsCache;
+
     @Before
     public void setUp() throws Exception {
         // Given
@@ -109,6 +116,8 @@ public class PreparationExportStrategyTest {
         when(preparationGetActions.execute()).thenReturn(Collections.emptyList());
         when(applicationContext.getBean(eq(PreparationGetActions.class), eq("prep-1234"), anyString()))
                 .thenReturn(preparationGetActions);
+        when(stepActionsCache.get(anyString(), any()))
+                .thenAnswer(invocation -> ((Supplier<List<Action>>) invocation.getArguments()[1]).get());
 
         final TransformationCacheKey cacheKey = mock(TransformationCacheKey.class);
         when(cacheKey.getKey()).thenReturn("cache-1234");